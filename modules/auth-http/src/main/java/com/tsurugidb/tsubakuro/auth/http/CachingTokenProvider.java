@@ -0,0 +1,316 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.auth.http;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.tsurugidb.tsubakuro.channel.common.connection.SharedScheduler;
+import com.tsurugidb.tsubakuro.exception.CoreServiceException;
+
+/**
+ * A {@link TokenProvider} which caches tokens retrieved from another {@link TokenProvider}.
+ * <p>
+ * This keeps authentication off the request latency path:
+ * </p>
+ * <ul>
+ * <li> {@link #refresh(String, long, TimeUnit) refresh()} returns the cached access token while it is alive,
+ *      and starts refreshing it in background once its JWT {@code exp} claim comes within the refresh margin </li>
+ * <li> concurrent refresh requests for the same refresh token are merged into a single request </li>
+ * <li> {@link #verify(String) verify()} remembers the verified tokens until they are expired </li>
+ * </ul>
+ * <p>
+ * {@link #issue(String, String) issue()} is never cached, because it requires the user password.
+ * </p>
+ * <p>
+ * To use this with {@link JwtTicketProvider}, wrap the underlying token provider:
+ * {@code new JwtTicketProvider(new CachingTokenProvider(new HttpTokenProvider(endpoint)))}.
+ * </p>
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class CachingTokenProvider implements TokenProvider {
+
+    /**
+     * The default refresh margin.
+     */
+    public static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofSeconds(60);
+
+    static final Logger LOG = LoggerFactory.getLogger(CachingTokenProvider.class);
+
+    /**
+     * The number of cache entries which triggers removing expired entries.
+     */
+    static final int CLEANUP_THRESHOLD = 1024;
+
+    private final TokenProvider delegate;
+
+    private final Duration refreshMargin;
+
+    private final Executor executor;
+
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, AccessToken> accessTokens = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, CompletableFuture<AccessToken>> refreshing = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Instant> verified = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance with the {@link #DEFAULT_REFRESH_MARGIN default refresh margin}.
+     * <p>
+     * The background refresh runs on the {@link SharedScheduler#getBlockingExecutor() shared blocking executor}.
+     * </p>
+     * @param delegate the token provider which actually issues tokens
+     */
+    public CachingTokenProvider(@Nonnull TokenProvider delegate) {
+        this(delegate, DEFAULT_REFRESH_MARGIN, SharedScheduler.getBlockingExecutor());
+    }
+
+    /**
+     * Creates a new instance.
+     * @param delegate the token provider which actually issues tokens
+     * @param refreshMargin the time before the access token expiration to start refreshing it in background
+     * @param executor the executor which performs background refresh
+     */
+    public CachingTokenProvider(
+            @Nonnull TokenProvider delegate,
+            @Nonnull Duration refreshMargin,
+            @Nonnull Executor executor) {
+        this(delegate, refreshMargin, executor, Clock.systemUTC());
+    }
+
+    CachingTokenProvider(
+            @Nonnull TokenProvider delegate,
+            @Nonnull Duration refreshMargin,
+            @Nonnull Executor executor,
+            @Nonnull Clock clock) {
+        Objects.requireNonNull(delegate);
+        Objects.requireNonNull(refreshMargin);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(clock);
+        if (refreshMargin.isNegative()) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "refresh margin must not be negative: {0}",
+                    refreshMargin));
+        }
+        this.delegate = delegate;
+        this.refreshMargin = refreshMargin;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the underlying token provider.
+     * @return the underlying token provider
+     */
+    public TokenProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String issue(@Nonnull String user, @Nonnull String password)
+            throws InterruptedException, IOException, CoreServiceException {
+        return delegate.issue(user, password);
+    }
+
+    @Override
+    public String refresh(@Nonnull String token, long expiration, @Nonnull TimeUnit unit)
+            throws InterruptedException, IOException, CoreServiceException {
+        Objects.requireNonNull(token);
+        Objects.requireNonNull(unit);
+        long expirationSeconds = expiration > 0 ? Math.max(1, unit.toSeconds(expiration)) : 0;
+        var now = clock.instant();
+        var cached = accessTokens.get(token);
+        if (cached != null && cached.expirationSeconds == expirationSeconds && now.isBefore(cached.expiresAt)) {
+            if (!now.isBefore(cached.expiresAt.minus(refreshMargin))) {
+                LOG.trace("refreshing access token in background: expires_at={}", cached.expiresAt); //$NON-NLS-1$
+                refreshInBackground(token, expirationSeconds);
+            }
+            return cached.token;
+        }
+        LOG.trace("refreshing access token"); //$NON-NLS-1$
+        return await(startRefresh(token, expirationSeconds, null)).token;
+    }
+
+    @Override
+    public void verify(@Nonnull String token) throws InterruptedException, IOException, CoreServiceException {
+        Objects.requireNonNull(token);
+        var now = clock.instant();
+        var expiresAt = verified.get(token);
+        if (expiresAt != null) {
+            if (now.isBefore(expiresAt)) {
+                LOG.trace("token was already verified: expires_at={}", expiresAt); //$NON-NLS-1$
+                return;
+            }
+            verified.remove(token, expiresAt);
+        }
+        delegate.verify(token);
+        var exp = expiresAt(token);
+        if (exp != null && now.isBefore(exp)) {
+            cleanup(now);
+            verified.put(token, exp);
+        }
+    }
+
+    /**
+     * Discards all cached tokens and verification results.
+     */
+    public void clear() {
+        accessTokens.clear();
+        verified.clear();
+    }
+
+    private void refreshInBackground(String token, long expirationSeconds) {
+        try {
+            startRefresh(token, expirationSeconds, executor);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("background refresh was rejected", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Starts refreshing the access token, or returns the ongoing refresh.
+     * @param token the refresh token
+     * @param expirationSeconds the access expiration in seconds
+     * @param async the executor to refresh the token, or {@code null} to refresh it in the current thread
+     * @return the future of refreshed token
+     */
+    private CompletableFuture<AccessToken> startRefresh(String token, long expirationSeconds, @Nullable Executor async) {
+        var created = new CompletableFuture<AccessToken>();
+        var ongoing = refreshing.putIfAbsent(token, created);
+        if (ongoing != null) {
+            return ongoing;
+        }
+        Runnable task = () -> {
+            try {
+                var accessToken = delegate.refresh(token, expirationSeconds, TimeUnit.SECONDS);
+                var entry = new AccessToken(accessToken, expirationSeconds, expiresAt(accessToken));
+                if (entry.expiresAt != null) {
+                    cleanup(clock.instant());
+                    accessTokens.put(token, entry);
+                }
+                created.complete(entry);
+            } catch (Exception e) {
+                LOG.debug("failed to refresh access token", e); //$NON-NLS-1$
+                created.completeExceptionally(e);
+            } catch (Error e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                refreshing.remove(token, created);
+            }
+        };
+        if (async == null) {
+            task.run();
+        } else {
+            try {
+                async.execute(task);
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(token, created);
+                throw e;
+            }
+        }
+        return created;
+    }
+
+    private static AccessToken await(CompletableFuture<AccessToken> future)
+            throws InterruptedException, IOException, CoreServiceException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof CoreServiceException) {
+                throw (CoreServiceException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void cleanup(Instant now) {
+        if (accessTokens.size() >= CLEANUP_THRESHOLD) {
+            accessTokens.values().removeIf(it -> !now.isBefore(it.expiresAt));
+        }
+        if (verified.size() >= CLEANUP_THRESHOLD) {
+            verified.values().removeIf(it -> !now.isBefore(it));
+        }
+    }
+
+    private static @Nullable Instant expiresAt(String token) {
+        try {
+            var expiresAt = JWT.decode(token).getExpiresAt();
+            if (expiresAt == null) {
+                return null;
+            }
+            return expiresAt.toInstant();
+        } catch (JWTDecodeException e) {
+            LOG.debug("token is not a JWT, it will not be cached", e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    private static final class AccessToken {
+
+        final String token;
+
+        final long expirationSeconds;
+
+        final Instant expiresAt;
+
+        AccessToken(String token, long expirationSeconds, @Nullable Instant expiresAt) {
+            this.token = token;
+            this.expirationSeconds = expirationSeconds;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachingTokenProvider(%s)", delegate); //$NON-NLS-1$
+    }
+}
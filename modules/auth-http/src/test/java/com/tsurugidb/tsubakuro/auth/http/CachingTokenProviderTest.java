@@ -0,0 +1,249 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.auth.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.exception.CoreServiceCode;
+import com.tsurugidb.tsubakuro.exception.CoreServiceException;
+
+class CachingTokenProviderTest {
+
+    static class MutableClock extends Clock {
+
+        volatile Instant now = Instant.ofEpochSecond(10);
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class CountingTokenProvider extends JwtTicketProviderTest.MockTokenProvider {
+
+        final AtomicInteger refreshCount = new AtomicInteger();
+
+        final AtomicInteger verifyCount = new AtomicInteger();
+
+        volatile CountDownLatch refreshGate = null;
+
+        volatile CoreServiceException refreshError = null;
+
+        @Override
+        public String refresh(String token, long expiration, TimeUnit unit) {
+            refreshCount.incrementAndGet();
+            var gate = refreshGate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            if (refreshError != null) {
+                // rethrow as unchecked, to keep the signature of the mock
+                throw new IllegalStateException(refreshError);
+            }
+            return super.refresh(token, expiration, unit);
+        }
+
+        @Override
+        public void verify(String token) {
+            verifyCount.incrementAndGet();
+            super.verify(token);
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+
+    private final CountingTokenProvider tokens = new CountingTokenProvider();
+
+    private final List<Runnable> background = new ArrayList<>();
+
+    private CachingTokenProvider provider() {
+        // access tokens expire at 100
+        tokens.expiresAt = Instant.ofEpochSecond(100);
+        return new CachingTokenProvider(tokens, Duration.ofSeconds(30), background::add, clock);
+    }
+
+    @Test
+    void refresh_cached() throws Exception {
+        var provider = provider();
+        var first = provider.refresh("r", 0, TimeUnit.SECONDS);
+        var second = provider.refresh("r", 0, TimeUnit.SECONDS);
+        assertEquals(first, second);
+        assertEquals(1, tokens.refreshCount.get());
+        assertEquals(0, background.size());
+    }
+
+    @Test
+    void refresh_different_expiration() throws Exception {
+        var provider = provider();
+        provider.refresh("r", 0, TimeUnit.SECONDS);
+        provider.refresh("r", 10, TimeUnit.MINUTES);
+        assertEquals(2, tokens.refreshCount.get());
+    }
+
+    @Test
+    void refresh_in_background() throws Exception {
+        var provider = provider();
+        var first = provider.refresh("r", 0, TimeUnit.SECONDS);
+
+        // within the refresh margin: returns the current token, and refreshes it in background
+        clock.now = Instant.ofEpochSecond(80);
+        assertEquals(first, provider.refresh("r", 0, TimeUnit.SECONDS));
+        assertEquals(first, provider.refresh("r", 0, TimeUnit.SECONDS));
+        assertEquals(1, background.size());
+        assertEquals(1, tokens.refreshCount.get());
+
+        tokens.expiresAt = Instant.ofEpochSecond(200);
+        background.remove(0).run();
+        assertEquals(2, tokens.refreshCount.get());
+
+        var refreshed = provider.refresh("r", 0, TimeUnit.SECONDS);
+        assertNotEquals(first, refreshed);
+        assertEquals(0, background.size());
+    }
+
+    @Test
+    void refresh_expired() throws Exception {
+        var provider = provider();
+        var first = provider.refresh("r", 0, TimeUnit.SECONDS);
+
+        clock.now = Instant.ofEpochSecond(100);
+        tokens.expiresAt = Instant.ofEpochSecond(200);
+        var second = provider.refresh("r", 0, TimeUnit.SECONDS);
+        assertNotEquals(first, second);
+        assertEquals(2, tokens.refreshCount.get());
+        assertEquals(0, background.size());
+    }
+
+    @Test
+    void refresh_failure() throws Exception {
+        var provider = provider();
+        tokens.refreshError = new CoreServiceException(CoreServiceCode.REFRESH_EXPIRED);
+        assertThrows(IllegalStateException.class, () -> provider.refresh("r", 0, TimeUnit.SECONDS));
+
+        // failure is not cached
+        tokens.refreshError = null;
+        provider.refresh("r", 0, TimeUnit.SECONDS);
+        assertEquals(2, tokens.refreshCount.get());
+    }
+
+    @Test
+    void refresh_deduplicated() throws Exception {
+        int callers = 4;
+        var provider = provider();
+        tokens.refreshGate = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        var futures = new ArrayList<CompletableFuture<String>>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                var future = new CompletableFuture<String>();
+                var thread = new Thread(() -> {
+                    try {
+                        future.complete(provider.refresh("r", 0, TimeUnit.SECONDS));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+                futures.add(future);
+                threads.add(thread);
+                thread.start();
+            }
+
+            // one caller blocks in the refresh, and the others block waiting for it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!threads.stream().allMatch(it -> it.getState() == Thread.State.WAITING)) {
+                assertTrue(System.nanoTime() < deadline, "callers must wait for the ongoing refresh");
+                Thread.onSpinWait();
+            }
+            assertEquals(1, tokens.refreshCount.get());
+
+            // the refreshed token is already expired, so that the late callers cannot use the cache
+            clock.now = Instant.ofEpochSecond(150);
+            tokens.refreshGate.countDown();
+
+            var results = new ArrayList<String>();
+            for (var future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, results.stream().distinct().count());
+            assertEquals(1, tokens.refreshCount.get());
+        } finally {
+            tokens.refreshGate.countDown();
+            for (var thread : threads) {
+                thread.join();
+            }
+        }
+    }
+
+    @Test
+    void verify_cached() throws Exception {
+        var provider = provider();
+        var token = tokens.refresh("r", 0, TimeUnit.SECONDS);
+        provider.verify(token);
+        provider.verify(token);
+        assertEquals(1, tokens.verifyCount.get());
+
+        clock.now = Instant.ofEpochSecond(100);
+        provider.verify(token);
+        assertEquals(2, tokens.verifyCount.get());
+    }
+
+    @Test
+    void with_ticket_provider() throws Exception {
+        var provider = new JwtTicketProvider(provider());
+        var ticket = provider.issue("user", "pass");
+        var a = provider.refresh(ticket);
+        var b = provider.refresh(ticket);
+        assertEquals(a.getAccessExpirationTime(), b.getAccessExpirationTime());
+        assertEquals(1, tokens.refreshCount.get());
+    }
+
+    @Test
+    void invalid_margin() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingTokenProvider(tokens, Duration.ofSeconds(-1), Runnable::run));
+    }
+}
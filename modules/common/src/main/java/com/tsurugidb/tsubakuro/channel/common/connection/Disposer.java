@@ -16,14 +16,21 @@
 package com.tsurugidb.tsubakuro.channel.common.connection;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nonnull;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,14 +43,24 @@ import com.tsurugidb.tsubakuro.util.ServerResource;
 
 /**
  * The disposer that disposes server resources corresponding to ForegroundFutureResponses that are closed without being gotten.
+ * <p>
+ * The disposer does not own any threads, and it runs on the {@link SharedScheduler#getBlockingExecutor() shared
+ * blocking executor} only while it has entries to dispose, because disposing entries may block until the server
+ * responds. The {@link SharedScheduler shared scheduler} is only used to delay the retries.
+ * The entries of each disposer are processed one at a time in the registered order.
+ * </p>
+ * <p>
+ * This class still extends {@link Thread} for compatibility, but never starts its own thread.
+ * {@link #start()} just schedules the disposal, and {@link #isAlive()} always returns {@code false}.
+ * </p>
  */
 public class Disposer extends Thread {
     // processing status.
     enum Status {
-        // initial state, Disposer thread is not running.
+        // initial state, no entries have been registered.
         INACTIVE,
 
-        // Disposer thread is running and accepting FutureResponses and Resources.
+        // Disposer is accepting FutureResponses and Resources.
         HANDLE_ASYNC_CLOSE,
 
         // shutdown has been initiated.
@@ -106,6 +123,16 @@ public class Disposer extends Thread {
 
     private static final long PATROL_CYCLE_TIME_NANOS = 1_000_000_000L;  // 1 second
 
+    // the delay before retrying the entries whose server responses have not been received
+    private static final long RETRY_DELAY_NANOS = 10_000_000L;  // 10 milliseconds
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    // whether or not run() is scheduled and has not started yet
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
     /**
      * Enclosure of delayed clean up procedure.
      */
@@ -132,13 +159,53 @@ public class Disposer extends Thread {
     }
 
     /**
-     * Creates a new instance.
+     * Creates a new instance, which runs on the {@link SharedScheduler#getBlockingExecutor() shared blocking executor}.
      */
     public Disposer() {
+        this(SharedScheduler.get(), SharedScheduler.getBlockingExecutor());
+    }
+
+    /**
+     * Creates a new instance, which runs on the given scheduler.
+     * <p>
+     * Disposing entries may block the scheduler threads until the server responds.
+     * </p>
+     * @param scheduler the scheduler to run this disposer
+     * @since 1.17.0
+     * @deprecated use {@link #Disposer(ScheduledExecutorService, Executor)} with an executor for blocking tasks,
+     *      like {@link SharedScheduler#getBlockingExecutor()}
+     */
+    @Deprecated(since = "1.17.0")
+    public Disposer(@Nonnull ScheduledExecutorService scheduler) {
+        this(scheduler, scheduler);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param scheduler the scheduler to delay the retries, whose tasks never block
+     * @param executor the executor to run this disposer, whose tasks may block
+     * @since 1.17.0
+     */
+    public Disposer(@Nonnull ScheduledExecutorService scheduler, @Nonnull Executor executor) {
+        Objects.requireNonNull(scheduler);
+        Objects.requireNonNull(executor);
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules this disposer to run, instead of starting a new thread.
+     * @deprecated the disposer is scheduled automatically when entries are registered
+     */
+    @Deprecated(since = "1.17.0")
+    @Override
+    public void start() {
+        schedule(0);
     }
 
     @Override
     public void run() {
+        pending.set(false);
         globalLock.lock();  // ensure single run at a time
         try {
             bodyRun();
@@ -147,114 +214,133 @@ public class Disposer extends Thread {
         }
     }
 
+    private void schedule(long delayNanos) {
+        if (pending.compareAndSet(false, true)) {
+            if (delayNanos <= 0) {
+                dispatch();
+                return;
+            }
+            try {
+                // the scheduler only waits for the delay, and the disposal itself runs on the executor
+                scheduler.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("scheduler is not available, disposing without delay", e);
+                dispatch();
+            }
+        }
+    }
+
+    private void dispatch() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+            LOG.warn("executor is not available, disposing on the current thread", e);
+            run();
+        }
+    }
+
     /**
      * Delayed clean up procedure body.
+     * This processes each entry at most once, and then schedules itself again if some entries are not completed yet.
      */
     private void bodyRun() {
         Exception exception = null;
 
-        while (true) {
+        status.lock();
+        try {
+            if (status.get() == Status.HANDLE_SESSION_CLOSE) {
+                return;
+            }
+        } finally {
+            status.unlock();
+        }
+
+        // entries are removed from the queue after they are processed, for waitForEmpty()
+        for (int n = futureResponseQueue.size(); n > 0; n--) {
             var futureResponse = futureResponseQueue.peek();
-            if (futureResponse != null) {
-                boolean doAdd = false;
-                try {
-                    var obj = futureResponse.cleanUp();
-                    if (obj instanceof ServerResource) {
-                        ((ServerResource) obj).close();
-                    }
-                } catch (ChannelResponse.AlreadyCanceledException | ForegroundFutureResponse.AlreadyClosedException | SessionAlreadyClosedException e) {
-                    // Server resource has not created at the server side, or session is already closed
-                } catch (TimeoutException e) {
-                    // The operation timed out while waiting for a response; re-queue and try again
-                    doAdd = true;
-                } catch (CoreServiceException e) {
-                    if (e.getDiagnosticCode() != CoreServiceCode.OPERATION_CANCELED) {
-                        // should not occur
-                        exception = addSuppressed(exception, e);
-                    }
-                } catch (ServerException | IOException | InterruptedException e) {
+            if (futureResponse == null) {
+                break;
+            }
+            boolean doAdd = false;
+            try {
+                var obj = futureResponse.cleanUp();
+                if (obj instanceof ServerResource) {
+                    ((ServerResource) obj).close();
+                }
+            } catch (ChannelResponse.AlreadyCanceledException | ForegroundFutureResponse.AlreadyClosedException | SessionAlreadyClosedException e) {
+                // Server resource has not created at the server side, or session is already closed
+            } catch (TimeoutException e) {
+                // The operation timed out while waiting for a response; re-queue and try again
+                doAdd = true;
+            } catch (CoreServiceException e) {
+                if (e.getDiagnosticCode() != CoreServiceCode.OPERATION_CANCELED) {
                     // should not occur
                     exception = addSuppressed(exception, e);
-                } finally {
-                    futureResponseQueue.poll();
-                    if (doAdd) {
-                        futureResponseQueue.add(futureResponse);
-                    }
                 }
-                continue;
+            } catch (ServerException | IOException | InterruptedException e) {
+                // should not occur
+                exception = addSuppressed(exception, e);
+            } finally {
+                futureResponseQueue.poll();
+                if (doAdd) {
+                    futureResponseQueue.add(futureResponse);
+                }
             }
+        }
 
+        for (int n = serverResourceQueue.size(); n > 0; n--) {
             var serverResource = serverResourceQueue.peek();
-            if (serverResource != null) {
-                boolean doAdd = false;
-                try {
-                    if (!serverResource.delayedClose()) {
-                        // The server response has not been received
-                        doAdd = true;
-                    }
-                } catch (ServerException | IOException | InterruptedException e) {
-                    exception = addSuppressed(exception, e);
-                } finally {
-                    serverResourceQueue.poll();
-                    if (doAdd) {
-                        serverResourceQueue.add(serverResource);
-                    }
-                }
-                continue;
+            if (serverResource == null) {
+                break;
             }
-
-            boolean shouldContinue = false;
-            status.lock();
+            boolean doAdd = false;
             try {
-                if (futureResponseQueue.isEmpty() && serverResourceQueue.isEmpty()) {
-                    status.emptyCondition().signalAll();
-                    shouldContinue = shutdownQueue.isEmpty() && sessionClose.get() == null;
-                    if (shouldContinue) {
-                        try {
-                            status.entryCondition().awaitNanos(PATROL_CYCLE_TIME_NANOS);
-                        } catch (InterruptedException e) {
-                            // No problem, it's OK
-                        }
-                    } else {
-                        status.set(Status.HANDLE_SESSION_SHUTDOWN);
-                    }
-                } else {
-                    shouldContinue = true;
+                if (!serverResource.delayedClose()) {
+                    // The server response has not been received
+                    doAdd = true;
                 }
+            } catch (ServerException | IOException | InterruptedException e) {
+                exception = addSuppressed(exception, e);
             } finally {
-                status.unlock();
-            }
-            if (shouldContinue) {
-                continue;
+                serverResourceQueue.poll();
+                if (doAdd) {
+                    serverResourceQueue.add(serverResource);
+                }
             }
+        }
 
-            while (true) {
-                while (!shutdownQueue.isEmpty()) {  // in case multiple shutdown requests are registered
-                    try {
-                        shutdownQueue.poll().process();
-                    } catch (IOException e) {
-                        exception = addSuppressed(exception, e);
-                    }
+        boolean proceed = false;
+        boolean retry = false;
+        status.lock();
+        try {
+            if (futureResponseQueue.isEmpty() && serverResourceQueue.isEmpty()) {
+                status.emptyCondition().signalAll();
+                if (!shutdownQueue.isEmpty() || sessionClose.get() != null) {
+                    status.set(Status.HANDLE_SESSION_SHUTDOWN);
+                    proceed = true;
                 }
+            } else {
+                retry = true;
+            }
+        } finally {
+            status.unlock();
+        }
+        if (retry) {
+            schedule(RETRY_DELAY_NANOS);
+        }
 
-                // confirm if we can go ahead to session close
-                shouldContinue = (sessionClose.get() == null);
-                if (shouldContinue) {
-                    status.lock();
-                    try {
-                        try {
-                            status.entryCondition().awaitNanos(PATROL_CYCLE_TIME_NANOS);
-                        } catch (InterruptedException e) {
-                            // No problem, it's OK
-                        }
-                    } finally {
-                        status.unlock();
-                    }
-                }
-                if (shouldContinue) {
-                    continue;
+        if (proceed) {
+            while (!shutdownQueue.isEmpty()) {  // in case multiple shutdown requests are registered
+                try {
+                    shutdownQueue.poll().process();
+                } catch (IOException e) {
+                    exception = addSuppressed(exception, e);
                 }
+            }
 
+            // session close will be scheduled again when it is registered
+            if (sessionClose.get() != null) {
                 status.lock();
                 try {
                     status.set(Status.HANDLE_SESSION_CLOSE);
@@ -266,18 +352,11 @@ public class Disposer extends Thread {
                 } catch (ServerException | IOException | InterruptedException e) {
                     exception = addSuppressed(exception, e);
                 }
-                break;
             }
-            break;
         }
 
         if (exception != null) {
             LOG.error(exception.getMessage(), exception);
-            if (exception instanceof IOException) {
-                throw new UncheckedIOException((IOException) exception);
-            } else {
-                throw new UncheckedIOException(new IOException(exception));
-            }
         }
     }
 
@@ -298,21 +377,16 @@ public class Disposer extends Thread {
                 throw new AssertionError("Disposer status: " + currentStatus.asString());
             }
             futureResponseQueue.add(futureResponse);
-            if (currentStatus == Status.INACTIVE) {
-                status.set(Status.HANDLE_ASYNC_CLOSE);
-                this.setDaemon(true);
-                this.start();
-            } else {
-                status.entryCondition().signalAll();
-            }
+            status.set(Status.HANDLE_ASYNC_CLOSE);
         } finally {
             status.unlock();
         }
+        schedule(0);
     }
 
     /**
      * Add a DelayedClose object containing a close procedure for a certain ServerResource object.
-     * If disposer thread has not started, a disposer thread will be started.
+     * The disposer will be scheduled to run if it is not scheduled yet.
      * @param resource the DelayedClose to be added
      */
     public void add(DelayedClose resource) {
@@ -323,21 +397,16 @@ public class Disposer extends Thread {
                 throw new AssertionError("Disposer status: " + currentStatus.asString());
             }
             serverResourceQueue.add(resource);
-            if (currentStatus == Status.INACTIVE) {
-                status.set(Status.HANDLE_ASYNC_CLOSE);
-                this.setDaemon(true);
-                this.start();
-            } else {
-                status.entryCondition().signalAll();
-            }
+            status.set(Status.HANDLE_ASYNC_CLOSE);
         } finally {
             status.unlock();
         }
+        schedule(0);
     }
 
     /**
      * Register a delayed shutdown procesure of the Session.
-     * If disposer thread has not started, a disposer thread will be started.
+     * The disposer will be scheduled to run if it is not scheduled yet.
      * NOTE: This method is assumed to be called only in close and/or shutdown of a Session.
      * @param cleanUp the clean up procesure to be registered
      * @throws IOException An error was occurred in c.shoutdown() execution.
@@ -352,19 +421,16 @@ public class Disposer extends Thread {
             shutdownQueue.add(cleanUp);
             if (currentStatus == Status.INACTIVE) {
                 status.set(Status.HANDLE_ASYNC_CLOSE);
-                this.setDaemon(true);
-                this.start();
-            } else {
-                status.entryCondition().signalAll();
             }
         } finally {
             status.unlock();
         }
+        schedule(0);
     }
 
     /**
      * Register a delayed close object in charge of asynchronous close of the Session.
-     * If disposer thread has not started or both queue is empty, c.delayedClose() is immediately executed.
+     * If no entries have been registered to this disposer, c.delayedClose() is immediately executed.
      * NOTE: This method is assumed to be called only in close and/or shutdown of a Session.
      * @param cleanUp the clean up procesure to be registered
      * @throws ServerException if server error was occurred while disposing the session
@@ -372,20 +438,25 @@ public class Disposer extends Thread {
      * @throws InterruptedException if interrupted while disposing the session
      */
     public void registerDelayedClose(DelayedClose cleanUp) throws ServerException, IOException, InterruptedException {
+        boolean delayed = false;
         status.lock();
         try {
             var currentStatus = status.get();
             if (currentStatus == Status.HANDLE_SESSION_CLOSE) {
                 throw new AssertionError("Session close is already scheduled");
-            } else if (currentStatus == Status.HANDLE_ASYNC_CLOSE || currentStatus == Status.HANDLE_SESSION_SHUTDOWN) {  // the same as `if daemon is running`
+            } else if (currentStatus == Status.HANDLE_ASYNC_CLOSE || currentStatus == Status.HANDLE_SESSION_SHUTDOWN) {  // the same as `if disposer is working`
                 sessionClose.set(cleanUp);
-                status.entryCondition().signalAll();
-                return;
+                delayed = true;
+            } else {
+                status.set(Status.HANDLE_SESSION_CLOSE);
             }
-            status.set(Status.HANDLE_SESSION_CLOSE);
         } finally {
             status.unlock();
         }
+        if (delayed) {
+            schedule(0);
+            return;
+        }
         cleanUp.delayedClose();  // execute outside the lock
     }
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.channel.common.connection;
+
+import java.text.MessageFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded scheduler shared among all sessions in the JVM, which runs session keep-alive and
+ * triggers {@link Disposer delayed disposal}.
+ * <p>
+ * The scheduler can be configured by the following system properties, before any sessions are created:
+ * </p>
+ * <ul>
+ * <li> {@value #KEY_THREADS} - the number of scheduler threads (default: {@value #DEFAULT_THREADS}) </li>
+ * <li> {@value #KEY_BLOCKING_THREADS} - the maximum number of threads for blocking tasks
+ *      (default: {@value #DEFAULT_BLOCKING_THREADS}) </li>
+ * <li> {@value #KEY_VIRTUAL} - {@code true} to use virtual threads if they are available on the running JVM
+ *      (default: {@code false}) </li>
+ * </ul>
+ * <p>
+ * The tasks on the scheduler must not block for a long time, because the threads are shared among sessions.
+ * Blocking tasks, like closing server resources, must be handed to the {@link #getBlockingExecutor() blocking executor}.
+ * </p>
+ * @since 1.17.0
+ */
+public final class SharedScheduler {
+
+    /**
+     * The system property key of the number of scheduler threads.
+     */
+    public static final String KEY_THREADS = "tsubakuro.scheduler.threads"; //$NON-NLS-1$
+
+    /**
+     * The system property key of the maximum number of threads for blocking tasks.
+     */
+    public static final String KEY_BLOCKING_THREADS = "tsubakuro.scheduler.blocking.threads"; //$NON-NLS-1$
+
+    /**
+     * The system property key of whether or not to use virtual threads.
+     */
+    public static final String KEY_VIRTUAL = "tsubakuro.scheduler.virtual"; //$NON-NLS-1$
+
+    /**
+     * The default number of scheduler threads.
+     */
+    public static final int DEFAULT_THREADS = 2;
+
+    /**
+     * The default maximum number of threads for blocking tasks.
+     */
+    public static final int DEFAULT_BLOCKING_THREADS = 16;
+
+    static final Logger LOG = LoggerFactory.getLogger(SharedScheduler.class);
+
+    private static final String THREAD_NAME_PREFIX = "tsubakuro-scheduler-"; //$NON-NLS-1$
+
+    private static final String BLOCKING_THREAD_NAME_PREFIX = "tsubakuro-blocking-"; //$NON-NLS-1$
+
+    private static final long BLOCKING_KEEP_ALIVE_SECONDS = 60;
+
+    static final int BLOCKING_QUEUE_CAPACITY = 1024;
+
+    private SharedScheduler() {
+        throw new AssertionError();
+    }
+
+    private static final class Holder {
+        static final ScheduledExecutorService INSTANCE = create(
+                System.getProperty(KEY_THREADS),
+                Boolean.getBoolean(KEY_VIRTUAL));
+    }
+
+    private static final class BlockingHolder {
+        static final ExecutorService INSTANCE = createBlocking(
+                System.getProperty(KEY_BLOCKING_THREADS),
+                Boolean.getBoolean(KEY_VIRTUAL));
+    }
+
+    /**
+     * Returns the shared scheduler.
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the shared executor for blocking tasks.
+     * <p>
+     * The threads of this executor are created on demand up to {@value #KEY_BLOCKING_THREADS}, and are released
+     * after they have been idle for a while. The tasks beyond the threads are queued, and the executor rejects
+     * the tasks with {@link RejectedExecutionException} if the queue is also full.
+     * </p>
+     * @return the shared executor for blocking tasks
+     */
+    public static ExecutorService getBlockingExecutor() {
+        return BlockingHolder.INSTANCE;
+    }
+
+    static ScheduledExecutorService create(@Nullable String threads, boolean virtual) {
+        int size = parseThreads(KEY_THREADS, threads, DEFAULT_THREADS);
+        LOG.debug("creating shared scheduler: threads={}, virtual={}", size, virtual); //$NON-NLS-1$
+        var executor = new ScheduledThreadPoolExecutor(size, threadFactory(THREAD_NAME_PREFIX, virtual));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    static ExecutorService createBlocking(@Nullable String threads, boolean virtual) {
+        int size = parseThreads(KEY_BLOCKING_THREADS, threads, DEFAULT_BLOCKING_THREADS);
+        LOG.debug("creating shared blocking executor: threads={}, virtual={}", size, virtual); //$NON-NLS-1$
+        var executor = new ThreadPoolExecutor(
+                size, size,
+                BLOCKING_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(BLOCKING_QUEUE_CAPACITY),
+                threadFactory(BLOCKING_THREAD_NAME_PREFIX, virtual));
+        // releases the idle threads, because the queue is used before creating threads beyond the core size
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static @Nonnull ThreadFactory threadFactory(@Nonnull String prefix, boolean virtual) {
+        ThreadFactory factory = null;
+        if (virtual) {
+            factory = virtualThreadFactory(prefix);
+        }
+        if (factory == null) {
+            factory = platformThreadFactory(prefix);
+        }
+        return factory;
+    }
+
+    private static int parseThreads(@Nonnull String key, @Nullable String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int threads = Integer.parseInt(value.trim());
+            if (threads > 0) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        LOG.warn(MessageFormat.format(
+                "invalid number of scheduler threads, use {2} instead: {0}={1}",
+                key,
+                value,
+                defaultValue));
+        return defaultValue;
+    }
+
+    private static @Nonnull ThreadFactory platformThreadFactory(@Nonnull String prefix) {
+        var counter = new AtomicInteger();
+        return r -> {
+            var thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static @Nullable ThreadFactory virtualThreadFactory(@Nonnull String prefix) {
+        // Thread.ofVirtual().name(prefix, 1).factory() is only available on Java 21 or later
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            var builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("virtual threads are not available, use platform threads instead", e);
+            return null;
+        }
+    }
+}
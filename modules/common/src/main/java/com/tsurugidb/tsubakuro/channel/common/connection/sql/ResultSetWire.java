@@ -81,6 +81,23 @@ public interface ResultSetWire extends Closeable {
             }
         }
 
+        @Override
+        public long skip(long n) throws IOException {
+            long rest = n;
+            while (rest > 0) {
+                int count = (int) Math.min(rest, source.remaining());
+                if (count > 0) {
+                    source.position(source.position() + count);
+                    rest -= count;
+                    continue;
+                }
+                if (!next()) {
+                    break;
+                }
+            }
+            return n > 0 ? n - rest : 0;
+        }
+
         @Override
         public int available() {
             if (source != null) {
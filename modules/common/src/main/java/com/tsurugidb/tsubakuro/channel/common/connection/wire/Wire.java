@@ -41,6 +41,16 @@ import com.tsurugidb.tsubakuro.util.Timeout;
  */
 @ThreadSafe
 public interface Wire extends ServerResource {
+
+    /**
+     * The maximum number of requests which can be in flight at once on a wire.
+     * <p>
+     * The requests beyond this are queued in the client until one of the requests in flight is finished.
+     * </p>
+     * @since 1.17.0
+     */
+    int MAXIMUM_CONCURRENT_REQUESTS = Byte.MAX_VALUE;
+
     /**
      * send a message to the destination server.
      * <p>
@@ -33,6 +33,10 @@ import javax.crypto.NoSuchPaddingException;
 
 /**
  * Crypto type.
+ * <p>
+ * The parsed key and {@link Cipher} are reused among handshakes to the same endpoint,
+ * so that the encryption is serialized.
+ * </p>
  */
 final class Crypto {
     private Cipher cipher;
@@ -58,7 +62,7 @@ final class Crypto {
         }
     }
 
-    String encryptByPublicKey(String plainText) throws IllegalBlockSizeException {
+    synchronized String encryptByPublicKey(String plainText) throws IllegalBlockSizeException {
         try {
             return Base64.getEncoder().withoutPadding().encodeToString(cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8)));
         } catch (BadPaddingException e) {
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.channel.common.connection.wire.impl;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the server encryption keys per endpoint, together with their parsed {@link Crypto}.
+ * <p>
+ * Cached keys are valid only for a while (see {@value #KEY_VALIDITY}), and are invalidated
+ * when the server rejects the authentication, so that the next handshake fetches the key again.
+ * </p>
+ */
+@ThreadSafe
+final class EncryptionKeyCache {
+
+    /**
+     * The system property key of the validity period of cached keys in seconds, or {@code 0} to disable the cache.
+     */
+    static final String KEY_VALIDITY = "tsubakuro.encryption_key.validity"; //$NON-NLS-1$
+
+    /**
+     * The default validity period of cached keys in seconds.
+     */
+    static final long DEFAULT_VALIDITY_SECONDS = 600;
+
+    static final Logger LOG = LoggerFactory.getLogger(EncryptionKeyCache.class);
+
+    private static final EncryptionKeyCache INSTANCE = new EncryptionKeyCache(
+            TimeUnit.SECONDS.toNanos(Long.getLong(KEY_VALIDITY, DEFAULT_VALIDITY_SECONDS)),
+            System::nanoTime);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long validityNanos;
+
+    private final LongSupplier clock;
+
+    private static final class Entry {
+
+        final Crypto crypto;
+
+        final long expiration;
+
+        Entry(Crypto crypto, long expiration) {
+            this.crypto = crypto;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     * @param validityNanos the validity period of cached keys in nanoseconds, or {@code 0} to disable the cache
+     * @param clock the clock in nanoseconds
+     */
+    EncryptionKeyCache(long validityNanos, @Nonnull LongSupplier clock) {
+        Objects.requireNonNull(clock);
+        this.validityNanos = validityNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the JVM-wide instance.
+     * @return the instance
+     */
+    static EncryptionKeyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached key of the given endpoint.
+     * @param endpoint the endpoint, or {@code null} if it is unknown
+     * @return the cached key, or {@code null} if it is not cached or already expired
+     */
+    @Nullable Crypto find(@Nullable String endpoint) {
+        if (endpoint == null || validityNanos <= 0) {
+            return null;
+        }
+        var entry = entries.get(endpoint);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiration >= 0) {
+            entries.remove(endpoint, entry);
+            return null;
+        }
+        return entry.crypto;
+    }
+
+    /**
+     * Parses the given key and caches it for the endpoint.
+     * @param endpoint the endpoint, or {@code null} to only parse the key
+     * @param pem the encryption key in PEM format
+     * @return the parsed key
+     * @throws IllegalArgumentException if the key is not valid
+     */
+    @Nonnull Crypto put(@Nullable String endpoint, @Nonnull String pem) {
+        Objects.requireNonNull(pem);
+        var crypto = new Crypto(pem);
+        if (endpoint != null && validityNanos > 0) {
+            LOG.trace("caching encryption key: {}", endpoint); //$NON-NLS-1$
+            entries.put(endpoint, new Entry(crypto, clock.getAsLong() + validityNanos));
+        }
+        return crypto;
+    }
+
+    /**
+     * Invalidates the cached key of the endpoint, only if it is still the given one.
+     * @param endpoint the endpoint, or {@code null} if it is unknown
+     * @param crypto the key to invalidate
+     */
+    void invalidate(@Nullable String endpoint, @Nullable Crypto crypto) {
+        if (endpoint == null || crypto == null) {
+            return;
+        }
+        var entry = entries.get(endpoint);
+        if (entry != null && entry.crypto == crypto) {
+            LOG.trace("invalidating encryption key: {}", endpoint); //$NON-NLS-1$
+            entries.remove(endpoint, entry);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.tsurugidb.tsubakuro.channel.common.connection.sql.ResultSetWire;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Wire;
 import com.tsurugidb.tsubakuro.util.ServerResource;
 import com.tsurugidb.tsubakuro.util.Timeout;
 
@@ -31,7 +32,7 @@ import com.tsurugidb.tsubakuro.util.Timeout;
  * An abstract class that represents a link to the server.
  */
 public abstract class Link implements ServerResource {
-    private static final int RESPONSE_BOX_SIZE = Byte.MAX_VALUE;
+    private static final int RESPONSE_BOX_SIZE = Wire.MAXIMUM_CONCURRENT_REQUESTS;
     private static final int RESPONSE_BOX_URGENT_SIZE = 2;
 
     private final AtomicBoolean useLink = new AtomicBoolean();
@@ -153,7 +153,8 @@ public class WireImpl implements Wire {
     private final AtomicBoolean closed = new AtomicBoolean();
     private Optional<String> userNameOptional = Optional.empty();
     private CoreServiceException authenticationException = null;
-    private String encryptionKey = null;
+    private final String endpoint;
+    private Crypto crypto = null;
 
     // for testing compatibility
     private BlobTransferMediumImpl blobTransferMedium = new BlobTransferMediumImpl(BlobTransferType.PRIVILEGED);
@@ -164,7 +165,20 @@ public class WireImpl implements Wire {
      * @throws IOException error occurred in openNative()
      */
     public WireImpl(@Nonnull Link link) throws IOException {
+        this(link, null);
+    }
+
+    /**
+     * Class constructor, called from connectors which can identify the server endpoint.
+     * The server encryption key is cached per endpoint, and is shared among wires to the same endpoint.
+     * @param link the stream object by which this WireImpl is connected to the SQL server
+     * @param endpoint the server endpoint, or {@code null} to disable caching the encryption key
+     * @throws IOException error occurred in openNative()
+     * @since 1.17.0
+     */
+    public WireImpl(@Nonnull Link link, @Nullable String endpoint) throws IOException {
         this.link = link;
+        this.endpoint = endpoint;
         LOG.trace("begin Session");
     }
 
@@ -379,6 +393,8 @@ public class WireImpl implements Wire {
                 case RESOURCE_LIMIT_REACHED:
                     throw new ConnectException("the server has declined the connection request");  // preserve compatibility
                 case AUTHENTICATION_ERROR:
+                    // the server key may have been changed, fetch it again on the next handshake
+                    EncryptionKeyCache.getInstance().invalidate(endpoint, crypto);
                     authenticationException = newCoreServiceException(errMessage);
                     throw authenticationException;
                 default:
@@ -410,7 +426,11 @@ public class WireImpl implements Wire {
             if (credential instanceof UsernamePasswordCredential) {
                 var ci = (UsernamePasswordCredential) credential;
                 try {
-                    encryptionKey = (unit != null && timeout > 0) ? encryptionKey().get(timeout, unit) : encryptionKey().get();
+                    crypto = EncryptionKeyCache.getInstance().find(endpoint);
+                    if (crypto == null) {
+                        var encryptionKey = (unit != null && timeout > 0) ? encryptionKey().get(timeout, unit) : encryptionKey().get();
+                        crypto = newCrypto(encryptionKey);
+                    }
                     clientInformationBuilder.setCredential(buildCredential(ci));
                 } catch (CoreServiceException e) {
                     if (e.getDiagnosticCode() != CoreServiceCode.UNSUPPORTED_OPERATION) {
@@ -473,7 +493,11 @@ public class WireImpl implements Wire {
         var credentialBuilder = EndpointRequest.Credential.newBuilder();
         if (credential instanceof UsernamePasswordCredential) {
             var co = (UsernamePasswordCredential) credential;
-            if (encryptionKey == null) {
+            if (crypto == null) {
+                crypto = EncryptionKeyCache.getInstance().find(endpoint);
+            }
+            if (crypto == null) {
+                String encryptionKey;
                 try {
                     encryptionKey = encryptionKey().get(GET_ENCRYPTION_KEY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
                 } catch (TimeoutException e) {
@@ -484,9 +508,10 @@ public class WireImpl implements Wire {
                     close();
                     throw new IllegalStateException("encryptionKey is not set");
                 }
+                crypto = newCrypto(encryptionKey);
             }
             Instant dueInstant = validityPeriodInSeconds > 0 ? Instant.now().plusSeconds(validityPeriodInSeconds) : null;
-            var crypt = new Crypto(encryptionKey);
+            var crypt = crypto;
             String jsonText = co.getJsonText(dueInstant);
             try {
                 credentialBuilder.setEncryptedCredential((new FileCredential(crypt.encryptByPublicKey(jsonText), List.of())).getEncrypted());
@@ -507,6 +532,10 @@ public class WireImpl implements Wire {
         return credentialBuilder.build();
     }
 
+    private Crypto newCrypto(@Nonnull String encryptionKey) {
+        return EncryptionKeyCache.getInstance().put(endpoint, encryptionKey);
+    }
+
     /**
      * Check session ID consistency.
      * @param id the session ID to check
@@ -15,6 +15,8 @@
  */
 package com.tsurugidb.tsubakuro.common;
 
+import java.util.Objects;
+
 import com.tsurugidb.sql.proto.SqlRequest;
 
 /**
@@ -72,4 +74,32 @@ public class BlobRelayReference {
     public long getReferenceTag() {
       return tag;
     }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(storageId, objectId, tag);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      var other = (BlobRelayReference) obj;
+      return storageId == other.storageId
+          && objectId == other.objectId
+          && tag == other.tag;
+    }
+
+    @Override
+    public String toString() {
+      return "BlobRelayReference{"
+          + "storageId=" + storageId
+          + ", objectId=" + objectId
+          + ", tag=" + tag
+          + '}';
+    }
 }
\ No newline at end of file
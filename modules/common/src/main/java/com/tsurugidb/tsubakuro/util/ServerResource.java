@@ -36,6 +36,24 @@ public interface ServerResource extends AutoCloseable {
         return;
     }
 
+    /**
+     * Sends requests to release this resource on the server, without waiting for their responses.
+     * <p>
+     * This is the first phase of two-phase close: the client must still invoke {@link #close()} after this,
+     * and it waits for the responses of the requests sent here.
+     * Holders of many resources can send all requests first and then await them together,
+     * instead of paying a round trip for each resource.
+     * </p>
+     * <p>
+     * This does nothing by default.
+     * </p>
+     * @throws IOException if I/O error was occurred while sending the requests
+     * @since 1.17.0
+     */
+    default void requestClose() throws IOException {
+        return;
+    }
+
     @Override
     void close() throws ServerException, IOException, InterruptedException;
 
@@ -126,6 +126,16 @@ public final class Timeout {
         return this.unit;
     }
 
+    /**
+     * get timeout policy
+     *
+     * @return timeout policy
+     * @since 1.17.0
+     */
+    public Policy policy() {
+        return this.policy;
+    }
+
     /**
      * Policy kind when waiting for response is timeout.
      */
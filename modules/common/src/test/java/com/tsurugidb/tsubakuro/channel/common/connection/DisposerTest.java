@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.channel.common.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DisposerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> trace = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private Disposer.DelayedClose entry(String name, int retries) {
+        var rest = new AtomicInteger(retries);
+        return () -> {
+            if (rest.getAndDecrement() > 0) {
+                return false;
+            }
+            trace.add(name);
+            return true;
+        };
+    }
+
+    @Test
+    void order() {
+        var disposer = new Disposer(scheduler, executor);
+        disposer.add(entry("a", 0));
+        disposer.add(entry("b", 0));
+        disposer.add(entry("c", 0));
+        disposer.waitForEmpty();
+        assertEquals(List.of("a", "b", "c"), trace);
+    }
+
+    @Test
+    void retry() {
+        var disposer = new Disposer(scheduler, executor);
+        disposer.add(entry("a", 3));
+        disposer.add(entry("b", 0));
+        disposer.waitForEmpty();
+        assertEquals(List.of("b", "a"), trace);
+    }
+
+    @Test
+    void session_close_after_entries() throws Exception {
+        var disposer = new Disposer(scheduler, executor);
+        var closed = new CountDownLatch(1);
+        disposer.add(entry("a", 2));
+        disposer.registerDelayedShutdown(() -> trace.add("shutdown"));
+        disposer.registerDelayedClose(() -> {
+            trace.add("close");
+            closed.countDown();
+            return true;
+        });
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "shutdown", "close"), trace);
+    }
+
+    @Test
+    void session_close_inactive() throws Exception {
+        var disposer = new Disposer(scheduler, executor);
+        disposer.registerDelayedClose(() -> trace.add("close"));
+        assertEquals(List.of("close"), trace);
+    }
+
+    @Test
+    void shared() {
+        var disposers = new ArrayList<Disposer>();
+        for (int i = 0; i < 100; i++) {
+            var disposer = new Disposer(scheduler, executor);
+            disposer.add(entry(i + "-a", i % 3));
+            disposer.add(entry(i + "-b", 0));
+            disposers.add(disposer);
+        }
+        for (var disposer : disposers) {
+            disposer.waitForEmpty();
+        }
+        assertEquals(200, trace.size());
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                assertTrue(trace.indexOf(i + "-a") < trace.indexOf(i + "-b"));
+            }
+        }
+    }
+
+    @Test
+    void blocking_entry() throws Exception {
+        var blocked = new Disposer(scheduler, executor);
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        blocked.add(() -> {
+            entered.countDown();
+            release.await();
+            trace.add("blocked");
+            return true;
+        });
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        // the blocked disposer must not occupy the scheduler thread
+        var other = new Disposer(scheduler, executor);
+        other.add(entry("a", 3));
+        other.waitForEmpty();
+        assertEquals(List.of("a"), trace);
+
+        release.countDown();
+        blocked.waitForEmpty();
+        assertEquals(List.of("a", "blocked"), trace);
+    }
+
+    @Test
+    void scheduler_configuration() {
+        var executor = (ScheduledThreadPoolExecutor) SharedScheduler.create("3", false);
+        try {
+            assertEquals(3, executor.getCorePoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+        executor = (ScheduledThreadPoolExecutor) SharedScheduler.create("invalid", true);
+        try {
+            assertEquals(SharedScheduler.DEFAULT_THREADS, executor.getCorePoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void blocking_configuration() throws Exception {
+        var executor = (ThreadPoolExecutor) SharedScheduler.createBlocking("3", false);
+        try {
+            assertEquals(3, executor.getMaximumPoolSize());
+            assertEquals(SharedScheduler.BLOCKING_QUEUE_CAPACITY, executor.getQueue().remainingCapacity());
+        } finally {
+            executor.shutdownNow();
+        }
+        executor = (ThreadPoolExecutor) SharedScheduler.createBlocking("invalid", true);
+        try {
+            assertEquals(SharedScheduler.DEFAULT_BLOCKING_THREADS, executor.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void blocking_bounded() throws Exception {
+        var executor = SharedScheduler.createBlocking("1", false);
+        var release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i <= SharedScheduler.BLOCKING_QUEUE_CAPACITY; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                });
+            }
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void compatible_api() {
+        var disposer = new Disposer(scheduler);
+        disposer.add(entry("a", 3));
+        disposer.waitForEmpty();
+        assertEquals(List.of("a"), trace);
+
+        // start() never starts a new thread
+        disposer.setDaemon(true);
+        disposer.start();
+        assertFalse(disposer.isAlive());
+    }
+}
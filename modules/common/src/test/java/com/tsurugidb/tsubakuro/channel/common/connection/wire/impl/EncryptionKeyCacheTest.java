@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.channel.common.connection.wire.impl;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.mock.ResponseProtoForTests;
+
+class EncryptionKeyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void find() {
+        var cache = new EncryptionKeyCache(100, clock::get);
+        assertNull(cache.find("a"));
+
+        var crypto = cache.put("a", ResponseProtoForTests.encryptionKey());
+        assertSame(crypto, cache.find("a"));
+        assertNull(cache.find("b"));
+        assertNull(cache.find(null));
+    }
+
+    @Test
+    void expire() {
+        var cache = new EncryptionKeyCache(100, clock::get);
+        var crypto = cache.put("a", ResponseProtoForTests.encryptionKey());
+
+        clock.set(99);
+        assertSame(crypto, cache.find("a"));
+        clock.set(100);
+        assertNull(cache.find("a"));
+    }
+
+    @Test
+    void invalidate() {
+        var cache = new EncryptionKeyCache(100, clock::get);
+        var older = cache.put("a", ResponseProtoForTests.encryptionKey());
+        var newer = cache.put("a", ResponseProtoForTests.encryptionKey());
+
+        // does not discard the newer one
+        cache.invalidate("a", older);
+        assertSame(newer, cache.find("a"));
+
+        cache.invalidate("a", newer);
+        assertNull(cache.find("a"));
+    }
+
+    @Test
+    void disabled() {
+        var cache = new EncryptionKeyCache(0, clock::get);
+        assertNotNull(cache.put("a", ResponseProtoForTests.encryptionKey()));
+        assertNull(cache.find("a"));
+    }
+}
@@ -238,6 +238,43 @@ class HandshakeTest {
         assertFalse(link.hasRemaining());
     }
 
+    @Test
+    void handshake_authentication_userPassword_cached_key() throws Exception {
+        String endpoint = "test:cached_key";
+        var clientInformation = new ClientInformation(null, null, new UsernamePasswordCredential("user", "password"), BlobTransferType.DEFAULT);
+
+        // first handshake fetches the encryption key
+        link.next(EndpointResponse.EncryptionKey.newBuilder()
+                    .setSuccess(EndpointResponse.EncryptionKey.Success.newBuilder()
+                                   .setEncryptionKey(ResponseProtoForTests.encryptionKey()))
+                    .build());
+        link.next(EndpointResponse.Handshake.newBuilder()
+                    .setSuccess(EndpointResponse.Handshake.Success.newBuilder())
+                    .build());
+        new WireImpl(link, endpoint).handshake(clientInformation, null, 0, null).get();
+        assertFalse(link.hasRemaining());
+
+        // second handshake to the same endpoint reuses it, and fails authentication
+        link.next(EndpointResponse.Handshake.newBuilder()
+                    .setError(EndpointResponse.Error.newBuilder()
+                                    .setCode(Diagnostics.Code.AUTHENTICATION_ERROR))
+                    .build());
+        var second = new WireImpl(link, endpoint).handshake(clientInformation, null, 0, null);
+        assertThrows(CoreServiceException.class, () -> second.get());
+        assertFalse(link.hasRemaining());
+
+        // third handshake fetches the key again
+        link.next(EndpointResponse.EncryptionKey.newBuilder()
+                    .setSuccess(EndpointResponse.EncryptionKey.Success.newBuilder()
+                                   .setEncryptionKey(ResponseProtoForTests.encryptionKey()))
+                    .build());
+        link.next(EndpointResponse.Handshake.newBuilder()
+                    .setSuccess(EndpointResponse.Handshake.Success.newBuilder())
+                    .build());
+        new WireImpl(link, endpoint).handshake(clientInformation, null, 0, null).get();
+        assertFalse(link.hasRemaining());
+    }
+
     // rememberMe cases
     @Test
     void handshake_authentication_rememberMe_success() throws Exception {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ServerResourceHolderTest {
+
+    private final List<String> trace = new ArrayList<>();
+
+    private class Resource implements ServerResource {
+
+        final String name;
+
+        Timeout timeout;
+
+        Resource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void setCloseTimeout(Timeout t) {
+            timeout = t;
+        }
+
+        @Override
+        public void requestClose() throws IOException {
+            trace.add("request:" + name);
+        }
+
+        @Override
+        public void close() {
+            trace.add("close:" + name);
+        }
+    }
+
+    @Test
+    void two_phase() throws Exception {
+        var holder = new ServerResourceHolder();
+        holder.register(new Resource("a"));
+        holder.register(new Resource("b"));
+        holder.register(new Resource("c"));
+        holder.close();
+
+        assertEquals(6, trace.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(trace.get(i).startsWith("request:"), trace.toString());
+        }
+        for (int i = 3; i < 6; i++) {
+            assertTrue(trace.get(i).startsWith("close:"), trace.toString());
+        }
+    }
+
+    @Test
+    void request_failure() throws Exception {
+        var holder = new ServerResourceHolder();
+        holder.register(new Resource("a") {
+            @Override
+            public void requestClose() throws IOException {
+                throw new IOException("testing");
+            }
+        });
+        holder.register(new Resource("b"));
+        holder.close();
+
+        assertTrue(trace.contains("request:b"));
+        assertTrue(trace.contains("close:a"));
+        assertTrue(trace.contains("close:b"));
+    }
+
+    @Test
+    void unregistered() throws Exception {
+        var holder = new ServerResourceHolder();
+        var a = holder.register(new Resource("a"));
+        holder.register(new Resource("b"));
+        holder.onClosed(a);
+        holder.close();
+
+        assertEquals(List.of("request:b", "close:b"), trace);
+    }
+
+    @Test
+    void timeout_shared() throws Exception {
+        var holder = new ServerResourceHolder();
+        var a = holder.register(new Resource("a"));
+        holder.setCloseTimeout(new Timeout(10, TimeUnit.SECONDS, Timeout.Policy.WARN));
+        holder.close();
+
+        assertNotNull(a.timeout);
+        assertEquals(Timeout.Policy.WARN, a.timeout.policy());
+        long rest = a.timeout.unit().toNanos(a.timeout.value());
+        assertTrue(rest > 0 && rest <= TimeUnit.SECONDS.toNanos(10), String.valueOf(rest));
+    }
+
+    @Test
+    void timeout_expired() throws Exception {
+        var holder = new ServerResourceHolder();
+        var resources = new ArrayList<Resource>();
+        for (int i = 0; i < 3; i++) {
+            resources.add(holder.register(new Resource("r" + i) {
+                @Override
+                public void close() {
+                    super.close();
+                    // consumes the all rest time
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }));
+        }
+        holder.setCloseTimeout(new Timeout(10, TimeUnit.MILLISECONDS, Timeout.Policy.ERROR));
+        holder.close();
+
+        // the resources after the deadline must not wait for one more unit of the original timeout
+        int expired = 0;
+        for (var r : resources) {
+            assertNotNull(r.timeout, r.name);
+            assertTrue(r.timeout.isEnabled(), r.name);
+            assertEquals(Timeout.Policy.ERROR, r.timeout.policy());
+            if (r.timeout.unit().toNanos(r.timeout.value()) == 1) {
+                expired++;
+            }
+        }
+        assertEquals(resources.size() - 1, expired);
+    }
+
+    @Test
+    void remaining() {
+        var timeout = new Timeout(1, TimeUnit.SECONDS, Timeout.Policy.ERROR);
+        var rest = ServerResourceHolder.remaining(timeout, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500_000));
+        long restMillis = rest.unit().toMillis(rest.value());
+        assertTrue(restMillis > 499_000 && restMillis <= 500_000, String.valueOf(restMillis));
+
+        // sub-second rest time is kept
+        var subSecond = ServerResourceHolder.remaining(timeout, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(subSecond.unit().toMillis(subSecond.value()) > 0);
+
+        var expired = ServerResourceHolder.remaining(timeout, System.nanoTime() - 1);
+        assertEquals(1, expired.unit().toNanos(expired.value()));
+        assertTrue(expired.isEnabled());
+    }
+}
@@ -81,14 +81,14 @@ public final class IpcConnectorImpl implements Connector {
     synchronized WireImpl getSessionWire(long id) throws IOException {
         long sessionId = waitNative(handle, id);
         close();
-        return new WireImpl(new IpcLink(name, sessionId));
+        return new WireImpl(new IpcLink(name, sessionId), "ipc:" + name); //$NON-NLS-1$
     }
 
     synchronized WireImpl getSessionWire(long id, long timeout, TimeUnit unit) throws TimeoutException, IOException {
         long timeoutNano = (WireImpl.MAX_TIMEOUT_DAYS > TimeUnit.DAYS.convert(timeout, unit)) ? unit.toNanos(timeout) : WireImpl.MAX_TIMEOUT_DAYS * 24 * 3600_000_000_000L;
         long sessionId = waitNative(handle, id, timeoutNano);
         close();
-        return new WireImpl(new IpcLink(name, sessionId));
+        return new WireImpl(new IpcLink(name, sessionId), "ipc:" + name); //$NON-NLS-1$
     }
 
     synchronized boolean checkConnection(long id) {
@@ -0,0 +1,537 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.util.Lang;
+
+/**
+ * Runs a KVS range scan as several sub-scans in parallel.
+ * <p>
+ * The scan range is split into partitions by the given split points, that is,
+ * {@code n} split points make {@code n + 1} partitions: {@code [lower, s0)}, {@code [s0, s1)}, ...,
+ * {@code [s(n-1), upper]}. The split points must be sorted in the key order, and each split point belongs to
+ * the partition which starts with it. You can choose split points from sampled keys by
+ * {@link #selectSplitPoints(List, int)}.
+ * </p>
+ * <p>
+ * All sub-scans run on the same transaction, and it should be a read-only transaction,
+ * so that every partition sees the same snapshot.
+ * </p>
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class ParallelScan {
+
+    /**
+     * The default number of records to buffer for each partition.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    static final Logger LOG = LoggerFactory.getLogger(ParallelScan.class);
+
+    private static final long OFFER_INTERVAL_MILLIS = 10;
+
+    private final KvsClient client;
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    /**
+     * Handles records of individual partitions in parallel.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handles a record.
+         * <p>
+         * This may be invoked from multiple threads at the same time, but it is never invoked concurrently
+         * for the same partition, and records of each partition are passed in the scan order.
+         * </p>
+         * @param partition the partition number (0-origin)
+         * @param record the record
+         * @throws IOException if I/O error was occurred while handling the record
+         * @throws ServerException if server error was occurred while handling the record
+         * @throws InterruptedException if interrupted while handling the record
+         */
+        void handle(int partition, @Nonnull Record record) throws IOException, ServerException, InterruptedException;
+    }
+
+    /**
+     * Creates a new instance with the {@link #DEFAULT_BUFFER_SIZE default buffer size}.
+     * @param client the KVS client
+     * @param executor the executor which runs the sub-scans, it must be able to run all partitions at once
+     */
+    public ParallelScan(@Nonnull KvsClient client, @Nonnull Executor executor) {
+        this(client, executor, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param client the KVS client
+     * @param executor the executor which runs the sub-scans, it must be able to run all partitions at once
+     * @param bufferSize the number of records to buffer for each partition
+     */
+    public ParallelScan(@Nonnull KvsClient client, @Nonnull Executor executor, int bufferSize) {
+        Objects.requireNonNull(client);
+        Objects.requireNonNull(executor);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "buffer size must be > 0: {0}",
+                    bufferSize));
+        }
+        this.client = client;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Selects split points from the sampled keys.
+     * @param samples the sampled keys, sorted in the key order
+     * @param partitions the number of partitions
+     * @return the split points, which may be less than {@code partitions - 1} if there are not enough samples
+     */
+    public static @Nonnull List<RecordBuffer> selectSplitPoints(@Nonnull List<? extends Record> samples, int partitions) {
+        Objects.requireNonNull(samples);
+        if (partitions < 1) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "the number of partitions must be > 0: {0}",
+                    partitions));
+        }
+        var results = new ArrayList<RecordBuffer>(partitions - 1);
+        Record last = null;
+        for (int i = 1; i < partitions; i++) {
+            int index = (int) ((long) samples.size() * i / partitions);
+            if (index >= samples.size()) {
+                break;
+            }
+            var sample = samples.get(index);
+            if (last != null && last.equals(sample)) {
+                continue;
+            }
+            results.add(new RecordBuffer(sample));
+            last = sample;
+        }
+        return results;
+    }
+
+    /**
+     * Scans the range in parallel, and returns a cursor which provides records in the scan order.
+     * <p>
+     * While the returned cursor reads records of a partition, the following partitions are prefetched
+     * in background.
+     * </p>
+     * @param transaction the transaction handle
+     * @param table the source table name
+     * @param lowerKey the lower key, or {@code null} if the range is unbounded
+     * @param lowerBound the lower bound, or {@code null} if the range is unbounded
+     * @param upperKey the upper key, or {@code null} if the range is unbounded
+     * @param upperBound the upper bound, or {@code null} if the range is unbounded
+     * @param splitPoints the split points, sorted in the key order
+     * @param behavior the scan direction
+     * @return the record cursor
+     * @see KvsClient#scan(TransactionHandle, String, RecordBuffer, ScanBound, RecordBuffer, ScanBound, ScanType)
+     */
+    public @Nonnull RecordCursor scan(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nullable RecordBuffer lowerKey, @Nullable ScanBound lowerBound,
+            @Nullable RecordBuffer upperKey, @Nullable ScanBound upperBound,
+            @Nonnull List<? extends RecordBuffer> splitPoints,
+            @Nonnull ScanType behavior) {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(table);
+        Objects.requireNonNull(splitPoints);
+        Objects.requireNonNull(behavior);
+        var partitions = partition(transaction, table, lowerKey, lowerBound, upperKey, upperBound, splitPoints, behavior);
+        var cursor = new OrderedCursor(partitions, behavior);
+        for (var partition : partitions) {
+            start(partition, partition::offer, null);
+        }
+        return cursor;
+    }
+
+    /**
+     * Scans the range in parallel, and passes the records to the handler from multiple threads.
+     * <p>
+     * This blocks until all partitions were completed.
+     * If any partitions were failed, this stops the rest of partitions and raises the first error.
+     * </p>
+     * @param transaction the transaction handle
+     * @param table the source table name
+     * @param lowerKey the lower key, or {@code null} if the range is unbounded
+     * @param lowerBound the lower bound, or {@code null} if the range is unbounded
+     * @param upperKey the upper key, or {@code null} if the range is unbounded
+     * @param upperBound the upper bound, or {@code null} if the range is unbounded
+     * @param splitPoints the split points, sorted in the key order
+     * @param behavior the scan direction
+     * @param handler the record handler
+     * @throws IOException if I/O error was occurred while scanning the range
+     * @throws ServerException if server error was occurred while scanning the range
+     * @throws InterruptedException if interrupted while scanning the range
+     */
+    public void scan(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nullable RecordBuffer lowerKey, @Nullable ScanBound lowerBound,
+            @Nullable RecordBuffer upperKey, @Nullable ScanBound upperBound,
+            @Nonnull List<? extends RecordBuffer> splitPoints,
+            @Nonnull ScanType behavior,
+            @Nonnull RecordHandler handler) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(table);
+        Objects.requireNonNull(splitPoints);
+        Objects.requireNonNull(behavior);
+        Objects.requireNonNull(handler);
+        var partitions = partition(transaction, table, lowerKey, lowerBound, upperKey, upperBound, splitPoints, behavior);
+        var failure = new AtomicReference<Exception>();
+        Consumer<Exception> stopAll = error -> {
+            if (failure.compareAndSet(null, error)) {
+                // stops the rest partitions as soon as possible
+                for (var partition : partitions) {
+                    partition.requestClose();
+                }
+            }
+        };
+        for (var partition : partitions) {
+            start(partition, record -> {
+                handler.handle(partition.index, record);
+                return true;
+            }, stopAll);
+        }
+        try {
+            for (var partition : partitions) {
+                partition.done.await();
+            }
+        } catch (InterruptedException e) {
+            stopAll.accept(e);
+            throw e;
+        }
+        var error = failure.get();
+        if (error != null) {
+            for (var partition : partitions) {
+                if (partition.error != null && partition.error != error) {
+                    error.addSuppressed(partition.error);
+                }
+            }
+            throw rethrow(error);
+        }
+    }
+
+    private List<Partition> partition(
+            TransactionHandle transaction,
+            String table,
+            RecordBuffer lowerKey, ScanBound lowerBound,
+            RecordBuffer upperKey, ScanBound upperBound,
+            List<? extends RecordBuffer> splitPoints,
+            ScanType behavior) {
+        // takes snapshots of the keys, because they will be used in other threads
+        var results = new ArrayList<Partition>(splitPoints.size() + 1);
+        RecordBuffer lower = snapshot(lowerKey);
+        ScanBound lowerB = lowerBound;
+        for (var split : splitPoints) {
+            Objects.requireNonNull(split);
+            var point = snapshot(split);
+            results.add(new Partition(results.size(),
+                    transaction, table, lower, lowerB, point, ScanBound.EXCLUSIVE, behavior));
+            lower = point;
+            lowerB = ScanBound.INCLUSIVE;
+        }
+        results.add(new Partition(results.size(),
+                transaction, table, lower, lowerB, snapshot(upperKey), upperBound, behavior));
+        LOG.trace("starting parallel scan: table={}, partitions={}", table, results.size()); //$NON-NLS-1$
+        return results;
+    }
+
+    private static @Nullable RecordBuffer snapshot(@Nullable RecordBuffer key) {
+        if (key == null) {
+            return null;
+        }
+        return new RecordBuffer(key.toRecord());
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        boolean accept(Record record) throws IOException, ServerException, InterruptedException;
+    }
+
+    private void start(Partition partition, Sink sink, @Nullable Consumer<Exception> failureHandler) {
+        partition.failureHandler = failureHandler;
+        try {
+            executor.execute(() -> partition.run(sink));
+        } catch (RejectedExecutionException e) {
+            partition.fail(new IOException(MessageFormat.format(
+                    "failed to start scan of partition {0}",
+                    partition.index), e));
+        }
+    }
+
+    private static Exception rethrow(Exception error) throws IOException, ServerException, InterruptedException {
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof ServerException) {
+            throw (ServerException) error;
+        }
+        if (error instanceof InterruptedException) {
+            throw (InterruptedException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        throw new IOException(error);
+    }
+
+    /**
+     * A partition of the scan range.
+     */
+    private final class Partition {
+
+        final int index;
+
+        private final TransactionHandle transaction;
+
+        private final String table;
+
+        private final RecordBuffer lowerKey;
+
+        private final ScanBound lowerBound;
+
+        private final RecordBuffer upperKey;
+
+        private final ScanBound upperBound;
+
+        private final ScanType behavior;
+
+        // buffers the records and the terminal, only the ordered cursor consumes the records
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        volatile boolean closed = false;
+
+        volatile RecordCursor cursor;
+
+        volatile Exception error;
+
+        volatile Consumer<Exception> failureHandler;
+
+        Partition(
+                int index,
+                TransactionHandle transaction,
+                String table,
+                RecordBuffer lowerKey, ScanBound lowerBound,
+                RecordBuffer upperKey, ScanBound upperBound,
+                ScanType behavior) {
+            this.index = index;
+            this.transaction = transaction;
+            this.table = table;
+            this.lowerKey = lowerKey;
+            this.lowerBound = lowerBound;
+            this.upperKey = upperKey;
+            this.upperBound = upperBound;
+            this.behavior = behavior;
+        }
+
+        void run(Sink sink) {
+            Exception failure = null;
+            try (var c = client.scan(transaction, table, lowerKey, lowerBound, upperKey, upperBound, behavior).await()) {
+                cursor = c;
+                while (!closed && c.next()) {
+                    if (!sink.accept(c.getRecord())) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                LOG.debug("error occurred while scanning partition {}", index, e); //$NON-NLS-1$
+                failure = e;
+            } finally {
+                cursor = null;
+            }
+            if (failure == null) {
+                offerTerminal(End.INSTANCE);
+                done.countDown();
+            } else {
+                fail(failure);
+                if (failure instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void fail(Exception e) {
+            error = e;
+            offerTerminal(e);
+            var handler = failureHandler;
+            if (handler != null) {
+                handler.accept(e);
+            }
+            done.countDown();
+        }
+
+        boolean offer(Record record) throws InterruptedException {
+            while (!closed) {
+                if (queue.offer(record, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offerTerminal(Object terminal) {
+            // the terminal must not be lost, or the ordered cursor waits forever;
+            // the buffered records are no longer needed if the partition was closed
+            boolean interrupted = false;
+            while (true) {
+                if (closed || interrupted) {
+                    queue.clear();
+                }
+                try {
+                    if (queue.offer(terminal, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void requestClose() {
+            closed = true;
+            var c = cursor;
+            if (c != null) {
+                Lang.suppress(
+                        e -> LOG.warn("error occurred while canceling scan", e),
+                        c::requestClose);
+            }
+        }
+    }
+
+    private enum End {
+        INSTANCE,
+    }
+
+    /**
+     * A cursor which reads partitions one by one.
+     */
+    private static final class OrderedCursor implements RecordCursor {
+
+        private final List<Partition> partitions;
+
+        private int position = 0;
+
+        private Record current;
+
+        private boolean closed = false;
+
+        OrderedCursor(List<Partition> partitions, ScanType behavior) {
+            if (behavior == ScanType.BACKWARD) {
+                var reversed = new ArrayList<>(partitions);
+                Collections.reverse(reversed);
+                this.partitions = reversed;
+            } else {
+                this.partitions = partitions;
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException, ServerException, InterruptedException {
+            if (closed) {
+                throw new IOException("record cursor already closed");
+            }
+            while (position < partitions.size()) {
+                var entry = partitions.get(position).queue.take();
+                if (entry instanceof Record) {
+                    current = (Record) entry;
+                    return true;
+                }
+                if (entry instanceof Exception) {
+                    current = null;
+                    position = partitions.size();
+                    throw rethrow((Exception) entry);
+                }
+                assert entry == End.INSTANCE;
+                position++;
+            }
+            current = null;
+            return false;
+        }
+
+        @Override
+        public Record getRecord() {
+            if (current == null) {
+                throw new IllegalStateException("record cursor does not point any records");
+            }
+            return current;
+        }
+
+        @Override
+        public void requestClose() {
+            for (var partition : partitions) {
+                partition.requestClose();
+            }
+        }
+
+        @Override
+        public void close() throws IOException, ServerException, InterruptedException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = null;
+            requestClose();
+            for (var partition : partitions) {
+                // unblocks the producer
+                partition.queue.clear();
+            }
+            for (var partition : partitions) {
+                partition.done.await();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParallelScan(%s)", client); //$NON-NLS-1$
+    }
+}
@@ -22,7 +22,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
-import java.util.HashMap;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
@@ -37,7 +36,9 @@ import com.tsurugidb.kvs.proto.KvsData.Value.ValueCase;
 public class Record {
 
     private final KvsData.Record entity;
-    private final HashMap<String, Integer> name2posMap = new HashMap<>();
+
+    // built on demand
+    private RecordLayout layout;
 
     /**
      * Creates a new empty instance.
@@ -59,9 +60,50 @@ public class Record {
                             entity.getValuesCount()));
         }
         this.entity = entity;
-        for (int position = 0; position < entity.getNamesCount(); position++) {
-            name2posMap.put(entity.getNames(position), position);
+    }
+
+    /**
+     * Creates a new instance which shares the given layout.
+     * <p>
+     * This avoids building the name index for each record, so that it is suitable for a lot of records
+     * which have the same entry names, like as the records from the same {@link RecordCursor}.
+     * </p>
+     * @param entity the wrapped entity
+     * @param layout the layout of the entity
+     * @throws IllegalArgumentException if the layout is not applicable to the entity
+     * @see RecordLayout#matches(KvsData.Record)
+     * @since 1.17.0
+     */
+    public Record(@Nonnull KvsData.Record entity, @Nonnull RecordLayout layout) {
+        Objects.requireNonNull(entity);
+        Objects.requireNonNull(layout);
+        if (entity.getNamesCount() != layout.size() || entity.getValuesCount() != layout.size()) {
+            throw new IllegalArgumentException(
+                    MessageFormat.format("record entry count mismatch: names={0}, values={1}, layout={2}",
+                            entity.getNamesCount(), entity.getValuesCount(), layout.size()));
+        }
+        this.entity = entity;
+        this.layout = layout;
+    }
+
+    /**
+     * Returns the layout of this record.
+     * @return the layout
+     * @since 1.17.0
+     */
+    public @Nonnull RecordLayout getLayout() {
+        var result = layout;
+        if (result == null) {
+            // RecordLayout is immutable, then it is safe to publish without synchronization
+            result = RecordLayout.of(entity);
+            layout = result;
         }
+        return result;
+    }
+
+    private int positionOf(@Nonnull String name) {
+        Objects.requireNonNull(name);
+        return getLayout().positionOf(name);
     }
 
     /**
@@ -95,21 +137,6 @@ public class Record {
         return Values.toObject(getKvsDataValue(position));
     }
 
-    /**
-     * Returns the value of the column of the name.
-     * @param name name of the column
-     * @return the object contains value type and value object
-     * @throws IllegalArgumentException if the record doesn't have the name
-     */
-    private @Nonnull KvsData.Value getKvsDataValue(@Nonnull String name) {
-        Objects.requireNonNull(name);
-        Integer index = name2posMap.get(name);
-        if (index != null) {
-            return getKvsDataValue(index);
-        }
-        throw new IllegalArgumentException(MessageFormat.format("unknown cloumn name: {0}", name));
-    }
-
     /**
      * Returns the value of the column of the name.
      * @param name name of the column
@@ -118,12 +145,7 @@ public class Record {
      * @throws IllegalArgumentException if the record doesn't have the name
      */
     public @Nullable Object getValue(@Nonnull String name) {
-        Objects.requireNonNull(name);
-        Integer index = name2posMap.get(name);
-        if (index != null) {
-            return getValue(index);
-        }
-        throw new IllegalArgumentException(MessageFormat.format("unknown cloumn name: {0}", name));
+        return getValue(positionOf(name));
     }
 
     /**
@@ -133,8 +155,18 @@ public class Record {
      * @throws IllegalArgumentException if the record doesn't have the name
      */
     public boolean isNull(@Nonnull String name) {
-        var value = getKvsDataValue(name);
-        return value.getValueCase() == ValueCase.VALUE_NOT_SET;
+        return isNull(positionOf(name));
+    }
+
+    /**
+     * Returns whether the value at the position is null.
+     * @param position the entry position (0-origin)
+     * @return true if the value is null, otherwise false
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @since 1.17.0
+     */
+    public boolean isNull(int position) {
+        return getKvsDataValue(position).getValueCase() == ValueCase.VALUE_NOT_SET;
     }
 
     private static String valueCase2name(KvsData.Value.ValueCase vc) {
@@ -194,12 +226,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code BOOL}
      */
     public boolean getBoolean(@Nonnull String name) {
+        return getBoolean(positionOf(name));
+    }
+
+    /**
+     * Returns the boolean value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code BOOL}
+     * @since 1.17.0
+     */
+    public boolean getBoolean(int position) {
         final ValueCase vc = ValueCase.BOOLEAN_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getBooleanValue();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -212,12 +257,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code INT}
      */
     public int getInt(@Nonnull String name) {
+        return getInt(positionOf(name));
+    }
+
+    /**
+     * Returns the integer value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code INT}
+     * @since 1.17.0
+     */
+    public int getInt(int position) {
         final ValueCase vc = ValueCase.INT4_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getInt4Value();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -230,12 +288,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code BIGINT}
      */
     public long getLong(@Nonnull String name) {
+        return getLong(positionOf(name));
+    }
+
+    /**
+     * Returns the long value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code BIGINT}
+     * @since 1.17.0
+     */
+    public long getLong(int position) {
         final ValueCase vc = ValueCase.INT8_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getInt8Value();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -248,12 +319,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code FLOAT}
      */
     public float getFloat(@Nonnull String name) {
+        return getFloat(positionOf(name));
+    }
+
+    /**
+     * Returns the float value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code FLOAT}
+     * @since 1.17.0
+     */
+    public float getFloat(int position) {
         final ValueCase vc = ValueCase.FLOAT4_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getFloat4Value();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -266,12 +350,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code DOUBLE}
      */
     public double getDouble(@Nonnull String name) {
+        return getDouble(positionOf(name));
+    }
+
+    /**
+     * Returns the double value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code DOUBLE}
+     * @since 1.17.0
+     */
+    public double getDouble(int position) {
         final ValueCase vc = ValueCase.FLOAT8_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getFloat8Value();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -284,12 +381,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code DECIMAL}
      */
     public @Nonnull BigDecimal getDecimal(@Nonnull String name) {
+        return getDecimal(positionOf(name));
+    }
+
+    /**
+     * Returns the BigDecimal value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code DECIMAL}
+     * @since 1.17.0
+     */
+    public @Nonnull BigDecimal getDecimal(int position) {
         final ValueCase vc = ValueCase.DECIMAL_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return Values.toObject(value.getDecimalValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -303,12 +413,26 @@ public class Record {
      *         {@code VARCHAR}
      */
     public @Nonnull String getCharacter(@Nonnull String name) {
+        return getCharacter(positionOf(name));
+    }
+
+    /**
+     * Returns the String value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code CHAR} nor
+     *         {@code VARCHAR}
+     * @since 1.17.0
+     */
+    public @Nonnull String getCharacter(int position) {
         final ValueCase vc = ValueCase.CHARACTER_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return value.getCharacterValue();
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -322,12 +446,26 @@ public class Record {
      *         {@code VARBINARY}
      */
     public @Nonnull byte[] getOctet(@Nonnull String name) {
+        return getOctet(positionOf(name));
+    }
+
+    /**
+     * Returns the octet value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code BINARY} or
+     *         {@code VARBINARY}
+     * @since 1.17.0
+     */
+    public @Nonnull byte[] getOctet(int position) {
         final ValueCase vc = ValueCase.OCTET_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return Values.toObject(value.getOctetValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -340,12 +478,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code DATE}
      */
     public @Nonnull LocalDate getDate(@Nonnull String name) {
+        return getDate(positionOf(name));
+    }
+
+    /**
+     * Returns the date value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code DATE}
+     * @since 1.17.0
+     */
+    public @Nonnull LocalDate getDate(int position) {
         final ValueCase vc = ValueCase.DATE_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return LocalDate.ofEpochDay(value.getDateValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -358,12 +509,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code TIME}
      */
     public @Nonnull LocalTime getTimeOfDay(@Nonnull String name) {
+        return getTimeOfDay(positionOf(name));
+    }
+
+    /**
+     * Returns the time of day value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code TIME}
+     * @since 1.17.0
+     */
+    public @Nonnull LocalTime getTimeOfDay(int position) {
         final ValueCase vc = ValueCase.TIME_OF_DAY_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return LocalTime.ofNanoOfDay(value.getTimeOfDayValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -376,12 +540,25 @@ public class Record {
      * @throws IllegalArgumentException the value type is not {@code TIMEPOINT}
      */
     public @Nonnull LocalDateTime getTimePoint(@Nonnull String name) {
+        return getTimePoint(positionOf(name));
+    }
+
+    /**
+     * Returns the time point value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not {@code TIMEPOINT}
+     * @since 1.17.0
+     */
+    public @Nonnull LocalDateTime getTimePoint(int position) {
         final ValueCase vc = ValueCase.TIME_POINT_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return Values.toObject(value.getTimePointValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -396,12 +573,26 @@ public class Record {
      *         {@code TIME WITH TIMEZONE}
      */
     public @Nonnull OffsetTime getTimeOfDayWithTimeZone(@Nonnull String name) {
+        return getTimeOfDayWithTimeZone(positionOf(name));
+    }
+
+    /**
+     * Returns the time of day with timezone value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not
+     *         {@code TIME WITH TIMEZONE}
+     * @since 1.17.0
+     */
+    public @Nonnull OffsetTime getTimeOfDayWithTimeZone(int position) {
         final ValueCase vc = ValueCase.TIME_OF_DAY_WITH_TIME_ZONE_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return Values.toObject(value.getTimeOfDayWithTimeZoneValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
@@ -416,12 +607,26 @@ public class Record {
      *         {@code TIMEPOINT WITH TIMEZONE}
      */
     public @Nonnull OffsetDateTime getTimePointWithTimeZone(@Nonnull String name) {
+        return getTimePointWithTimeZone(positionOf(name));
+    }
+
+    /**
+     * Returns the time point with timezone value at the position.
+     * @param position the entry position (0-origin)
+     * @return the value
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     * @throws IllegalArgumentException the value is {@code NULL}
+     * @throws IllegalArgumentException the value type is not
+     *         {@code TIMEPOINT WITH TIMEZONE}
+     * @since 1.17.0
+     */
+    public @Nonnull OffsetDateTime getTimePointWithTimeZone(int position) {
         final ValueCase vc = ValueCase.TIME_POINT_WITH_TIME_ZONE_VALUE;
-        var value = getKvsDataValue(name);
+        var value = getKvsDataValue(position);
         if (value.getValueCase() == vc) {
             return Values.toObject(value.getTimePointWithTimeZoneValue());
         }
-        throw new IllegalArgumentException(typeMismatched(name, vc, value));
+        throw new IllegalArgumentException(typeMismatched(getName(position), vc, value));
     }
 
     /**
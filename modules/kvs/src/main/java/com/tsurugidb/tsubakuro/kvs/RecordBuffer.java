@@ -15,32 +15,41 @@
  */
 package com.tsurugidb.tsubakuro.kvs;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.tsurugidb.kvs.proto.KvsData;
 
 /**
  * A buffer to build a record.
+ * <p>
+ * The buffer can be reused after {@link #clear()}, without reallocating its internal storage.
+ * </p>
  */
 public class RecordBuffer {
 
-    private final KvsData.Record.Builder entity;
+    private final ArrayList<String> names;
+
+    private final ArrayList<KvsData.Value> values;
 
     /**
      * Creates a new instance.
      */
     public RecordBuffer() {
-        this.entity = KvsData.Record.newBuilder();
+        this.names = new ArrayList<>();
+        this.values = new ArrayList<>();
     }
 
     /**
@@ -49,7 +58,9 @@ public class RecordBuffer {
      */
     public RecordBuffer(@Nonnull Record prototype) {
         Objects.requireNonNull(prototype);
-        this.entity = KvsData.Record.newBuilder(prototype.getEntity());
+        var entity = prototype.getEntity();
+        this.names = new ArrayList<>(entity.getNamesList());
+        this.values = new ArrayList<>(entity.getValuesList());
     }
 
     /**
@@ -57,7 +68,7 @@ public class RecordBuffer {
      * @return the number of entries
      */
     public int size() {
-        return entity.getValuesCount();
+        return values.size();
     }
 
     /**
@@ -65,7 +76,8 @@ public class RecordBuffer {
      * @return this
      */
     public RecordBuffer clear() {
-        entity.clear();
+        names.clear();
+        values.clear();
         return this;
     }
 
@@ -77,8 +89,8 @@ public class RecordBuffer {
      */
     public RecordBuffer addNull(@Nonnull String name) {
         Objects.requireNonNull(name);
-        entity.addNames(name);
-        entity.addValues(KvsData.Value.getDefaultInstance());
+        names.add(name);
+        values.add(KvsData.Value.getDefaultInstance());
         return this;
     }
 
@@ -92,8 +104,8 @@ public class RecordBuffer {
     public RecordBuffer add(@Nonnull String name, @Nonnull KvsData.Value value) {
         Objects.requireNonNull(name);
         Objects.requireNonNull(value);
-        entity.addNames(name);
-        entity.addValues(value);
+        names.add(name);
+        values.add(value);
         return this;
     }
 
@@ -267,11 +279,51 @@ public class RecordBuffer {
      * @return the built record
      */
     public Record toRecord() {
-        return new Record(entity.build());
+        return new Record(KvsData.Record.newBuilder()
+                .addAllNames(names)
+                .addAllValues(values)
+                .build());
+    }
+
+    /**
+     * Returns the serialized size of this buffer as {@link KvsData.Record}.
+     * @return the serialized size in bytes
+     * @see #writeTo(CodedOutputStream)
+     * @since 1.17.0
+     */
+    public int getSerializedSize() {
+        int size = 0;
+        for (var name : names) {
+            size += CodedOutputStream.computeStringSize(KvsData.Record.NAMES_FIELD_NUMBER, name);
+        }
+        for (var value : values) {
+            size += CodedOutputStream.computeMessageSize(KvsData.Record.VALUES_FIELD_NUMBER, value);
+        }
+        return size;
+    }
+
+    /**
+     * Writes the contents of this buffer as {@link KvsData.Record}, without building an intermediate record.
+     * <p>
+     * This writes only the message body, that is, the caller must write the field tag and
+     * {@link #getSerializedSize() its length} before it to embed the record into another message.
+     * </p>
+     * @param output the destination
+     * @throws IOException if I/O error was occurred while writing the contents
+     * @since 1.17.0
+     */
+    public void writeTo(@Nonnull CodedOutputStream output) throws IOException {
+        Objects.requireNonNull(output);
+        for (var name : names) {
+            output.writeString(KvsData.Record.NAMES_FIELD_NUMBER, name);
+        }
+        for (var value : values) {
+            output.writeMessage(KvsData.Record.VALUES_FIELD_NUMBER, value);
+        }
     }
 
     @Override
     public String toString() {
-        return String.valueOf(entity);
+        return String.valueOf(toRecord());
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.tsurugidb.kvs.proto.KvsData;
+import com.tsurugidb.kvs.proto.KvsData.Value.ValueCase;
+
+/**
+ * Represents the layout of {@link Record}, which maps the entry names to their positions.
+ * <p>
+ * The layout is immutable, and can be shared among records which have the same entry names,
+ * like as the records from the same table or {@link RecordCursor}.
+ * </p>
+ * @since 1.17.0
+ */
+@Immutable
+public final class RecordLayout {
+
+    /**
+     * An empty layout.
+     */
+    public static final RecordLayout EMPTY = new RecordLayout(new String[0], new ValueCase[0]);
+
+    private final String[] names;
+
+    private final ValueCase[] types;
+
+    private final Map<String, Integer> positions;
+
+    private RecordLayout(String[] names, ValueCase[] types) {
+        assert names.length == types.length;
+        this.names = names;
+        this.types = types;
+        var map = new HashMap<String, Integer>(names.length * 2);
+        for (int position = 0; position < names.length; position++) {
+            // the last entry takes precedence if the name is duplicated
+            map.put(names[position], position);
+        }
+        this.positions = map;
+    }
+
+    /**
+     * Returns the layout of the given record.
+     * @param record the source record
+     * @return the layout
+     * @throws IllegalArgumentException if record names and values are mismatch
+     */
+    public static @Nonnull RecordLayout of(@Nonnull KvsData.Record record) {
+        Objects.requireNonNull(record);
+        int size = record.getNamesCount();
+        if (size != record.getValuesCount()) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "record entry count mismatch: names={0}, values={1}",
+                    size,
+                    record.getValuesCount()));
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        var names = new String[size];
+        var types = new ValueCase[size];
+        for (int position = 0; position < size; position++) {
+            names[position] = record.getNames(position);
+            types[position] = record.getValues(position).getValueCase();
+        }
+        return new RecordLayout(names, types);
+    }
+
+    /**
+     * Returns the number of entries.
+     * @return the number of entries
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the entry names.
+     * @return the entry names
+     */
+    public @Nonnull List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Returns the entry name at the position.
+     * @param position the entry position (0-origin)
+     * @return the entry name
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     */
+    public @Nonnull String getName(int position) {
+        return names[position];
+    }
+
+    /**
+     * Returns the value type of the entry at the position, in the record which this layout was built from.
+     * @param position the entry position (0-origin)
+     * @return the value type, or {@link ValueCase#VALUE_NOT_SET} if the value was {@code NULL}
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     */
+    public @Nonnull ValueCase getType(int position) {
+        return types[position];
+    }
+
+    /**
+     * Returns the position of the entry.
+     * @param name the entry name
+     * @return the entry position (0-origin), or {@code -1} if there is no such the entry
+     */
+    public int indexOf(@Nonnull String name) {
+        Objects.requireNonNull(name);
+        var position = positions.get(name);
+        if (position == null) {
+            return -1;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the position of the entry.
+     * @param name the entry name
+     * @return the entry position (0-origin)
+     * @throws IllegalArgumentException if there is no such the entry
+     */
+    public int positionOf(@Nonnull String name) {
+        int position = indexOf(name);
+        if (position < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("unknown cloumn name: {0}", name));
+        }
+        return position;
+    }
+
+    /**
+     * Returns whether or not the given record has the same entry names as this layout.
+     * @param record the target record
+     * @return {@code true} if this layout is applicable to the record, otherwise {@code false}
+     */
+    public boolean matches(@Nonnull KvsData.Record record) {
+        Objects.requireNonNull(record);
+        if (record.getNamesCount() != names.length || record.getValuesCount() != names.length) {
+            return false;
+        }
+        for (int position = 0; position < names.length; position++) {
+            if (!names[position].equals(record.getNames(position))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RecordLayout%s", Arrays.toString(names)); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.tsubakuro.channel.common.connection.SharedScheduler;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.kvs.BatchResult;
+import com.tsurugidb.tsubakuro.kvs.BatchScript;
+import com.tsurugidb.tsubakuro.kvs.CommitType;
+import com.tsurugidb.tsubakuro.kvs.GetResult;
+import com.tsurugidb.tsubakuro.kvs.KvsClient;
+import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.PutType;
+import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
+import com.tsurugidb.tsubakuro.kvs.RecordCursor;
+import com.tsurugidb.tsubakuro.kvs.RemoveResult;
+import com.tsurugidb.tsubakuro.kvs.RemoveType;
+import com.tsurugidb.tsubakuro.kvs.ScanBound;
+import com.tsurugidb.tsubakuro.kvs.ScanType;
+import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
+import com.tsurugidb.tsubakuro.kvs.TransactionOption;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+/**
+ * A {@link KvsClient} which coalesces concurrent {@code GET}, {@code PUT} and {@code REMOVE} operations
+ * on the same transaction into a single {@link BatchScript batch} request.
+ * <p>
+ * Each point operation is kept in the pending batch of its transaction, and the batch is sent when either:
+ * </p>
+ * <ul>
+ * <li> the batch window has been elapsed since the first operation was added </li>
+ * <li> the batch reaches the maximum number of operations </li>
+ * <li> a result of the pending operations is requested, to avoid waiting for the window </li>
+ * <li> any other operation is requested on the transaction, to keep the order of operations </li>
+ * </ul>
+ * <p>
+ * The batch operation succeeds only if all operations in it were succeeded, so that if one of them was failed,
+ * all operations in the same batch will raise the same error.
+ * Please wait for the results of operations before closing their transaction.
+ * </p>
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class AutoBatchingKvsClient implements KvsClient {
+
+    /**
+     * The default batch window.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.of(200, ChronoUnit.MICROS);
+
+    /**
+     * The default maximum number of operations in a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    static final Logger LOG = LoggerFactory.getLogger(AutoBatchingKvsClient.class);
+
+    private final KvsClient delegate;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    // the batches which are accepting more operations
+    @GuardedBy("pendings")
+    private final Map<TransactionHandle, Batch> pendings = new HashMap<>();
+
+    // the latest batches which may not have been sent yet, including the pending ones
+    @GuardedBy("pendings")
+    private final Map<TransactionHandle, Batch> unsents = new HashMap<>();
+
+    /**
+     * Creates a new instance with the default batch window and size.
+     * @param delegate the client which actually sends requests
+     * @see #DEFAULT_WINDOW
+     * @see #DEFAULT_MAX_BATCH_SIZE
+     */
+    public AutoBatchingKvsClient(@Nonnull KvsClient delegate) {
+        this(delegate, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE, SharedScheduler.get());
+    }
+
+    /**
+     * Creates a new instance, which sends batches on the
+     * {@link SharedScheduler#getBlockingExecutor() shared blocking executor} when their window was elapsed.
+     * @param delegate the client which actually sends requests
+     * @param window the maximum time to wait for other operations before sending a batch
+     * @param maxBatchSize the maximum number of operations in a batch
+     * @param scheduler the scheduler to wait for the window of batches
+     */
+    public AutoBatchingKvsClient(
+            @Nonnull KvsClient delegate,
+            @Nonnull Duration window,
+            int maxBatchSize,
+            @Nonnull ScheduledExecutorService scheduler) {
+        this(delegate, window, maxBatchSize, scheduler, SharedScheduler.getBlockingExecutor());
+    }
+
+    /**
+     * Creates a new instance.
+     * @param delegate the client which actually sends requests
+     * @param window the maximum time to wait for other operations before sending a batch
+     * @param maxBatchSize the maximum number of operations in a batch
+     * @param scheduler the scheduler to wait for the window of batches, whose tasks never block
+     * @param executor the executor to send batches when their window was elapsed, whose tasks may block
+     */
+    public AutoBatchingKvsClient(
+            @Nonnull KvsClient delegate,
+            @Nonnull Duration window,
+            int maxBatchSize,
+            @Nonnull ScheduledExecutorService scheduler,
+            @Nonnull Executor executor) {
+        Objects.requireNonNull(delegate);
+        Objects.requireNonNull(window);
+        Objects.requireNonNull(scheduler);
+        Objects.requireNonNull(executor);
+        if (window.isNegative()) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "batch window must not be negative: {0}",
+                    window));
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max batch size must be > 0: {0}",
+                    maxBatchSize));
+        }
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    @Override
+    public FutureResponse<TransactionHandle> beginTransaction(@Nonnull TransactionOption option) throws IOException {
+        return delegate.beginTransaction(option);
+    }
+
+    @Override
+    public FutureResponse<Void> commit(
+            @Nonnull TransactionHandle transaction, @Nonnull CommitType behavior) throws IOException {
+        Objects.requireNonNull(transaction);
+        flush(transaction);
+        return delegate.commit(transaction, behavior);
+    }
+
+    @Override
+    public FutureResponse<Void> rollback(@Nonnull TransactionHandle transaction) throws IOException {
+        Objects.requireNonNull(transaction);
+        flush(transaction);
+        return delegate.rollback(transaction);
+    }
+
+    @Override
+    public FutureResponse<GetResult> get(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table, @Nonnull RecordBuffer key) throws IOException {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(table);
+        Objects.requireNonNull(key);
+        return enqueue(transaction, script -> script.addGet(table, key));
+    }
+
+    @Override
+    public FutureResponse<PutResult> put(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table, @Nonnull RecordBuffer record, @Nonnull PutType behavior) throws IOException {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(table);
+        Objects.requireNonNull(record);
+        Objects.requireNonNull(behavior);
+        return enqueue(transaction, script -> script.addPut(table, record, behavior));
+    }
+
+    @Override
+    public FutureResponse<RemoveResult> remove(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table, @Nonnull RecordBuffer key, @Nonnull RemoveType behavior) throws IOException {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(table);
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(behavior);
+        return enqueue(transaction, script -> script.addRemove(table, key, behavior));
+    }
+
+    @Override
+    public FutureResponse<RecordCursor> scan(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nullable RecordBuffer lowerKey, @Nullable ScanBound lowerBound,
+            @Nullable RecordBuffer upperKey, @Nullable ScanBound upperBound,
+            @Nonnull ScanType behavior) throws IOException {
+        Objects.requireNonNull(transaction);
+        flush(transaction);
+        return delegate.scan(transaction, table, lowerKey, lowerBound, upperKey, upperBound, behavior);
+    }
+
+    @Override
+    public FutureResponse<BatchResult> batch(
+            @Nullable TransactionHandle transaction,
+            @Nonnull BatchScript script) throws IOException {
+        if (transaction != null) {
+            flush(transaction);
+        }
+        return delegate.batch(transaction, script);
+    }
+
+    /**
+     * Sends the pending operations on the given transaction immediately.
+     * <p>
+     * If the operations are being sent by another thread, this waits for it to finish sending them.
+     * </p>
+     * @param transaction the target transaction
+     */
+    public void flush(@Nonnull TransactionHandle transaction) {
+        Objects.requireNonNull(transaction);
+        Batch batch;
+        synchronized (pendings) {
+            pendings.remove(transaction);
+            batch = unsents.get(transaction);
+        }
+        if (batch != null) {
+            submit(batch);
+        }
+    }
+
+    /**
+     * Sends all pending operations immediately.
+     */
+    public void flush() {
+        ArrayList<Batch> batches;
+        synchronized (pendings) {
+            batches = new ArrayList<>(unsents.values());
+            pendings.clear();
+        }
+        for (var batch : batches) {
+            submit(batch);
+        }
+    }
+
+    private <T> FutureResponse<T> enqueue(
+            TransactionHandle transaction,
+            Function<BatchScript, BatchScript.Ref<T>> operation) {
+        Batch batch;
+        Element<T> element;
+        boolean full;
+        synchronized (pendings) {
+            batch = pendings.get(transaction);
+            if (batch == null) {
+                batch = new Batch(transaction, unsents.get(transaction));
+                pendings.put(transaction, batch);
+                unsents.put(transaction, batch);
+            }
+            element = batch.add(operation);
+            full = batch.size >= maxBatchSize;
+            if (full) {
+                pendings.remove(transaction);
+            } else if (batch.size == 1) {
+                batch.schedule();
+            }
+        }
+        if (full) {
+            submit(batch);
+        }
+        return element;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pendings) {
+            pendings.remove(batch.transaction, batch);
+        }
+        submit(batch);
+    }
+
+    private void submit(Batch batch) {
+        // sends the previous batches first, or waits for the other thread sending them
+        batch.send();
+        synchronized (pendings) {
+            unsents.remove(batch.transaction, batch);
+        }
+    }
+
+    @Override
+    public void close() throws ServerException, IOException, InterruptedException {
+        flush();
+        delegate.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AutoBatchingKvsClient(%s)", delegate); //$NON-NLS-1$
+    }
+
+    /**
+     * A batch of operations on the same transaction.
+     */
+    private final class Batch {
+
+        final TransactionHandle transaction;
+
+        // guarded by pendings until sent
+        final BatchScript script = new BatchScript();
+
+        // guarded by pendings until sent
+        int size = 0;
+
+        // guarded by pendings
+        int released = 0;
+
+        @GuardedBy("this")
+        private boolean sent = false;
+
+        @GuardedBy("this")
+        private ScheduledFuture<?> timer;
+
+        // the previous batch on the same transaction, which must be sent before this
+        @GuardedBy("this")
+        private Batch previous;
+
+        private volatile FutureResponse<BatchResult> future;
+
+        private volatile IOException sendFailure;
+
+        private final Object resultLock = new Object();
+
+        @GuardedBy("resultLock")
+        private BatchResult result;
+
+        @GuardedBy("resultLock")
+        private Exception failure;
+
+        Batch(TransactionHandle transaction, @Nullable Batch previous) {
+            this.transaction = transaction;
+            this.previous = previous;
+        }
+
+        <T> Element<T> add(Function<BatchScript, BatchScript.Ref<T>> operation) {
+            var ref = operation.apply(script);
+            size++;
+            return new Element<>(this, ref);
+        }
+
+        synchronized void schedule() {
+            if (sent) {
+                return;
+            }
+            try {
+                // the scheduler only waits for the window, because sending the batch may block
+                timer = scheduler.schedule(this::dispatch, windowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // sends the batch when its result is requested
+                LOG.debug("failed to schedule auto-batch, it will be sent on demand", e); //$NON-NLS-1$
+            }
+        }
+
+        private void dispatch() {
+            try {
+                executor.execute(() -> flush(this));
+            } catch (RejectedExecutionException e) {
+                // sends the batch when its result is requested
+                LOG.debug("failed to send auto-batch, it will be sent on demand", e); //$NON-NLS-1$
+            }
+        }
+
+        synchronized void send() {
+            if (sent) {
+                return;
+            }
+            sent = true;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            if (previous != null) {
+                previous.send();
+                previous = null;
+            }
+            LOG.trace("sending auto-batch: transaction={}, size={}", transaction, size); //$NON-NLS-1$
+            try {
+                future = delegate.batch(transaction, script);
+            } catch (IOException e) {
+                sendFailure = e;
+            } catch (RuntimeException e) {
+                sendFailure = new IOException(e);
+            }
+        }
+
+        boolean isDone() {
+            var f = future;
+            return sendFailure != null || (f != null && f.isDone());
+        }
+
+        BatchResult get(long timeout, @Nullable TimeUnit unit)
+                throws IOException, ServerException, InterruptedException, TimeoutException {
+            flush(this);
+            synchronized (resultLock) {
+                if (result != null) {
+                    return result;
+                }
+                if (failure == null && sendFailure != null) {
+                    failure = sendFailure;
+                }
+                if (failure == null) {
+                    try {
+                        result = unit == null ? future.get() : future.get(timeout, unit);
+                        return result;
+                    } catch (IOException | ServerException | RuntimeException e) {
+                        failure = e;
+                    }
+                }
+                if (failure instanceof IOException) {
+                    throw (IOException) failure;
+                }
+                if (failure instanceof ServerException) {
+                    throw (ServerException) failure;
+                }
+                throw (RuntimeException) failure;
+            }
+        }
+
+        void release() throws IOException, ServerException, InterruptedException {
+            synchronized (pendings) {
+                released++;
+                if (released < size) {
+                    return;
+                }
+                // no more operations can be added to this batch
+                pendings.remove(transaction, this);
+            }
+            // all elements were released, then the shared response is no longer needed
+            submit(this);
+            var f = future;
+            if (f != null) {
+                f.close();
+            }
+        }
+    }
+
+    /**
+     * A future response of individual operation in a batch.
+     * @param <T> the result type
+     */
+    private static final class Element<T> implements FutureResponse<T> {
+
+        private final Batch batch;
+
+        private final BatchScript.Ref<T> reference;
+
+        @GuardedBy("this")
+        private boolean closed = false;
+
+        Element(Batch batch, BatchScript.Ref<T> reference) {
+            this.batch = batch;
+            this.reference = reference;
+        }
+
+        @Override
+        public boolean isDone() {
+            return batch.isDone();
+        }
+
+        @Override
+        public T get() throws IOException, ServerException, InterruptedException {
+            checkOpen();
+            try {
+                return batch.get(0, null).get(reference);
+            } catch (TimeoutException e) {
+                throw new AssertionError(e); // may not occur
+            }
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit)
+                throws IOException, ServerException, InterruptedException, TimeoutException {
+            checkOpen();
+            if (timeout == 0 || unit == null) {
+                return get();
+            }
+            return batch.get(timeout, unit).get(reference);
+        }
+
+        private synchronized void checkOpen() throws IOException {
+            if (closed) {
+                throw new IOException(MessageFormat.format(
+                        "future for {0} is already closed",
+                        reference));
+            }
+        }
+
+        @Override
+        public void close() throws IOException, ServerException, InterruptedException {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            batch.release();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AutoBatch(%s)", reference); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import com.tsurugidb.tsubakuro.kvs.BatchResult;
+import com.tsurugidb.tsubakuro.kvs.BatchScript;
+import com.tsurugidb.tsubakuro.kvs.GetResult;
+import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RemoveResult;
+
+/**
+ * An implementation of {@link BatchResult}.
+ */
+public class BatchResultImpl implements BatchResult {
+
+    private final List<Object> results;
+
+    /**
+     * Creates a new instance.
+     * @param results the operation results, in order of the script elements;
+     *      each element must be one of {@link GetResult}, {@link PutResult}, or {@link RemoveResult}
+     */
+    public BatchResultImpl(@Nonnull List<?> results) {
+        Objects.requireNonNull(results);
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+        for (var result : this.results) {
+            Objects.requireNonNull(result);
+            // throws IllegalArgumentException if the result type is not supported
+            BatchScript.OperationType.fromResultType(resultTypeOf(result));
+        }
+    }
+
+    private static Class<?> resultTypeOf(Object result) {
+        if (result instanceof GetResult) {
+            return GetResult.class;
+        }
+        if (result instanceof PutResult) {
+            return PutResult.class;
+        }
+        if (result instanceof RemoveResult) {
+            return RemoveResult.class;
+        }
+        return result.getClass();
+    }
+
+    /**
+     * Returns the number of operation results in this batch.
+     * @return the number of operation results
+     */
+    public int size() {
+        return results.size();
+    }
+
+    @Override
+    public <T> T get(@Nonnull BatchScript.Ref<T> reference) {
+        Objects.requireNonNull(reference);
+        int index = reference.getIndex();
+        if (index >= results.size()) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "reference is out of this batch result: {0} (size={1})",
+                    reference,
+                    results.size()));
+        }
+        var result = results.get(index);
+        if (!reference.getResultType().isInstance(result)) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "inconsistent reference type: {0} (actual={1})",
+                    reference,
+                    BatchScript.OperationType.fromResultType(resultTypeOf(result))));
+        }
+        return reference.getResultType().cast(result);
+    }
+
+    @Override
+    public GetResult getGetResult(int position) {
+        return getResult(position, GetResult.class);
+    }
+
+    @Override
+    public PutResult getPutResult(int position) {
+        return getResult(position, PutResult.class);
+    }
+
+    @Override
+    public RemoveResult getRemoveResult(int position) {
+        return getResult(position, RemoveResult.class);
+    }
+
+    private <T> T getResult(int position, Class<T> type) {
+        var result = results.get(position);
+        if (!type.isInstance(result)) {
+            throw new IllegalStateException(MessageFormat.format(
+                    "result at {0} is not a {1}: {2}",
+                    position,
+                    type.getSimpleName(),
+                    BatchScript.OperationType.fromResultType(resultTypeOf(result))));
+        }
+        return type.cast(result);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult(size=%d)", results.size()); //$NON-NLS-1$
+    }
+}
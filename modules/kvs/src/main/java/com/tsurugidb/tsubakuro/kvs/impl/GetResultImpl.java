@@ -26,6 +26,7 @@ import javax.annotation.Nonnull;
 import com.tsurugidb.kvs.proto.KvsData;
 import com.tsurugidb.tsubakuro.kvs.GetResult;
 import com.tsurugidb.tsubakuro.kvs.Record;
+import com.tsurugidb.tsubakuro.kvs.RecordLayout;
 
 /**
  * An implementation of {@link GetResult}.
@@ -51,8 +52,12 @@ public class GetResultImpl implements GetResult {
     public GetResultImpl(@Nonnull List<KvsData.Record> records) {
         Objects.requireNonNull(records);
         this.records = new ArrayList<Record>(records.size());
+        RecordLayout layout = null;
         for (var r : records) {
-            this.records.add(new Record(r));
+            if (layout == null || !layout.matches(r)) {
+                layout = RecordLayout.of(r);
+            }
+            this.records.add(new Record(r, layout));
         }
     }
 
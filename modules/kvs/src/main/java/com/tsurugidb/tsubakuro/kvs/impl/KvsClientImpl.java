@@ -49,6 +49,8 @@ public class KvsClientImpl implements KvsClient {
 
     private final KvsService service;
 
+    private final TransactionReadCache cache;
+
     /**
      * Attaches to the SQL service in the current session.
      * @param session the current session
@@ -66,8 +68,55 @@ public class KvsClientImpl implements KvsClient {
      * @param service the target service.
      */
     public KvsClientImpl(@Nonnull KvsService service) {
+        this(service, false);
+    }
+
+    /**
+     * Creates a new instance.
+     * <p>
+     * If the read cache is enabled, this client remembers {@code GET} results and {@code PUT} / {@code REMOVE}
+     * operations whose success was observed for each transaction, and serves the repeated {@code GET} operations
+     * from memory until the transaction is committed or rolled back.
+     * This requires that the index keys of each table always consist of the same entry names and value types,
+     * and that {@link PutType#OVERWRITE} puts always specify every column with the column types.
+     * The other operations in {@link #batch(TransactionHandle, BatchScript) batch} just discard the cached entries
+     * of the transaction.
+     * </p>
+     * @param service the target service.
+     * @param readCache whether or not the transaction-scoped read cache is enabled
+     * @since 1.17.0
+     */
+    public KvsClientImpl(@Nonnull KvsService service, boolean readCache) {
         Objects.requireNonNull(service);
         this.service = service;
+        this.cache = readCache ? new TransactionReadCache() : null;
+    }
+
+    /**
+     * Returns whether or not the transaction-scoped read cache is enabled.
+     * @return {@code true} if the read cache is enabled, otherwise {@code false}
+     * @since 1.17.0
+     */
+    public boolean isReadCacheEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the number of {@code GET} operations which were served from the read cache.
+     * @return the number of cache hits, or {@code 0} if the read cache is disabled
+     * @since 1.17.0
+     */
+    public long getReadCacheHitCount() {
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * Returns the number of {@code GET} operations which were sent to the service while the read cache is enabled.
+     * @return the number of cache misses, or {@code 0} if the read cache is disabled
+     * @since 1.17.0
+     */
+    public long getReadCacheMissCount() {
+        return cache == null ? 0 : cache.getMissCount();
     }
 
     @Override
@@ -88,6 +137,9 @@ public class KvsClientImpl implements KvsClient {
                 .setTransactionHandle(handle)
                 .setNotificationType(BatchScript.convert(behavior))
                 .setAutoDispose(true);
+        if (cache != null) {
+            cache.invalidate(transaction);
+        }
         return service.send(builder.build());
     }
 
@@ -97,6 +149,9 @@ public class KvsClientImpl implements KvsClient {
         var handle = service.extract(transaction);
         var builder = KvsRequest.Rollback.newBuilder()
                 .setTransactionHandle(handle);
+        if (cache != null) {
+            cache.invalidate(transaction);
+        }
         return service.send(builder.build());
     }
 
@@ -108,11 +163,15 @@ public class KvsClientImpl implements KvsClient {
         Objects.requireNonNull(table);
         Objects.requireNonNull(key);
         var handle = service.extract(transaction);
+        var entity = key.toRecord().getEntity();
         var builder = KvsRequest.Get.newBuilder()
                 .setTransactionHandle(handle)
                 .setIndex(KvsRequest.Index.newBuilder()
                         .setTableName(table))
-                .addKeys(key.toRecord().getEntity());
+                .addKeys(entity);
+        if (cache != null) {
+            return cache.get(transaction, table, entity, () -> service.send(builder.build()));
+        }
         return service.send(builder.build());
     }
 
@@ -129,9 +188,14 @@ public class KvsClientImpl implements KvsClient {
                 .setTransactionHandle(handle)
                 .setIndex(KvsRequest.Index.newBuilder()
                         .setTableName(table))
-                .addRecords(record.toRecord().getEntity())
                 .setType(convert(behavior));
-        return service.send(builder.build());
+        if (cache != null) {
+            // the cache requires a snapshot of the record
+            var snapshot = record.toRecord().getEntity();
+            return cache.put(transaction, table, snapshot, behavior, () -> service.send(builder.build(), record));
+        }
+        // the record is directly encoded into the request
+        return service.send(builder.build(), record);
     }
 
     private static KvsRequest.Put.Type convert(PutType behavior) {
@@ -156,12 +220,16 @@ public class KvsClientImpl implements KvsClient {
         Objects.requireNonNull(key);
         Objects.requireNonNull(behavior);
         var handle = service.extract(transaction);
+        var entity = key.toRecord().getEntity();
         var builder = KvsRequest.Remove.newBuilder()
                 .setTransactionHandle(handle)
                 .setIndex(KvsRequest.Index.newBuilder()
                         .setTableName(table))
-                .addKeys(key.toRecord().getEntity())
+                .addKeys(entity)
                 .setType(convert(behavior));
+        if (cache != null) {
+            return cache.remove(transaction, table, entity, () -> service.send(builder.build()));
+        }
         return service.send(builder.build());
     }
 
@@ -241,12 +309,18 @@ public class KvsClientImpl implements KvsClient {
                 .map(service::extract)
                 .orElse(null);
         var request = script.build(handle);
+        if (cache != null && transaction != null) {
+            cache.invalidate(transaction);
+        }
         return service.send(request);
     }
 
     @Override
     public void close() throws ServerException, IOException, InterruptedException {
         // FIXME close underlying resources (e.g. ongoing transactions)
+        if (cache != null) {
+            cache.clear();
+        }
         if (service != null) {
             service.close();
         }
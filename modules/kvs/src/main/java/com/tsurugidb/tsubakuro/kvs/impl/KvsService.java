@@ -26,6 +26,7 @@ import com.tsurugidb.tsubakuro.kvs.BatchResult;
 import com.tsurugidb.tsubakuro.kvs.GetResult;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
 import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
 import com.tsurugidb.tsubakuro.kvs.RecordCursor;
 import com.tsurugidb.tsubakuro.kvs.RemoveResult;
 import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
@@ -117,6 +118,26 @@ public interface KvsService extends ServerResource {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Requests {@code Put} to KVS service with the given record.
+     * <p>
+     * The record buffer is encoded before this method returns, so that the caller can reuse it immediately.
+     * </p>
+     * @param request the request, which must not contain any records
+     * @param record the record to put
+     * @return the future response of the request,
+     *      which may raise error if the request was failed.
+     *      If the request was succeeded, future will returns an operation result object
+     * @throws IOException if I/O error was occurred while sending the request
+     * @since 1.17.0
+     */
+    default FutureResponse<PutResult> send(@Nonnull KvsRequest.Put request, @Nonnull RecordBuffer record)
+            throws IOException {
+        return send(KvsRequest.Put.newBuilder(request)
+                .addRecords(record.toRecord().getEntity())
+                .build());
+    }
+
     /**
      * Requests {@code Remove} to KVS service.
      * @param request the request
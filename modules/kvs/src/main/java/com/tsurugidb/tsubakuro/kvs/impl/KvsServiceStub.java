@@ -19,6 +19,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,11 +29,16 @@ import javax.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
+import com.google.protobuf.WireFormat;
 import com.tsurugidb.kvs.proto.KvsRequest;
 import com.tsurugidb.kvs.proto.KvsResponse;
 import com.tsurugidb.kvs.proto.KvsTransaction;
 import com.tsurugidb.tsubakuro.channel.common.connection.wire.MainResponseProcessor;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.ResponseProcessor;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.impl.ChannelResponse;
 import com.tsurugidb.tsubakuro.common.Session;
 import com.tsurugidb.tsubakuro.exception.BrokenResponseException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
@@ -41,15 +48,22 @@ import com.tsurugidb.tsubakuro.kvs.KvsClient;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceCode;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
 import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
 import com.tsurugidb.tsubakuro.kvs.RecordCursor;
 import com.tsurugidb.tsubakuro.kvs.RemoveResult;
 import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
 import com.tsurugidb.tsubakuro.util.ByteBufferInputStream;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
+import com.tsurugidb.tsubakuro.util.Owner;
 import com.tsurugidb.tsubakuro.util.ServerResourceHolder;
 
 /**
  * An implementation of {@link KvsService} communicate to the KVS service.
+ * <p>
+ * {@code SCAN} is available only if the system property {@value #KEY_STREAMING_SCAN} is {@code true}, because
+ * it requires the server which sends the scan results through the result channel, which the server side message
+ * definition does not specify yet.
+ * </p>
  */
 public class KvsServiceStub implements KvsService {
 
@@ -60,8 +74,16 @@ public class KvsServiceStub implements KvsService {
      */
     public static final int SERVICE_ID = Constants.SERVICE_ID_KVS;
 
+    /**
+     * The system property key of whether or not the server supports streaming {@code SCAN}.
+     * @since 1.17.0
+     */
+    public static final String KEY_STREAMING_SCAN = "tsubakuro.kvs.scan.streaming"; //$NON-NLS-1$
+
     private final Session session;
 
+    private final boolean streamingScan;
+
     private final ServerResourceHolder resources = new ServerResourceHolder();
 
     private final ConcurrentHashMap<Long, TransactionHandleImpl> sysid2txMap = new ConcurrentHashMap<>();
@@ -71,8 +93,13 @@ public class KvsServiceStub implements KvsService {
      * @param session the current session
      */
     public KvsServiceStub(@Nonnull Session session) {
+        this(session, Boolean.getBoolean(KEY_STREAMING_SCAN));
+    }
+
+    KvsServiceStub(@Nonnull Session session, boolean streamingScan) {
         Objects.requireNonNull(session);
         this.session = session;
+        this.streamingScan = streamingScan;
     }
 
     static KvsServiceException newError(@Nonnull KvsResponse.Error message) {
@@ -288,6 +315,53 @@ public class KvsServiceStub implements KvsService {
                 new PutProcessor().asResponseProcessor());
     }
 
+    @Override
+    public FutureResponse<PutResult> send(@Nonnull KvsRequest.Put request, @Nonnull RecordBuffer record)
+            throws IOException {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(record);
+        LOG.trace("send: {}, record={}", request, record); //$NON-NLS-1$
+        return session.send(SERVICE_ID, toDelimitedByteArray(newRequest().build(), request, record),
+                new PutProcessor().asResponseProcessor());
+    }
+
+    /**
+     * Serializes {@code PUT} request with the record, without building intermediate messages of the record.
+     * @param header the request header, which must not contain any commands
+     * @param put the {@code PUT} command without records
+     * @param record the record to put
+     * @return the delimited request
+     * @throws IOException if I/O error was occurred while serializing the request
+     */
+    static byte[] toDelimitedByteArray(
+            @Nonnull KvsRequest.Request header,
+            @Nonnull KvsRequest.Put put,
+            @Nonnull RecordBuffer record) throws IOException {
+        assert header.getCommandCase() == KvsRequest.Request.CommandCase.COMMAND_NOT_SET;
+        assert put.getRecordsCount() == 0;
+        int recordSize = record.getSerializedSize();
+        int putSize = put.getSerializedSize()
+                + CodedOutputStream.computeTagSize(KvsRequest.Put.RECORDS_FIELD_NUMBER)
+                + CodedOutputStream.computeUInt32SizeNoTag(recordSize)
+                + recordSize;
+        int requestSize = header.getSerializedSize()
+                + CodedOutputStream.computeTagSize(KvsRequest.Request.PUT_FIELD_NUMBER)
+                + CodedOutputStream.computeUInt32SizeNoTag(putSize)
+                + putSize;
+        var bytes = new byte[CodedOutputStream.computeUInt32SizeNoTag(requestSize) + requestSize];
+        var output = CodedOutputStream.newInstance(bytes);
+        output.writeUInt32NoTag(requestSize);
+        header.writeTo(output);
+        output.writeTag(KvsRequest.Request.PUT_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(putSize);
+        put.writeTo(output);
+        output.writeTag(KvsRequest.Put.RECORDS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(recordSize);
+        record.writeTo(output);
+        output.checkNoSpaceLeft();
+        return bytes;
+    }
+
     static class RemoveProcessor implements MainResponseProcessor<RemoveResult> {
         @Override
         public RemoveResult process(ByteBuffer payload) throws IOException, ServerException, InterruptedException {
@@ -314,16 +388,153 @@ public class KvsServiceStub implements KvsService {
                 new RemoveProcessor().asResponseProcessor());
     }
 
+    class ScanProcessor implements ResponseProcessor<RecordCursor> {
+
+        @Override
+        public boolean isMainResponseRequired() {
+            // main response arrives after all records were sent
+            return false;
+        }
+
+        @Override
+        public RecordCursor process(@Nonnull Response response) throws IOException, ServerException, InterruptedException {
+            Objects.requireNonNull(response);
+            try (var owner = Owner.of(response)) {
+                // the result channel becomes empty if the request was failed before sending any records
+                var input = response.openSubResponse(ChannelResponse.RELATION_CHANNEL_ID);
+                var cursor = new RecordCursorImpl(owner.release(), input, resources);
+                synchronized (resources) {
+                    return resources.register(cursor);
+                }
+            }
+        }
+    }
+
     @Override
     public FutureResponse<RecordCursor> send(@Nonnull KvsRequest.Scan request) throws IOException {
-        // TODO
-        throw new UnsupportedOperationException();
+        if (!streamingScan) {
+            throw new UnsupportedOperationException(MessageFormat.format(
+                    "SCAN is not supported by the server, or set {0}=true to enable it",
+                    KEY_STREAMING_SCAN));
+        }
+        LOG.trace("send: {}", request); //$NON-NLS-1$
+        return session.send(SERVICE_ID, toDelimitedByteArray(newRequest().setScan(request).build()),
+                new ScanProcessor());
+    }
+
+    class BatchProcessor implements MainResponseProcessor<BatchResult> {
+
+        private final KvsRequest.Batch request;
+
+        BatchProcessor(KvsRequest.Batch request) {
+            this.request = request;
+        }
+
+        @Override
+        public BatchResult process(ByteBuffer payload) throws IOException, ServerException, InterruptedException {
+            var message = KvsResponse.Response.parseDelimitedFrom(new ByteBufferInputStream(payload)).getBatch();
+            LOG.trace("receive: {}", message); //$NON-NLS-1$
+            switch (message.getResultCase()) {
+            case SUCCESS:
+                var result = new BatchResultImpl(toElementResults(message.getSuccess().getResultsList()));
+                if (request.hasCommit() && request.getCommit().getAutoDispose()
+                        && request.getTransactionCase() == KvsRequest.Batch.TransactionCase.TRANSACTION_HANDLE) {
+                    var systemId = request.getTransactionHandle().getSystemId();
+                    var tx = findTransaction(systemId);
+                    if (tx != null) {
+                        tx.setCommitAutoDisposed();
+                    }
+                    removeTransaction(systemId);
+                }
+                return result;
+
+            case ERROR:
+                throw newError(message.getError());
+
+            case RESULT_NOT_SET:
+                throw newResultNotSet(message.getClass(), "result"); //$NON-NLS-1$
+            }
+            throw new AssertionError(); // may not occur
+        }
+
+        private List<Object> toElementResults(List<KvsResponse.Batch.Opresult> results)
+                throws IOException, ServerException {
+            // the operation results may include the results of the implicit BEGIN and COMMIT
+            var elements = new ArrayList<Object>(request.getElementsCount());
+            for (var opresult : results) {
+                switch (opresult.getOpresultCase()) {
+                case BEGIN:
+                    var begin = opresult.getBegin();
+                    checkSuccess(begin, begin.hasSuccess(), begin.hasError(), begin.getError());
+                    break;
+                case COMMIT:
+                    var commit = opresult.getCommit();
+                    checkSuccess(commit, commit.hasSuccess(), commit.hasError(), commit.getError());
+                    break;
+                case GET:
+                    checkElement(elements.size(), KvsRequest.Batch.ScriptElement.CommandCase.GET);
+                    var get = opresult.getGet();
+                    checkSuccess(get, get.hasSuccess(), get.hasError(), get.getError());
+                    elements.add(new GetResultImpl(get.getSuccess().getRecordsList()));
+                    break;
+                case PUT:
+                    checkElement(elements.size(), KvsRequest.Batch.ScriptElement.CommandCase.PUT);
+                    var put = opresult.getPut();
+                    checkSuccess(put, put.hasSuccess(), put.hasError(), put.getError());
+                    elements.add(new PutResultImpl(put.getSuccess().getWritten()));
+                    break;
+                case REMOVE:
+                    checkElement(elements.size(), KvsRequest.Batch.ScriptElement.CommandCase.REMOVE);
+                    var remove = opresult.getRemove();
+                    checkSuccess(remove, remove.hasSuccess(), remove.hasError(), remove.getError());
+                    elements.add(new RemoveResultImpl(remove.getSuccess().getRemoved()));
+                    break;
+                case OPRESULT_NOT_SET:
+                    throw newResultNotSet(opresult.getClass(), "opresult"); //$NON-NLS-1$
+                }
+            }
+            if (elements.size() != request.getElementsCount()) {
+                throw new BrokenResponseException(MessageFormat.format(
+                        "inconsistent number of batch results: expected={0}, actual={1}",
+                        request.getElementsCount(),
+                        elements.size()));
+            }
+            return elements;
+        }
+
+        private void checkElement(int index, KvsRequest.Batch.ScriptElement.CommandCase command)
+                throws BrokenResponseException {
+            if (index >= request.getElementsCount() || request.getElements(index).getCommandCase() != command) {
+                throw new BrokenResponseException(MessageFormat.format(
+                        "inconsistent batch result at {0}: {1}",
+                        index,
+                        command));
+            }
+        }
+
+        private void checkSuccess(Message result, boolean success, boolean failure, KvsResponse.Error error)
+                throws IOException, ServerException {
+            if (success) {
+                return;
+            }
+            if (failure) {
+                throw newError(error);
+            }
+            throw newResultNotSet(result.getClass(), "result"); //$NON-NLS-1$
+        }
     }
 
     @Override
     public FutureResponse<BatchResult> send(@Nonnull KvsRequest.Batch request) throws IOException {
-        // TODO
-        throw new UnsupportedOperationException();
+        LOG.trace("send: {}", request); //$NON-NLS-1$
+        if (request.hasCommit() && request.getTransactionCase() == KvsRequest.Batch.TransactionCase.TRANSACTION_HANDLE) {
+            var tx = findTransaction(request.getTransactionHandle().getSystemId());
+            if (tx != null) {
+                tx.setCommitCalled();
+            }
+        }
+        return session.send(SERVICE_ID, toDelimitedByteArray(newRequest().setBatch(request).build()),
+                new BatchProcessor(request).asResponseProcessor());
     }
 
     @Override
@@ -373,6 +584,13 @@ public class KvsServiceStub implements KvsService {
                 new RequestProcessor().asResponseProcessor());
     }
 
+    @Override
+    public void requestClose() {
+        synchronized (resources) {
+            resources.requestClose();
+        }
+    }
+
     @Override
     public void close() throws ServerException, IOException, InterruptedException {
         LOG.trace("closing underlying resources"); //$NON-NLS-1$
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.tsurugidb.kvs.proto.KvsData;
+import com.tsurugidb.kvs.proto.KvsResponse;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.kvs.Record;
+import com.tsurugidb.tsubakuro.kvs.RecordCursor;
+import com.tsurugidb.tsubakuro.kvs.RecordLayout;
+import com.tsurugidb.tsubakuro.util.ByteBufferInputStream;
+import com.tsurugidb.tsubakuro.util.Lang;
+import com.tsurugidb.tsubakuro.util.ServerResource;
+
+/**
+ * An implementation of {@link RecordCursor} which reads records from the {@code SCAN} result channel.
+ * <p>
+ * The result channel consists of a sequence of length-delimited {@link KvsData.Record}, and this reads them
+ * one by one on {@link #next()}, so that the records are never materialized in memory at once.
+ * After the last record, this checks the main response of the {@code SCAN} request, whose errors are reported
+ * by the framework, because the {@code SCAN} response message does not carry the result yet.
+ * </p>
+ * <p>
+ * Closing this cursor before reading all records asks the server to stop sending the rest of records.
+ * </p>
+ * <p>
+ * The cursor operations are serialized, except {@link #requestClose()} which never waits for {@link #next()}
+ * in the other threads, so that it can cancel the scan blocking them.
+ * </p>
+ */
+@ThreadSafe
+public class RecordCursorImpl implements RecordCursor {
+
+    static final Logger LOG = LoggerFactory.getLogger(RecordCursorImpl.class);
+
+    private final Response response;
+
+    private final InputStream input;
+
+    private final CodedInputStream records;
+
+    private final ServerResource.CloseHandler closeHandler;
+
+    private KvsData.Record current;
+
+    private RecordLayout layout;
+
+    private volatile boolean exhausted = false;
+
+    private final AtomicBoolean canceled = new AtomicBoolean();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new instance.
+     * @param response the response of {@code SCAN} request, which will be closed with this cursor
+     * @param input the result channel
+     * @param closeHandler handles {@link #close()} was invoked
+     */
+    public RecordCursorImpl(
+            @Nonnull Response response,
+            @Nonnull InputStream input,
+            @Nullable ServerResource.CloseHandler closeHandler) {
+        Objects.requireNonNull(response);
+        Objects.requireNonNull(input);
+        this.response = response;
+        this.input = input;
+        this.records = CodedInputStream.newInstance(input);
+        this.closeHandler = closeHandler;
+    }
+
+    @Override
+    public synchronized boolean next() throws IOException, ServerException, InterruptedException {
+        if (closed) {
+            throw new IOException("record cursor already closed");
+        }
+        if (exhausted) {
+            return false;
+        }
+        if (records.isAtEnd()) {
+            current = null;
+            exhausted = true;
+            checkResult();
+            return false;
+        }
+        current = records.readMessage(KvsData.Record.parser(), ExtensionRegistryLite.getEmptyRegistry());
+        if (layout == null || !layout.matches(current)) {
+            // records in the same cursor usually share the same layout
+            layout = RecordLayout.of(current);
+        }
+        // the size limit of CodedInputStream is for each record, rather than the whole stream
+        records.resetSizeCounter();
+        return true;
+    }
+
+    private void checkResult() throws IOException, ServerException, InterruptedException {
+        var payload = response.waitForMainResponse();
+        var message = KvsResponse.Response.parseDelimitedFrom(new ByteBufferInputStream(payload));
+        LOG.trace("receive: {}", message); //$NON-NLS-1$
+        if (message.getCommandCase() != KvsResponse.Response.CommandCase.SCAN) {
+            throw KvsServiceStub.newResultNotSet(message.getClass(), "scan"); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public synchronized Record getRecord() throws IOException, ServerException, InterruptedException {
+        if (current == null) {
+            throw new IllegalStateException("record cursor does not point any records");
+        }
+        return new Record(current, layout);
+    }
+
+    @Override
+    public void requestClose() {
+        if (!closed && !exhausted) {
+            cancel();
+        }
+    }
+
+    private void cancel() {
+        if (response.isMainResponseReady() || !canceled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LOG.trace("canceling scan"); //$NON-NLS-1$
+            response.cancel();
+        } catch (UnsupportedOperationException e) {
+            // the response does not support cancellation, then just discards the rest of records
+            LOG.trace("scan cannot be canceled", e); //$NON-NLS-1$
+        } catch (IOException e) {
+            LOG.warn("error occurred while canceling scan", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException, ServerException, InterruptedException {
+        // unblocks next() in the other threads before waiting for them
+        requestClose();
+        synchronized (this) {
+            doClose();
+        }
+    }
+
+    @GuardedBy("this")
+    private void doClose() throws IOException, ServerException, InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current = null;
+        var in = input;
+        var res = response;
+        try (res; in) {
+            // if the rest of records is no longer needed, ask the server to stop sending them
+            if (!exhausted) {
+                cancel();
+            }
+        } finally {
+            if (closeHandler != null) {
+                Lang.suppress(
+                        e -> LOG.warn("error occurred while collecting garbage", e),
+                        () -> closeHandler.onClosed(this));
+            }
+        }
+    }
+}
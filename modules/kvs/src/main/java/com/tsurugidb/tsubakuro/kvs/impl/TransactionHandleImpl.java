@@ -27,6 +27,7 @@ import com.tsurugidb.kvs.proto.KvsRequest;
 import com.tsurugidb.kvs.proto.KvsTransaction;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
 import com.tsurugidb.tsubakuro.util.ServerResourceHolder;
 
 /**
@@ -44,6 +45,10 @@ public class TransactionHandleImpl implements TransactionHandle {
     private final AtomicBoolean commitAutoDisposed = new AtomicBoolean(false);
     private final AtomicBoolean commitOrRollbackCalled = new AtomicBoolean(false);
 
+    // requests sent by requestClose(), which are awaited in close()
+    private FutureResponse<Void> rollbackResult = null;
+    private FutureResponse<Void> disposeResult = null;
+
     /**
      * Creates a new instance.
      * @param systemId system Id of this handle got by KvsResponse.Begin
@@ -106,7 +111,21 @@ public class TransactionHandleImpl implements TransactionHandle {
     }
 
     @Override
-    public void close() throws ServerException, IOException, InterruptedException {
+    public synchronized void requestClose() throws IOException {
+        if (closed.get() || service == null || commitAutoDisposed.get() || disposeResult != null) {
+            return;
+        }
+        // sends both requests without waiting, as well as SQL transactions do
+        if (!commitOrRollbackCalled.getAndSet(true)) {
+            var builder = KvsRequest.Rollback.newBuilder().setTransactionHandle(handle);
+            rollbackResult = service.send(builder.build());
+        }
+        var builder = KvsRequest.DisposeTransaction.newBuilder().setTransactionHandle(handle);
+        disposeResult = service.send(builder.build());
+    }
+
+    @Override
+    public synchronized void close() throws ServerException, IOException, InterruptedException {
         if (closed.getAndSet(true)) {
             return;
         }
@@ -117,15 +136,21 @@ public class TransactionHandleImpl implements TransactionHandle {
             return;
         }
         try {
-            if (!commitOrRollbackCalled.getAndSet(true)) {
+            if (rollbackResult != null) {
+                rollbackResult.await();
+            } else if (!commitOrRollbackCalled.getAndSet(true)) {
                 var builder = KvsRequest.Rollback.newBuilder().setTransactionHandle(handle);
                 service.send(builder.build()).await();
             }
         } catch (Exception e) {
             LOG.warn("rollback failed during transaction handle closing", e);
         } finally {
-            var builder = KvsRequest.DisposeTransaction.newBuilder().setTransactionHandle(handle);
-            service.send(builder.build()).await();
+            if (disposeResult != null) {
+                disposeResult.await();
+            } else {
+                var builder = KvsRequest.DisposeTransaction.newBuilder().setTransactionHandle(handle);
+                service.send(builder.build()).await();
+            }
         }
     }
 
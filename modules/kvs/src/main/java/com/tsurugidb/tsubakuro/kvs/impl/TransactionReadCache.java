@@ -0,0 +1,458 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.kvs.proto.KvsData;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.kvs.GetResult;
+import com.tsurugidb.tsubakuro.kvs.PutType;
+import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+/**
+ * Caches {@code GET} results and succeeded {@code PUT} / {@code REMOVE} operations for each transaction.
+ * <p>
+ * The cached entries are keyed by the table name and the index key. The entry names of the index key are learned
+ * from the first {@code GET} or {@code REMOVE} on the table, and {@code PUT} records are indexed by projecting
+ * them onto the learned key names. Keys with other entry names are never cached.
+ * </p>
+ * <p>
+ * This assumes the following conventions:
+ * </p>
+ * <ul>
+ * <li> the index keys always consist of the same entry names in the same order, with the same value types </li>
+ * <li> {@link PutType#OVERWRITE} puts always specify every column of the row, with the column types </li>
+ * </ul>
+ * <p>
+ * The rows modified by {@code PUT} or {@code REMOVE} are discarded from the cache when their requests are sent,
+ * and the operation results are recorded only after their success was observed. That is, operations which are
+ * failed, timed out, closed, or never awaited never leave their rows in the cache.
+ * </p>
+ * <p>
+ * Entries of the transaction are discarded on commit, rollback, batch, or failure of the individual operations.
+ * </p>
+ */
+@ThreadSafe
+final class TransactionReadCache {
+
+    static final Logger LOG = LoggerFactory.getLogger(TransactionReadCache.class);
+
+    // weakly holds the transactions, because they may be disposed without commit or rollback
+    @GuardedBy("transactions")
+    private final Map<TransactionHandle, TransactionEntry> transactions = new WeakHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns the number of {@code GET} operations which were served from this cache.
+     * @return the number of cache hits
+     */
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of {@code GET} operations which were not served from this cache.
+     * @return the number of cache misses
+     */
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Sends a request to the service.
+     * @param <V> the result type
+     */
+    @FunctionalInterface
+    interface Request<V> {
+
+        /**
+         * Sends the request.
+         * @return the future response of the request
+         * @throws IOException if I/O error was occurred while sending the request
+         */
+        FutureResponse<V> send() throws IOException;
+    }
+
+    /**
+     * Returns the {@code GET} result from this cache, or sends the request and caches its result.
+     * @param transaction the transaction handle
+     * @param table the table name
+     * @param key the index key
+     * @param request the {@code GET} request
+     * @return the future response of the result
+     * @throws IOException if I/O error was occurred while sending the request
+     */
+    @Nonnull FutureResponse<GetResult> get(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nonnull KvsData.Record key,
+            @Nonnull Request<GetResult> request) throws IOException {
+        Optional<KvsData.Record> found;
+        TransactionEntry origin;
+        long version;
+        synchronized (transactions) {
+            origin = transactions.computeIfAbsent(transaction, k -> new TransactionEntry());
+            if (!origin.learn(table, key)) {
+                missCount.incrementAndGet();
+                return request.send();
+            }
+            found = origin.find(table, key);
+            version = origin.version;
+        }
+        if (found != null) {
+            hitCount.incrementAndGet();
+            LOG.trace("read cache hit: table={}, key={}", table, key); //$NON-NLS-1$
+            return FutureResponse.returns(new GetResultImpl(found.map(List::of).orElse(List.of())));
+        }
+        missCount.incrementAndGet();
+        return new Observed<>(request.send(), result -> {
+            if (result.size() > 1) {
+                return;
+            }
+            Optional<KvsData.Record> record = result.asOptional().map(it -> it.getEntity());
+            synchronized (transactions) {
+                // discards the result if the transaction was modified while fetching it
+                if (transactions.get(transaction) == origin && origin.version == version) {
+                    origin.put(table, key, record);
+                }
+            }
+        }, error -> invalidate(transaction));
+    }
+
+    /**
+     * Sends the {@code PUT} request, and records the operation into this cache after its success was observed.
+     * @param <V> the result type
+     * @param transaction the transaction handle
+     * @param table the table name
+     * @param record the record to put
+     * @param behavior the operation behavior
+     * @param request the {@code PUT} request
+     * @return the future response of the result, which updates this cache on success
+     * @throws IOException if I/O error was occurred while sending the request
+     */
+    @Nonnull <V> FutureResponse<V> put(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nonnull KvsData.Record record,
+            @Nonnull PutType behavior,
+            @Nonnull Request<V> request) throws IOException {
+        TransactionEntry origin;
+        long version;
+        synchronized (transactions) {
+            origin = transactions.computeIfAbsent(transaction, k -> new TransactionEntry());
+            // the row is not determined until the operation was completed
+            origin.forget(table, record);
+            version = origin.version;
+        }
+        if (behavior != PutType.OVERWRITE) {
+            return send(transaction, origin, version, request, null);
+        }
+        return send(transaction, origin, version, request, entry -> entry.write(table, record));
+    }
+
+    /**
+     * Sends the {@code REMOVE} request, and records the operation into this cache after its success was observed.
+     * @param <V> the result type
+     * @param transaction the transaction handle
+     * @param table the table name
+     * @param key the index key
+     * @param request the {@code REMOVE} request
+     * @return the future response of the result, which updates this cache on success
+     * @throws IOException if I/O error was occurred while sending the request
+     */
+    @Nonnull <V> FutureResponse<V> remove(
+            @Nonnull TransactionHandle transaction,
+            @Nonnull String table,
+            @Nonnull KvsData.Record key,
+            @Nonnull Request<V> request) throws IOException {
+        TransactionEntry origin;
+        long version;
+        boolean learned;
+        synchronized (transactions) {
+            origin = transactions.computeIfAbsent(transaction, k -> new TransactionEntry());
+            learned = origin.learn(table, key);
+            if (learned) {
+                origin.discard(table, key);
+            } else {
+                origin.clear();
+            }
+            version = origin.version;
+        }
+        if (!learned) {
+            return send(transaction, origin, version, request, null);
+        }
+        return send(transaction, origin, version, request, entry -> entry.put(table, key, Optional.empty()));
+    }
+
+    private <V> FutureResponse<V> send(
+            TransactionHandle transaction,
+            TransactionEntry origin,
+            long version,
+            Request<V> request,
+            @Nullable Consumer<TransactionEntry> onSuccess) throws IOException {
+        FutureResponse<V> response;
+        try {
+            response = request.send();
+        } catch (IOException | RuntimeException e) {
+            invalidate(transaction);
+            throw e;
+        }
+        if (onSuccess == null) {
+            return new Observed<>(response, null, error -> invalidate(transaction));
+        }
+        return new Observed<>(response, result -> {
+            synchronized (transactions) {
+                // discards the operation if the transaction was modified while sending it,
+                // because the later operations may have been completed before this
+                if (transactions.get(transaction) == origin && origin.version == version) {
+                    onSuccess.accept(origin);
+                }
+            }
+        }, error -> invalidate(transaction));
+    }
+
+    /**
+     * Discards the all entries of the transaction.
+     * @param transaction the transaction handle
+     */
+    void invalidate(@Nonnull TransactionHandle transaction) {
+        synchronized (transactions) {
+            var entry = transactions.remove(transaction);
+            if (entry != null) {
+                // in-flight GET results must not be cached
+                entry.clear();
+            }
+        }
+    }
+
+    /**
+     * Discards the all entries.
+     */
+    void clear() {
+        synchronized (transactions) {
+            transactions.values().forEach(TransactionEntry::clear);
+            transactions.clear();
+        }
+    }
+
+    private static final class TransactionEntry {
+
+        final Map<String, TableEntry> tables = new HashMap<>();
+
+        long version;
+
+        @Nullable Optional<KvsData.Record> find(String table, KvsData.Record key) {
+            var entry = tables.get(table);
+            if (entry == null) {
+                return null;
+            }
+            return entry.records.get(key);
+        }
+
+        boolean learn(String table, KvsData.Record key) {
+            return tables.computeIfAbsent(table, k -> new TableEntry()).learn(key);
+        }
+
+        void put(String table, KvsData.Record key, Optional<KvsData.Record> record) {
+            version++;
+            tables.computeIfAbsent(table, k -> new TableEntry()).records.put(key, record);
+        }
+
+        void write(String table, KvsData.Record record) {
+            version++;
+            tables.computeIfAbsent(table, k -> new TableEntry()).write(record);
+        }
+
+        void discard(String table, KvsData.Record key) {
+            version++;
+            var entry = tables.get(table);
+            if (entry != null) {
+                entry.records.remove(key);
+            }
+        }
+
+        void forget(String table, KvsData.Record record) {
+            version++;
+            var entry = tables.get(table);
+            if (entry != null) {
+                entry.forget(record);
+            }
+        }
+
+        void clear() {
+            version++;
+            tables.clear();
+        }
+    }
+
+    private static final class TableEntry {
+
+        final Map<KvsData.Record, Optional<KvsData.Record>> records = new HashMap<>();
+
+        // OVERWRITE records which were put before the key names are learned
+        final List<KvsData.Record> unindexed = new ArrayList<>();
+
+        List<String> keyNames;
+
+        boolean learn(KvsData.Record key) {
+            if (keyNames != null) {
+                return keyNames.equals(key.getNamesList());
+            }
+            keyNames = List.copyOf(key.getNamesList());
+            for (var record : unindexed) {
+                write(record);
+            }
+            unindexed.clear();
+            return true;
+        }
+
+        void write(KvsData.Record record) {
+            if (keyNames == null) {
+                unindexed.add(record);
+                return;
+            }
+            var key = project(record);
+            if (key == null) {
+                // cannot identify the row
+                records.clear();
+                return;
+            }
+            records.put(key, Optional.of(record));
+        }
+
+        void forget(KvsData.Record record) {
+            unindexed.clear();
+            if (keyNames == null) {
+                return;
+            }
+            var key = project(record);
+            if (key == null) {
+                records.clear();
+                return;
+            }
+            records.remove(key);
+        }
+
+        private @Nullable KvsData.Record project(KvsData.Record record) {
+            var builder = KvsData.Record.newBuilder();
+            for (var name : keyNames) {
+                int index = record.getNamesList().lastIndexOf(name);
+                if (index < 0 || index >= record.getValuesCount()) {
+                    return null;
+                }
+                builder.addNames(name);
+                builder.addValues(record.getValues(index));
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * A {@link FutureResponse} which notifies its completion.
+     * @param <V> the result type
+     */
+    private static final class Observed<V> implements FutureResponse<V> {
+
+        private final FutureResponse<V> delegate;
+
+        private final Consumer<? super V> onSuccess;
+
+        private final Consumer<? super Exception> onFailure;
+
+        private final AtomicBoolean notified = new AtomicBoolean();
+
+        Observed(
+                FutureResponse<V> delegate,
+                @Nullable Consumer<? super V> onSuccess,
+                @Nullable Consumer<? super Exception> onFailure) {
+            this.delegate = delegate;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public V get() throws IOException, ServerException, InterruptedException {
+            try {
+                return succeeded(delegate.get());
+            } catch (IOException | ServerException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit)
+                throws IOException, ServerException, InterruptedException, TimeoutException {
+            try {
+                return succeeded(delegate.get(timeout, unit));
+            } catch (IOException | ServerException e) {
+                throw failed(e);
+            }
+        }
+
+        private V succeeded(V result) {
+            if (onSuccess != null && notified.compareAndSet(false, true)) {
+                onSuccess.accept(result);
+            }
+            return result;
+        }
+
+        private <E extends Exception> E failed(E exception) {
+            if (onFailure != null && notified.compareAndSet(false, true)) {
+                onFailure.accept(exception);
+            }
+            return exception;
+        }
+
+        @Override
+        public void close() throws IOException, ServerException, InterruptedException {
+            delegate.close();
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(delegate);
+        }
+    }
+}
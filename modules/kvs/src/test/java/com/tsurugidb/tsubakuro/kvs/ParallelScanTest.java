@@ -0,0 +1,326 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.kvs.impl.TransactionHandleImpl;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class ParallelScanTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final TransactionHandle transaction = new TransactionHandleImpl(1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static RecordBuffer key(long value) {
+        var buffer = new RecordBuffer();
+        buffer.add("k", value);
+        return buffer;
+    }
+
+    private static List<RecordBuffer> keys(long... values) {
+        return LongStream.of(values).mapToObj(ParallelScanTest::key).collect(Collectors.toList());
+    }
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private static List<Long> collect(RecordCursor cursor) throws Exception {
+        var results = new ArrayList<Long>();
+        while (cursor.next()) {
+            results.add(cursor.getRecord().getLong("k"));
+        }
+        return results;
+    }
+
+    /**
+     * A client which scans the in-memory table with the keys {@code 0 .. size-1}.
+     */
+    static class TableClient implements KvsClient {
+
+        final int size;
+
+        final long failAt;
+
+        final AtomicInteger opened = new AtomicInteger();
+
+        final AtomicInteger closed = new AtomicInteger();
+
+        TableClient(int size) {
+            this(size, -1);
+        }
+
+        TableClient(int size, long failAt) {
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public FutureResponse<RecordCursor> scan(
+                TransactionHandle transaction,
+                String table,
+                RecordBuffer lowerKey, ScanBound lowerBound,
+                RecordBuffer upperKey, ScanBound upperBound,
+                ScanType behavior) throws IOException {
+            long lower = lowerKey == null ? 0 : lowerKey.toRecord().getLong("k");
+            if (lowerBound == ScanBound.EXCLUSIVE) {
+                lower++;
+            }
+            long upper = upperKey == null ? size : upperKey.toRecord().getLong("k") + 1;
+            if (upperBound == ScanBound.EXCLUSIVE) {
+                upper--;
+            }
+            var keys = range(Math.max(lower, 0), Math.min(upper, size));
+            if (behavior == ScanType.BACKWARD) {
+                Collections.reverse(keys);
+            }
+            opened.incrementAndGet();
+            return FutureResponse.returns(new RecordCursor() {
+
+                private int position = -1;
+
+                private volatile boolean canceled;
+
+                @Override
+                public boolean next() throws IOException, ServerException, InterruptedException {
+                    if (canceled || position + 1 >= keys.size()) {
+                        return false;
+                    }
+                    position++;
+                    if (keys.get(position) == failAt) {
+                        throw new IOException("failed");
+                    }
+                    return true;
+                }
+
+                @Override
+                public Record getRecord() {
+                    return key(keys.get(position)).toRecord();
+                }
+
+                @Override
+                public void requestClose() {
+                    canceled = true;
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public FutureResponse<TransactionHandle> beginTransaction(TransactionOption option) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<Void> commit(TransactionHandle transaction, CommitType behavior) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<Void> rollback(TransactionHandle transaction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<GetResult> get(TransactionHandle transaction, String table, RecordBuffer key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<PutResult> put(
+                TransactionHandle transaction, String table, RecordBuffer record, PutType behavior) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<RemoveResult> remove(
+                TransactionHandle transaction, String table, RecordBuffer key, RemoveType behavior) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureResponse<BatchResult> batch(TransactionHandle transaction, BatchScript script) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    void scan_ordered() throws Exception {
+        var client = new TableClient(1000);
+        var scan = new ParallelScan(client, executor, 16);
+        try (var cursor = scan.scan(transaction, "T", null, null, null, null,
+                keys(250, 500, 750), ScanType.FORWARD)) {
+            assertEquals(range(0, 1000), collect(cursor));
+        }
+        assertEquals(4, client.opened.get());
+        assertEquals(4, client.closed.get());
+    }
+
+    @Test
+    void scan_ordered_bounds() throws Exception {
+        var client = new TableClient(1000);
+        var scan = new ParallelScan(client, executor);
+        try (var cursor = scan.scan(transaction, "T",
+                key(100), ScanBound.EXCLUSIVE, key(300), ScanBound.INCLUSIVE,
+                keys(200), ScanType.FORWARD)) {
+            assertEquals(range(101, 301), collect(cursor));
+        }
+    }
+
+    @Test
+    void scan_ordered_backward() throws Exception {
+        var client = new TableClient(100);
+        var scan = new ParallelScan(client, executor, 4);
+        try (var cursor = scan.scan(transaction, "T", null, null, null, null,
+                keys(30, 60), ScanType.BACKWARD)) {
+            var expected = range(0, 100);
+            Collections.reverse(expected);
+            assertEquals(expected, collect(cursor));
+        }
+    }
+
+    @Test
+    void scan_ordered_no_split() throws Exception {
+        var client = new TableClient(10);
+        var scan = new ParallelScan(client, executor);
+        try (var cursor = scan.scan(transaction, "T", null, null, null, null, List.of(), ScanType.FORWARD)) {
+            assertEquals(range(0, 10), collect(cursor));
+        }
+        assertEquals(1, client.opened.get());
+    }
+
+    @Test
+    void scan_ordered_error() throws Exception {
+        var client = new TableClient(1000, 600);
+        var scan = new ParallelScan(client, executor, 8);
+        try (var cursor = scan.scan(transaction, "T", null, null, null, null,
+                keys(250, 500, 750), ScanType.FORWARD)) {
+            // records before the error are available
+            for (long i = 0; i < 600; i++) {
+                assertTrue(cursor.next());
+                assertEquals(i, cursor.getRecord().getLong("k"));
+            }
+            assertThrows(IOException.class, cursor::next);
+        }
+        assertEquals(4, client.closed.get());
+    }
+
+    @Test
+    void scan_ordered_close_early() throws Exception {
+        var client = new TableClient(100_000);
+        var scan = new ParallelScan(client, executor, 4);
+        try (var cursor = scan.scan(transaction, "T", null, null, null, null,
+                keys(25_000, 50_000, 75_000), ScanType.FORWARD)) {
+            assertTrue(cursor.next());
+            assertEquals(0, cursor.getRecord().getLong("k"));
+        }
+        // all sub-scans are closed in close()
+        assertEquals(4, client.closed.get());
+    }
+
+    @Test
+    void scan_parallel() throws Exception {
+        var client = new TableClient(1000);
+        var scan = new ParallelScan(client, executor);
+        var results = ConcurrentHashMap.<Long>newKeySet();
+        var partitions = ConcurrentHashMap.<Integer>newKeySet();
+        scan.scan(transaction, "T", null, null, null, null, keys(250, 500, 750), ScanType.FORWARD,
+                (partition, record) -> {
+                    partitions.add(partition);
+                    assertTrue(results.add(record.getLong("k")));
+                });
+        assertEquals(1000, results.size());
+        assertEquals(Set.of(0, 1, 2, 3), partitions);
+        assertEquals(4, client.closed.get());
+    }
+
+    @Test
+    void scan_parallel_error() throws Exception {
+        var client = new TableClient(1000, 900);
+        var scan = new ParallelScan(client, executor);
+        assertThrows(IOException.class, () -> scan.scan(transaction, "T", null, null, null, null,
+                keys(250, 500, 750), ScanType.FORWARD, (partition, record) -> {}));
+        assertEquals(4, client.closed.get());
+    }
+
+    @Test
+    void scan_parallel_handler_error() throws Exception {
+        var client = new TableClient(1000);
+        var scan = new ParallelScan(client, executor);
+        assertThrows(IllegalStateException.class, () -> scan.scan(transaction, "T", null, null, null, null,
+                keys(500), ScanType.FORWARD, (partition, record) -> {
+                    if (partition == 1) {
+                        throw new IllegalStateException();
+                    }
+                }));
+        assertEquals(2, client.closed.get());
+    }
+
+    @Test
+    void selectSplitPoints() {
+        var samples = range(0, 100).stream()
+                .map(it -> key(it).toRecord())
+                .collect(Collectors.toList());
+        var points = ParallelScan.selectSplitPoints(samples, 4);
+        assertEquals(List.of(25L, 50L, 75L), points.stream()
+                .map(it -> it.toRecord().getLong("k"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void selectSplitPoints_few_samples() {
+        var samples = List.of(key(1).toRecord(), key(1).toRecord(), key(2).toRecord());
+        var points = ParallelScan.selectSplitPoints(samples, 8);
+        assertEquals(List.of(1L, 2L), points.stream()
+                .map(it -> it.toRecord().getLong("k"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void selectSplitPoints_single() {
+        assertEquals(List.of(), ParallelScan.selectSplitPoints(List.of(key(1).toRecord()), 1));
+        assertThrows(IllegalArgumentException.class, () -> ParallelScan.selectSplitPoints(List.of(), 0));
+    }
+}
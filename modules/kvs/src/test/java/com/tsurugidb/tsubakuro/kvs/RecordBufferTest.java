@@ -15,12 +15,15 @@
  */
 package com.tsurugidb.tsubakuro.kvs;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.math.BigDecimal;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.protobuf.CodedOutputStream;
+
 class RecordBufferTest {
 
     @Test
@@ -84,4 +87,31 @@ class RecordBufferTest {
         assertEquals(0, buffer.toRecord().size());
     }
 
+    @Test
+    void reuse() throws Exception {
+        var buffer = new RecordBuffer();
+        buffer.add("key", 123);
+        buffer.add("value", "a");
+        buffer.clear();
+        buffer.add("key", 456);
+        assertEquals(1, buffer.size());
+        assertEquals(456, buffer.toRecord().getInt("key"));
+    }
+
+    @Test
+    void writeTo() throws Exception {
+        var buffer = new RecordBuffer();
+        buffer.add("key", 123);
+        buffer.addNull("null");
+        buffer.add("decimal", new BigDecimal("3.14"));
+        var expected = buffer.toRecord().getEntity().toByteArray();
+
+        assertEquals(expected.length, buffer.getSerializedSize());
+        var bytes = new byte[buffer.getSerializedSize()];
+        var output = CodedOutputStream.newInstance(bytes);
+        buffer.writeTo(output);
+        output.checkNoSpaceLeft();
+        assertArrayEquals(expected, bytes);
+    }
+
 }
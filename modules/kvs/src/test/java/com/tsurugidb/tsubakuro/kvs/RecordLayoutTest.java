@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.kvs.proto.KvsData;
+import com.tsurugidb.kvs.proto.KvsData.Value.ValueCase;
+
+class RecordLayoutTest {
+
+    private static KvsData.Record record(long key, String value) {
+        var buffer = new RecordBuffer();
+        buffer.add("k", key);
+        if (value == null) {
+            buffer.addNull("v");
+        } else {
+            buffer.add("v", value);
+        }
+        return buffer.toRecord().getEntity();
+    }
+
+    @Test
+    void of() {
+        var layout = RecordLayout.of(record(1, "a"));
+        assertEquals(2, layout.size());
+        assertEquals(List.of("k", "v"), layout.getNames());
+        assertEquals("v", layout.getName(1));
+        assertEquals(ValueCase.INT8_VALUE, layout.getType(0));
+        assertEquals(ValueCase.CHARACTER_VALUE, layout.getType(1));
+        assertEquals(0, layout.indexOf("k"));
+        assertEquals(1, layout.positionOf("v"));
+        assertEquals(-1, layout.indexOf("x"));
+        assertThrows(IllegalArgumentException.class, () -> layout.positionOf("x"));
+    }
+
+    @Test
+    void of_empty() {
+        assertSame(RecordLayout.EMPTY, RecordLayout.of(KvsData.Record.getDefaultInstance()));
+    }
+
+    @Test
+    void matches() {
+        var layout = RecordLayout.of(record(1, "a"));
+        assertTrue(layout.matches(record(2, "b")));
+        assertTrue(layout.matches(record(3, null)));
+        assertFalse(layout.matches(new RecordBuffer().add("k", 1L).toRecord().getEntity()));
+        assertFalse(layout.matches(new RecordBuffer().add("k", 1L).add("w", "a").toRecord().getEntity()));
+    }
+
+    @Test
+    void shared() {
+        var layout = RecordLayout.of(record(1, "a"));
+        var r1 = new Record(record(1, "a"), layout);
+        var r2 = new Record(record(2, null), layout);
+        assertSame(layout, r1.getLayout());
+        assertSame(layout, r2.getLayout());
+        assertEquals(1L, r1.getLong("k"));
+        assertEquals("a", r1.getCharacter(1));
+        assertEquals(2L, r2.getLong(0));
+        assertTrue(r2.isNull("v"));
+        assertTrue(r2.isNull(1));
+        assertThrows(IllegalArgumentException.class, () -> r2.getCharacter(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Record(new RecordBuffer().add("k", 1L).toRecord().getEntity(), layout));
+    }
+}
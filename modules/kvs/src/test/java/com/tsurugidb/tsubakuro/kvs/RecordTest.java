@@ -148,12 +148,20 @@ class RecordTest {
         assertEquals(value, record.getValue(0));
         assertEquals(false, record.isNull(KEY1));
         assertEquals(value, record.getLong(KEY1));
+        assertEquals(value, record.getLong(0));
+        assertEquals(false, record.isNull(0));
         assertThrows(IndexOutOfBoundsException.class, () -> {
             record.getValue(1);
         });
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            record.getLong(1);
+        });
         assertThrows(IllegalArgumentException.class, () -> {
             record.getInt(KEY1);
         });
+        assertThrows(IllegalArgumentException.class, () -> {
+            record.getInt(0);
+        });
     }
 
     @Test
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.kvs.proto.KvsRequest;
+import com.tsurugidb.tsubakuro.kvs.BatchResult;
+import com.tsurugidb.tsubakuro.kvs.KvsServiceCode;
+import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
+import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class AutoBatchingKvsClientTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private final List<KvsRequest.Batch> batches = new CopyOnWriteArrayList<>();
+
+    private volatile KvsServiceException batchError = null;
+
+    private volatile CountDownLatch batchEntered = null;
+
+    private volatile CountDownLatch batchGate = null;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final TransactionHandleImpl transaction = new TransactionHandleImpl(100);
+
+    private class Service extends KvsClientImplTest.KvsServiceWithExtract {
+
+        @Override
+        public FutureResponse<BatchResult> send(KvsRequest.Batch request) throws IOException {
+            if (batchGate != null) {
+                batchEntered.countDown();
+                try {
+                    batchGate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            requests.add("batch:" + request.getElementsCount());
+            batches.add(request);
+            if (batchError != null) {
+                return new FutureResponse<>() {
+                    @Override
+                    public boolean isDone() {
+                        return true;
+                    }
+                    @Override
+                    public BatchResult get() throws KvsServiceException {
+                        throw batchError;
+                    }
+                    @Override
+                    public BatchResult get(long timeout, TimeUnit unit) throws KvsServiceException {
+                        throw batchError;
+                    }
+                    @Override
+                    public void close() {
+                        // do nothing
+                    }
+                };
+            }
+            var results = new ArrayList<Object>();
+            for (var element : request.getElementsList()) {
+                switch (element.getCommandCase()) {
+                case GET:
+                    results.add(new GetResultImpl(element.getGet().getKeys(0)));
+                    break;
+                case PUT:
+                    results.add(new PutResultImpl(element.getPut().getRecordsCount()));
+                    break;
+                case REMOVE:
+                    results.add(new RemoveResultImpl(1));
+                    break;
+                default:
+                    throw new AssertionError();
+                }
+            }
+            return FutureResponse.returns(new BatchResultImpl(results));
+        }
+
+        @Override
+        public FutureResponse<Void> send(KvsRequest.Commit request) throws IOException {
+            requests.add("commit");
+            return FutureResponse.returns(null);
+        }
+    }
+
+    /**
+     * A scheduler which never runs the scheduled tasks by itself.
+     */
+    private static class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+        ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            tasks.add(command);
+            return super.schedule(() -> { }, 1, TimeUnit.DAYS);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private AutoBatchingKvsClient client(Duration window, int maxBatchSize) {
+        return new AutoBatchingKvsClient(new KvsClientImpl(new Service()), window, maxBatchSize, scheduler);
+    }
+
+    private static RecordBuffer record(long key) {
+        var buffer = new RecordBuffer();
+        buffer.add("k", key);
+        return buffer;
+    }
+
+    @Test
+    void coalesce() throws Exception {
+        try (var client = client(Duration.ofHours(1), 100)) {
+            var put = client.put(transaction, "T", record(1));
+            var get = client.get(transaction, "T", record(2));
+            var remove = client.remove(transaction, "T", record(3));
+            assertEquals(List.of(), requests);
+
+            // requesting a result sends the pending batch immediately
+            assertEquals(1, put.await().size());
+            assertEquals(2L, get.await().asRecord().getLong("k"));
+            assertEquals(1, remove.await().size());
+            assertEquals(List.of("batch:3"), requests);
+        }
+    }
+
+    @Test
+    void max_batch_size() throws Exception {
+        try (var client = client(Duration.ofHours(1), 2)) {
+            var a = client.put(transaction, "T", record(1));
+            var b = client.put(transaction, "T", record(2));
+            assertEquals(List.of("batch:2"), requests);
+
+            var c = client.put(transaction, "T", record(3));
+            assertEquals(List.of("batch:2"), requests);
+            c.await();
+            assertEquals(List.of("batch:2", "batch:1"), requests);
+            a.await();
+            b.await();
+        }
+    }
+
+    @Test
+    void window() throws Exception {
+        try (var client = client(Duration.ofMillis(10), 100)) {
+            var put = client.put(transaction, "T", record(1));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (requests.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(List.of("batch:1"), requests);
+            assertEquals(1, put.await().size());
+        }
+    }
+
+    @Test
+    void keep_order() throws Exception {
+        try (var client = client(Duration.ofHours(1), 100)) {
+            var put = client.put(transaction, "T", record(1));
+            client.commit(transaction).await();
+            assertEquals(List.of("batch:1", "commit"), requests);
+            put.await();
+        }
+    }
+
+    @Test
+    void keep_order_timer() throws Exception {
+        var timer = new ManualScheduler();
+        var service = new KvsClientImpl(new Service());
+        try (var client = new AutoBatchingKvsClient(service, Duration.ofHours(1), 100, timer, Runnable::run)) {
+            var put = client.put(transaction, "T", record(1));
+            var fire = timer.tasks.poll();
+            assertNotNull(fire);
+
+            // the timer removes the pending batch, and then stops before sending it
+            batchEntered = new CountDownLatch(1);
+            batchGate = new CountDownLatch(1);
+            var timerThread = new Thread(fire);
+            timerThread.start();
+            assertTrue(batchEntered.await(10, TimeUnit.SECONDS));
+
+            // commit must wait for the batch being sent by the timer
+            var commitThread = new Thread(() -> {
+                try {
+                    client.commit(transaction).await();
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            commitThread.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (commitThread.isAlive()
+                    && commitThread.getState() != Thread.State.BLOCKED
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            batchGate.countDown();
+            timerThread.join(TimeUnit.SECONDS.toMillis(10));
+            commitThread.join(TimeUnit.SECONDS.toMillis(10));
+
+            assertEquals(List.of("batch:1", "commit"), requests);
+            assertEquals(1, put.await().size());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void timer_dispatch() throws Exception {
+        var timer = new ManualScheduler();
+        var sends = new LinkedBlockingQueue<Runnable>();
+        var service = new KvsClientImpl(new Service());
+        try (var client = new AutoBatchingKvsClient(service, Duration.ofHours(1), 100, timer, sends::add)) {
+            var put = client.put(transaction, "T", record(1));
+            var fire = timer.tasks.poll();
+            assertNotNull(fire);
+
+            // the scheduler thread never sends the batch by itself
+            fire.run();
+            assertEquals(List.of(), requests);
+
+            var send = sends.poll();
+            assertNotNull(send);
+            send.run();
+            assertEquals(List.of("batch:1"), requests);
+            assertEquals(1, put.await().size());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void keep_order_batches() throws Exception {
+        try (var client = client(Duration.ofHours(1), 1)) {
+            var executor = Executors.newSingleThreadExecutor();
+            try {
+                // the first full batch is being sent by the other thread
+                batchEntered = new CountDownLatch(1);
+                batchGate = new CountDownLatch(1);
+                var first = executor.submit(() -> client.put(transaction, "T", record(1)));
+                assertTrue(batchEntered.await(10, TimeUnit.SECONDS));
+
+                // the second full batch must wait for the first one
+                batchEntered = new CountDownLatch(1);
+                var secondThread = new Thread(() -> {
+                    try {
+                        client.put(transaction, "T", record(2));
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                secondThread.start();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (secondThread.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(Thread.State.BLOCKED, secondThread.getState());
+                batchGate.countDown();
+                secondThread.join(TimeUnit.SECONDS.toMillis(10));
+                first.get(10, TimeUnit.SECONDS).await();
+
+                assertEquals(2, batches.size());
+                assertEquals(1L, batches.get(0).getElements(0).getPut().getRecords(0).getValues(0).getInt8Value());
+                assertEquals(2L, batches.get(1).getElements(0).getPut().getRecords(0).getValues(0).getInt8Value());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void separate_transactions() throws Exception {
+        var other = new TransactionHandleImpl(200);
+        try (var client = client(Duration.ofHours(1), 100)) {
+            var a = client.put(transaction, "T", record(1));
+            var b = client.put(other, "T", record(2));
+            client.flush();
+            assertEquals(List.of("batch:1", "batch:1"), requests);
+            a.await();
+            b.await();
+        }
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        int threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try (var client = client(Duration.ofHours(1), threads)) {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<PutResult>>();
+            for (int i = 0; i < threads; i++) {
+                long key = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try (var future = client.put(transaction, "T", record(key))) {
+                        // don't request the result until the batch becomes full
+                        while (batches.isEmpty()) {
+                            Thread.sleep(1);
+                        }
+                        return future.get();
+                    }
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                assertEquals(1, future.get(10, TimeUnit.SECONDS).size());
+            }
+            assertEquals(List.of("batch:" + threads), requests);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void error() throws Exception {
+        batchError = new KvsServiceException(KvsServiceCode.NOT_FOUND);
+        try (var client = client(Duration.ofHours(1), 100)) {
+            var a = client.put(transaction, "T", record(1));
+            var b = client.get(transaction, "T", record(2));
+            assertThrows(KvsServiceException.class, () -> a.await());
+            assertThrows(KvsServiceException.class, () -> b.await());
+            assertEquals(List.of("batch:2"), requests);
+        }
+    }
+
+    @Test
+    void closed_future() throws Exception {
+        try (var client = client(Duration.ofHours(1), 100)) {
+            var put = client.put(transaction, "T", record(1));
+            put.close();
+            assertEquals(List.of("batch:1"), requests);
+            assertThrows(IOException.class, () -> put.get());
+            assertFalse(batches.isEmpty());
+        }
+    }
+
+    @Test
+    void invalid_arguments() {
+        var service = new KvsClientImpl(new Service());
+        assertThrows(IllegalArgumentException.class,
+                () -> new AutoBatchingKvsClient(service, Duration.ofMillis(-1), 1, scheduler));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AutoBatchingKvsClient(service, Duration.ZERO, 0, scheduler));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.kvs.proto.KvsData;
+import com.tsurugidb.tsubakuro.kvs.BatchScript;
+import com.tsurugidb.tsubakuro.kvs.GetResult;
+import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RemoveResult;
+
+class BatchResultImplTest {
+
+    private final GetResultImpl get = new GetResultImpl(List.<KvsData.Record>of());
+
+    private final PutResultImpl put = new PutResultImpl(1);
+
+    private final RemoveResultImpl remove = new RemoveResultImpl(2);
+
+    @Test
+    void get_by_reference() throws Exception {
+        var result = new BatchResultImpl(List.of(get, put, remove));
+        assertEquals(3, result.size());
+        assertSame(get, result.get(new BatchScript.Ref<>(0, GetResult.class)));
+        assertSame(put, result.get(new BatchScript.Ref<>(1, PutResult.class)));
+        assertSame(remove, result.get(new BatchScript.Ref<>(2, RemoveResult.class)));
+    }
+
+    @Test
+    void get_by_reference_inconsistent() throws Exception {
+        var result = new BatchResultImpl(List.of(get, put));
+        assertThrows(IllegalArgumentException.class, () -> result.get(new BatchScript.Ref<>(0, PutResult.class)));
+        assertThrows(IllegalArgumentException.class, () -> result.get(new BatchScript.Ref<>(2, GetResult.class)));
+    }
+
+    @Test
+    void get_by_position() throws Exception {
+        var result = new BatchResultImpl(List.of(get, put, remove));
+        assertSame(get, result.getGetResult(0));
+        assertSame(put, result.getPutResult(1));
+        assertSame(remove, result.getRemoveResult(2));
+
+        assertThrows(IllegalStateException.class, () -> result.getPutResult(0));
+        assertThrows(IllegalStateException.class, () -> result.getRemoveResult(1));
+        assertThrows(IllegalStateException.class, () -> result.getGetResult(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.getGetResult(3));
+    }
+
+    @Test
+    void unsupported_result() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchResultImpl(List.of("unknown")));
+    }
+}
@@ -22,6 +22,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
 
@@ -37,8 +40,10 @@ import com.tsurugidb.tsubakuro.common.impl.SessionImpl;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.kvs.GetResult;
 import com.tsurugidb.tsubakuro.kvs.KvsClient;
+import com.tsurugidb.tsubakuro.kvs.KvsServiceCode;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
 import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.PutType;
 import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
 import com.tsurugidb.tsubakuro.kvs.RemoveResult;
 import com.tsurugidb.tsubakuro.kvs.TransactionHandle;
@@ -157,6 +162,205 @@ class KvsClientImplTest {
         assertEquals(1, result.size());
     }
 
+    private static RecordBuffer key(long key) {
+        var buffer = new RecordBuffer();
+        buffer.add("key", key);
+        return buffer;
+    }
+
+    private static RecordBuffer row(long key, String value) {
+        var buffer = key(key);
+        buffer.add("foo", value);
+        return buffer;
+    }
+
+    static class CountingService extends KvsServiceWithExtract {
+
+        final AtomicInteger gets = new AtomicInteger();
+
+        final AtomicInteger puts = new AtomicInteger();
+
+        @Override
+        public FutureResponse<GetResult> send(KvsRequest.Get request) throws IOException {
+            gets.incrementAndGet();
+            var key = request.getKeys(0);
+            var records = new ArrayList<KvsData.Record>(1);
+            records.add(KvsData.Record.newBuilder(key)
+                    .addNames("foo")
+                    .addValues(KvsData.Value.newBuilder().setCharacterValue("server"))
+                    .build());
+            return FutureResponse.returns(new GetResultImpl(records));
+        }
+
+        @Override
+        public FutureResponse<PutResult> send(KvsRequest.Put request) throws IOException {
+            puts.incrementAndGet();
+            return FutureResponse.returns(new PutResultImpl(1));
+        }
+
+        @Override
+        public FutureResponse<RemoveResult> send(KvsRequest.Remove request) throws IOException {
+            return FutureResponse.returns(new RemoveResultImpl(1));
+        }
+
+        @Override
+        public FutureResponse<Void> send(KvsRequest.Commit request) throws IOException {
+            return FutureResponse.returns(null);
+        }
+    }
+
+    @Test
+    void readCache_get() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(1, service.gets.get());
+        assertEquals(1, client.getReadCacheHitCount());
+        assertEquals(1, client.getReadCacheMissCount());
+
+        // other keys, tables, and transactions are not shared
+        client.get(handle, "TABLE", key(2)).await();
+        client.get(handle, "OTHER", key(1)).await();
+        client.get(new TransactionHandleImpl(456), "TABLE", key(1)).await();
+        assertEquals(4, service.gets.get());
+        assertEquals(1, client.getReadCacheHitCount());
+    }
+
+    @Test
+    void readCache_put() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.put(handle, "TABLE", row(1, "local")).await();
+        assertEquals("local", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(0, service.gets.get());
+
+        client.put(handle, "TABLE", row(1, "updated")).await();
+        assertEquals("updated", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(0, service.gets.get());
+        assertEquals(2, client.getReadCacheHitCount());
+        assertEquals(2, service.puts.get());
+    }
+
+    @Test
+    void readCache_put_conditional() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        client.put(handle, "TABLE", row(1, "local"), PutType.IF_ABSENT).await();
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(2, service.gets.get());
+    }
+
+    @Test
+    void readCache_remove() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        client.remove(handle, "TABLE", key(1)).await();
+        assertEquals(0, client.get(handle, "TABLE", key(1)).await().size());
+        assertEquals(1, service.gets.get());
+        assertEquals(1, client.getReadCacheHitCount());
+    }
+
+    @Test
+    void readCache_commit() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        client.commit(handle).await();
+        client.get(handle, "TABLE", key(1)).await();
+        assertEquals(2, service.gets.get());
+        assertEquals(0, client.getReadCacheHitCount());
+    }
+
+    @Test
+    void readCache_put_failure() throws Exception {
+        var service = new CountingService() {
+            @Override
+            public FutureResponse<PutResult> send(KvsRequest.Put request) throws IOException {
+                return FutureResponse.raises(new KvsServiceException(KvsServiceCode.UNKNOWN));
+            }
+        };
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+
+        // the failed operation is not recorded even if it was not awaited
+        client.put(handle, "TABLE", row(1, "local"));
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+
+        var put = client.put(handle, "TABLE", row(2, "local"));
+        assertThrows(KvsServiceException.class, put::await);
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(0, client.getReadCacheHitCount());
+    }
+
+    @Test
+    void readCache_put_closed() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        // closed without awaiting the result
+        client.put(handle, "TABLE", row(1, "local")).close();
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(2, service.gets.get());
+    }
+
+    @Test
+    void readCache_put_timeout() throws Exception {
+        var service = new CountingService() {
+            @Override
+            public FutureResponse<PutResult> send(KvsRequest.Put request) throws IOException {
+                puts.incrementAndGet();
+                return new FutureResponse<>() {
+                    @Override
+                    public boolean isDone() {
+                        return false;
+                    }
+                    @Override
+                    public PutResult get() {
+                        throw new AssertionError();
+                    }
+                    @Override
+                    public PutResult get(long timeout, TimeUnit unit) throws TimeoutException {
+                        throw new TimeoutException();
+                    }
+                    @Override
+                    public void close() {
+                        return;
+                    }
+                };
+            }
+        };
+        var client = new KvsClientImpl(service, true);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        var put = client.put(handle, "TABLE", row(1, "local"));
+        assertThrows(TimeoutException.class, () -> put.await(1, TimeUnit.MILLISECONDS));
+        assertEquals("server", client.get(handle, "TABLE", key(1)).await().asRecord().getCharacter("foo"));
+        assertEquals(2, service.gets.get());
+    }
+
+    @Test
+    void readCache_disabled() throws Exception {
+        var service = new CountingService();
+        var client = new KvsClientImpl(service);
+        TransactionHandle handle = new TransactionHandleImpl(123);
+        client.get(handle, "TABLE", key(1)).await();
+        client.get(handle, "TABLE", key(1)).await();
+        assertEquals(2, service.gets.get());
+        assertFalse(client.isReadCacheEnabled());
+        assertEquals(0, client.getReadCacheHitCount());
+        assertEquals(0, client.getReadCacheMissCount());
+    }
+
     //////////////////////////////////////////////////////////////////////////////////
 
     private final MockWire wire = new MockWire();
@@ -15,22 +15,33 @@
  */
 package com.tsurugidb.tsubakuro.kvs.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.tsurugidb.kvs.proto.KvsData;
 import com.tsurugidb.kvs.proto.KvsRequest;
 import com.tsurugidb.kvs.proto.KvsResponse;
+import com.tsurugidb.kvs.proto.KvsTransaction;
 import com.tsurugidb.tsubakuro.common.Session;
 import com.tsurugidb.tsubakuro.common.impl.SessionImpl;
+import com.tsurugidb.tsubakuro.exception.BrokenResponseException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.kvs.BatchScript;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
+import com.tsurugidb.tsubakuro.kvs.PutResult;
+import com.tsurugidb.tsubakuro.kvs.RecordBuffer;
 import com.tsurugidb.tsubakuro.mock.MockWire;
 import com.tsurugidb.tsubakuro.mock.RequestHandler;
+import com.tsurugidb.tsubakuro.util.ByteBufferInputStream;
 
 class KvsServiceStubTest {
 
@@ -176,6 +187,61 @@ class KvsServiceStubTest {
         assertFalse(wire.hasRemaining());
     }
 
+    @Test
+    void send_Put_RecordBuffer() throws Exception {
+        var res = KvsResponse.Response.newBuilder().setPut(
+                    KvsResponse.Put.newBuilder()
+                        .setSuccess(
+                                KvsResponse.Put.Success.newBuilder().setWritten(1).build())
+                        .build())
+                    .build();
+        var record = new RecordBuffer();
+        record.add("k", 1L);
+        record.add("v", "hello");
+        var expected = record.toRecord().getEntity();
+        wire.next(StubUtils.accepts(KvsRequest.Request.CommandCase.PUT, (id, request) -> {
+            var put = KvsRequest.Request.parseDelimitedFrom(new ByteBufferInputStream(request)).getPut();
+            assertEquals("T", put.getIndex().getTableName());
+            assertEquals(List.of(expected), put.getRecordsList());
+            return RequestHandler.returns(res).handle(id, request);
+        }));
+
+        var req = KvsRequest.Put.newBuilder()
+                .setIndex(KvsRequest.Index.newBuilder().setTableName("T"))
+                .setType(KvsRequest.Put.Type.IF_ABSENT)
+                .build();
+        try (var delegate = new KvsServiceStub(session)) {
+            var future = delegate.send(req, record);
+            // the buffer can be reused after the request was sent
+            record.clear();
+            assertEquals(1, future.await().size());
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void toDelimitedByteArray_Put() throws Exception {
+        var record = new RecordBuffer();
+        record.add("k", 1L);
+        record.addNull("n");
+        record.add("v", "x".repeat(300));
+        var header = KvsRequest.Request.newBuilder()
+                .setServiceMessageVersionMajor(1)
+                .setServiceMessageVersionMinor(2)
+                .build();
+        var put = KvsRequest.Put.newBuilder()
+                .setTransactionHandle(KvsTransaction.Handle.newBuilder().setSystemId(100))
+                .setIndex(KvsRequest.Index.newBuilder().setTableName("T"))
+                .setType(KvsRequest.Put.Type.IF_PRESENT)
+                .build();
+        var bytes = KvsServiceStub.toDelimitedByteArray(header, put, record);
+
+        var expected = KvsRequest.Request.newBuilder(header)
+                .setPut(KvsRequest.Put.newBuilder(put).addRecords(record.toRecord().getEntity()))
+                .build();
+        assertEquals(expected, KvsRequest.Request.parseDelimitedFrom(new ByteArrayInputStream(bytes)));
+    }
+
     @Test
     void send_Get_Success() throws Exception {
         var res = KvsResponse.Response.newBuilder().setGet(
@@ -242,4 +308,186 @@ class KvsServiceStubTest {
         }
         assertFalse(wire.hasRemaining());
     }
+
+    @Test
+    void send_Scan_Success() throws Exception {
+        wire.next(StubUtils.newAcceptScan(StubUtils.newScan(),
+                StubUtils.newRecord(1, "a"),
+                StubUtils.newRecord(2, "b"),
+                StubUtils.newRecord(3, "c")));
+
+        var req = KvsRequest.Scan.newBuilder().build();
+        try (var delegate = new KvsServiceStub(session, true)) {
+            try (var cursor = delegate.send(req).await()) {
+                assertTrue(cursor.next());
+                assertEquals(1L, cursor.getRecord().getLong("k"));
+                assertEquals("a", cursor.getRecord().getCharacter("v"));
+                assertTrue(cursor.next());
+                assertEquals(2L, cursor.getRecord().getLong("k"));
+                assertTrue(cursor.next());
+                assertEquals(3L, cursor.getRecord().getLong("k"));
+                assertEquals("c", cursor.getRecord().getCharacter("v"));
+                assertFalse(cursor.next());
+                assertFalse(cursor.next());
+                assertThrows(IllegalStateException.class, () -> cursor.getRecord());
+            }
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Scan_broken() throws Exception {
+        wire.next(StubUtils.newAcceptScan(StubUtils.newRollback()));
+
+        var req = KvsRequest.Scan.newBuilder().build();
+        try (var delegate = new KvsServiceStub(session, true)) {
+            try (var cursor = delegate.send(req).await()) {
+                assertThrows(BrokenResponseException.class, () -> cursor.next());
+            }
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Scan_disabled() throws Exception {
+        var req = KvsRequest.Scan.newBuilder().build();
+        try (var delegate = new KvsServiceStub(session, false)) {
+            assertThrows(UnsupportedOperationException.class, () -> delegate.send(req));
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Scan_close_by_service() throws Exception {
+        wire.next(StubUtils.newAcceptScan(StubUtils.newScan(),
+                StubUtils.newRecord(1, "a"),
+                StubUtils.newRecord(2, "b")));
+
+        var req = KvsRequest.Scan.newBuilder().build();
+        RecordCursorImpl cursor;
+        try (var delegate = new KvsServiceStub(session, true)) {
+            cursor = (RecordCursorImpl) delegate.send(req).await();
+            assertTrue(cursor.next());
+        }
+        // closed with the service
+        assertThrows(IOException.class, () -> cursor.next());
+        assertFalse(wire.hasRemaining());
+    }
+
+    private static KvsResponse.Batch.Opresult.Builder newGetResult(KvsData.Record... records) {
+        return KvsResponse.Batch.Opresult.newBuilder().setGet(KvsResponse.Get.newBuilder()
+                .setSuccess(KvsResponse.Get.Success.newBuilder().addAllRecords(List.of(records))));
+    }
+
+    private static KvsResponse.Batch.Opresult.Builder newPutResult(int written) {
+        return KvsResponse.Batch.Opresult.newBuilder().setPut(KvsResponse.Put.newBuilder()
+                .setSuccess(KvsResponse.Put.Success.newBuilder().setWritten(written)));
+    }
+
+    private static KvsResponse.Batch.Opresult.Builder newRemoveResult(int removed) {
+        return KvsResponse.Batch.Opresult.newBuilder().setRemove(KvsResponse.Remove.newBuilder()
+                .setSuccess(KvsResponse.Remove.Success.newBuilder().setRemoved(removed)));
+    }
+
+    private static KvsResponse.Response newBatch(KvsResponse.Batch.Opresult.Builder... results) {
+        var success = KvsResponse.Batch.Success.newBuilder();
+        for (var result : results) {
+            success.addResults(result);
+        }
+        return KvsResponse.Response.newBuilder()
+                .setBatch(KvsResponse.Batch.newBuilder().setSuccess(success))
+                .build();
+    }
+
+    @Test
+    void send_Batch_Success() throws Exception {
+        wire.next(StubUtils.accepts(KvsRequest.Request.CommandCase.BATCH,
+                RequestHandler.returns(newBatch(
+                        KvsResponse.Batch.Opresult.newBuilder().setBegin(StubUtils.newBegin(100).getBegin()),
+                        newPutResult(1),
+                        newGetResult(StubUtils.newRecord(1, "a")),
+                        newRemoveResult(1),
+                        KvsResponse.Batch.Opresult.newBuilder().setCommit(StubUtils.newCommit().getCommit())))));
+
+        var script = new BatchScript();
+        script.newTransaction();
+        var key = new RecordBuffer();
+        key.add("k", 1L);
+        var record = new RecordBuffer();
+        record.add("k", 1L);
+        record.add("v", "a");
+        var put = script.addPut("T", record);
+        var get = script.addGet("T", key);
+        var remove = script.addRemove("T", key);
+
+        try (var delegate = new KvsServiceStub(session)) {
+            var result = delegate.send(script.build(null)).await();
+            assertEquals(1, result.get(put).size());
+            assertEquals("a", result.get(get).asRecord().getCharacter("v"));
+            assertEquals(1, result.get(remove).size());
+            assertEquals(1, result.getPutResult(0).size());
+            assertThrows(IllegalArgumentException.class,
+                    () -> result.get(new BatchScript.Ref<>(1, PutResult.class)));
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Batch_Element_Error() throws Exception {
+        wire.next(StubUtils.accepts(KvsRequest.Request.CommandCase.BATCH,
+                RequestHandler.returns(newBatch(
+                        newPutResult(1),
+                        KvsResponse.Batch.Opresult.newBuilder().setGet(KvsResponse.Get.newBuilder()
+                                .setError(StubUtils.newError()))))));
+
+        var script = new BatchScript();
+        script.newTransaction();
+        var record = new RecordBuffer();
+        record.add("k", 1L);
+        script.addPut("T", record);
+        script.addGet("T", record);
+
+        try (var delegate = new KvsServiceStub(session)) {
+            var future = delegate.send(script.build(null));
+            var e = assertThrows(KvsServiceException.class, () -> future.await());
+            StubUtils.checkException(e);
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Batch_Error() throws Exception {
+        wire.next(StubUtils.accepts(KvsRequest.Request.CommandCase.BATCH,
+                RequestHandler.returns(KvsResponse.Response.newBuilder()
+                        .setBatch(KvsResponse.Batch.newBuilder().setError(StubUtils.newError()))
+                        .build())));
+
+        var script = new BatchScript();
+        script.newTransaction();
+
+        try (var delegate = new KvsServiceStub(session)) {
+            var future = delegate.send(script.build(null));
+            var e = assertThrows(KvsServiceException.class, () -> future.await());
+            StubUtils.checkException(e);
+        }
+        assertFalse(wire.hasRemaining());
+    }
+
+    @Test
+    void send_Batch_inconsistent() throws Exception {
+        wire.next(StubUtils.accepts(KvsRequest.Request.CommandCase.BATCH,
+                RequestHandler.returns(newBatch(newRemoveResult(1)))));
+
+        var script = new BatchScript();
+        script.newTransaction();
+        var record = new RecordBuffer();
+        record.add("k", 1L);
+        script.addPut("T", record);
+
+        try (var delegate = new KvsServiceStub(session)) {
+            var future = delegate.send(script.build(null));
+            assertThrows(BrokenResponseException.class, () -> future.await());
+        }
+        assertFalse(wire.hasRemaining());
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.kvs.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+
+class RecordCursorImplTest {
+
+    private static class ScanResponse implements Response {
+
+        final ByteBuffer main;
+
+        int canceled = 0;
+
+        boolean closed = false;
+
+        ScanResponse() throws IOException {
+            this.main = ByteBuffer.wrap(StubUtils.toDelimitedByteArray(StubUtils.newScan()));
+        }
+
+        @Override
+        public boolean isMainResponseReady() {
+            return false;
+        }
+
+        @Override
+        public ByteBuffer waitForMainResponse() {
+            return main;
+        }
+
+        @Override
+        public ByteBuffer waitForMainResponse(long timeout, TimeUnit unit) {
+            return main;
+        }
+
+        @Override
+        public void cancel() {
+            canceled++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /**
+     * An input stream which generates the records on demand, like a result channel receiving records from the wire.
+     */
+    private static class RecordStream extends InputStream {
+
+        private final int count;
+
+        private int generated = 0;
+
+        private InputStream current = InputStream.nullInputStream();
+
+        RecordStream(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                int n = current.read(b, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                if (generated >= count) {
+                    return -1;
+                }
+                current = new ByteArrayInputStream(
+                        StubUtils.toDelimitedByteArray(StubUtils.newRecord(generated, "v" + generated)));
+                generated++;
+            }
+        }
+    }
+
+    @Test
+    void read_all() throws Exception {
+        var response = new ScanResponse();
+        try (var cursor = new RecordCursorImpl(response, new RecordStream(3), null)) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(cursor.next());
+                assertEquals(i, cursor.getRecord().getLong("k"));
+                assertEquals("v" + i, cursor.getRecord().getCharacter("v"));
+            }
+            assertFalse(cursor.next());
+        }
+        assertEquals(0, response.canceled);
+        assertTrue(response.closed);
+    }
+
+    @Test
+    void close_early() throws Exception {
+        var response = new ScanResponse();
+        var input = new RecordStream(1_000_000);
+        try (var cursor = new RecordCursorImpl(response, input, null)) {
+            assertTrue(cursor.next());
+            assertTrue(cursor.next());
+        }
+        assertEquals(1, response.canceled);
+        assertTrue(response.closed);
+
+        // the rest of records are never generated
+        assertTrue(input.generated < 10, String.valueOf(input.generated));
+    }
+
+    @Test
+    void request_close() throws Exception {
+        var response = new ScanResponse();
+        var cursor = new RecordCursorImpl(response, new RecordStream(10), null);
+        assertTrue(cursor.next());
+        cursor.requestClose();
+        assertEquals(1, response.canceled);
+        cursor.close();
+        assertEquals(1, response.canceled);
+        assertThrows(IOException.class, () -> cursor.next());
+    }
+
+    @Test
+    void many_records() throws Exception {
+        int count = 200_000;
+        var response = new ScanResponse();
+        var input = new RecordStream(count);
+        long sum = 0;
+        int read = 0;
+        try (var cursor = new RecordCursorImpl(response, input, null)) {
+            while (cursor.next()) {
+                assertEquals(read, cursor.getRecord().getLong("k"));
+                sum += cursor.getRecord().getLong("k");
+                read++;
+            }
+        }
+        assertEquals(count, read);
+        assertEquals((long) count * (count - 1) / 2, sum);
+        assertEquals(count, input.generated);
+        assertEquals(0, response.canceled);
+    }
+}
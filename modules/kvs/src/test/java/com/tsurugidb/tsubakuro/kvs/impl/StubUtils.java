@@ -18,14 +18,20 @@ package com.tsurugidb.tsubakuro.kvs.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
 
+import com.google.protobuf.Message;
+
+import com.tsurugidb.kvs.proto.KvsData;
 import com.tsurugidb.kvs.proto.KvsRequest;
 import com.tsurugidb.kvs.proto.KvsResponse;
 import com.tsurugidb.kvs.proto.KvsRequest.Request;
 import com.tsurugidb.kvs.proto.KvsTransaction.Handle;
 import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.impl.ChannelResponse;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceCode;
 import com.tsurugidb.tsubakuro.kvs.KvsServiceException;
@@ -119,4 +125,32 @@ class StubUtils {
                 RequestHandler.returns(newDispose()));
     }
 
+    static KvsResponse.Response newScan() {
+        return KvsResponse.Response.newBuilder().setScan(
+                KvsResponse.Scan.newBuilder().build()).build();
+    }
+
+    static KvsData.Record newRecord(long key, String value) {
+        return KvsData.Record.newBuilder()
+                .addNames("k").addValues(KvsData.Value.newBuilder().setInt8Value(key))
+                .addNames("v").addValues(KvsData.Value.newBuilder().setCharacterValue(value))
+                .build();
+    }
+
+    static byte[] toDelimitedByteArray(Message... messages) throws IOException {
+        try (var buffer = new ByteArrayOutputStream()) {
+            for (var message : messages) {
+                message.writeDelimitedTo(buffer);
+            }
+            return buffer.toByteArray();
+        }
+    }
+
+    static RequestHandler newAcceptScan(KvsResponse.Response response, KvsData.Record... records) throws IOException {
+        return accepts(KvsRequest.Request.CommandCase.SCAN,
+                RequestHandler.returns(
+                        ByteBuffer.wrap(toDelimitedByteArray(response)),
+                        Map.of(ChannelResponse.RELATION_CHANNEL_ID, ByteBuffer.wrap(toDelimitedByteArray(records)))));
+    }
+
 }
@@ -20,14 +20,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -40,10 +43,14 @@ import io.grpc.Grpc;
 import io.grpc.InsecureChannelCredentials;
 import io.grpc.ManagedChannel;
 import io.grpc.TlsChannelCredentials;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.tsurugidb.blob_relay.proto.BlobRelayStreamingGrpc;
 import com.tsurugidb.blob_relay.proto.BlobRelayCommon;
 import com.tsurugidb.blob_relay.proto.Streaming;
@@ -58,10 +65,13 @@ public class BlobRelayStreaming implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(BlobRelayStreaming.class);
 
     private static final long CLOSE_TIMEOUT = 1_000; // 1 second
+    private static final int MAX_POOLED_BUFFERS = 4;
     private final BlobRelayStreamingGrpc.BlobRelayStreamingStub stub;
     private final long chunkSize;
     private final ManagedChannel channel;
     private final String endpoint;
+    private final boolean copyChunks;
+    private final ConcurrentLinkedQueue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates a new BlobRelayStreaming.
@@ -72,9 +82,33 @@ public class BlobRelayStreaming implements Closeable {
     public BlobRelayStreaming(@Nonnull String endpoint, boolean secure, long chunkSize) {
         this.chunkSize = validateChunkSize(chunkSize);
         this.endpoint = endpoint;
-        this.channel = Grpc.newChannelBuilder(endpoint, secure ? TlsChannelCredentials.create() : InsecureChannelCredentials.create()).build();
+        // retries are disabled, because the retry buffer would keep the chunks which share the pooled buffers
+        this.channel = Grpc.newChannelBuilder(endpoint, secure ? TlsChannelCredentials.create() : InsecureChannelCredentials.create())
+                .disableRetry()
+                .build();
+        this.copyChunks = false;
         this.stub = BlobRelayStreamingGrpc.newStub(channel);
     }
+
+    /**
+     * Creates a new BlobRelayStreaming on the given channel.
+     * <p>
+     * The channel will be shut down when this object is closed.
+     * Because the channel may retain the sent messages, for example to retry them, or may not serialize them
+     * immediately, each chunk is copied before it is sent on the given channel.
+     * </p>
+     * @param channel the gRPC channel to the server
+     * @param chunkSize the size of each chunk to be sent
+     * @since 1.17.0
+     */
+    public BlobRelayStreaming(@Nonnull ManagedChannel channel, long chunkSize) {
+        this.chunkSize = validateChunkSize(chunkSize);
+        this.endpoint = channel.authority();
+        this.channel = channel;
+        this.copyChunks = true;
+        this.stub = BlobRelayStreamingGrpc.newStub(channel);
+    }
+
     private static long validateChunkSize(long chunkSize) {
          if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
              throw new IllegalArgumentException("chunkSize must be between 1 and " + Integer.MAX_VALUE + ": " + chunkSize);
@@ -82,6 +116,20 @@ public class BlobRelayStreaming implements Closeable {
          return chunkSize;
      }
 
+    private ByteBuffer acquireBuffer() {
+        var buffer = bufferPool.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate((int) chunkSize);
+        }
+        return buffer;
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (bufferPool.size() < MAX_POOLED_BUFFERS) {
+            bufferPool.offer(buffer);
+        }
+    }
+
     @Override
     public void close() {
         channel.shutdown();
@@ -97,6 +145,10 @@ public class BlobRelayStreaming implements Closeable {
 
     /**
      * Sends Blob data to the gRPC server.
+     * <p>
+     * This sends the data in chunks while the gRPC stream is ready to accept them,
+     * so that the memory consumption is bounded even if the data is very large.
+     * </p>
      * @param meta the metadata associated with the Blob data to send
      * @param input the InputStream containing the Blob data to send
      * @return a reference to the Blob data that was sent
@@ -104,11 +156,55 @@ public class BlobRelayStreaming implements Closeable {
      * @throws InterruptedException if the thread is interrupted while waiting for the response
      */
     public FutureResponse<BlobRelayCommon.BlobReference> put(Streaming.PutStreamingRequest.Metadata meta, InputStream input) throws IOException, InterruptedException {
+        return put(meta, buffer -> {
+            int bytesRead = input.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            if (bytesRead > 0) {
+                buffer.position(buffer.position() + bytesRead);
+            }
+            return bytesRead;
+        });
+    }
+
+    /**
+     * Sends Blob data in the file to the gRPC server.
+     * <p>
+     * This reads the file via {@link FileChannel}, and sends the data in chunks while the gRPC stream is ready to
+     * accept them.
+     * </p>
+     * @param meta the metadata associated with the Blob data to send
+     * @param source the path of the file containing the Blob data to send
+     * @return a reference to the Blob data that was sent
+     * @throws IOException if an I/O error occurs while reading the file
+     * @throws InterruptedException if the thread is interrupted while waiting for the response
+     * @since 1.17.0
+     */
+    public FutureResponse<BlobRelayCommon.BlobReference> put(Streaming.PutStreamingRequest.Metadata meta, @Nonnull Path source) throws IOException, InterruptedException {
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return put(meta, channel::read);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+        // reads the next bytes into the buffer, and returns the number of bytes read, or -1 on EOF
+        int read(ByteBuffer buffer) throws IOException;
+    }
+
+    private FutureResponse<BlobRelayCommon.BlobReference> put(Streaming.PutStreamingRequest.Metadata meta, ChunkReader reader) throws IOException, InterruptedException {
         final AtomicReference<BlobRelayCommon.BlobReference> reference = new AtomicReference<>();
         final AtomicReference<Throwable> error = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
+        final Lock lock = new ReentrantLock();
+        final Condition readyOrDone = lock.newCondition();
+        final AtomicReference<ClientCallStreamObserver<Streaming.PutStreamingRequest>> requestStream = new AtomicReference<>();
+
+        final StreamObserver<Streaming.PutStreamingRequest> requestObserver = stub.put(new ClientResponseObserver<Streaming.PutStreamingRequest, Streaming.PutStreamingResponse>() {
+            @Override
+            public void beforeStart(ClientCallStreamObserver<Streaming.PutStreamingRequest> stream) {
+                requestStream.set(stream);
+                stream.setOnReadyHandler(this::signal);
+            }
 
-        final StreamObserver<Streaming.PutStreamingRequest> requestObserver = stub.put(new StreamObserver<Streaming.PutStreamingResponse>() {
             @Override
             public void onNext(Streaming.PutStreamingResponse response) {
                 reference.set(response.getBlob());
@@ -126,32 +222,68 @@ public class BlobRelayStreaming implements Closeable {
                 }
                 error.set(isDeadlineExceeded ? new ResponseTimeoutException(t) : t);
                 countDownLatch.countDown();
+                signal();
             }
 
             @Override
             public void onCompleted() {
                 countDownLatch.countDown();
+                signal();
+            }
+
+            private void signal() {
+                lock.lock();
+                try {
+                    readyOrDone.signalAll();
+                } finally {
+                    lock.unlock();
+                }
             }
         });
 
+        ByteBuffer buffer = acquireBuffer();
         try {
             requestObserver.onNext(Streaming.PutStreamingRequest.newBuilder()
                                     .setMetadata(meta)
                                     .build());
 
-            byte[] buffer = new byte[(int) chunkSize];
-            int bytesRead;
-            while ((bytesRead = input.read(buffer)) != -1) {
+            var stream = requestStream.get();
+            while (true) {
+                // wait until the transport can accept more messages, to keep the memory consumption bounded
+                lock.lock();
+                try {
+                    while (!stream.isReady() && countDownLatch.getCount() > 0) {
+                        readyOrDone.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (countDownLatch.getCount() == 0) {
+                    // the RPC was already terminated, the future will report its result
+                    break;
+                }
+                buffer.clear();
+                int bytesRead = reader.read(buffer);
+                if (bytesRead < 0) {
+                    // Mark the end of requests
+                    requestObserver.onCompleted();
+                    break;
+                }
+                if (bytesRead == 0) {
+                    continue;
+                }
+                buffer.flip();
+                // on the channel built here, the chunk is serialized in onNext(), so that the buffer can be reused without copying it
                 requestObserver.onNext(Streaming.PutStreamingRequest.newBuilder()
-                                        .setChunk(com.google.protobuf.ByteString.copyFrom(buffer, 0, bytesRead))
+                                        .setChunk(copyChunks ? ByteString.copyFrom(buffer) : UnsafeByteOperations.unsafeWrap(buffer))
                                         .build());
             }
-            // Mark the end of requests
-            requestObserver.onCompleted();
-        } catch (RuntimeException e) {
+        } catch (IOException | InterruptedException | RuntimeException e) {
             // Cancel RPC
             requestObserver.onError(e);
             throw e;
+        } finally {
+            releaseBuffer(buffer);
         }
 
         return new FutureResponse<BlobRelayCommon.BlobReference>() {
@@ -462,9 +594,23 @@ public class BlobRelayStreaming implements Closeable {
         final AtomicReference<Throwable> error = new AtomicReference<>();
         final AtomicReference<CountDownLatch> countDownLatch = new AtomicReference<>(new CountDownLatch(1));
 
-        final class GetResponseObserver implements StreamObserver<Streaming.GetStreamingResponse> {
+        final class GetResponseObserver implements ClientResponseObserver<Streaming.GetStreamingRequest, Streaming.GetStreamingResponse> {
             private Streaming.GetStreamingResponse.Metadata metadata = null;
             private long receivedBytes = 0;
+            private volatile ClientCallStreamObserver<Streaming.GetStreamingRequest> call = null;
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<Streaming.GetStreamingRequest> stream) {
+                call = stream;
+            }
+
+            void cancel(String message) {
+                var stream = call;
+                if (stream != null) {
+                    // onError() will be called with CANCELLED
+                    stream.cancel(message, null);
+                }
+            }
 
             @Override
             public void onNext(Streaming.GetStreamingResponse response) {
@@ -573,12 +719,25 @@ public class BlobRelayStreaming implements Closeable {
             }
             @Override
             public void close() throws IOException {
-                if (error.get() != null) {
-                    Files.deleteIfExists(destination);
-                }
                 if (!isDone()) {
                     LOG.error("Warning: FutureResponse was closed before completion, cancelling the RPC");
-                    responseObserver.onCompleted();
+                    responseObserver.cancel("FutureResponse was closed before completion");
+                    // waits for onError(), so that the destination file is no longer written
+                    boolean interrupted = false;
+                    while (true) {
+                        try {
+                            countDownLatch.get().await();
+                            break;
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (error.get() != null) {
+                    Files.deleteIfExists(destination);
                 }
             }
         };
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.relay.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.blob_relay.proto.BlobRelayCommon;
+import com.tsurugidb.blob_relay.proto.Streaming;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+
+/**
+ * Transfers multiple BLOBs over several concurrent {@link BlobRelayStreaming} streams.
+ * <p>
+ * All streams share the gRPC channel of the given {@link BlobRelayStreaming}, and at most {@code parallelism}
+ * streams are active at the same time.
+ * </p>
+ * @since 1.17.0
+ */
+public class ParallelBlobTransfer implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelBlobTransfer.class);
+
+    /**
+     * The default number of concurrent streams.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BlobRelayStreaming streaming;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new ParallelBlobTransfer.
+     * @param streaming the BlobRelayStreaming to transfer BLOBs
+     * @param parallelism the max number of concurrent streams
+     */
+    public ParallelBlobTransfer(@Nonnull BlobRelayStreaming streaming, int parallelism) {
+        Objects.requireNonNull(streaming);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.streaming = streaming;
+        this.parallelism = parallelism;
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            var thread = new Thread(r, "tsubakuro-blob-transfer-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the max number of concurrent streams.
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sends Blob data in the files to the gRPC server.
+     * <p>
+     * This blocks until all files were sent. If any of them were failed, this cancels the RPCs of the rest,
+     * waits for them to finish, and raises the error.
+     * </p>
+     * @param metas the metadata associated with each file
+     * @param sources the paths of the files to send
+     * @return references to the sent Blob data, in order of the files
+     * @throws IOException if an I/O error occurs while sending the files
+     * @throws ServerException if the server returns an error
+     * @throws InterruptedException if the thread is interrupted while sending the files
+     */
+    public List<BlobRelayCommon.BlobReference> put(
+            @Nonnull List<Streaming.PutStreamingRequest.Metadata> metas,
+            @Nonnull List<Path> sources) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(metas);
+        Objects.requireNonNull(sources);
+        if (metas.size() != sources.size()) {
+            throw new IllegalArgumentException("metas and sources must have the same size: " + metas.size() + " != " + sources.size());
+        }
+        var tasks = new ArrayList<Callable<BlobRelayCommon.BlobReference>>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            var meta = metas.get(i);
+            var source = sources.get(i);
+            tasks.add(() -> {
+                try (var response = streaming.put(meta, source)) {
+                    return response.get();
+                }
+            });
+        }
+        return runAll(tasks);
+    }
+
+    /**
+     * Receives Blob data from the gRPC server into the files.
+     * <p>
+     * This blocks until all Blob data were received. If any of them were failed, this cancels the RPCs of the rest,
+     * waits for them to finish, removes all the destination files, and raises the error.
+     * </p>
+     * @param requests the requests containing the reference to the Blob data to retrieve
+     * @param destinations the paths to write each Blob data to
+     * @throws IOException if an I/O error occurs while receiving the Blob data
+     * @throws ServerException if the server returns an error
+     * @throws InterruptedException if the thread is interrupted while receiving the Blob data
+     */
+    public void get(
+            @Nonnull List<Streaming.GetStreamingRequest> requests,
+            @Nonnull List<Path> destinations) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(requests);
+        Objects.requireNonNull(destinations);
+        if (requests.size() != destinations.size()) {
+            throw new IllegalArgumentException("requests and destinations must have the same size: " + requests.size() + " != " + destinations.size());
+        }
+        var tasks = new ArrayList<Callable<Void>>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var destination = destinations.get(i);
+            tasks.add(() -> {
+                try (var response = streaming.get(request, destination)) {
+                    return response.get();
+                }
+            });
+        }
+        try {
+            runAll(tasks);
+        } catch (IOException | ServerException | InterruptedException | RuntimeException e) {
+            // no tasks are writing to the destinations here
+            for (var destination : destinations) {
+                try {
+                    Files.deleteIfExists(destination);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A task which can be canceled before it starts, and tells when it has finished.
+     */
+    private static final class Task<T> implements Callable<T> {
+        private final Callable<T> body;
+        private final CountDownLatch finished;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<T> future;
+
+        Task(Callable<T> body, CountDownLatch finished) {
+            this.body = body;
+            this.finished = finished;
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (!started.compareAndSet(false, true)) {
+                // already canceled before it starts
+                throw new CancellationException();
+            }
+            try {
+                return body.call();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                future.cancel(false);
+                finished.countDown();
+            } else {
+                // the running task cancels its RPC while closing the response
+                future.cancel(true);
+            }
+        }
+    }
+
+    private <T> List<T> runAll(List<Callable<T>> tasks) throws IOException, ServerException, InterruptedException {
+        var completion = new ExecutorCompletionService<T>(executor);
+        var finished = new CountDownLatch(tasks.size());
+        var entries = new ArrayList<Task<T>>(tasks.size());
+        for (var task : tasks) {
+            var entry = new Task<>(task, finished);
+            entries.add(entry);
+            entry.future = completion.submit(entry);
+        }
+        Throwable failure = null;
+        try {
+            // reports the first failure, even if the preceding tasks are still running
+            for (int i = 0; i < entries.size() && failure == null; i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll(entries, finished);
+            throw e;
+        }
+        if (failure == null) {
+            var results = new ArrayList<T>(entries.size());
+            for (var entry : entries) {
+                try {
+                    results.add(entry.future.get());
+                } catch (ExecutionException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return results;
+        }
+        cancelAll(entries, finished);
+        for (var entry : entries) {
+            // collects errors of the rest tasks which were completed before canceled
+            var future = entry.future;
+            if (future.isDone() && !future.isCancelled()) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() != failure) {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof ServerException) {
+            throw (ServerException) failure;
+        } else if (failure instanceof InterruptedException) {
+            throw (InterruptedException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IOException("Unexpected exception occurred", failure);
+    }
+
+    private static <T> void cancelAll(List<Task<T>> entries, CountDownLatch finished) {
+        LOG.trace("canceling BLOB transfers: {}", entries.size()); //$NON-NLS-1$
+        entries.forEach(Task::cancel);
+        // waits for the running tasks, because they may still use the source or destination files
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelBlobTransfer{parallelism=" + parallelism + '}';
+    }
+}
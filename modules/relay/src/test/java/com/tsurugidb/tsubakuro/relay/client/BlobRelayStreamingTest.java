@@ -101,6 +101,77 @@ class BlobRelayStreamingTest {
         assertArrayEquals(data, server.receivedData());
     }
 
+    @Test
+    void putPath(@TempDir Path dir) throws Exception {
+        // prepare server responses
+        var response = Streaming.PutStreamingResponse.newBuilder()
+                                            .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                                                .setStorageId(1)
+                                                .setObjectId(23)
+                                                .setTag(45)
+                                                .build())
+                                            .build();
+        server.addPutResponse(response);
+
+        // test put() method with a file
+        Path file = dir.resolve("blob_data.bin");
+        var data = new byte[TEST_DATA_SIZE];
+        new Random().nextBytes(data);
+        Files.write(file, data);
+        client = new BlobRelayStreaming("localhost:" + server.getPort(), false, 1024);
+        var future = client.put(Streaming.PutStreamingRequest.Metadata.newBuilder()
+                                                                            .setSessionId(128)
+                                                                            .setBlobSize(data.length)
+                                                                      .build(),
+                                file);
+        var result = future.get();
+
+        // verify received data and response
+        assertEquals(response.getBlob(), result);
+        assertArrayEquals(data, server.receivedData());
+    }
+
+    @Test
+    void putManyChunks() throws Exception {
+        var response = Streaming.PutStreamingResponse.newBuilder()
+                                            .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                                                .setStorageId(1)
+                                                .setObjectId(23)
+                                                .setTag(45)
+                                                .build())
+                                            .build();
+        server.addPutResponse(response);
+        server.addPutResponse(response);
+
+        // the chunk buffers are reused, check that every chunk is sent as is
+        client = new BlobRelayStreaming("localhost:" + server.getPort(), false, 100);
+        for (int i = 0; i < 2; i++) {
+            var data = new byte[100 * 1000 + 7];
+            new Random().nextBytes(data);
+            var future = client.put(Streaming.PutStreamingRequest.Metadata.newBuilder()
+                                                                                .setSessionId(128)
+                                                                          .build(),
+                                    new ByteArrayInputStream(data));
+            assertEquals(response.getBlob(), future.get());
+            assertArrayEquals(data, server.receivedData());
+        }
+    }
+
+    @Test
+    void putReadError() throws Exception {
+        client = new BlobRelayStreaming("localhost:" + server.getPort(), false, 1024);
+        var input = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        };
+        assertThrows(IOException.class, () -> client.put(Streaming.PutStreamingRequest.Metadata.newBuilder()
+                                                                                            .setSessionId(128)
+                                                                                      .build(),
+                                                         input));
+    }
+
     @Test
     void putTimeout() throws Exception {
         server.injectFault(BlobRelayStreamingServer.FaultType.NoResponse);
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.relay.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.protobuf.ByteString;
+import com.tsurugidb.blob_relay.proto.BlobRelayCommon;
+import com.tsurugidb.blob_relay.proto.BlobRelayStreamingGrpc;
+import com.tsurugidb.blob_relay.proto.Streaming;
+
+import io.grpc.Context;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+class ParallelBlobTransferTest {
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final int PARALLELISM = 3;
+
+    private final InMemoryBlobRelay service = new InMemoryBlobRelay();
+
+    private Server server;
+
+    private BlobRelayStreaming streaming;
+
+    /**
+     * A BlobRelayStreaming service which keeps BLOBs in memory, and records the number of concurrent streams.
+     */
+    static class InMemoryBlobRelay extends BlobRelayStreamingGrpc.BlobRelayStreamingImplBase {
+        final Map<Long, byte[]> blobs = new ConcurrentHashMap<>();
+        final AtomicLong objectIds = new AtomicLong();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final Set<Long> hangs = ConcurrentHashMap.newKeySet();
+        final CountDownLatch canceled = new CountDownLatch(1);
+
+        private void enter() {
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+        }
+
+        private void leave() {
+            active.decrementAndGet();
+        }
+
+        @Override
+        public StreamObserver<Streaming.PutStreamingRequest> put(StreamObserver<Streaming.PutStreamingResponse> responseObserver) {
+            enter();
+            var buffer = new ByteArrayOutputStream();
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(Streaming.PutStreamingRequest request) {
+                    if (request.getPayloadCase() == Streaming.PutStreamingRequest.PayloadCase.CHUNK) {
+                        buffer.writeBytes(request.getChunk().toByteArray());
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    leave();
+                }
+
+                @Override
+                public void onCompleted() {
+                    pause();
+                    long objectId = objectIds.incrementAndGet();
+                    blobs.put(objectId, buffer.toByteArray());
+                    leave();
+                    responseObserver.onNext(Streaming.PutStreamingResponse.newBuilder()
+                            .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                                    .setStorageId(1)
+                                    .setObjectId(objectId)
+                                    .setTag(objectId * 10))
+                            .build());
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+
+        @Override
+        public void get(Streaming.GetStreamingRequest request, StreamObserver<Streaming.GetStreamingResponse> responseObserver) {
+            enter();
+            try {
+                var data = blobs.get(request.getBlob().getObjectId());
+                if (data == null) {
+                    responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+                    return;
+                }
+                if (hangs.contains(request.getBlob().getObjectId())) {
+                    // never responds until the client cancels the RPC
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while (!Context.current().isCancelled() && System.nanoTime() < deadline) {
+                        pause();
+                    }
+                    if (Context.current().isCancelled()) {
+                        canceled.countDown();
+                    }
+                    return;
+                }
+                pause();
+                responseObserver.onNext(Streaming.GetStreamingResponse.newBuilder()
+                        .setMetadata(Streaming.GetStreamingResponse.Metadata.newBuilder()
+                                .setBlobSize(data.length))
+                        .build());
+                for (int offset = 0; offset < data.length; offset += CHUNK_SIZE) {
+                    responseObserver.onNext(Streaming.GetStreamingResponse.newBuilder()
+                            .setChunk(ByteString.copyFrom(data, offset, Math.min(CHUNK_SIZE, data.length - offset)))
+                            .build());
+                }
+                responseObserver.onCompleted();
+            } finally {
+                leave();
+            }
+        }
+
+        private static void pause() {
+            // keeps the stream open for a while, to overlap with the other streams
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @BeforeEach
+    void startup() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(service)
+                .build()
+                .start();
+        streaming = new BlobRelayStreaming(InProcessChannelBuilder.forName(name).build(), CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void teardown() {
+        streaming.close();
+        server.shutdownNow();
+    }
+
+    private static List<byte[]> newBlobs(int count) {
+        var random = new Random(6502);
+        var results = new ArrayList<byte[]>();
+        for (int i = 0; i < count; i++) {
+            var data = new byte[CHUNK_SIZE * (i + 1) + i];
+            random.nextBytes(data);
+            results.add(data);
+        }
+        return results;
+    }
+
+    private static Streaming.PutStreamingRequest.Metadata meta(long size) {
+        return Streaming.PutStreamingRequest.Metadata.newBuilder()
+                .setSessionId(128)
+                .setBlobSize(size)
+                .build();
+    }
+
+    @Test
+    void put(@TempDir Path dir) throws Exception {
+        var blobs = newBlobs(8);
+        var metas = new ArrayList<Streaming.PutStreamingRequest.Metadata>();
+        var sources = new ArrayList<Path>();
+        for (int i = 0; i < blobs.size(); i++) {
+            var file = dir.resolve("blob-" + i);
+            Files.write(file, blobs.get(i));
+            metas.add(meta(blobs.get(i).length));
+            sources.add(file);
+        }
+        try (var transfer = new ParallelBlobTransfer(streaming, PARALLELISM)) {
+            var refs = transfer.put(metas, sources);
+            assertEquals(blobs.size(), refs.size());
+            for (int i = 0; i < blobs.size(); i++) {
+                assertArrayEquals(blobs.get(i), service.blobs.get(refs.get(i).getObjectId()));
+            }
+        }
+        int maxActive = service.maxActive.get();
+        assertTrue(maxActive > 1, "streams should run concurrently: " + maxActive);
+        assertTrue(maxActive <= PARALLELISM, "streams should be limited: " + maxActive);
+    }
+
+    @Test
+    void get(@TempDir Path dir) throws Exception {
+        var blobs = newBlobs(8);
+        var requests = new ArrayList<Streaming.GetStreamingRequest>();
+        var destinations = new ArrayList<Path>();
+        for (int i = 0; i < blobs.size(); i++) {
+            long objectId = 100 + i;
+            service.blobs.put(objectId, blobs.get(i));
+            requests.add(Streaming.GetStreamingRequest.newBuilder()
+                    .setTransactionId(789)
+                    .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                            .setStorageId(1)
+                            .setObjectId(objectId)
+                            .setTag(1))
+                    .build());
+            destinations.add(dir.resolve("blob-" + i));
+        }
+        try (var transfer = new ParallelBlobTransfer(streaming, PARALLELISM)) {
+            transfer.get(requests, destinations);
+        }
+        for (int i = 0; i < blobs.size(); i++) {
+            assertArrayEquals(blobs.get(i), Files.readAllBytes(destinations.get(i)));
+        }
+        int maxActive = service.maxActive.get();
+        assertTrue(maxActive > 1, "streams should run concurrently: " + maxActive);
+        assertTrue(maxActive <= PARALLELISM, "streams should be limited: " + maxActive);
+    }
+
+    @Test
+    void getFailure(@TempDir Path dir) throws Exception {
+        service.blobs.put(1L, new byte[CHUNK_SIZE]);
+        var requests = new ArrayList<Streaming.GetStreamingRequest>();
+        var destinations = new ArrayList<Path>();
+        for (long objectId : new long[] { 1, 2 }) {
+            requests.add(Streaming.GetStreamingRequest.newBuilder()
+                    .setTransactionId(789)
+                    .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                            .setStorageId(1)
+                            .setObjectId(objectId)
+                            .setTag(1))
+                    .build());
+            destinations.add(dir.resolve("blob-" + objectId));
+        }
+        try (var transfer = new ParallelBlobTransfer(streaming, PARALLELISM)) {
+            assertThrows(IOException.class, () -> transfer.get(requests, destinations));
+        }
+        for (var destination : destinations) {
+            assertTrue(Files.notExists(destination), "partial results should be removed: " + destination);
+        }
+    }
+
+    @Test
+    void getFailureCancelsRunning(@TempDir Path dir) throws Exception {
+        service.blobs.put(1L, new byte[CHUNK_SIZE]);
+        service.hangs.add(1L);
+        var requests = new ArrayList<Streaming.GetStreamingRequest>();
+        var destinations = new ArrayList<Path>();
+        for (long objectId : new long[] { 1, 2 }) {
+            requests.add(Streaming.GetStreamingRequest.newBuilder()
+                    .setTransactionId(789)
+                    .setBlob(BlobRelayCommon.BlobReference.newBuilder()
+                            .setStorageId(1)
+                            .setObjectId(objectId)
+                            .setTag(1))
+                    .build());
+            destinations.add(dir.resolve("blob-" + objectId));
+        }
+        try (var transfer = new ParallelBlobTransfer(streaming, PARALLELISM)) {
+            // fails without waiting for the preceding stream
+            assertThrows(IOException.class, () -> transfer.get(requests, destinations));
+        }
+        // the running stream is canceled on the server
+        assertTrue(service.canceled.await(5, TimeUnit.SECONDS));
+        for (var destination : destinations) {
+            assertTrue(Files.notExists(destination), "partial results should be removed: " + destination);
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBlobTransfer(streaming, 0));
+        try (var transfer = new ParallelBlobTransfer(streaming, PARALLELISM)) {
+            assertThrows(IllegalArgumentException.class, () -> transfer.put(List.of(meta(0)), List.of()));
+        }
+    }
+}
@@ -19,10 +19,14 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.tsurugidb.sql.proto.SqlCommon;
 import com.tsurugidb.tsubakuro.common.exception.BlobException;
+import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
 
 /**
@@ -161,6 +165,80 @@ public interface LargeObjectClient extends Closeable {
         throw new UnsupportedOperationException("copyTo is not implemented");
     }
 
+    /**
+     * Upload the Large Object files.
+     * <p>
+     * This blocks until all files were uploaded. The default implementation uploads them one by one
+     * with {@link #upload(Path)}, and the implementations may upload them over several concurrent streams.
+     * The same restrictions as {@link #upload(Path)} are applied to each file.
+     * </p>
+     * @param sources the file paths of the Large Objects to be uploaded
+     * @return the LargeObjectInfo of the uploaded Large Objects, in order of the files
+     * @throws IOException if I/O error occurs while uploading Large Objects
+     * @throws InterruptedException if interrupted while uploading Large Objects
+     * @since 1.17.0
+     */
+    default List<LargeObjectInfo> uploadAll(List<Path> sources) throws IOException, InterruptedException {
+        var results = new ArrayList<LargeObjectInfo>(sources.size());
+        try {
+            for (var source : sources) {
+                try (var response = upload(source)) {
+                    results.add(response.await());
+                }
+            }
+        } catch (ServerException e) {
+            throw new BlobException("Failed to upload files", e);
+        }
+        return results;
+    }
+
+    /**
+     * Copy the large objects to the files indicated by the given paths.
+     * <P>
+     * This blocks until all large objects were copied. The default implementation copies them one by one
+     * with {@link #copyTo(ContextId, LargeObjectReference, Path)}, and the implementations may copy them over
+     * several concurrent streams.
+     * If any of the destination files already exist, an IOException is thrown and no BLOB data is written.
+     * If an error occurs while writing BLOB data, an IOException is thrown and all the destination files are deleted.
+     * </P>
+     * @param contextId the contextId in the BLOB/CLOB download operation
+     * @param refs the large object references
+     * @param destinations the paths of the destination files, in order of the references
+     * @throws IOException if I/O error occurs while copying the large objects
+     * @throws BlobException If the value of LargeObjectReference.getProvider() cannot be used for the download request
+     * @throws InterruptedException if interrupted while copying the large objects
+     * @throws IllegalArgumentException if the number of references and destinations are different
+     * @since 1.17.0
+     */
+    default void copyAllTo(ContextId contextId, List<? extends LargeObjectReference> refs, List<Path> destinations)
+            throws IOException, BlobException, InterruptedException {
+        if (refs.size() != destinations.size()) {
+            throw new IllegalArgumentException("refs and destinations must have the same size: " + refs.size() + " != " + destinations.size());
+        }
+        for (var destination : destinations) {
+            if (Files.exists(destination)) {
+                throw new BlobException("Destination file already exists: " + destination);
+            }
+        }
+        boolean green = false;
+        try {
+            for (int i = 0; i < refs.size(); i++) {
+                try (var response = copyTo(contextId, refs.get(i), destinations.get(i))) {
+                    response.await();
+                }
+            }
+            green = true;
+        } catch (ServerException e) {
+            throw new BlobException("Failed to copy to destinations", e);
+        } finally {
+            if (!green) {
+                for (var destination : destinations) {
+                    Files.deleteIfExists(destination);
+                }
+            }
+        }
+    }
+
     @Override
     default void close() throws IOException {
         // no-op
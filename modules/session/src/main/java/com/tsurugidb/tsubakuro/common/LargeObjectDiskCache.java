@@ -0,0 +1,413 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.tsubakuro.exception.ServerException;
+
+/**
+ * A size-bounded local disk cache of large objects transferred over the BLOB relay.
+ * <p>
+ * Each large object is stored as a file in the cache directory, and is identified by its namespace and
+ * {@link BlobRelayReference}. Because the references are only unique in the same database, the namespace must identify
+ * the database, like the endpoint of the BLOB relay service, and the files of each namespace are stored in its own
+ * sub-directory. The cached files are published atomically, that is, a file appears in the cache only after it was completely
+ * downloaded. If the total size of cached files exceeds the capacity, the least recently used files are removed,
+ * except the files which are still in use.
+ * </p>
+ * <p>
+ * A cache instance can be shared among sessions, and the same directory must not be used by multiple instances.
+ * Files left in the directory are reused by the next instance, only for the same namespace.
+ * </p>
+ * @see SessionBuilder#withBlobRelayCache(LargeObjectDiskCache)
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class LargeObjectDiskCache {
+
+    static final Logger LOG = LoggerFactory.getLogger(LargeObjectDiskCache.class);
+
+    private static final String FILE_SUFFIX = ".blob";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final Pattern FILE_NAME = Pattern.compile("(-?\\d+)-(-?\\d+)-(-?\\d+)" + Pattern.quote(FILE_SUFFIX));
+
+    private static final Pattern SPACE_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+
+    private final long capacity;
+
+    @GuardedBy("this")
+    private final LinkedHashMap<Key, Node> nodes = new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("this")
+    private long size = 0;
+
+    /**
+     * Fetches a large object into the file.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+
+        /**
+         * Fetches the large object contents into the given file.
+         * @param destination the destination file, which does not exist yet
+         * @throws IOException if I/O error was occurred while fetching the large object
+         * @throws ServerException if server error was occurred while fetching the large object
+         * @throws InterruptedException if interrupted while fetching the large object
+         */
+        void fetch(@Nonnull Path destination) throws IOException, ServerException, InterruptedException;
+    }
+
+    /**
+     * A cached file, which will not be removed until this is closed.
+     */
+    public final class Entry implements Closeable {
+
+        private final Node node;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Entry(Node node) {
+            this.node = node;
+        }
+
+        /**
+         * Returns the path of the cached file.
+         * @return the path of the cached file
+         */
+        public @Nonnull Path getPath() {
+            return node.path;
+        }
+
+        /**
+         * Returns the size of the cached file.
+         * @return the file size in bytes
+         */
+        public long getSize() {
+            return node.size;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(node);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(node.path);
+        }
+    }
+
+    private static final class Key {
+
+        final String space;
+
+        final BlobRelayReference reference;
+
+        Key(String space, BlobRelayReference reference) {
+            this.space = space;
+            this.reference = reference;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(space, reference);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            var other = (Key) obj;
+            return space.equals(other.space) && reference.equals(other.reference);
+        }
+
+        @Override
+        public String toString() {
+            return space + "/" + reference;
+        }
+    }
+
+    private static final class Node {
+
+        final Path path;
+
+        final long size;
+
+        int pins = 0;
+
+        Node(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     * @param directory the cache directory, which will be created if it does not exist
+     * @param capacity the max total size of cached files in bytes
+     * @throws IOException if I/O error was occurred while preparing the cache directory
+     */
+    public LargeObjectDiskCache(@Nonnull Path directory, long capacity) throws IOException {
+        Objects.requireNonNull(directory);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.capacity = capacity;
+        restore();
+    }
+
+    private synchronized void restore() throws IOException {
+        var spaces = new ArrayList<Path>();
+        try (var stream = Files.list(directory)) {
+            stream.filter(it -> SPACE_NAME.matcher(it.getFileName().toString()).matches() && Files.isDirectory(it))
+                    .forEach(spaces::add);
+        }
+        var found = new ArrayList<Path>();
+        for (var space : spaces) {
+            try (var stream = Files.list(space)) {
+                stream.forEach(found::add);
+            }
+        }
+        var restored = new ArrayList<Map.Entry<Path, Long>>();
+        for (var file : found) {
+            var name = file.getFileName().toString();
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                // incomplete download of the previous instance
+                deleteQuietly(file);
+            } else if (FILE_NAME.matcher(name).matches() && Files.isRegularFile(file)) {
+                restored.add(Map.entry(file, Files.getLastModifiedTime(file).toMillis()));
+            }
+        }
+        restored.sort(Map.Entry.comparingByValue());
+        for (var entry : restored) {
+            var file = entry.getKey();
+            var matcher = FILE_NAME.matcher(file.getFileName().toString());
+            if (!matcher.matches()) {
+                continue;
+            }
+            BlobRelayReference reference;
+            try {
+                reference = new BlobRelayReference(
+                        Long.parseLong(matcher.group(1)),
+                        Long.parseLong(matcher.group(2)),
+                        Long.parseLong(matcher.group(3)));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            var node = new Node(file, Files.size(file));
+            nodes.put(new Key(file.getParent().getFileName().toString(), reference), node);
+            size += node.size;
+        }
+        LOG.debug("restored large object cache: directory={}, entries={}, size={}", directory, nodes.size(), size); //$NON-NLS-1$
+        evict();
+    }
+
+    /**
+     * Returns the cache directory.
+     * @return the cache directory
+     */
+    public @Nonnull Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the max total size of cached files.
+     * @return the capacity in bytes
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the current total size of cached files.
+     * @return the total size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the cached file of the large object.
+     * @param namespace the namespace which identifies the database, like the endpoint of the BLOB relay service
+     * @param reference the large object reference
+     * @return the cached file, or empty if it is not cached.
+     *      The returned entry must be closed after use.
+     */
+    public @Nonnull Optional<Entry> find(
+            @Nonnull String namespace,
+            @Nonnull BlobRelayReference reference) {
+        Objects.requireNonNull(namespace);
+        Objects.requireNonNull(reference);
+        return find(new Key(spaceName(namespace), reference));
+    }
+
+    /**
+     * Returns the cached file of the large object, or fetches it into this cache if it is not cached.
+     * @param namespace the namespace which identifies the database, like the endpoint of the BLOB relay service
+     * @param reference the large object reference
+     * @param fetcher the fetcher of the large object
+     * @return the cached file, which must be closed after use
+     * @throws IOException if I/O error was occurred while fetching the large object
+     * @throws ServerException if server error was occurred while fetching the large object
+     * @throws InterruptedException if interrupted while fetching the large object
+     */
+    public @Nonnull Entry fetch(
+            @Nonnull String namespace,
+            @Nonnull BlobRelayReference reference,
+            @Nonnull Fetcher fetcher) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(namespace);
+        Objects.requireNonNull(reference);
+        Objects.requireNonNull(fetcher);
+        var key = new Key(spaceName(namespace), reference);
+        var cached = find(key);
+        if (cached.isPresent()) {
+            LOG.trace("large object cache hit: {}", key); //$NON-NLS-1$
+            return cached.get();
+        }
+        LOG.trace("large object cache miss: {}", key); //$NON-NLS-1$
+        Path space = Files.createDirectories(directory.resolve(key.space));
+        String name = fileName(reference);
+        Path temporary = space.resolve("." + name + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        boolean published = false;
+        try {
+            fetcher.fetch(temporary);
+            long fileSize = Files.size(temporary);
+            synchronized (this) {
+                var node = nodes.get(key);
+                if (node == null) {
+                    // publishes the file only after it was completely fetched
+                    var path = space.resolve(name);
+                    Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+                    published = true;
+                    node = new Node(path, fileSize);
+                    nodes.put(key, node);
+                    size += fileSize;
+                }
+                // the other thread may have fetched it concurrently
+                node.pins++;
+                var entry = new Entry(node);
+                evict();
+                return entry;
+            }
+        } finally {
+            if (!published) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    private synchronized Optional<Entry> find(Key key) {
+        var node = nodes.get(key);
+        if (node == null) {
+            return Optional.empty();
+        }
+        node.pins++;
+        return Optional.of(new Entry(node));
+    }
+
+    private synchronized void release(Node node) {
+        assert node.pins > 0;
+        node.pins--;
+        if (node.pins == 0) {
+            evict();
+        }
+    }
+
+    @GuardedBy("this")
+    private void evict() {
+        if (size <= capacity) {
+            return;
+        }
+        // iterates from the least recently used entry
+        var iter = nodes.values().iterator();
+        while (size > capacity && iter.hasNext()) {
+            var node = iter.next();
+            if (node.pins > 0) {
+                continue;
+            }
+            iter.remove();
+            size -= node.size;
+            deleteQuietly(node.path);
+        }
+    }
+
+    private static String spaceName(String namespace) {
+        // the namespace may contain characters which are not allowed in file names
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(namespace.getBytes(StandardCharsets.UTF_8));
+            var buf = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                buf.append(Character.forDigit((b >> 4) & 0x0f, 16));
+                buf.append(Character.forDigit(b & 0x0f, 16));
+            }
+            return buf.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String fileName(BlobRelayReference reference) {
+        return reference.getStorageId() + "-" + reference.getObjectId() + "-" + reference.getReferenceTag() + FILE_SUFFIX;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("failed to remove large object cache file: {}", file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LargeObjectDiskCache{directory=" + directory + ", capacity=" + capacity + '}';
+    }
+}
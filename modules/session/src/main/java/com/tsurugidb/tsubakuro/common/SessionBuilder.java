@@ -34,6 +34,7 @@ import com.tsurugidb.tsubakuro.util.FutureResponse;
 import com.tsurugidb.tsubakuro.common.impl.SessionImpl;
 import com.tsurugidb.tsubakuro.diagnostic.JMXAgent;
 import com.tsurugidb.tsubakuro.diagnostic.common.SessionInfo;
+import com.tsurugidb.tsubakuro.relay.client.ParallelBlobTransfer;
 
 /**
  * Builds a {@link Session} object.
@@ -60,6 +61,10 @@ public final class SessionBuilder {
 
     private URI blobRelayEndpoint = null;
 
+    private LargeObjectDiskCache blobRelayCache = null;
+
+    private int blobRelayParallelism = ParallelBlobTransfer.DEFAULT_PARALLELISM;
+
     private SessionBuilder(Connector connector) {
         assert connector != null;
         this.connector = connector;
@@ -189,6 +194,43 @@ public final class SessionBuilder {
         return this;
     }
 
+    /**
+     * Sets the local disk cache of large objects received via the blob relay.
+     * <p>
+     * The cache can be shared among sessions, and the large objects in it are reused across transactions.
+     * The cached large objects are separated by the endpoint of the blob relay service.
+     * This is only effective if {@link BlobTransferType#RELAY} is used.
+     * </p>
+     * @param cache the large object cache
+     * @return this
+     * @since 1.17.0
+     */
+    public SessionBuilder withBlobRelayCache(@Nonnull LargeObjectDiskCache cache) {
+        Objects.requireNonNull(cache);
+        this.blobRelayCache = cache;
+        return this;
+    }
+
+    /**
+     * Sets the max number of concurrent streams to transfer large objects via the blob relay.
+     * <p>
+     * This is used in {@link LargeObjectClient#uploadAll(java.util.List)} and
+     * {@link LargeObjectClient#copyAllTo(LargeObjectClient.ContextId, java.util.List, java.util.List)}.
+     * This is only effective if {@link BlobTransferType#RELAY} is used.
+     * </p>
+     * @param parallelism the max number of concurrent streams (default: {@value ParallelBlobTransfer#DEFAULT_PARALLELISM})
+     * @return this
+     * @throws IllegalArgumentException if the parallelism is not positive
+     * @since 1.17.0
+     */
+    public SessionBuilder withBlobRelayParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.blobRelayParallelism = parallelism;
+        return this;
+    }
+
     /**
      * Establishes a connection to the Tsurugi server.
      * This operation will block until the connection was established,
@@ -257,7 +299,7 @@ public final class SessionBuilder {
 
     private Session create0(Wire wire) throws IOException, ServerException, InterruptedException {
         assert wire != null;
-        var session = new SessionImpl(doKeepAlive, blobPathMapping, blobTransferType, blobRelayEndpoint);
+        var session = new SessionImpl(doKeepAlive, blobPathMapping, blobTransferType, blobRelayEndpoint, blobRelayCache, blobRelayParallelism);
         boolean green = false;
         try {
             session.connect(wire);
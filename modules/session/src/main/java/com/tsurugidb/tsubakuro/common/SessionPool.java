@@ -0,0 +1,632 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.common;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.util.Lang;
+
+/**
+ * A pool of {@link Session sessions} to the same end-point.
+ * <p>
+ * The pool keeps at least {@link Builder#withMinSize(int) the minimum number} of sessions,
+ * which are established asynchronously in background, and creates more sessions on demand up to
+ * {@link Builder#withMaxSize(int) the maximum number}.
+ * If all sessions are in use, {@link #borrow(long, TimeUnit)} waits for them in first-come first-served order.
+ * </p>
+ * <p>
+ * The sessions are validated by {@link Session#isAlive()} on borrowing and returning them,
+ * and the idle sessions exceeding the minimum number are closed after the idle timeout.
+ * </p>
+ * <pre>
+ * try (var pool = SessionPool.builder(SessionBuilder.connect(endpoint).withCredential(credential))
+ *         .withMinSize(4)
+ *         .withMaxSize(16)
+ *         .build()) {
+ *     ...
+ *     try (var lease = pool.borrow(10, TimeUnit.SECONDS);
+ *             var client = SqlClient.attach(lease.getSession())) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * Note that, service clients attached to the borrowed session must be closed before returning it.
+ * </p>
+ * @since 1.17.0
+ */
+@ThreadSafe
+public final class SessionPool implements AutoCloseable {
+
+    /**
+     * The default minimum number of sessions.
+     */
+    public static final int DEFAULT_MIN_SIZE = 0;
+
+    /**
+     * The default maximum number of sessions.
+     */
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    /**
+     * The default idle timeout, in milliseconds.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * The default interval of evicting idle sessions and validating them, in milliseconds.
+     */
+    public static final long DEFAULT_MAINTENANCE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    static final Logger LOG = LoggerFactory.getLogger(SessionPool.class);
+
+    private final SessionBuilder sessionBuilder;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long idleTimeoutNanos;
+
+    private final long connectTimeoutNanos;
+
+    private final ScheduledExecutorService maintainer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @GuardedBy("lock")
+    private final ArrayDeque<Entry> idle = new ArrayDeque<>();
+
+    @GuardedBy("lock")
+    private final ArrayDeque<CompletableFuture<Entry>> waiters = new ArrayDeque<>();
+
+    @GuardedBy("lock")
+    private int total = 0;
+
+    @GuardedBy("lock")
+    private boolean closed = false;
+
+    /**
+     * Builds a {@link SessionPool}.
+     * @see SessionPool#builder(SessionBuilder)
+     */
+    public static final class Builder {
+
+        private final SessionBuilder sessionBuilder;
+
+        private int minSize = DEFAULT_MIN_SIZE;
+
+        private int maxSize = DEFAULT_MAX_SIZE;
+
+        private long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT_MILLIS);
+
+        private long maintenanceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAINTENANCE_INTERVAL_MILLIS);
+
+        private long connectTimeoutNanos = 0;
+
+        Builder(SessionBuilder sessionBuilder) {
+            assert sessionBuilder != null;
+            this.sessionBuilder = sessionBuilder;
+        }
+
+        /**
+         * Sets the minimum number of sessions, which are kept even if they are idle.
+         * @param size the minimum number of sessions
+         * @return this
+         * @throws IllegalArgumentException if the size is negative
+         */
+        public Builder withMinSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "minimum pool size must not be negative: {0}",
+                        size));
+            }
+            this.minSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of sessions, including sessions in use.
+         * @param size the maximum number of sessions
+         * @return this
+         * @throws IllegalArgumentException if the size is not positive
+         */
+        public Builder withMaxSize(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "maximum pool size must be positive: {0}",
+                        size));
+            }
+            this.maxSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the time until idle sessions exceeding the minimum number are closed.
+         * @param timeout the idle timeout
+         * @param unit the time unit of {@code timeout}
+         * @return this
+         * @throws IllegalArgumentException if the timeout is negative
+         */
+        public Builder withIdleTimeout(long timeout, @Nonnull TimeUnit unit) {
+            Objects.requireNonNull(unit);
+            if (timeout < 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "idle timeout must not be negative: {0}",
+                        timeout));
+            }
+            this.idleTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the interval of evicting idle sessions, validating them, and pre-warming new sessions.
+         * @param interval the interval
+         * @param unit the time unit of {@code interval}
+         * @return this
+         * @throws IllegalArgumentException if the interval is not positive
+         */
+        public Builder withMaintenanceInterval(long interval, @Nonnull TimeUnit unit) {
+            Objects.requireNonNull(unit);
+            if (interval <= 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "maintenance interval must be positive: {0}",
+                        interval));
+            }
+            this.maintenanceIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Sets the timeout of establishing new sessions in background.
+         * <p>
+         * When the timeout is 0, no timeout is detected.
+         * </p>
+         * @param timeout the timeout
+         * @param unit the time unit of {@code timeout}
+         * @return this
+         * @throws IllegalArgumentException if the timeout is negative
+         */
+        public Builder withConnectTimeout(long timeout, @Nonnull TimeUnit unit) {
+            Objects.requireNonNull(unit);
+            if (timeout < 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "connect timeout must not be negative: {0}",
+                        timeout));
+            }
+            this.connectTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Creates a new pool, and then starts establishing the minimum number of sessions in background.
+         * @return the created pool
+         * @throws IllegalArgumentException if the minimum size is greater than the maximum size
+         */
+        public SessionPool build() {
+            if (minSize > maxSize) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "minimum pool size must not be greater than maximum size: min={0}, max={1}",
+                        minSize,
+                        maxSize));
+            }
+            var pool = new SessionPool(this);
+            pool.start(maintenanceIntervalNanos);
+            return pool;
+        }
+    }
+
+    /**
+     * A session borrowed from the pool.
+     * <p>
+     * {@link #close() Closing} this returns the session to the pool.
+     * </p>
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+
+        private boolean returned = false;
+
+        private boolean invalidated = false;
+
+        Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Returns the borrowed session.
+         * <p>
+         * Please do not close the session by yourself, instead {@link #invalidate()} this lease.
+         * </p>
+         * @return the session
+         * @throws IllegalStateException if this lease is already returned
+         */
+        public synchronized Session getSession() {
+            if (returned) {
+                throw new IllegalStateException("session is already returned to the pool");
+            }
+            return entry.session;
+        }
+
+        /**
+         * Marks the session as broken, so that it will be closed instead of returning to the pool.
+         */
+        public synchronized void invalidate() {
+            invalidated = true;
+        }
+
+        /**
+         * Returns the session to the pool.
+         */
+        @Override
+        public void close() {
+            boolean broken;
+            synchronized (this) {
+                if (returned) {
+                    return;
+                }
+                returned = true;
+                broken = invalidated;
+            }
+            release(entry, broken);
+        }
+    }
+
+    private static final class Entry {
+
+        final Session session;
+
+        long lastUsedNanos;
+
+        Entry(Session session) {
+            this.session = session;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Starts building a new {@link SessionPool}.
+     * @param sessionBuilder the builder to establish pooled sessions
+     * @return a new {@link Builder}
+     */
+    public static Builder builder(@Nonnull SessionBuilder sessionBuilder) {
+        Objects.requireNonNull(sessionBuilder);
+        return new Builder(sessionBuilder);
+    }
+
+    private SessionPool(Builder builder) {
+        this.sessionBuilder = builder.sessionBuilder;
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.idleTimeoutNanos = builder.idleTimeoutNanos;
+        this.connectTimeoutNanos = builder.connectTimeoutNanos;
+        this.maintainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "tsubakuro-session-pool"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void start(long maintenanceIntervalNanos) {
+        maintainer.execute(this::replenish);
+        maintainer.scheduleWithFixedDelay(
+                this::maintain,
+                maintenanceIntervalNanos, maintenanceIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Borrows a session from the pool.
+     * <p>
+     * If there are no idle sessions, this establishes a new session if the pool is not full,
+     * or waits for another session is returned.
+     * When the timeout is 0, no timeout is detected.
+     * </p>
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of {@code timeout}
+     * @return the borrowed session, which must be closed to return it to the pool
+     * @throws IOException if I/O error was occurred while establishing a new session, or the pool is already closed
+     * @throws ServerException if server error was occurred while establishing a new session
+     * @throws InterruptedException if interrupted while waiting for a session
+     * @throws TimeoutException if the wait time out
+     */
+    public Lease borrow(long timeout, @Nonnull TimeUnit unit)
+            throws IOException, ServerException, InterruptedException, TimeoutException {
+        Objects.requireNonNull(unit);
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0;
+        while (true) {
+            Entry entry = null;
+            boolean create = false;
+            CompletableFuture<Entry> waiter = null;
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IOException("session pool is already closed");
+                }
+                // don't overtake the earlier waiters
+                if (waiters.isEmpty()) {
+                    entry = idle.pollLast();
+                }
+                if (entry == null) {
+                    if (total < maxSize) {
+                        total++;
+                        create = true;
+                    } else {
+                        waiter = new CompletableFuture<>();
+                        waiters.addLast(waiter);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (create) {
+                return new Lease(create(deadline));
+            }
+            if (waiter != null) {
+                entry = await(waiter, deadline);
+            }
+            if (entry.session.isAlive()) {
+                return new Lease(entry);
+            }
+            LOG.debug("discarding dead session in the pool"); //$NON-NLS-1$
+            discard(entry);
+        }
+    }
+
+    /**
+     * Returns the number of sessions in the pool, including sessions in use.
+     * @return the number of sessions
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of idle sessions in the pool.
+     * @return the number of idle sessions
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of threads waiting for sessions.
+     * @return the number of waiting threads
+     */
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the pool and its idle sessions.
+     * <p>
+     * The sessions in use are closed when they are returned.
+     * </p>
+     */
+    @Override
+    public void close() {
+        List<Entry> victims;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            victims = new ArrayList<>(idle);
+            idle.clear();
+            total -= victims.size();
+            while (!waiters.isEmpty()) {
+                waiters.pollFirst().completeExceptionally(new IOException("session pool is already closed"));
+            }
+        } finally {
+            lock.unlock();
+        }
+        maintainer.shutdownNow();
+        Lang.suppress(
+                e -> LOG.warn("error occurred while closing pooled sessions", e),
+                () -> {
+                    for (var entry : victims) {
+                        entry.session.close();
+                    }
+                });
+    }
+
+    private Entry create(long deadline) throws IOException, ServerException, InterruptedException, TimeoutException {
+        boolean success = false;
+        try (var future = sessionBuilder.createAsync()) {
+            Session session;
+            if (deadline == 0) {
+                session = future.get();
+            } else {
+                session = future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            }
+            success = true;
+            return new Entry(session);
+        } finally {
+            if (!success) {
+                lock.lock();
+                try {
+                    total--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private Entry await(CompletableFuture<Entry> waiter, long deadline)
+            throws IOException, InterruptedException, TimeoutException {
+        try {
+            if (deadline == 0) {
+                return waiter.get();
+            }
+            return waiter.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException | InterruptedException e) {
+            Entry handed;
+            lock.lock();
+            try {
+                waiters.remove(waiter);
+                // the waiter is only completed while holding the lock
+                handed = waiter.getNow(null);
+            } catch (Exception ignored) {
+                handed = null;
+            } finally {
+                lock.unlock();
+            }
+            if (handed != null) {
+                if (e instanceof TimeoutException) {
+                    // a session was handed just before the timeout
+                    return handed;
+                }
+                offer(handed);
+            }
+            throw e;
+        }
+    }
+
+    private void release(Entry entry, boolean broken) {
+        if (!broken && entry.session.isAlive()) {
+            entry.lastUsedNanos = System.nanoTime();
+            offer(entry);
+            return;
+        }
+        discard(entry);
+    }
+
+    private void offer(Entry entry) {
+        lock.lock();
+        try {
+            if (!closed) {
+                while (!waiters.isEmpty()) {
+                    if (waiters.pollFirst().complete(entry)) {
+                        return;
+                    }
+                }
+                idle.addLast(entry);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(entry);
+    }
+
+    private void discard(Entry entry) {
+        lock.lock();
+        try {
+            total--;
+        } finally {
+            lock.unlock();
+        }
+        Lang.suppress(
+                e -> LOG.warn("error occurred while closing pooled session", e),
+                () -> entry.session.close());
+        try {
+            maintainer.execute(this::replenish);
+        } catch (RejectedExecutionException e) {
+            LOG.trace("session pool is already closed", e); //$NON-NLS-1$
+        }
+    }
+
+    private void replenish() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= maxSize || (total >= minSize && waiters.isEmpty())) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+            long deadline = connectTimeoutNanos > 0 ? System.nanoTime() + connectTimeoutNanos : 0;
+            try {
+                offer(create(deadline));
+            } catch (IOException | ServerException | TimeoutException e) {
+                LOG.warn("error occurred while establishing pooled session", e);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void maintain() {
+        List<Entry> victims = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            int remaining = total;
+            for (var iter = idle.iterator(); iter.hasNext();) {
+                var entry = iter.next();
+                boolean expired = remaining > minSize && now - entry.lastUsedNanos >= idleTimeoutNanos;
+                if (expired || !entry.session.isAlive()) {
+                    iter.remove();
+                    victims.add(entry);
+                    remaining--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!victims.isEmpty()) {
+            LOG.debug("evicting idle sessions in the pool: {}", victims.size()); //$NON-NLS-1$
+        }
+        for (var entry : victims) {
+            discard(entry);
+        }
+        replenish();
+    }
+}
@@ -16,6 +16,7 @@
 package com.tsurugidb.tsubakuro.common.impl;
 
 import java.io.BufferedWriter;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,12 +28,16 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.TimeUnit;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,11 +47,14 @@ import com.tsurugidb.blob_relay.proto.Streaming;
 import com.tsurugidb.tsubakuro.common.BlobRelayReference;
 import com.tsurugidb.tsubakuro.common.LargeObjectCache;
 import com.tsurugidb.tsubakuro.common.LargeObjectClient;
+import com.tsurugidb.tsubakuro.common.LargeObjectDiskCache;
 import com.tsurugidb.tsubakuro.common.LargeObjectInfo;
 import com.tsurugidb.tsubakuro.common.LargeObjectReference;
 import com.tsurugidb.tsubakuro.common.exception.BlobException;
+import com.tsurugidb.tsubakuro.exception.ResponseTimeoutException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.relay.client.BlobRelayStreaming;
+import com.tsurugidb.tsubakuro.relay.client.ParallelBlobTransfer;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
 
 /**
@@ -64,7 +72,10 @@ public class LargeObjectClientRelay implements LargeObjectClient {
     private final String endpoint;
     private final boolean secure;
     private final long chunkSize;
+    private final int parallelism;
+    private final LargeObjectDiskCache diskCache;
     private volatile BlobRelayStreaming blobRelayStreaming = null;
+    private volatile ParallelBlobTransfer parallelBlobTransfer = null;
 
     /**
      * Creates a new instance.
@@ -74,6 +85,39 @@ public class LargeObjectClientRelay implements LargeObjectClient {
      * @param chunkSize the chunk size for the BlobRelayStreaming
      */
     public LargeObjectClientRelay(@Nonnull String sessionId, @Nonnull String endpoint, boolean secure, long chunkSize) {
+        this(sessionId, endpoint, secure, chunkSize, ParallelBlobTransfer.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param sessionId the session ID for the BlobRelayStreaming
+     * @param endpoint the endpoint for the BlobRelayStreaming
+     * @param secure whether to use secure connection for the BlobRelayStreaming
+     * @param chunkSize the chunk size for the BlobRelayStreaming
+     * @param parallelism the max number of concurrent streams in {@link #uploadAll(List)} and {@link #copyAllTo(ContextId, List, List)}
+     * @since 1.17.0
+     */
+    public LargeObjectClientRelay(@Nonnull String sessionId, @Nonnull String endpoint, boolean secure, long chunkSize, int parallelism) {
+        this(sessionId, endpoint, secure, chunkSize, parallelism, null);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param sessionId the session ID for the BlobRelayStreaming
+     * @param endpoint the endpoint for the BlobRelayStreaming
+     * @param secure whether to use secure connection for the BlobRelayStreaming
+     * @param chunkSize the chunk size for the BlobRelayStreaming
+     * @param parallelism the max number of concurrent streams in {@link #uploadAll(List)} and {@link #copyAllTo(ContextId, List, List)}
+     * @param diskCache the local disk cache of downloaded large objects, or {@code null} to download them every time
+     * @since 1.17.0
+     */
+    public LargeObjectClientRelay(
+            @Nonnull String sessionId, @Nonnull String endpoint, boolean secure, long chunkSize, int parallelism,
+            @Nullable LargeObjectDiskCache diskCache) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
         try {
             this.sessionId = Long.parseLong(sessionId);
         } catch (NumberFormatException e) {
@@ -82,6 +126,7 @@ public class LargeObjectClientRelay implements LargeObjectClient {
         this.endpoint = endpoint;
         this.secure = secure;
         this.chunkSize = validateChunkSize(chunkSize);
+        this.diskCache = diskCache;
     }
     private static long validateChunkSize(long chunkSize) {
         if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
@@ -92,18 +137,24 @@ public class LargeObjectClientRelay implements LargeObjectClient {
 
     @Override
     public FutureResponse<LargeObjectInfo> upload(InputStream source) throws BlobException {
-        return internalUpload(Streaming.PutStreamingRequest.Metadata.newBuilder()
-                                .setApiVersion(API_VERSION)
-                                .setSessionId(sessionId)
-                                .build(),
-                              source);
+        var meta = Streaming.PutStreamingRequest.Metadata.newBuilder()
+                .setApiVersion(API_VERSION)
+                .setSessionId(sessionId)
+                .build();
+        return internalUpload(streaming -> streaming.put(meta, source));
+    }
+
+    @FunctionalInterface
+    private interface PutRequest {
+        FutureResponse<BlobRelayCommon.BlobReference> send(BlobRelayStreaming streaming) throws IOException, InterruptedException;
     }
-    private FutureResponse<LargeObjectInfo> internalUpload(Streaming.PutStreamingRequest.Metadata meta, InputStream source) throws BlobException {
+
+    private FutureResponse<LargeObjectInfo> internalUpload(PutRequest request) throws BlobException {
         final AtomicReference<FutureResponse<BlobRelayCommon.BlobReference>> reference = new AtomicReference<>();
 
         try {
             openBlobRelayStreaming();
-            reference.set(blobRelayStreaming.put(meta, source));
+            reference.set(request.send(blobRelayStreaming));
             return new FutureResponse<LargeObjectInfo>() {
                 @Override
                 public LargeObjectInfo get() throws IOException, InterruptedException, ServerException {
@@ -115,21 +166,7 @@ public class LargeObjectClientRelay implements LargeObjectClient {
                 }
                 @Override
                 public LargeObjectInfo get(long timeout, TimeUnit unit) throws IOException, InterruptedException, ServerException, TimeoutException {
-                    var ref = reference.get().get(timeout, unit);
-                    return new LargeObjectInfo() {
-                        @Override
-                        public InfoType getInfoType() {
-                            return LargeObjectInfo.InfoType.BLOB_RELAY_REFERENCE;
-                        }
-                        @Override
-                        public BlobRelayReference getBlobRelayReference() {
-                            return new BlobRelayReference(ref.getStorageId(), ref.getObjectId(), ref.getTag());
-                        }
-                        @Override
-                        public String getServerPath() {
-                            throw new IllegalStateException("LargeObjectInfo type is BLOB_RELAY_REFERENCE, server path is not available");
-                        }
-                    };
+                    return newLargeObjectInfo(reference.get().get(timeout, unit));
                 }
                 @Override
                 public boolean isDone() {
@@ -159,11 +196,107 @@ public class LargeObjectClientRelay implements LargeObjectClient {
             throw new BlobException("Failed to open BlobRelayStreaming", e);
         }
     }
+    private static LargeObjectInfo newLargeObjectInfo(BlobRelayCommon.BlobReference ref) {
+        return new LargeObjectInfo() {
+            @Override
+            public InfoType getInfoType() {
+                return LargeObjectInfo.InfoType.BLOB_RELAY_REFERENCE;
+            }
+            @Override
+            public BlobRelayReference getBlobRelayReference() {
+                return new BlobRelayReference(ref.getStorageId(), ref.getObjectId(), ref.getTag());
+            }
+            @Override
+            public String getServerPath() {
+                throw new IllegalStateException("LargeObjectInfo type is BLOB_RELAY_REFERENCE, server path is not available");
+            }
+        };
+    }
     private synchronized void openBlobRelayStreaming() throws IOException {
         if (blobRelayStreaming == null) {
             blobRelayStreaming = new BlobRelayStreaming(endpoint, secure, chunkSize);
         }
     }
+    private synchronized ParallelBlobTransfer openParallelBlobTransfer() throws IOException {
+        openBlobRelayStreaming();
+        if (parallelBlobTransfer == null) {
+            parallelBlobTransfer = new ParallelBlobTransfer(blobRelayStreaming, parallelism);
+        }
+        return parallelBlobTransfer;
+    }
+
+    /**
+     * Uploads the files over several concurrent streams.
+     * <p>
+     * This blocks until all files were uploaded, and the number of concurrent streams is limited by the parallelism
+     * of this client. If any of them were failed, this cancels the rest and raises the error.
+     * </p>
+     * @param sources the paths of the files to upload
+     * @return the information of the uploaded large objects, in order of the files
+     * @throws BlobException if an error occurs while uploading the files
+     * @throws InterruptedException if interrupted while uploading the files
+     * @since 1.17.0
+     */
+    @Override
+    public List<LargeObjectInfo> uploadAll(@Nonnull List<Path> sources) throws BlobException, InterruptedException {
+        Objects.requireNonNull(sources);
+        try {
+            var metas = new ArrayList<Streaming.PutStreamingRequest.Metadata>(sources.size());
+            for (var source : sources) {
+                metas.add(Streaming.PutStreamingRequest.Metadata.newBuilder()
+                        .setApiVersion(API_VERSION)
+                        .setSessionId(sessionId)
+                        .setBlobSize(Files.size(source))
+                        .build());
+            }
+            var refs = openParallelBlobTransfer().put(metas, sources);
+            var results = new ArrayList<LargeObjectInfo>(refs.size());
+            for (var ref : refs) {
+                results.add(newLargeObjectInfo(ref));
+            }
+            return results;
+        } catch (IOException | ServerException e) {
+            throw new BlobException("Failed to upload files", e);
+        }
+    }
+
+    /**
+     * Downloads the large objects into the files over several concurrent streams.
+     * <p>
+     * This blocks until all large objects were downloaded, and the number of concurrent streams is limited by
+     * the parallelism of this client. If any of them were failed, this cancels the rest, removes all the
+     * destination files, and raises the error.
+     * </p>
+     * @param contextId the context ID
+     * @param refs the references to the large objects
+     * @param destinations the paths to write each large object to, which must not exist
+     * @throws BlobException if an error occurs while downloading the large objects
+     * @throws InterruptedException if interrupted while downloading the large objects
+     * @since 1.17.0
+     */
+    @Override
+    public void copyAllTo(
+            @Nonnull ContextId contextId,
+            @Nonnull List<? extends LargeObjectReference> refs,
+            @Nonnull List<Path> destinations) throws BlobException, InterruptedException {
+        Objects.requireNonNull(contextId);
+        Objects.requireNonNull(refs);
+        Objects.requireNonNull(destinations);
+        for (var destination : destinations) {
+            if (Files.exists(destination)) {
+                throw new BlobException("Destination file already exists: " + destination);
+            }
+        }
+        var requests = new ArrayList<Streaming.GetStreamingRequest>(refs.size());
+        for (var ref : refs) {
+            requests.add(newGetStreamingRequest(contextId, ref));
+        }
+        try {
+            openParallelBlobTransfer().get(requests, destinations);
+        } catch (IOException | ServerException e) {
+            throw new BlobException("Failed to copy to destinations", e);
+        }
+    }
 
     @Override
     public FutureResponse<LargeObjectInfo> upload(Reader source) throws BlobException {
@@ -202,12 +335,13 @@ public class LargeObjectClientRelay implements LargeObjectClient {
     @Override
     public FutureResponse<LargeObjectInfo> upload(Path source) throws BlobException {
         try {
-            return internalUpload(Streaming.PutStreamingRequest.Metadata.newBuilder()
-                                    .setApiVersion(API_VERSION)
-                                    .setSessionId(sessionId)
-                                    .setBlobSize(Files.size(source))
-                                    .build(),
-                                  Files.newInputStream(source));
+            var meta = Streaming.PutStreamingRequest.Metadata.newBuilder()
+                    .setApiVersion(API_VERSION)
+                    .setSessionId(sessionId)
+                    .setBlobSize(Files.size(source))
+                    .build();
+            // the file is directly read via FileChannel
+            return internalUpload(streaming -> streaming.put(meta, source));
         } catch (IOException e) {
             throw new BlobException("Failed to read from Path", e);
         }
@@ -215,6 +349,28 @@ public class LargeObjectClientRelay implements LargeObjectClient {
 
     @Override
     public FutureResponse<InputStream> openInputStream(@Nonnull ContextId contextId, @Nonnull LargeObjectReference ref) throws BlobException {
+        if (diskCache != null) {
+            return fromDiskCache(contextId, ref, entry -> {
+                InputStream input;
+                try {
+                    input = Files.newInputStream(entry.getPath());
+                } catch (IOException | RuntimeException e) {
+                    entry.close();
+                    throw e;
+                }
+                // the cached file is kept until the stream is closed
+                return new FilterInputStream(input) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            entry.close();
+                        }
+                    }
+                };
+            });
+        }
         try {
             openBlobRelayStreaming();
             return blobRelayStreaming.get(newGetStreamingRequest(contextId, ref));
@@ -234,6 +390,60 @@ public class LargeObjectClientRelay implements LargeObjectClient {
                     .build();
     }
 
+    @FunctionalInterface
+    private interface CachedResult<V> {
+        V apply(LargeObjectDiskCache.Entry entry) throws IOException;
+    }
+
+    private <V> FutureResponse<V> fromDiskCache(
+            @Nonnull ContextId contextId, @Nonnull LargeObjectReference ref, @Nonnull CachedResult<V> mapper) throws BlobException {
+        assert diskCache != null;
+        try {
+            openBlobRelayStreaming();
+        } catch (IOException e) {
+            throw new BlobException("Failed to open BlobRelayStreaming", e);
+        }
+        var key = new BlobRelayReference(toStorageId(ref.getProvider()), ref.getObjectId(), ref.getReferenceTag());
+        var request = newGetStreamingRequest(contextId, ref);
+        return new FutureResponse<V>() {
+            private boolean done = false;
+            private V result = null;
+            @Override
+            public V get() throws IOException, InterruptedException, ServerException {
+                try {
+                    return get(0, null);
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Unexpected timeout", e);
+                }
+            }
+            @Override
+            public synchronized V get(long timeout, TimeUnit unit) throws IOException, InterruptedException, ServerException, TimeoutException {
+                if (!done) {
+                    // the large object is downloaded only if it is not cached yet
+                    // the large object references are only unique in the database behind the endpoint
+                    var entry = diskCache.fetch(endpoint, key, destination -> {
+                        try (var response = blobRelayStreaming.get(request, destination)) {
+                            response.get(timeout, unit);
+                        } catch (TimeoutException e) {
+                            throw new ResponseTimeoutException("Timeout while downloading large object: " + key, e);
+                        }
+                    });
+                    result = mapper.apply(entry);
+                    done = true;
+                }
+                return result;
+            }
+            @Override
+            public synchronized boolean isDone() {
+                return done;
+            }
+            @Override
+            public void close() {
+                // the caller is responsible for closing the result, which releases the cached file
+            }
+        };
+    }
+
     @Override
     public FutureResponse<Reader> openReader(@Nonnull ContextId contextId, @Nonnull LargeObjectReference ref) throws BlobException {
         return new FutureResponse<Reader>() {
@@ -261,6 +471,18 @@ public class LargeObjectClientRelay implements LargeObjectClient {
 
     @Override
     public FutureResponse<LargeObjectCache> getLargeObjectCache(@Nonnull ContextId contextId, @Nonnull LargeObjectReference ref) throws BlobException {
+        if (diskCache != null) {
+            return fromDiskCache(contextId, ref, entry -> new LargeObjectCache() {
+                @Override
+                public Optional<Path> find() {
+                    return Optional.of(entry.getPath());
+                }
+                @Override
+                public void close() {
+                    entry.close();
+                }
+            });
+        }
         return FutureResponse.returns(new LargeObjectCache() {
             @Override
             public Optional<Path> find() {
@@ -284,6 +506,14 @@ public class LargeObjectClientRelay implements LargeObjectClient {
             } catch (IOException e) {
                 throw new BlobException("Failed to prepare destination path: " + destination, e);
             }
+            if (diskCache != null) {
+                return fromDiskCache(contextId, ref, entry -> {
+                    try (entry) {
+                        Files.copy(entry.getPath(), destination);
+                    }
+                    return null;
+                });
+            }
             try {
                 return blobRelayStreaming.get(newGetStreamingRequest(contextId, ref), destination);
             } catch (IOException | InterruptedException e) {
@@ -296,6 +526,9 @@ public class LargeObjectClientRelay implements LargeObjectClient {
 
     @Override
     public void close() throws IOException {
+        if (parallelBlobTransfer != null) {
+            parallelBlobTransfer.close();
+        }
         if (blobRelayStreaming != null) {
             blobRelayStreaming.close();
         }
@@ -308,6 +541,8 @@ public class LargeObjectClientRelay implements LargeObjectClient {
              + ", endpoint='" + endpoint + '\''
              + ", secure=" + secure
              + ", chunkSize=" + chunkSize
+             + ", parallelism=" + parallelism
+             + ", diskCache=" + diskCache
              + '}';
     }
 }
@@ -24,8 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,6 +45,7 @@ import com.tsurugidb.core.proto.CoreRequest;
 import com.tsurugidb.core.proto.CoreResponse;
 import com.tsurugidb.tsubakuro.channel.common.connection.Credential;
 import com.tsurugidb.tsubakuro.channel.common.connection.Disposer; 
+import com.tsurugidb.tsubakuro.channel.common.connection.SharedScheduler;
 import com.tsurugidb.tsubakuro.channel.common.connection.ForegroundFutureResponse;  // FIXME move Session.java to com.tsurugidb.tsubakuro.channel.common
 import com.tsurugidb.tsubakuro.channel.common.connection.wire.MainResponseProcessor;
 import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
@@ -57,6 +57,7 @@ import com.tsurugidb.tsubakuro.common.BlobTransferMedium;
 import com.tsurugidb.tsubakuro.common.BlobTransferType;
 import com.tsurugidb.tsubakuro.common.BlobPathMapping;
 import com.tsurugidb.tsubakuro.common.LargeObjectClient;
+import com.tsurugidb.tsubakuro.common.LargeObjectDiskCache;
 import com.tsurugidb.tsubakuro.common.ServerBlobInfo;
 import com.tsurugidb.tsubakuro.common.Session;
 import com.tsurugidb.tsubakuro.common.ShutdownType;
@@ -64,6 +65,7 @@ import com.tsurugidb.tsubakuro.exception.CoreServiceCode;
 import com.tsurugidb.tsubakuro.exception.CoreServiceException;
 import com.tsurugidb.tsubakuro.exception.ResponseTimeoutException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.relay.client.ParallelBlobTransfer;
 import com.tsurugidb.tsubakuro.sql.impl.SqlServiceStub;
 import com.tsurugidb.tsubakuro.util.ByteBufferInputStream;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
@@ -87,6 +89,8 @@ public class SessionImpl implements Session {
     private final BlobPathMapping blobPathMapping;
     private final BlobTransferType blobTransferType;
     private final URI blobRelayEndpoint;
+    private final LargeObjectDiskCache blobRelayCache;
+    private final int blobRelayParallelism;
     private final Disposer disposer = new Disposer();
 
     private static final class AtomicCompleted extends ReentrantLock {
@@ -137,35 +141,48 @@ public class SessionImpl implements Session {
      * The keep alive interval in milliseconds.
      */
     public static final int KEEP_ALIVE_INTERVAL = 60000;
-    private final Timer keepAliveTimer = new Timer(true);
+    private volatile ScheduledFuture<?> keepAliveTask = null;
     private boolean doKeepAlive = false;
 
     /**
      * The keep alive task.
      * This task is used to send a keep alive message to the server periodically.
      * It is used to keep the session alive.
+     * This runs on the shared scheduler, so that it never waits for the response of the previous request.
      */
-    private class KeepAliveTask extends TimerTask {
-        final Timer timer;
-
-        KeepAliveTask(Timer timer) {
-            this.timer = timer;
-        }
+    private class KeepAliveTask implements Runnable {
+        private FutureResponse<Void> inFlight = null;
 
         @Override
-        public void run() {
+        public synchronized void run() {
             try {
-                if (closed.get() != SESSION_CLOSED) {
-                    updateExpirationTime().get();
-                } else {
-                    timer.cancel();
+                if (closed.get() == SESSION_CLOSED) {
+                    cancelKeepAlive();
+                    return;
                 }
+                if (inFlight != null) {
+                    if (!inFlight.isDone()) {
+                        // the previous request is still in flight
+                        return;
+                    }
+                    var previous = inFlight;
+                    inFlight = null;
+                    previous.get();
+                }
+                inFlight = updateExpirationTime();
             } catch (ServerException | IOException | InterruptedException ex) {
-                timer.cancel();
+                cancelKeepAlive();
             }
         }
     }
 
+    private void cancelKeepAlive() {
+        var task = keepAliveTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
     /**
      * Creates a new instance, exist for SessionBuilder.
      * @param doKeepAlive activate keep alive chore when doKeepAlive is true
@@ -174,12 +191,48 @@ public class SessionImpl implements Session {
      * @param blobRelayEndpoint the blob relay endpoint specified separately; if null, URI provided from the server will be used
      */
     public SessionImpl(boolean doKeepAlive, @Nullable BlobPathMapping blobPathMapping, @Nonnull BlobTransferType blobTransferType, @Nullable URI blobRelayEndpoint) {
+        this(doKeepAlive, blobPathMapping, blobTransferType, blobRelayEndpoint, null);
+    }
+
+    /**
+     * Creates a new instance, exist for SessionBuilder.
+     * @param doKeepAlive activate keep alive chore when doKeepAlive is true
+     * @param blobPathMapping path mapping used when passing blobs using file
+     * @param blobTransferType the BlobTransferType to use for this session
+     * @param blobRelayEndpoint the blob relay endpoint specified separately; if null, URI provided from the server will be used
+     * @param blobRelayCache the local disk cache of large objects received via the blob relay; if null, they are not cached
+     * @since 1.17.0
+     */
+    public SessionImpl(
+            boolean doKeepAlive, @Nullable BlobPathMapping blobPathMapping, @Nonnull BlobTransferType blobTransferType,
+            @Nullable URI blobRelayEndpoint, @Nullable LargeObjectDiskCache blobRelayCache) {
+        this(doKeepAlive, blobPathMapping, blobTransferType, blobRelayEndpoint, blobRelayCache, ParallelBlobTransfer.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a new instance, exist for SessionBuilder.
+     * @param doKeepAlive activate keep alive chore when doKeepAlive is true
+     * @param blobPathMapping path mapping used when passing blobs using file
+     * @param blobTransferType the BlobTransferType to use for this session
+     * @param blobRelayEndpoint the blob relay endpoint specified separately; if null, URI provided from the server will be used
+     * @param blobRelayCache the local disk cache of large objects received via the blob relay; if null, they are not cached
+     * @param blobRelayParallelism the max number of concurrent streams to transfer large objects via the blob relay
+     * @since 1.17.0
+     */
+    public SessionImpl(
+            boolean doKeepAlive, @Nullable BlobPathMapping blobPathMapping, @Nonnull BlobTransferType blobTransferType,
+            @Nullable URI blobRelayEndpoint, @Nullable LargeObjectDiskCache blobRelayCache, int blobRelayParallelism) {
+        if (blobRelayParallelism <= 0) {
+            throw new IllegalArgumentException("blobRelayParallelism must be positive: " + blobRelayParallelism);
+        }
         this.wire = null;
         this.doKeepAlive = doKeepAlive;
         this.blobPathMapping = blobPathMapping;
         this.largeObjectClient = null;  // wire is not connected yet, so largeObjectClient is not initialized yet
         this.blobTransferType = blobTransferType;
         this.blobRelayEndpoint = blobRelayEndpoint;
+        this.blobRelayCache = blobRelayCache;
+        this.blobRelayParallelism = blobRelayParallelism;
         checkBlogPathMapping();
     }
 
@@ -222,6 +275,8 @@ public class SessionImpl implements Session {
         this.blobTransferType = BlobTransferType.DEFAULT;
         this.largeObjectClient = getLargeObjectClient(wire.getBlobTransferMedium());
         this.blobRelayEndpoint = null;
+        this.blobRelayCache = null;
+        this.blobRelayParallelism = ParallelBlobTransfer.DEFAULT_PARALLELISM;
     }
 
     /**
@@ -237,7 +292,8 @@ public class SessionImpl implements Session {
         wire = sessionWire;
         largeObjectClient = getLargeObjectClient(wire.getBlobTransferMedium());
         if (doKeepAlive) {
-            keepAliveTimer.scheduleAtFixedRate(new KeepAliveTask(keepAliveTimer), KEEP_ALIVE_INTERVAL, KEEP_ALIVE_INTERVAL);
+            keepAliveTask = SharedScheduler.get().scheduleAtFixedRate(
+                    new KeepAliveTask(), KEEP_ALIVE_INTERVAL, KEEP_ALIVE_INTERVAL, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -266,12 +322,12 @@ public class SessionImpl implements Session {
                     if (chunkSizeLong <= 0) {
                         throw new IllegalArgumentException("stream_chunk_size must be a positive integer");
                     }
-                    return new LargeObjectClientRelay(sessionId, endpoint, secure, chunkSizeLong);
+                    return new LargeObjectClientRelay(sessionId, endpoint, secure, chunkSizeLong, blobRelayParallelism, blobRelayCache);
                 } catch (NumberFormatException e) {
                     throw new IllegalArgumentException("stream_chunk_size must be a valid long integer", e);
                 }
             }
-            return new LargeObjectClientRelay(sessionId, endpoint, secure, 1024 * 1024);
+            return new LargeObjectClientRelay(sessionId, endpoint, secure, 1024 * 1024, blobRelayParallelism, blobRelayCache);
         case PRIVILEGED:
             return new LargeObjectClientPrivileged(wire, blobPathMapping);
         case DEFAULT:
@@ -647,6 +703,14 @@ public class SessionImpl implements Session {
             if (closeTimeout != null) {
                 services.setCloseTimeout(closeTimeout);
             }
+            // send all dispose requests of the services first, and then await them
+            for (var se : services.entries()) {
+                try {
+                    se.requestClose();
+                } catch (IOException e) {
+                    LOG.warn("error occurred while requesting to close service", e);
+                }
+            }
             for (var se : services.entries()) {
                 try {
                     se.close();
@@ -675,7 +739,7 @@ public class SessionImpl implements Session {
             if (expected == d) {
                 try {
                     if (closed.compareAndSet(expected, SESSION_CLOSED)) {
-                        keepAliveTimer.cancel();  // does not throw any exception
+                        cancelKeepAlive();  // does not throw any exception
                         try {
                             wireClose();
                         } finally {
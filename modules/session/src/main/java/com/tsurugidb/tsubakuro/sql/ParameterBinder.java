@@ -0,0 +1,526 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.protobuf.ByteString;
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
+
+/**
+ * A reusable binder of parameters for the place-holders in a prepared statement.
+ * <p>
+ * The place-holder names are resolved to their positions only once when this object is created,
+ * and each parameter is set via the typed setters with its position.
+ * The individual parameter builders are reused among executions, and the built parameters are
+ * kept until the corresponding values are changed, so that the parameters which are not changed
+ * between executions are not encoded again.
+ * </p>
+ * <pre>
+ * var binder = ParameterBinder.of(placeholders);
+ * int id = binder.indexOf("id");
+ * int name = binder.indexOf("name");
+ * for (var entry : entries) {
+ *     binder.setLong(id, entry.getId());
+ *     binder.setString(name, entry.getName());
+ *     binder.addBatch();
+ * }
+ * transaction.batch(statement, binder).await();
+ * </pre>
+ *
+ * @see PreparedStatement#newParameterBinder()
+ * @see Transaction#executeStatement(PreparedStatement, ParameterBinder)
+ * @see Transaction#batch(PreparedStatement, ParameterBinder)
+ * @since 1.17.0
+ */
+@NotThreadSafe
+public final class ParameterBinder {
+
+    private final String[] names;
+
+    private final Map<String, Integer> positions;
+
+    private final SqlRequest.Parameter.Builder[] builders;
+
+    private final SqlRequest.Parameter[] built;
+
+    private final boolean[] bound;
+
+    private final List<List<SqlRequest.Parameter>> batch = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     * @param placeholders the place-holders in the target statement
+     * @throws IllegalArgumentException if the place-holder names are duplicated
+     */
+    public ParameterBinder(@Nonnull Collection<? extends SqlRequest.Placeholder> placeholders) {
+        Objects.requireNonNull(placeholders);
+        this.names = new String[placeholders.size()];
+        this.positions = new HashMap<>(placeholders.size() * 2);
+        this.builders = new SqlRequest.Parameter.Builder[names.length];
+        this.built = new SqlRequest.Parameter[names.length];
+        this.bound = new boolean[names.length];
+        int index = 0;
+        for (var placeholder : placeholders) {
+            var name = placeholder.getName();
+            if (positions.putIfAbsent(name, index) != null) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "duplicate place-holder name: {0}",
+                        name));
+            }
+            names[index] = name;
+            builders[index] = SqlRequest.Parameter.newBuilder().setName(name);
+            index++;
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     * @param placeholders the place-holders in the target statement
+     * @return the created instance
+     * @throws IllegalArgumentException if the place-holder names are duplicated
+     */
+    public static ParameterBinder of(@Nonnull SqlRequest.Placeholder... placeholders) {
+        Objects.requireNonNull(placeholders);
+        return new ParameterBinder(Arrays.asList(placeholders));
+    }
+
+    /**
+     * Creates a new instance.
+     * @param placeholders the place-holders in the target statement
+     * @return the created instance
+     * @throws IllegalArgumentException if the place-holder names are duplicated
+     */
+    public static ParameterBinder of(@Nonnull Collection<? extends SqlRequest.Placeholder> placeholders) {
+        Objects.requireNonNull(placeholders);
+        return new ParameterBinder(placeholders);
+    }
+
+    /**
+     * Returns the number of place-holders.
+     * @return the number of place-holders
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the position of the place-holder.
+     * @param name the place-holder name
+     * @return the position of the place-holder (0-origin)
+     * @throws IllegalArgumentException if there is no such a place-holder
+     */
+    public int indexOf(@Nonnull String name) {
+        Objects.requireNonNull(name);
+        var position = positions.get(name);
+        if (position == null) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "unknown place-holder name: {0}",
+                    name));
+        }
+        return position;
+    }
+
+    /**
+     * Returns the name of the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @return the place-holder name
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public String getName(int index) {
+        Objects.checkIndex(index, names.length);
+        return names[index];
+    }
+
+    /**
+     * Sets {@code NULL} to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setNull(int index) {
+        prepare(index).clearValue();
+        return this;
+    }
+
+    /**
+     * Sets a {@code BOOLEAN} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setBoolean(int index, boolean value) {
+        prepare(index).setBooleanValue(value);
+        return this;
+    }
+
+    /**
+     * Sets an {@code INT4} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setInt(int index, int value) {
+        prepare(index).setInt4Value(value);
+        return this;
+    }
+
+    /**
+     * Sets an {@code INT8} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setLong(int index, long value) {
+        prepare(index).setInt8Value(value);
+        return this;
+    }
+
+    /**
+     * Sets a {@code FLOAT4} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setFloat(int index, float value) {
+        prepare(index).setFloat4Value(value);
+        return this;
+    }
+
+    /**
+     * Sets a {@code FLOAT8} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDouble(int index, double value) {
+        prepare(index).setFloat8Value(value);
+        return this;
+    }
+
+    /**
+     * Sets a {@code DECIMAL} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDecimal(int index, @Nonnull BigDecimal value) {
+        Objects.requireNonNull(value);
+        prepare(index).setDecimalValue(SqlCommon.Decimal.newBuilder()
+                .setUnscaledValue(ByteString.copyFrom(value.unscaledValue().toByteArray()))
+                .setExponent(-value.scale()));
+        return this;
+    }
+
+    /**
+     * Sets a {@code DECIMAL} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param unscaledValue the unscaled value
+     * @param scale the scale
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDecimal(int index, long unscaledValue, int scale) {
+        prepare(index).setDecimalValue(SqlCommon.Decimal.newBuilder()
+                .setUnscaledValue(toByteString(unscaledValue))
+                .setExponent(-scale));
+        return this;
+    }
+
+    /**
+     * Sets a {@code DECIMAL} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDecimal(int index, @Nonnull DecimalBuffer value) {
+        Objects.requireNonNull(value);
+        return setDecimal(index, value.getUnscaledValue(), value.getScale());
+    }
+
+    /**
+     * Sets a {@code CHARACTER} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setString(int index, @Nonnull String value) {
+        Objects.requireNonNull(value);
+        prepare(index).setCharacterValue(value);
+        return this;
+    }
+
+    /**
+     * Sets an {@code OCTET} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setBytes(int index, @Nonnull byte[] value) {
+        Objects.requireNonNull(value);
+        prepare(index).setOctetValue(ByteString.copyFrom(value));
+        return this;
+    }
+
+    /**
+     * Sets an {@code OCTET} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setBytes(int index, @Nonnull ByteString value) {
+        Objects.requireNonNull(value);
+        prepare(index).setOctetValue(value);
+        return this;
+    }
+
+    /**
+     * Sets a {@code DATE} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDate(int index, @Nonnull LocalDate value) {
+        Objects.requireNonNull(value);
+        return setDate(index, value.toEpochDay());
+    }
+
+    /**
+     * Sets a {@code DATE} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param epochDay the number of days from the epoch
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setDate(int index, long epochDay) {
+        prepare(index).setDateValue(epochDay);
+        return this;
+    }
+
+    /**
+     * Sets a {@code TIME_OF_DAY} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setTime(int index, @Nonnull LocalTime value) {
+        Objects.requireNonNull(value);
+        prepare(index).setTimeOfDayValue(value.toNanoOfDay());
+        return this;
+    }
+
+    /**
+     * Sets a {@code TIME_POINT} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setTimestamp(int index, @Nonnull LocalDateTime value) {
+        Objects.requireNonNull(value);
+        prepare(index).setTimePointValue(SqlCommon.TimePoint.newBuilder()
+                .setOffsetSeconds(value.toEpochSecond(ZoneOffset.UTC))
+                .setNanoAdjustment(value.getNano()));
+        return this;
+    }
+
+    /**
+     * Sets a {@code TIME_OF_DAY_WITH_TIME_ZONE} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setTimeWithTimeZone(int index, @Nonnull OffsetTime value) {
+        Objects.requireNonNull(value);
+        prepare(index).setTimeOfDayWithTimeZoneValue(SqlCommon.TimeOfDayWithTimeZone.newBuilder()
+                .setOffsetNanoseconds(value.toLocalTime().toNanoOfDay())
+                .setTimeZoneOffset(value.getOffset().getTotalSeconds() / 60));
+        return this;
+    }
+
+    /**
+     * Sets a {@code TIME_POINT_WITH_TIME_ZONE} value to the place-holder.
+     * @param index the position of the place-holder (0-origin)
+     * @param value the value
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ParameterBinder setTimestampWithTimeZone(int index, @Nonnull OffsetDateTime value) {
+        Objects.requireNonNull(value);
+        var local = value.toLocalDateTime();
+        prepare(index).setTimePointWithTimeZoneValue(SqlCommon.TimePointWithTimeZone.newBuilder()
+                .setOffsetSeconds(local.toEpochSecond(ZoneOffset.UTC))
+                .setNanoAdjustment(local.getNano())
+                .setTimeZoneOffset(value.getOffset().getTotalSeconds() / 60));
+        return this;
+    }
+
+    /**
+     * Sets a parameter to the place-holder.
+     * <p>
+     * This is useful for the parameters which do not have the dedicated setters,
+     * like {@link Parameters#blobOf(String, java.nio.file.Path) BLOB}.
+     * The name of the given parameter is ignored.
+     * </p>
+     * @param index the position of the place-holder (0-origin)
+     * @param parameter the parameter
+     * @return this
+     * @throws IndexOutOfBoundsException if the position is out of range
+     * @see Parameters
+     */
+    public ParameterBinder set(int index, @Nonnull SqlRequest.Parameter parameter) {
+        Objects.requireNonNull(parameter);
+        prepare(index).clear()
+                .mergeFrom(parameter)
+                .setName(names[index]);
+        return this;
+    }
+
+    /**
+     * Clears the current parameters.
+     * <p>
+     * This does not clear the {@link #addBatch() batch}.
+     * </p>
+     * @return this
+     */
+    public ParameterBinder clearParameters() {
+        for (int i = 0; i < names.length; i++) {
+            builders[i].clearValue();
+            built[i] = null;
+            bound[i] = false;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the current parameters.
+     * @return the current parameters, in order of the place-holders
+     * @throws IllegalStateException if some place-holders are not bound
+     */
+    public List<SqlRequest.Parameter> toParameters() {
+        var results = new SqlRequest.Parameter[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (!bound[i]) {
+                throw new IllegalStateException(MessageFormat.format(
+                        "place-holder is not bound: {0}",
+                        names[i]));
+            }
+            var parameter = built[i];
+            if (parameter == null) {
+                parameter = builders[i].build();
+                built[i] = parameter;
+            }
+            results[i] = parameter;
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Adds the current parameters to the batch.
+     * <p>
+     * The current parameters are kept, so that the next parameter set only needs to set the changed values.
+     * </p>
+     * @return this
+     * @throws IllegalStateException if some place-holders are not bound
+     * @see #getBatch()
+     */
+    public ParameterBinder addBatch() {
+        batch.add(toParameters());
+        return this;
+    }
+
+    /**
+     * Returns the parameter sets in the batch.
+     * @return the parameter table, in order of {@link #addBatch()}
+     */
+    public List<List<SqlRequest.Parameter>> getBatch() {
+        return Collections.unmodifiableList(batch);
+    }
+
+    /**
+     * Clears the batch.
+     * @return this
+     */
+    public ParameterBinder clearBatch() {
+        batch.clear();
+        return this;
+    }
+
+    private SqlRequest.Parameter.Builder prepare(int index) {
+        Objects.checkIndex(index, names.length);
+        built[index] = null;
+        bound[index] = true;
+        return builders[index];
+    }
+
+    private static ByteString toByteString(long value) {
+        // minimal two's complement representation in big endian, as same as BigInteger.toByteArray()
+        int size = 8;
+        while (size > 1) {
+            long top = value >> ((size - 1) * 8 - 1);
+            if (top != 0 && top != -1) {
+                break;
+            }
+            size--;
+        }
+        var bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (value >> ((size - i - 1) * 8));
+        }
+        return ByteString.copyFrom(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ParameterBinder [names=%s, batch=%s]", //$NON-NLS-1$
+                Arrays.toString(names),
+                batch.size());
+    }
+}
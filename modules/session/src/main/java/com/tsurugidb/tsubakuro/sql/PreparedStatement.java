@@ -26,4 +26,14 @@ public interface PreparedStatement extends ServerResourceNeedingDisposal {
      * @return true if executing this statement returns ResultRecords
      */
     boolean hasResultRecords();
+
+    /**
+     * Returns a new parameter binder for the place-holders of this statement.
+     * @return the created binder
+     * @throws UnsupportedOperationException if the place-holders of this statement are not available
+     * @since 1.17.0
+     */
+    default ParameterBinder newParameterBinder() {
+        throw new UnsupportedOperationException();
+    }
 }
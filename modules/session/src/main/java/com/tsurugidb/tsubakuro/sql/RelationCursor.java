@@ -22,11 +22,16 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.time.OffsetTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.sql.io.DateTimeInterval;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
+import com.tsurugidb.tsubakuro.sql.io.TimePointBuffer;
 import com.tsurugidb.tsubakuro.util.ServerResource;
 
 /**
@@ -63,6 +68,28 @@ public interface RelationCursor extends ServerResource {
      */
     boolean nextColumn() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Declares the columns of interest in the following top-level rows.
+     * <p>
+     * After this operation, {@link #nextColumn()} on the top-level rows only stops at the declared columns
+     * (in the order of their column index), and discards the other columns without decoding their values.
+     * This does not affect elements in {@link #beginRowValue() row values} or
+     * {@link #beginArrayValue() array values}.
+     * </p>
+     * <p>
+     * This takes effect from the next {@link #nextColumn()} invocation.
+     * Calling this with {@code null} restores the default behavior, which retrieves all columns.
+     * </p>
+     * @param columnIndices the 0-origin indices of the columns to retrieve, or {@code null} to retrieve all columns
+     * @throws IllegalArgumentException if the column indices contain negative values
+     * @throws UnsupportedOperationException if this cursor does not support column projection
+     *
+     * @since 1.17.0
+     */
+    default void setProjection(@Nullable int... columnIndices) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns whether or not the column on this cursor is {@code NULL}.
      * @return {@code true} if the column is {@code NULL}, or {@code false} otherwise
@@ -166,6 +193,32 @@ public interface RelationCursor extends ServerResource {
      */
     BigDecimal fetchDecimalValue() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Retrieves a {@code DECIMAL} value on the column of the cursor position into the buffer.
+     * <p>
+     * You can only take once to retrieve the value on the column.
+     * </p>
+     * <p>
+     * This never creates {@link BigDecimal} objects if the unscaled value fits in {@code long}.
+     * </p>
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IllegalStateException if the value has been already fetched
+     * @throws IllegalStateException if this cursor does not point to any columns
+     * @throws IOException if I/O error was occurred while extracting the column data
+     * @throws IOException if the value type is not matched
+     * @throws ServerException if server error was occurred while retrieving this relation
+     * @throws InterruptedException if interrupted while extracting the column data
+     * @throws ArithmeticException if the unscaled value does not fit in {@code long}
+     * @see com.tsurugidb.sql.proto.SqlCommon.AtomType#DECIMAL
+     *
+     * @since 1.17.0
+     */
+    default DecimalBuffer fetchDecimalValue(@Nonnull DecimalBuffer buffer)
+            throws IOException, ServerException, InterruptedException {
+        return buffer.set(fetchDecimalValue());
+    }
+
     /**
      * Retrieves a {@code CHARACTER} value on the column of the cursor position.
      * <p>
@@ -230,6 +283,26 @@ public interface RelationCursor extends ServerResource {
      */
     LocalDate fetchDateValue() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Retrieves a {@code DATE} value on the column of the cursor position as the number of days from the epoch.
+     * <p>
+     * You can only take once to retrieve the value on the column.
+     * </p>
+     * @return the epoch day
+     * @throws IllegalStateException if the value has been already fetched
+     * @throws IllegalStateException if this cursor does not point to any columns
+     * @throws IOException if I/O error was occurred while extracting the column data
+     * @throws IOException if the value type is not matched
+     * @throws ServerException if server error was occurred while retrieving this relation
+     * @throws InterruptedException if interrupted while extracting the column data
+     * @see com.tsurugidb.sql.proto.SqlCommon.AtomType#DATE
+     *
+     * @since 1.17.0
+     */
+    default long fetchDateValueAsEpochDay() throws IOException, ServerException, InterruptedException {
+        return fetchDateValue().toEpochDay();
+    }
+
     /**
      * Retrieves a {@code TIME_OF_DAY} value on the column of the cursor position.
      * <p>
@@ -246,6 +319,26 @@ public interface RelationCursor extends ServerResource {
      */
     LocalTime fetchTimeOfDayValue() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Retrieves a {@code TIME_OF_DAY} value on the column of the cursor position as the number of nano-seconds of day.
+     * <p>
+     * You can only take once to retrieve the value on the column.
+     * </p>
+     * @return the nano of day
+     * @throws IllegalStateException if the value has been already fetched
+     * @throws IllegalStateException if this cursor does not point to any columns
+     * @throws IOException if I/O error was occurred while extracting the column data
+     * @throws IOException if the value type is not matched
+     * @throws ServerException if server error was occurred while retrieving this relation
+     * @throws InterruptedException if interrupted while extracting the column data
+     * @see com.tsurugidb.sql.proto.SqlCommon.AtomType#TIME_OF_DAY
+     *
+     * @since 1.17.0
+     */
+    default long fetchTimeOfDayValueAsNanoOfDay() throws IOException, ServerException, InterruptedException {
+        return fetchTimeOfDayValue().toNanoOfDay();
+    }
+
     /**
      * Retrieves a {@code TIME_POINT} value on the column of the cursor position.
      * <p>
@@ -265,6 +358,29 @@ public interface RelationCursor extends ServerResource {
      */
     LocalDateTime fetchTimePointValue() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Retrieves a {@code TIME_POINT} value on the column of the cursor position into the buffer.
+     * <p>
+     * You can only take once to retrieve the value on the column.
+     * </p>
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IllegalStateException if the value has been already fetched
+     * @throws IllegalStateException if this cursor does not point to any columns
+     * @throws IOException if I/O error was occurred while extracting the column data
+     * @throws IOException if the value type is not matched
+     * @throws ServerException if server error was occurred while retrieving this relation
+     * @throws InterruptedException if interrupted while extracting the column data
+     * @see com.tsurugidb.sql.proto.SqlCommon.AtomType#TIME_POINT
+     *
+     * @since 1.17.0
+     */
+    default TimePointBuffer fetchTimePointValue(@Nonnull TimePointBuffer buffer)
+            throws IOException, ServerException, InterruptedException {
+        var value = fetchTimePointValue();
+        return buffer.set(value.toEpochSecond(ZoneOffset.UTC), value.getNano(), 0);
+    }
+
     /**
      * Retrieves a {@code TIME_OF_DAY_WITH_TIME_ZONE} value on the column of the cursor position.
      * <p>
@@ -300,6 +416,32 @@ public interface RelationCursor extends ServerResource {
      */
     OffsetDateTime fetchTimePointWithTimeZoneValue() throws IOException, ServerException, InterruptedException;
 
+    /**
+     * Retrieves a {@code TIME_POINT_WITH_TIME_ZONE} value on the column of the cursor position into the buffer.
+     * <p>
+     * You can only take once to retrieve the value on the column.
+     * </p>
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IllegalStateException if the value has been already fetched
+     * @throws IllegalStateException if this cursor does not point to any columns
+     * @throws IOException if I/O error was occurred while extracting the column data
+     * @throws IOException if the value type is not matched
+     * @throws ServerException if server error was occurred while retrieving this relation
+     * @throws InterruptedException if interrupted while extracting the column data
+     * @see com.tsurugidb.sql.proto.SqlCommon.AtomType#TIME_POINT_WITH_TIME_ZONE
+     *
+     * @since 1.17.0
+     */
+    default TimePointBuffer fetchTimePointWithTimeZoneValue(@Nonnull TimePointBuffer buffer)
+            throws IOException, ServerException, InterruptedException {
+        var value = fetchTimePointWithTimeZoneValue();
+        return buffer.set(
+                value.toLocalDateTime().toEpochSecond(ZoneOffset.UTC),
+                value.getNano(),
+                value.getOffset().getTotalSeconds() / 60);
+    }
+
     /**
      * Retrieves a {@code DATETIME_INTERVAL} value on the column of the cursor position.
      * <p>
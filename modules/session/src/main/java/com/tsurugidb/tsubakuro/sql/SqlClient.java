@@ -29,6 +29,7 @@ import com.tsurugidb.tsubakuro.client.ServiceMessageVersion;
 import com.tsurugidb.tsubakuro.common.Session;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.sql.impl.SqlClientImpl;
+import com.tsurugidb.tsubakuro.sql.util.TransactionRunner;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
 import com.tsurugidb.tsubakuro.util.ServerResource;
 
@@ -229,6 +230,16 @@ public interface SqlClient extends ServerResource, ServiceClient {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns a new transaction runner, which retries transactions aborted by conflicts.
+     * @return the created runner
+     * @see TransactionRunner
+     * @since 1.17.0
+     */
+    default TransactionRunner newTransactionRunner() {
+        return new TransactionRunner(this);
+    }
+
     /**
      * Disposes the underlying server resources.
      * Note that, this never closes the underlying {@link Session}.
@@ -27,6 +27,7 @@ import javax.annotation.Nonnull;
 
 import com.tsurugidb.sql.proto.SqlRequest;
 import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.util.StatementPipeline;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
 import com.tsurugidb.tsubakuro.util.ServerResourceNeedingDisposal;
 
@@ -79,6 +80,25 @@ public interface Transaction extends ServerResourceNeedingDisposal {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Executes a SQL statement with the current parameters of the binder.
+     * If the return value, describing future response of the action, is not gotten before the transaction close,
+     * the outcome of the invocation will be indefinite.
+     * @param statement the prepared statement to execute
+     * @param binder the binder which holds parameters for place-holders in the prepared statement
+     * @return a future response of the action
+     * @throws IOException if I/O error was occurred while sending request
+     * @throws IllegalStateException if some place-holders are not bound
+     * @since 1.17.0
+     */
+    default FutureResponse<ExecuteResult> executeStatement(
+            @Nonnull PreparedStatement statement,
+            @Nonnull ParameterBinder binder) throws IOException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(binder);
+        return executeStatement(statement, binder.toParameters());
+    }
+
     /**
      * Executes a SQL statement and retrieve its result.
      * No valid data can be obtained from a ResultSet that is gotton after the transaction close.
@@ -120,6 +140,24 @@ public interface Transaction extends ServerResourceNeedingDisposal {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Executes a SQL statement with the current parameters of the binder and retrieve its result.
+     * No valid data can be obtained from a ResultSet that is gotton after the transaction close.
+     * @param statement the prepared statement to execute
+     * @param binder the binder which holds parameters for place-holders in the prepared statement
+     * @return a future response of the result set
+     * @throws IOException if I/O error was occurred while sending request
+     * @throws IllegalStateException if some place-holders are not bound
+     * @since 1.17.0
+     */
+    default FutureResponse<ResultSet> executeQuery(
+            @Nonnull PreparedStatement statement,
+            @Nonnull ParameterBinder binder) throws IOException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(binder);
+        return executeQuery(statement, binder.toParameters());
+    }
+
     /**
      * <em>This method is not yet implemented:</em>
      * Executes a dump action.
@@ -162,6 +200,26 @@ public interface Transaction extends ServerResourceNeedingDisposal {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Executes a SQL statement with the parameter sets in the {@link ParameterBinder#getBatch() batch} of the binder.
+     * <p>
+     * This does not clear the batch of the binder.
+     * </p>
+     * @param statement the prepared statement to execute for each 1-D parameter set
+     * @param binder the binder which holds the parameter sets
+     * @return a future response of the action
+     * @throws IOException if I/O error was occurred while sending request, or the parameter table is too large
+     * @see #batch(PreparedStatement, Collection)
+     * @since 1.17.0
+     */
+    default FutureResponse<ExecuteResult> batch(
+            @Nonnull PreparedStatement statement,
+            @Nonnull ParameterBinder binder) throws IOException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(binder);
+        return batch(statement, binder.getBatch());
+    }
+
     /**
      * Executes a dump action.
      * <p>
@@ -260,6 +318,22 @@ public interface Transaction extends ServerResourceNeedingDisposal {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns a new pipeline which executes many independent statements in this transaction,
+     * with a bounded number of requests in flight.
+     * <p>
+     * Please {@link StatementPipeline#await() await} the pipeline before committing this transaction.
+     * </p>
+     * @param maxInFlight the maximum number of requests in flight
+     * @return the created pipeline
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+     * @see StatementPipeline
+     * @since 1.17.0
+     */
+    default StatementPipeline pipeline(int maxInFlight) {
+        return new StatementPipeline(this, maxInFlight);
+    }
+
     /**
      * Get the transaction status on the server.
      * @return the transaction status with message on the server side, which may have changed by the time this result is received
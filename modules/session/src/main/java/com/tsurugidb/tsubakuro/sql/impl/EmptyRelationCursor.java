@@ -46,6 +46,11 @@ public class EmptyRelationCursor implements RelationCursor {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setProjection(int... columnIndices) {
+        // do nothing
+    }
+
     @Override
     public boolean isNull() {
         throw new UnsupportedOperationException();
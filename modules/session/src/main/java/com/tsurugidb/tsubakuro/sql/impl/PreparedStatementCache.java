@@ -0,0 +1,432 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.impl;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.ParameterBinder;
+import com.tsurugidb.tsubakuro.sql.PreparedStatement;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+/**
+ * A size-bounded LRU cache of prepared statements, keyed by the SQL text and its place-holders.
+ * <p>
+ * Each {@link #prepare(SqlRequest.Prepare, Preparer) prepare} returns a lease of the cached statement,
+ * and {@link PreparedStatement#close() closing the lease} only releases its reference.
+ * The underlying statement is disposed asynchronously after it is evicted from the cache and
+ * all of its leases are released.
+ * </p>
+ * @see SqlClientImpl#SqlClientImpl(com.tsurugidb.tsubakuro.sql.SqlService, int)
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class PreparedStatementCache {
+
+    static final Logger LOG = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    /**
+     * Sends a {@code Prepare} request.
+     */
+    @FunctionalInterface
+    interface Preparer {
+
+        /**
+         * Sends the request.
+         * @param request the request
+         * @return the future response of the request
+         * @throws IOException if I/O error was occurred while sending the request
+         */
+        FutureResponse<PreparedStatement> send(@Nonnull SqlRequest.Prepare request) throws IOException;
+    }
+
+    private final int capacity;
+
+    @GuardedBy("this")
+    private final LinkedHashMap<Key, Entry> entries;
+
+    @GuardedBy("this")
+    private long hitCount;
+
+    @GuardedBy("this")
+    private long missCount;
+
+    @GuardedBy("this")
+    private long evictionCount;
+
+    @GuardedBy("this")
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     * @param capacity the maximum number of cached statements
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public PreparedStatementCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "prepared statement cache capacity must be positive: {0}",
+                    capacity));
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the maximum number of cached statements.
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of cached statements.
+     * @return the number of cached statements
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of {@code prepare} which reused a cached statement.
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of {@code prepare} which sent a {@code Prepare} request to the server.
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of statements evicted from the cache.
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of cache hits.
+     * @return the ratio of cache hits in {@code [0.0, 1.0]}, or {@code 0.0} if nothing was requested
+     */
+    public synchronized double getHitRate() {
+        long total = hitCount + missCount;
+        if (total == 0) {
+            return 0.0;
+        }
+        return (double) hitCount / total;
+    }
+
+    /**
+     * Returns a lease of the prepared statement for the request, or prepares it if it is not cached.
+     * @param request the {@code Prepare} request
+     * @param preparer sends the request if it is not cached
+     * @return the future response of the lease
+     * @throws IOException if I/O error was occurred while sending the request
+     */
+    FutureResponse<PreparedStatement> prepare(
+            @Nonnull SqlRequest.Prepare request,
+            @Nonnull Preparer preparer) throws IOException {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(preparer);
+        var key = new Key(request);
+        synchronized (this) {
+            if (!closed) {
+                var entry = entries.get(key);
+                if (entry != null) {
+                    hitCount++;
+                    return FutureResponse.returns(entry.lease());
+                }
+            }
+            missCount++;
+        }
+        return new Registration(key, preparer.send(request));
+    }
+
+    /**
+     * Evicts all statements, and disposes them after their leases are released.
+     */
+    public void clear() {
+        List<Entry> victims;
+        synchronized (this) {
+            victims = evict(0);
+        }
+        dispose(victims);
+    }
+
+    /**
+     * Evicts all statements and disables caching.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        clear();
+    }
+
+    private PreparedStatement register(Key key, PreparedStatement statement) {
+        if (!(statement instanceof PreparedStatementImpl)) {
+            return statement;
+        }
+        var entry = new Entry(key, (PreparedStatementImpl) statement);
+        PreparedStatement lease;
+        List<Entry> victims;
+        synchronized (this) {
+            if (closed || entries.containsKey(key)) {
+                // prepared concurrently, or the cache is already closed
+                return statement;
+            }
+            entries.put(key, entry);
+            lease = entry.lease();
+            victims = evict(capacity);
+        }
+        dispose(victims);
+        return lease;
+    }
+
+    @GuardedBy("this")
+    private List<Entry> evict(int limit) {
+        List<Entry> victims = new ArrayList<>();
+        for (Iterator<Entry> iter = entries.values().iterator(); iter.hasNext() && entries.size() > limit;) {
+            var entry = iter.next();
+            iter.remove();
+            evictionCount++;
+            if (entry.evict()) {
+                victims.add(entry);
+            }
+        }
+        return victims;
+    }
+
+    private static void dispose(List<Entry> victims) {
+        for (var entry : victims) {
+            entry.dispose();
+        }
+    }
+
+    private static final class Key {
+
+        private final String sql;
+
+        private final List<SqlRequest.Placeholder> placeholders;
+
+        Key(SqlRequest.Prepare request) {
+            this.sql = request.getSql();
+            this.placeholders = request.getPlaceholdersList();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, placeholders);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return sql.equals(other.sql) && placeholders.equals(other.placeholders);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+
+        private final PreparedStatementImpl statement;
+
+        @GuardedBy("this")
+        private int references;
+
+        @GuardedBy("this")
+        private boolean evicted;
+
+        Entry(Key key, PreparedStatementImpl statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        synchronized PreparedStatement lease() {
+            references++;
+            return new Lease(this);
+        }
+
+        /**
+         * Marks this entry as evicted.
+         * @return {@code true} if the statement should be disposed now
+         */
+        synchronized boolean evict() {
+            evicted = true;
+            return references == 0;
+        }
+
+        void release() {
+            boolean dispose;
+            synchronized (this) {
+                references--;
+                dispose = evicted && references == 0;
+            }
+            if (dispose) {
+                dispose();
+            }
+        }
+
+        void dispose() {
+            LOG.trace("disposing evicted prepared statement: {}", key.sql); //$NON-NLS-1$
+            try {
+                // asynchronously disposed if the statement has a disposer
+                statement.close();
+            } catch (IOException | ServerException e) {
+                LOG.warn("error occurred while disposing evicted prepared statement", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("interrupted while disposing evicted prepared statement", e);
+            }
+        }
+    }
+
+    /**
+     * A lease of cached prepared statement.
+     * <p>
+     * This is a subclass of {@link PreparedStatementImpl} so that it can be passed to the other operations,
+     * and {@link #close()} just releases the reference to the cached statement.
+     * </p>
+     */
+    private static final class Lease extends PreparedStatementImpl {
+
+        private final Entry entry;
+
+        @GuardedBy("this")
+        private boolean released;
+
+        Lease(Entry entry) {
+            super(entry.statement.handle, null, null, null, null);
+            this.entry = entry;
+        }
+
+        @Override
+        public ParameterBinder newParameterBinder() {
+            return entry.statement.newParameterBinder();
+        }
+
+        @Override
+        public synchronized SqlCommon.PreparedStatement getHandle() throws IOException {
+            if (released) {
+                throw new IOException("already closed");
+            }
+            return entry.statement.getHandle();
+        }
+
+        @Override
+        public void setCloseTimeout(long t, TimeUnit u) {
+            // the cached statement is disposed on eviction, instead of closing this lease
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            entry.release();
+        }
+
+        @Override
+        synchronized String diagnosticInfo() {
+            return "";
+        }
+    }
+
+    /**
+     * Registers the prepared statement into the cache when it is arrived.
+     */
+    private final class Registration implements FutureResponse<PreparedStatement> {
+
+        private final Key key;
+
+        private final FutureResponse<PreparedStatement> delegate;
+
+        @GuardedBy("this")
+        private PreparedStatement result;
+
+        Registration(Key key, FutureResponse<PreparedStatement> delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public synchronized PreparedStatement get() throws IOException, ServerException, InterruptedException {
+            if (result == null) {
+                result = register(key, delegate.get());
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized PreparedStatement get(long timeout, TimeUnit unit)
+                throws IOException, ServerException, InterruptedException, TimeoutException {
+            if (result == null) {
+                result = register(key, delegate.get(timeout, unit));
+            }
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException, ServerException, InterruptedException {
+            delegate.close();
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(delegate);
+        }
+    }
+}
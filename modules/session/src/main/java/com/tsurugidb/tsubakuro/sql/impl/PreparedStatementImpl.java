@@ -32,6 +32,7 @@ import com.tsurugidb.sql.proto.SqlRequest;
 import com.tsurugidb.tsubakuro.channel.common.connection.Disposer;
 import com.tsurugidb.tsubakuro.exception.ResponseTimeoutException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.ParameterBinder;
 import com.tsurugidb.tsubakuro.sql.PreparedStatement;
 import com.tsurugidb.tsubakuro.sql.SqlService;
 import com.tsurugidb.tsubakuro.util.FutureResponse;
@@ -100,6 +101,14 @@ public class PreparedStatementImpl implements PreparedStatement {
         return handle.getHasResultRecords();
     }
 
+    @Override
+    public ParameterBinder newParameterBinder() {
+        if (request == null) {
+            throw new UnsupportedOperationException("place-holders are not available for this statement");
+        }
+        return new ParameterBinder(request.getPlaceholdersList());
+    }
+
     /**
      * set timeout to close(), which won't timeout if this is not performed.
      * @param t time length until the close operation timeout
@@ -126,6 +135,13 @@ public class PreparedStatementImpl implements PreparedStatement {
         doClose();
     }
 
+    @Override
+    public synchronized void requestClose() throws IOException {
+        if (service != null && !closed && futureResponse == null) {
+            futureResponse = service.send(SqlRequest.DisposePreparedStatement.newBuilder().setPreparedStatementHandle(handle).build());
+        }
+    }
+
     private boolean doClose() throws IOException, ServerException, InterruptedException {
         if (service != null) {
             if (futureResponse == null) {
@@ -134,7 +150,7 @@ public class PreparedStatementImpl implements PreparedStatement {
             try {
                 futureResponse.get(VERY_SHORT_TIMEOUT, TimeUnit.MICROSECONDS);
             } catch (ResponseTimeoutException | TimeoutException e) {
-                var tillInstant = (timeout > 0 && unit != null) ? closeInvokedInstant.plusSeconds(unit.toSeconds(timeout)) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
+                var tillInstant = (timeout > 0 && unit != null) ? closeInvokedInstant.plusNanos(unit.toNanos(timeout)) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
                 if (Instant.now().isBefore(tillInstant)) {
                     return false;
                 }
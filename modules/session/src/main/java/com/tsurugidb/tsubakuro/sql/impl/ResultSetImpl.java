@@ -36,6 +36,9 @@ import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.Message;
 import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.impl.ChannelResponse;
+import com.tsurugidb.tsubakuro.exception.CoreServiceCode;
+import com.tsurugidb.tsubakuro.exception.CoreServiceException;
 import com.tsurugidb.tsubakuro.exception.ResponseTimeoutException;
 import com.tsurugidb.tsubakuro.exception.ServerException;
 import com.tsurugidb.tsubakuro.sql.BlobReference;
@@ -44,6 +47,8 @@ import com.tsurugidb.tsubakuro.sql.RelationCursor;
 import com.tsurugidb.tsubakuro.sql.ResultSet;
 import com.tsurugidb.tsubakuro.sql.ResultSetMetadata;
 import com.tsurugidb.tsubakuro.sql.io.DateTimeInterval;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
+import com.tsurugidb.tsubakuro.sql.io.TimePointBuffer;
 import com.tsurugidb.tsubakuro.util.Lang;
 import com.tsurugidb.tsubakuro.util.ServerResource;
 import com.tsurugidb.tsubakuro.util.Timeout;
@@ -76,6 +81,9 @@ public class ResultSetImpl implements ResultSet {
 
     private final AtomicBoolean closed = new AtomicBoolean();
 
+    // whether or not the cancel request was sent by requestClose() or close()
+    private boolean canceled = false;
+
     private final Message request;
 
     /**
@@ -178,6 +186,11 @@ public class ResultSetImpl implements ResultSet {
             }
     }
 
+    @Override
+    public synchronized void setProjection(@Nullable int... columnIndices) {
+        cursor.setProjection(columnIndices);
+    }
+
     @Override
     public synchronized boolean isNull() {
         return cursor.isNull();
@@ -249,6 +262,17 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized DecimalBuffer fetchDecimalValue(@Nonnull DecimalBuffer buffer) throws IOException, ServerException, InterruptedException {
+        checkResponse();
+        try {
+            return cursor.fetchDecimalValue(buffer);
+        } catch (IOException | ServerException e) {
+            checkResponse(e);
+            throw e;
+        }
+    }
+
     @Override
     public synchronized String fetchCharacterValue() throws IOException, ServerException, InterruptedException {
         checkResponse();
@@ -293,6 +317,17 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized long fetchDateValueAsEpochDay() throws IOException, ServerException, InterruptedException {
+        checkResponse();
+        try {
+            return cursor.fetchDateValueAsEpochDay();
+        } catch (IOException | ServerException e) {
+            checkResponse(e);
+            throw e;
+        }
+    }
+
     @Override
     public synchronized LocalTime fetchTimeOfDayValue() throws IOException, ServerException, InterruptedException {
         checkResponse();
@@ -304,6 +339,17 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized long fetchTimeOfDayValueAsNanoOfDay() throws IOException, ServerException, InterruptedException {
+        checkResponse();
+        try {
+            return cursor.fetchTimeOfDayValueAsNanoOfDay();
+        } catch (IOException | ServerException e) {
+            checkResponse(e);
+            throw e;
+        }
+    }
+
     @Override
     public synchronized LocalDateTime fetchTimePointValue() throws IOException, ServerException, InterruptedException {
         checkResponse();
@@ -315,6 +361,17 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized TimePointBuffer fetchTimePointValue(@Nonnull TimePointBuffer buffer) throws IOException, ServerException, InterruptedException {
+        checkResponse();
+        try {
+            return cursor.fetchTimePointValue(buffer);
+        } catch (IOException | ServerException e) {
+            checkResponse(e);
+            throw e;
+        }
+    }
+
 
     @Override
     public synchronized OffsetTime fetchTimeOfDayWithTimeZoneValue() throws IOException, ServerException, InterruptedException {
@@ -338,6 +395,17 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized TimePointBuffer fetchTimePointWithTimeZoneValue(@Nonnull TimePointBuffer buffer) throws IOException, ServerException, InterruptedException {
+        checkResponse();
+        try {
+            return cursor.fetchTimePointWithTimeZoneValue(buffer);
+        } catch (IOException | ServerException e) {
+            checkResponse(e);
+            throw e;
+        }
+    }
+
     @Override
     public synchronized DateTimeInterval fetchDateTimeIntervalValue() throws IOException, ServerException, InterruptedException {
         checkResponse();
@@ -453,10 +521,22 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    @Override
+    public synchronized void requestClose() {
+        if (!closed.get() && !tested.get() && !canceled) {
+            canceled = cancel();
+        }
+    }
+
     @Override
     public synchronized void close() throws ServerException, IOException, InterruptedException {
         if (!closed.getAndSet(true)) {
             try (response) {
+                // if the rest of records is no longer needed, ask the server to stop sending them
+                // instead of draining them from the result set channel
+                if (!canceled) {
+                    canceled = !tested.get() && cancel();
+                }
                 try {
                     cursor.close();
                 } catch (ServerException | IOException | InterruptedException e) {
@@ -466,7 +546,17 @@ public class ResultSetImpl implements ResultSet {
 
                 // check main response whether to finish the request normally
                 if (tested.compareAndSet(false, true)) {
-                    tester.test(response, timeout, unit);
+                    try {
+                        tester.test(response, timeout, unit);
+                    } catch (ChannelResponse.AlreadyCanceledException e) {
+                        if (!canceled) {
+                            throw e;
+                        }
+                    } catch (CoreServiceException e) {
+                        if (!canceled || e.getDiagnosticCode() != CoreServiceCode.OPERATION_CANCELED) {
+                            throw e;
+                        }
+                    }
                 }
             } catch (TimeoutException e) {
                 throw new ResponseTimeoutException(e);
@@ -480,6 +570,23 @@ public class ResultSetImpl implements ResultSet {
         }
     }
 
+    private boolean cancel() {
+        if (response.isMainResponseReady()) {
+            // the request has been already finished
+            return false;
+        }
+        try {
+            response.cancel();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            // the response does not support cancellation, then drains the rest of records
+            return false;
+        } catch (IOException e) {
+            LOG.warn("error occurred while canceling result set", e);
+            return false;
+        }
+    }
+
     // for diagnostic
     String diagnosticInfo() {
         if (!closed.get()) {
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -44,6 +45,8 @@ public class SqlClientImpl implements SqlClient {
 
     private final SqlService service;
 
+    private final PreparedStatementCache preparedStatementCache;
+
     /**
      * Attaches to the datastore service in the current session.
      * @param session the current session
@@ -56,6 +59,22 @@ public class SqlClientImpl implements SqlClient {
         return new SqlClientImpl(service);
     }
 
+    /**
+     * Attaches to the datastore service in the current session, with caching prepared statements.
+     * @param session the current session
+     * @param preparedStatementCacheSize the maximum number of cached prepared statements
+     * @return the datastore service client
+     * @throws IllegalArgumentException if the cache size is not positive
+     * @see #getPreparedStatementCache()
+     * @since 1.17.0
+     */
+    public static SqlClientImpl attach(@Nonnull Session session, int preparedStatementCacheSize) {
+        Objects.requireNonNull(session);
+        var service = new SqlServiceStub(session);
+        session.put(service);
+        return new SqlClientImpl(service, preparedStatementCacheSize);
+    }
+
     /**
      * Creates a new instance.
      * @param service the service stub
@@ -63,6 +82,35 @@ public class SqlClientImpl implements SqlClient {
     public SqlClientImpl(@Nonnull SqlService service) {
         Objects.requireNonNull(service);
         this.service = service;
+        this.preparedStatementCache = null;
+    }
+
+    /**
+     * Creates a new instance, which caches prepared statements.
+     * <p>
+     * {@link #prepare(String, Collection) Preparing} the same SQL text and place-holders returns the cached statement,
+     * and closing it just releases the reference.
+     * The least recently used statements are evicted if the cache is full, and then they are disposed
+     * after all references are released.
+     * </p>
+     * @param service the service stub
+     * @param preparedStatementCacheSize the maximum number of cached prepared statements
+     * @throws IllegalArgumentException if the cache size is not positive
+     * @since 1.17.0
+     */
+    public SqlClientImpl(@Nonnull SqlService service, int preparedStatementCacheSize) {
+        Objects.requireNonNull(service);
+        this.service = service;
+        this.preparedStatementCache = new PreparedStatementCache(preparedStatementCacheSize);
+    }
+
+    /**
+     * Returns the prepared statement cache of this client.
+     * @return the prepared statement cache, or empty if caching is disabled
+     * @since 1.17.0
+     */
+    public Optional<PreparedStatementCache> getPreparedStatementCache() {
+        return Optional.ofNullable(preparedStatementCache);
     }
 
     @Override
@@ -85,6 +133,9 @@ public class SqlClientImpl implements SqlClient {
                 .setSql(source)
                 .addAllPlaceholders(placeholders)
                 .build();
+        if (preparedStatementCache != null) {
+            return preparedStatementCache.prepare(resuest, service::send);
+        }
         return service.send(resuest);
     }
 
@@ -150,6 +201,9 @@ public class SqlClientImpl implements SqlClient {
     @Override
     public void close() throws ServerException, IOException, InterruptedException {
         // FIXME close underlying resources (e.g. ongoing transactions)
+        if (preparedStatementCache != null) {
+            preparedStatementCache.close();
+        }
         if (service != null) {
             service.close();
         }
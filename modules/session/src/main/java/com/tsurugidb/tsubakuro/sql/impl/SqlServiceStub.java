@@ -1275,6 +1275,16 @@ public class SqlServiceStub implements SqlService {
         resources.setCloseTimeout(timeout);
     }
 
+    @Override
+    public void requestClose() {
+        synchronized (futureResponses) {
+            futureResponses.requestClose();
+        }
+        synchronized (resources) {
+            resources.requestClose();
+        }
+    }
+
     @Override
     public void close() throws ServerException, IOException, InterruptedException {
         LOG.trace("closing underlying resources"); //$NON-NLS-1$
@@ -599,6 +599,22 @@ public class TransactionImpl implements Transaction {
         doClose();
     }
 
+    @Override
+    public synchronized void requestClose() throws IOException {
+        switch (state.get()) {
+        case INITIAL:
+            submitRollback();
+            submitDisposeRequest();
+            break;
+        case ROLLBACKED:
+            submitDisposeRequest();
+            break;
+        default:
+            // the commit is not finished yet, or the dispose request was already sent
+            break;
+        }
+    }
+
     private FutureResponse<Void> submitRollback() throws IOException {
         if (rollbackResult == null) {
             rollbackResult = service.send(SqlRequest.Rollback.newBuilder()
@@ -644,7 +660,7 @@ public class TransactionImpl implements Transaction {
                     needDispose = true;
                 }
             } catch (ResponseTimeoutException | TimeoutException e) {
-                var tillInstant = timeout != null ? closeInvokedInstant.plusSeconds(timeout.unit().toSeconds(timeout.value())) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
+                var tillInstant = timeout != null ? closeInvokedInstant.plusNanos(timeout.unit().toNanos(timeout.value())) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
                 if (Instant.now().isBefore(tillInstant)) {
                     return false;
                 }
@@ -668,7 +684,7 @@ public class TransactionImpl implements Transaction {
     }
 
     private boolean handleRollbackAndDisposeResults() throws IOException, ServerException, InterruptedException {
-        var tillInstant = timeout != null ? closeInvokedInstant.plusSeconds(timeout.unit().toSeconds(timeout.value())) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
+        var tillInstant = timeout != null ? closeInvokedInstant.plusNanos(timeout.unit().toNanos(timeout.value())) : closeInvokedInstant.plusSeconds(GIVE_UP_CLOSE_IN_SECONDS);
         if (rollbackResult != null) {
             try {
                 rollbackResult.get(VERY_SHORT_TIMEOUT, TimeUnit.MICROSECONDS);
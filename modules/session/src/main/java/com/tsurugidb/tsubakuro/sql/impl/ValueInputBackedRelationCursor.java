@@ -17,6 +17,7 @@ package com.tsurugidb.tsubakuro.sql.impl;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -29,14 +30,17 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.tsurugidb.tsubakuro.sql.BlobReference;
 import com.tsurugidb.tsubakuro.sql.ClobReference;
 import com.tsurugidb.tsubakuro.sql.RelationCursor;
 import com.tsurugidb.tsubakuro.sql.io.BrokenRelationException;
 import com.tsurugidb.tsubakuro.sql.io.DateTimeInterval;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
 import com.tsurugidb.tsubakuro.sql.io.EntryType;
 import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueInput;
+import com.tsurugidb.tsubakuro.sql.io.TimePointBuffer;
 import com.tsurugidb.tsubakuro.sql.io.ValueInput;
 
 /**
@@ -56,6 +60,8 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
 
     private EntryType currentColumnType = null;
 
+    private boolean[] projection = null;
+
     /**
      * Creates a new instance.
      * @param input the source input
@@ -119,7 +125,11 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
 
         // return false if all columns are consumed in this sequence
         assert !stack.isEmpty();
-        if (stack.getTop().rest == 0) {
+        var top = stack.getTop();
+        if (projection != null && top.kind == EntryKind.TOP_LEVEL_ROW) {
+            discardUnprojectedColumns(top);
+        }
+        if (top.rest == 0) {
             return false;
         }
 
@@ -139,6 +149,18 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         }
     }
 
+    private void discardUnprojectedColumns(Entry row) throws IOException, InterruptedException {
+        assert projection != null;
+        while (row.rest > 0) {
+            int index = row.size - row.rest;
+            if (index < projection.length && projection[index]) {
+                break;
+            }
+            forceDiscardCurrentEntry();
+            row.rest--;
+        }
+    }
+
     private void columnConsumed() {
         currentColumnType = null;
         var entry = stack.getTop();
@@ -146,6 +168,28 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         entry.rest--;
     }
 
+    @Override
+    public void setProjection(@Nullable int... columnIndices) {
+        if (columnIndices == null) {
+            projection = null;
+            return;
+        }
+        int size = 0;
+        for (int index : columnIndices) {
+            if (index < 0) {
+                throw new IllegalArgumentException(MessageFormat.format(
+                        "column index must not be negative: {0}",
+                        index));
+            }
+            size = Math.max(size, index + 1);
+        }
+        var results = new boolean[size];
+        for (int index : columnIndices) {
+            results[index] = true;
+        }
+        projection = results;
+    }
+
     @Override
     public boolean isNull() {
         var type = checkColumnPrepared();
@@ -210,6 +254,18 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         return value;
     }
 
+    @Override
+    public DecimalBuffer fetchDecimalValue(@Nonnull DecimalBuffer buffer) throws IOException, InterruptedException {
+        Objects.requireNonNull(buffer);
+        requireColumnType(DECIMAL_EXPECTED_TYPES);
+        try {
+            return input.readDecimal(buffer);
+        } finally {
+            // the entry was already consumed even if its coefficient does not fit into the buffer
+            columnConsumed();
+        }
+    }
+
     @Override
     public String fetchCharacterValue() throws IOException, InterruptedException {
         requireColumnType(EntryType.CHARACTER);
@@ -242,6 +298,14 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         return value;
     }
 
+    @Override
+    public long fetchDateValueAsEpochDay() throws IOException, InterruptedException {
+        requireColumnType(EntryType.DATE);
+        var value = input.readDateAsEpochDay();
+        columnConsumed();
+        return value;
+    }
+
     @Override
     public LocalTime fetchTimeOfDayValue() throws IOException, InterruptedException {
         requireColumnType(EntryType.TIME_OF_DAY);
@@ -250,6 +314,14 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         return value;
     }
 
+    @Override
+    public long fetchTimeOfDayValueAsNanoOfDay() throws IOException, InterruptedException {
+        requireColumnType(EntryType.TIME_OF_DAY);
+        var value = input.readTimeOfDayAsNanoOfDay();
+        columnConsumed();
+        return value;
+    }
+
     @Override
     public LocalDateTime fetchTimePointValue() throws IOException, InterruptedException {
         requireColumnType(EntryType.TIME_POINT);
@@ -258,6 +330,15 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         return value;
     }
 
+    @Override
+    public TimePointBuffer fetchTimePointValue(@Nonnull TimePointBuffer buffer) throws IOException, InterruptedException {
+        Objects.requireNonNull(buffer);
+        requireColumnType(EntryType.TIME_POINT);
+        var value = input.readTimePoint(buffer);
+        columnConsumed();
+        return value;
+    }
+
     @Override
     public OffsetTime fetchTimeOfDayWithTimeZoneValue() throws IOException, InterruptedException {
         requireColumnType(EntryType.TIME_OF_DAY_WITH_TIME_ZONE);
@@ -274,6 +355,16 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
         return value;
     }
 
+    @Override
+    public TimePointBuffer fetchTimePointWithTimeZoneValue(@Nonnull TimePointBuffer buffer)
+            throws IOException, InterruptedException {
+        Objects.requireNonNull(buffer);
+        requireColumnType(EntryType.TIME_POINT_WITH_TIME_ZONE);
+        var value = input.readTimePointWithTimeZone(buffer);
+        columnConsumed();
+        return value;
+    }
+
     @Override
     public DateTimeInterval fetchDateTimeIntervalValue() throws IOException, InterruptedException {
         requireColumnType(EntryType.DATETIME_INTERVAL);
@@ -383,6 +474,7 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
 
     private static final class Entry {
         EntryKind kind;
+        int size;
         int rest;
     }
 
@@ -412,6 +504,7 @@ public class ValueInputBackedRelationCursor implements RelationCursor {
             size++;
             Entry top = getTop();
             top.kind = kind;
+            top.size = rest;
             top.rest = rest;
         }
 
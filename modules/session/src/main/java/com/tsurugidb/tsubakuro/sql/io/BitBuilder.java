@@ -207,7 +207,7 @@ public final class BitBuilder {
         return Arrays.toString(build());
     }
 
-    private static int toByteSize(int bitSize) {
+    static int toByteSize(int bitSize) {
         return (bitSize + 7) / 8;
     }
 
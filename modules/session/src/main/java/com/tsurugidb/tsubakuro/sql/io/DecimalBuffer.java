@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.io;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A reusable holder of decimal values whose coefficient fits in {@code long}.
+ * <p>
+ * The value is represented as {@code unscaledValue * 10^-scale}, as same as {@link BigDecimal}.
+ * </p>
+ *
+ * @since 1.17.0
+ */
+@NotThreadSafe
+public final class DecimalBuffer {
+
+    private static final long[] TEN_POWERS = {
+            1L,
+            10L,
+            100L,
+            1_000L,
+            10_000L,
+            100_000L,
+            1_000_000L,
+            10_000_000L,
+            100_000_000L,
+            1_000_000_000L,
+            10_000_000_000L,
+            100_000_000_000L,
+            1_000_000_000_000L,
+            10_000_000_000_000L,
+            100_000_000_000_000L,
+            1_000_000_000_000_000L,
+            10_000_000_000_000_000L,
+            100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L,
+    };
+
+    private long unscaledValue;
+
+    private int scale;
+
+    /**
+     * Creates a new instance, which represents {@code 0}.
+     */
+    public DecimalBuffer() {
+        this.unscaledValue = 0;
+        this.scale = 0;
+    }
+
+    /**
+     * Sets the value.
+     * @param newUnscaledValue the unscaled value
+     * @param newScale the scale
+     * @return this
+     */
+    public DecimalBuffer set(long newUnscaledValue, int newScale) {
+        this.unscaledValue = newUnscaledValue;
+        this.scale = newScale;
+        return this;
+    }
+
+    /**
+     * Sets the value.
+     * @param value the value
+     * @return this
+     * @throws ArithmeticException if the unscaled value of the decimal does not fit in {@code long}
+     */
+    public DecimalBuffer set(@Nonnull BigDecimal value) {
+        Objects.requireNonNull(value);
+        return set(value.unscaledValue().longValueExact(), value.scale());
+    }
+
+    /**
+     * Returns the unscaled value.
+     * @return the unscaled value
+     * @see #getScale()
+     */
+    public long getUnscaledValue() {
+        return unscaledValue;
+    }
+
+    /**
+     * Returns the scale.
+     * @return the scale
+     * @see #getUnscaledValue()
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the unscaled value in the specified scale.
+     * <p>
+     * This is useful for retrieving values of {@code DECIMAL(p, s)} columns as fixed-point {@code long} values.
+     * </p>
+     * @param targetScale the target scale
+     * @return the unscaled value in the target scale
+     * @throws ArithmeticException if the value cannot be represented in the target scale without rounding,
+     *      or the result overflows
+     */
+    public long getUnscaledValue(int targetScale) {
+        if (targetScale == scale || unscaledValue == 0) {
+            return unscaledValue;
+        }
+        long diff = (long) targetScale - scale;
+        if (diff > 0) {
+            if (diff >= TEN_POWERS.length) {
+                throw new ArithmeticException("overflow");
+            }
+            return Math.multiplyExact(unscaledValue, TEN_POWERS[(int) diff]);
+        }
+        if (-diff >= TEN_POWERS.length) {
+            throw new ArithmeticException("rounding necessary");
+        }
+        long divisor = TEN_POWERS[(int) -diff];
+        if (unscaledValue % divisor != 0) {
+            throw new ArithmeticException("rounding necessary");
+        }
+        return unscaledValue / divisor;
+    }
+
+    /**
+     * Returns the value as {@link BigDecimal}.
+     * @return the value
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -255,43 +255,63 @@ public class StreamBackedValueInput implements ValueInput {
             readFloat8();
             return true;
         case DECIMAL:
-            readDecimal();
+            discardDecimal();
             return true;
 
+        // NOTE: skips variable length contents using their size, without materializing them
         case CHARACTER:
-            readCharacter();
+            require(EntryType.CHARACTER);
+            discardBytes(readCharacterSize());
             return true;
         case BIT:
-            readBit(bitBuilder);
+            require(EntryType.BIT);
+            discardBytes(BitBuilder.toByteSize(readBitSize()));
             return true;
         case OCTET:
-            readOctet(byteBuilder);
+            require(EntryType.OCTET);
+            discardBytes(readOctetSize());
             return true;
 
         case DATE:
-            readDate();
+            require(EntryType.DATE);
+            clearHeaderInfo();
+            discardVariants(1);
             return true;
         case TIME_OF_DAY:
-            readTimeOfDay();
+            require(EntryType.TIME_OF_DAY);
+            clearHeaderInfo();
+            discardVariants(1);
             return true;
         case TIME_POINT:
-            readTimePoint();
+            require(EntryType.TIME_POINT);
+            clearHeaderInfo();
+            discardVariants(2);
             return true;
         case TIME_OF_DAY_WITH_TIME_ZONE:
-            readTimeOfDayWithTimeZone();
+            require(EntryType.TIME_OF_DAY_WITH_TIME_ZONE);
+            clearHeaderInfo();
+            discardVariants(2);
             return true;
         case TIME_POINT_WITH_TIME_ZONE:
-            readTimePointWithTimeZone();
+            require(EntryType.TIME_POINT_WITH_TIME_ZONE);
+            clearHeaderInfo();
+            discardVariants(3);
             return true;
         case DATETIME_INTERVAL:
-            readDateTimeInterval();
+            require(EntryType.DATETIME_INTERVAL);
+            clearHeaderInfo();
+            discardVariants(4);
             return true;
 
         case BLOB:
-            readBlob();
+            require(EntryType.BLOB);
+            clearHeaderInfo();
+            discardBytes(Long.BYTES * 3);
             return true;
         case CLOB:
-            readClob();
+            require(EntryType.CLOB);
+            clearHeaderInfo();
+            discardBytes(Long.BYTES * 3);
             return true;
 
         case ROW: {
@@ -398,6 +418,75 @@ public class StreamBackedValueInput implements ValueInput {
         return new BigDecimal(coefficient, -exponent);
     }
 
+    @Override
+    public DecimalBuffer readDecimal(@Nonnull DecimalBuffer buffer) throws IOException {
+        Objects.requireNonNull(buffer);
+        var type = require(EntryType.DECIMAL, EntryType.INT);
+        if (type == EntryType.INT) {
+            return buffer.set(readIntBody(), 0);
+        }
+
+        int category = currentHeaderCategory;
+        clearHeaderInfo();
+
+        if (category == HEADER_DECIMAL_COMPACT) {
+            int exponent = readSignedInt32();
+            long coefficient = Base128Variant.readSigned(input);
+            return buffer.set(coefficient, -exponent);
+        }
+
+        assert category == HEADER_DECIMAL;
+        int exponent = readSignedInt32();
+
+        int coefficientSize = readSize();
+        var buf = byteBuilder;
+        buf.setSize(coefficientSize, false);
+        readN(buf.getData(), 0, buf.getSize());
+        long coefficient = toLongExact(buf.getData(), buf.getSize());
+
+        return buffer.set(coefficient, -exponent);
+    }
+
+    private static long toLongExact(byte[] bytes, int size) {
+        if (size == 0) {
+            return 0;
+        }
+        // big-endian two's complement
+        byte sign = bytes[0] < 0 ? (byte) -1 : 0;
+        int start = Math.max(size - Long.BYTES, 0);
+        for (int i = 0; i < start; i++) {
+            if (bytes[i] != sign) {
+                throw new ArithmeticException("decimal coefficient out of long range");
+            }
+        }
+        if ((bytes[start] < 0) != (sign < 0)) {
+            throw new ArithmeticException("decimal coefficient out of long range");
+        }
+        long result = sign;
+        for (int i = start; i < size; i++) {
+            result = (result << 8) | (bytes[i] & 0xffL);
+        }
+        return result;
+    }
+
+    private void discardDecimal() throws IOException {
+        var type = require(EntryType.DECIMAL);
+        assert type == EntryType.DECIMAL;
+
+        int category = currentHeaderCategory;
+        clearHeaderInfo();
+
+        if (category == HEADER_DECIMAL_COMPACT) {
+            // scale, coefficient
+            discardVariants(2);
+            return;
+        }
+        assert category == HEADER_DECIMAL;
+        // exponent
+        discardVariants(1);
+        discardBytes(readSize());
+    }
+
     @Override
     public String readCharacter() throws IOException {
         require(EntryType.CHARACTER);
@@ -495,6 +584,13 @@ public class StreamBackedValueInput implements ValueInput {
         return LocalDate.ofEpochDay(offset);
     }
 
+    @Override
+    public long readDateAsEpochDay() throws IOException {
+        require(EntryType.DATE);
+        clearHeaderInfo();
+        return Base128Variant.readSigned(input);
+    }
+
     @Override
     public LocalTime readTimeOfDay() throws IOException {
         require(EntryType.TIME_OF_DAY);
@@ -503,6 +599,13 @@ public class StreamBackedValueInput implements ValueInput {
         return LocalTime.ofNanoOfDay(offset);
     }
 
+    @Override
+    public long readTimeOfDayAsNanoOfDay() throws IOException {
+        require(EntryType.TIME_OF_DAY);
+        clearHeaderInfo();
+        return Base128Variant.readUnsigned(input);
+    }
+
     @Override
     public LocalDateTime readTimePoint() throws IOException {
         require(EntryType.TIME_POINT);
@@ -512,6 +615,16 @@ public class StreamBackedValueInput implements ValueInput {
         return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
     }
 
+    @Override
+    public TimePointBuffer readTimePoint(@Nonnull TimePointBuffer buffer) throws IOException {
+        Objects.requireNonNull(buffer);
+        require(EntryType.TIME_POINT);
+        clearHeaderInfo();
+        var seconds = Base128Variant.readSigned(input);
+        var nanos = (int) Base128Variant.readUnsigned(input);
+        return buffer.set(seconds, nanos, 0);
+    }
+
     @Override
     public OffsetTime readTimeOfDayWithTimeZone() throws IOException {
         require(EntryType.TIME_OF_DAY_WITH_TIME_ZONE);
@@ -531,6 +644,17 @@ public class StreamBackedValueInput implements ValueInput {
         return OffsetDateTime.of(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC), ZoneOffset.ofTotalSeconds(timeZoneOffsetInMinites * 60));
     }
 
+    @Override
+    public TimePointBuffer readTimePointWithTimeZone(@Nonnull TimePointBuffer buffer) throws IOException {
+        Objects.requireNonNull(buffer);
+        require(EntryType.TIME_POINT_WITH_TIME_ZONE);
+        clearHeaderInfo();
+        var seconds = Base128Variant.readSigned(input);
+        var nanos = (int) Base128Variant.readUnsigned(input);
+        var timeZoneOffsetInMinites = (int) Base128Variant.readSigned(input);
+        return buffer.set(seconds, nanos, timeZoneOffsetInMinites);
+    }
+
     @Override
     public DateTimeInterval readDateTimeInterval() throws IOException {
         require(EntryType.DATETIME_INTERVAL);
@@ -681,6 +805,28 @@ public class StreamBackedValueInput implements ValueInput {
         }
     }
 
+    private void discardBytes(int length) throws IOException {
+        long rest = length;
+        while (rest > 0) {
+            long skipped = input.skip(rest);
+            if (skipped > 0) {
+                rest -= skipped;
+                continue;
+            }
+            // InputStream.skip() may return 0 even if it does not reach EOF
+            if (input.read() < 0) {
+                throw BrokenEncodingException.sawUnexpectedEof();
+            }
+            rest--;
+        }
+    }
+
+    private void discardVariants(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            Base128Variant.readUnsigned(input);
+        }
+    }
+
     private int readSignedInt32() throws IOException {
         long value = Base128Variant.readSigned(input);
         if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
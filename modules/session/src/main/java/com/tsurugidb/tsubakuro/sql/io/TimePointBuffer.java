@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.io;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A reusable holder of time points, represented as the offset from the epoch.
+ * <p>
+ * The epoch second and nano adjustment are the same as the encoded representation, and
+ * {@link #toLocalDateTime()} and {@link #toOffsetDateTime()} restore the values
+ * {@link ValueInput#readTimePoint()} and {@link ValueInput#readTimePointWithTimeZone()} return, respectively.
+ * For {@code TIME_POINT} values, the time zone offset is always {@code 0}.
+ * </p>
+ *
+ * @since 1.17.0
+ */
+@NotThreadSafe
+public final class TimePointBuffer {
+
+    private long epochSecond;
+
+    private int nanoAdjustment;
+
+    private int timeZoneOffset;
+
+    /**
+     * Creates a new instance, which represents the epoch.
+     */
+    public TimePointBuffer() {
+        this.epochSecond = 0;
+        this.nanoAdjustment = 0;
+        this.timeZoneOffset = 0;
+    }
+
+    /**
+     * Sets the value.
+     * @param newEpochSecond the number of seconds from the epoch
+     * @param newNanoAdjustment the nano-seconds adjustment of the second, must be in {@code [0, 999_999_999]}
+     * @param newTimeZoneOffset the time zone offset in minutes
+     * @return this
+     */
+    public TimePointBuffer set(long newEpochSecond, int newNanoAdjustment, int newTimeZoneOffset) {
+        this.epochSecond = newEpochSecond;
+        this.nanoAdjustment = newNanoAdjustment;
+        this.timeZoneOffset = newTimeZoneOffset;
+        return this;
+    }
+
+    /**
+     * Returns the number of seconds from the epoch.
+     * @return the epoch second
+     */
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * Returns the nano-seconds adjustment of the {@link #getEpochSecond() epoch second}.
+     * @return the nano-seconds adjustment, in {@code [0, 999_999_999]}
+     */
+    public int getNanoAdjustment() {
+        return nanoAdjustment;
+    }
+
+    /**
+     * Returns the time zone offset.
+     * @return the time zone offset in minutes
+     */
+    public int getTimeZoneOffset() {
+        return timeZoneOffset;
+    }
+
+    /**
+     * Returns the value as {@link LocalDateTime}.
+     * @return the value, without time zone offset
+     */
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofEpochSecond(epochSecond, nanoAdjustment, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the value as {@link OffsetDateTime}.
+     * @return the value
+     */
+    public OffsetDateTime toOffsetDateTime() {
+        return OffsetDateTime.of(toLocalDateTime(), ZoneOffset.ofTotalSeconds(timeZoneOffset * 60));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TimePointBuffer [epochSecond=%s, nanoAdjustment=%s, timeZoneOffset=%s]",
+                epochSecond,
+                nanoAdjustment,
+                timeZoneOffset);
+    }
+}
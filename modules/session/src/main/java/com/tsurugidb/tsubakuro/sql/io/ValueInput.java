@@ -22,6 +22,7 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.time.OffsetTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 import javax.annotation.Nonnull;
 
@@ -110,6 +111,26 @@ public interface ValueInput extends AutoCloseable {
      */
     BigDecimal readDecimal() throws IOException, InterruptedException;
 
+    /**
+     * Reads the next {@link EntryType#DECIMAL} entry and put the contents to the buffer.
+     * You can read {@link EntryType#INT} entry using this method.
+     * <p>
+     * Note that, this consumes the entry even if its coefficient does not fit in {@code long}.
+     * </p>
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IOException if I/O error was occurred while reading the contents
+     * @throws InterruptedException if interrupted while reading the contents
+     * @throws IllegalStateException if the next entry is inconsistent value type
+     * @throws ArithmeticException if the coefficient of the decimal does not fit in {@code long}
+     * @see #peekType()
+     *
+     * @since 1.17.0
+     */
+    default DecimalBuffer readDecimal(@Nonnull DecimalBuffer buffer) throws IOException, InterruptedException {
+        return buffer.set(readDecimal());
+    }
+
     /**
      * Reads the next {@link EntryType#CHARACTER} entry.
      * @return the value
@@ -189,6 +210,21 @@ public interface ValueInput extends AutoCloseable {
      */
     LocalDate readDate() throws IOException, InterruptedException;
 
+    /**
+     * Reads the next {@link EntryType#DATE} entry as the number of days from the epoch.
+     * @return the epoch day
+     * @throws IOException if I/O error was occurred while reading the contents
+     * @throws InterruptedException if interrupted while reading the contents
+     * @throws IllegalStateException if the next entry is inconsistent value type
+     * @see #peekType()
+     * @see LocalDate#toEpochDay()
+     *
+     * @since 1.17.0
+     */
+    default long readDateAsEpochDay() throws IOException, InterruptedException {
+        return readDate().toEpochDay();
+    }
+
     /**
      * Reads the next {@link EntryType#TIME_OF_DAY} entry.
      * @return the value
@@ -199,6 +235,21 @@ public interface ValueInput extends AutoCloseable {
      */
     LocalTime readTimeOfDay() throws IOException, InterruptedException;
 
+    /**
+     * Reads the next {@link EntryType#TIME_OF_DAY} entry as the number of nano-seconds from the beginning of day.
+     * @return the nano of day
+     * @throws IOException if I/O error was occurred while reading the contents
+     * @throws InterruptedException if interrupted while reading the contents
+     * @throws IllegalStateException if the next entry is inconsistent value type
+     * @see #peekType()
+     * @see LocalTime#toNanoOfDay()
+     *
+     * @since 1.17.0
+     */
+    default long readTimeOfDayAsNanoOfDay() throws IOException, InterruptedException {
+        return readTimeOfDay().toNanoOfDay();
+    }
+
     /**
      * Reads the next {@link EntryType#TIME_POINT} entry.
      * @return the value
@@ -210,6 +261,22 @@ public interface ValueInput extends AutoCloseable {
     LocalDateTime readTimePoint() throws IOException, InterruptedException;
 
 
+    /**
+     * Reads the next {@link EntryType#TIME_POINT} entry and put the contents to the buffer.
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IOException if I/O error was occurred while reading the contents
+     * @throws InterruptedException if interrupted while reading the contents
+     * @throws IllegalStateException if the next entry is inconsistent value type
+     * @see #peekType()
+     *
+     * @since 1.17.0
+     */
+    default TimePointBuffer readTimePoint(@Nonnull TimePointBuffer buffer) throws IOException, InterruptedException {
+        var value = readTimePoint();
+        return buffer.set(value.toEpochSecond(ZoneOffset.UTC), value.getNano(), 0);
+    }
+
         /**
      * Reads the next {@link EntryType#TIME_OF_DAY_WITH_TIME_ZONE} entry.
      * @return the value
@@ -230,6 +297,26 @@ public interface ValueInput extends AutoCloseable {
      */
     OffsetDateTime readTimePointWithTimeZone() throws IOException, InterruptedException;
 
+    /**
+     * Reads the next {@link EntryType#TIME_POINT_WITH_TIME_ZONE} entry and put the contents to the buffer.
+     * @param buffer the target buffer
+     * @return the passed buffer
+     * @throws IOException if I/O error was occurred while reading the contents
+     * @throws InterruptedException if interrupted while reading the contents
+     * @throws IllegalStateException if the next entry is inconsistent value type
+     * @see #peekType()
+     *
+     * @since 1.17.0
+     */
+    default TimePointBuffer readTimePointWithTimeZone(@Nonnull TimePointBuffer buffer)
+            throws IOException, InterruptedException {
+        var value = readTimePointWithTimeZone();
+        return buffer.set(
+                value.toLocalDateTime().toEpochSecond(ZoneOffset.UTC),
+                value.getNano(),
+                value.getOffset().getTotalSeconds() / 60);
+    }
+
     /**
      * Reads the next {@link EntryType#DATETIME_INTERVAL} entry.
      * @return the value
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import com.tsurugidb.tsubakuro.sql.CounterType;
+import com.tsurugidb.tsubakuro.sql.ExecuteResult;
+
+/**
+ * An {@link ExecuteResult} which sums up the counters of individual execution results.
+ */
+final class AccumulatedExecuteResult implements ExecuteResult {
+
+    private final Map<CounterType, Long> counters = new EnumMap<>(CounterType.class);
+
+    /**
+     * Adds the counters of the given result into this.
+     * @param result the result to add
+     */
+    synchronized void add(@Nonnull ExecuteResult result) {
+        Objects.requireNonNull(result);
+        for (var entry : result.getCounters().entrySet()) {
+            counters.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+    }
+
+    @Override
+    public synchronized Map<CounterType, Long> getCounters() {
+        return Collections.unmodifiableMap(new EnumMap<>(counters));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.valueOf(counters);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.CodedOutputStream;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.ExecuteResult;
+import com.tsurugidb.tsubakuro.sql.PreparedStatement;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+/**
+ * Executes a prepared statement for a large number of parameter sets.
+ * <p>
+ * This splits the parameter sets into chunks by their encoded size, and then submits each chunk as
+ * {@link Transaction#batch(PreparedStatement, Collection) a batch request}.
+ * The parameter sets are pulled from the source iterator only when they are needed,
+ * and at most {@link #maxInFlight(int) the specified number} of batch requests are in flight at the same time,
+ * so that the whole parameter table is never kept on the heap.
+ * </p>
+ * <pre>
+ * var result = new BatchExecutor(transaction, statement)
+ *         .maxChunkSize(1024 * 1024)
+ *         .maxInFlight(4)
+ *         .execute(parameterSets);
+ * </pre>
+ *
+ * @since 1.17.0
+ */
+public class BatchExecutor {
+
+    /**
+     * The default maximum encoded size of parameter sets in each batch request, in bytes.
+     */
+    public static final long DEFAULT_MAX_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * The default maximum number of batch requests in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    static final Logger LOG = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private static final int FIELD_NUMBER = 1;
+
+    private final Transaction transaction;
+
+    private final PreparedStatement statement;
+
+    private long maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+    /**
+     * Creates a new instance.
+     * @param transaction the transaction to execute the statement
+     * @param statement the prepared statement to execute for each parameter set
+     */
+    public BatchExecutor(@Nonnull Transaction transaction, @Nonnull PreparedStatement statement) {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(statement);
+        this.transaction = transaction;
+        this.statement = statement;
+    }
+
+    /**
+     * Sets the maximum encoded size of parameter sets in each batch request.
+     * <p>
+     * Each batch request contains at least one parameter set even if it exceeds the limit.
+     * </p>
+     * @param newValue the maximum size in bytes
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public BatchExecutor maxChunkSize(long newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max chunk size must be positive: {0}",
+                    newValue));
+        }
+        this.maxChunkSize = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batch requests in flight.
+     * @param newValue the maximum number of requests
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public BatchExecutor maxInFlight(int newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max in-flight requests must be positive: {0}",
+                    newValue));
+        }
+        this.maxInFlight = newValue;
+        return this;
+    }
+
+    /**
+     * Executes the statement for each parameter set.
+     * @param parameterTable the parameter sets
+     * @return the execution result, whose counters are the sum of individual batch requests
+     * @throws IOException if I/O error was occurred while sending requests
+     * @throws ServerException if error was occurred while executing the statement
+     * @throws InterruptedException if interrupted while waiting for the results
+     */
+    public ExecuteResult execute(
+            @Nonnull Iterable<? extends Collection<? extends SqlRequest.Parameter>> parameterTable)
+                    throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(parameterTable);
+        return execute(parameterTable.iterator());
+    }
+
+    /**
+     * Executes the statement for each parameter set.
+     * <p>
+     * If an error was occurred, the rest batch requests in flight are discarded, and the remaining parameter sets
+     * are not consumed.
+     * </p>
+     * @param parameterTable the parameter sets
+     * @return the execution result, whose counters are the sum of individual batch requests
+     * @throws IOException if I/O error was occurred while sending requests
+     * @throws ServerException if error was occurred while executing the statement
+     * @throws InterruptedException if interrupted while waiting for the results
+     */
+    public ExecuteResult execute(
+            @Nonnull Iterator<? extends Collection<? extends SqlRequest.Parameter>> parameterTable)
+                    throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(parameterTable);
+        var result = new AccumulatedExecuteResult();
+        var inFlight = new ArrayDeque<FutureResponse<ExecuteResult>>(maxInFlight);
+        boolean success = false;
+        try {
+            List<Collection<? extends SqlRequest.Parameter>> chunk = new ArrayList<>();
+            long chunkSize = 0;
+            long chunks = 0;
+            while (parameterTable.hasNext()) {
+                var parameterSet = parameterTable.next();
+                long size = estimateSize(parameterSet);
+                if (!chunk.isEmpty() && chunkSize + size > maxChunkSize) {
+                    submit(chunk, inFlight, result);
+                    chunks++;
+                    chunk = new ArrayList<>();
+                    chunkSize = 0;
+                }
+                chunk.add(parameterSet);
+                chunkSize += size;
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, inFlight, result);
+                chunks++;
+            }
+            while (!inFlight.isEmpty()) {
+                result.add(inFlight.removeFirst().await());
+            }
+            LOG.trace("batch execution was finished: chunks={}, result={}", chunks, result); //$NON-NLS-1$
+            success = true;
+        } finally {
+            if (!success) {
+                discard(inFlight);
+            }
+        }
+        return result;
+    }
+
+    private void submit(
+            List<Collection<? extends SqlRequest.Parameter>> chunk,
+            ArrayDeque<FutureResponse<ExecuteResult>> inFlight,
+            AccumulatedExecuteResult result) throws IOException, ServerException, InterruptedException {
+        while (inFlight.size() >= maxInFlight) {
+            result.add(inFlight.removeFirst().await());
+        }
+        inFlight.addLast(transaction.batch(statement, chunk));
+    }
+
+    private static void discard(ArrayDeque<FutureResponse<ExecuteResult>> inFlight) {
+        while (!inFlight.isEmpty()) {
+            var future = inFlight.removeFirst();
+            try {
+                future.close();
+            } catch (IOException | ServerException | InterruptedException e) {
+                LOG.debug("error occurred while discarding batch request", e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    static long estimateSize(@Nonnull Collection<? extends SqlRequest.Parameter> parameterSet) {
+        long size = 0;
+        for (var parameter : parameterSet) {
+            size += CodedOutputStream.computeMessageSize(FIELD_NUMBER, parameter);
+        }
+        // tag and length of the enclosing ParameterSet
+        return size + CodedOutputStream.computeTagSize(FIELD_NUMBER) + CodedOutputStream.computeUInt64SizeNoTag(size);
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.RelationCursor;
+import com.tsurugidb.tsubakuro.sql.ResultSet;
+import com.tsurugidb.tsubakuro.sql.io.DateTimeInterval;
+
+/**
+ * Exports the contents of {@link ResultSet} into CSV files on the client side.
+ * <p>
+ * Unlike {@code Transaction.executeDump()}, which writes files on the server side,
+ * this writes files on the local file system.
+ * The rows are decoded on the calling thread, and then they are formatted (and compressed) in
+ * the worker threads for each row batch.
+ * The formatted batches are written into the files in the original order,
+ * and the files are rolled over when their size exceeds the {@link #maxFileSize(long) limit}.
+ * </p>
+ * <p>
+ * The output files follow RFC 4180: fields are separated by commas, records are terminated by CRLF,
+ * and fields which contain special characters are double-quoted.
+ * {@code NULL} values are represented as empty fields, and empty values (e.g. empty strings) are represented as
+ * double-quoted empty fields ({@code ""}) to distinguish them from {@code NULL}.
+ * </p>
+ *
+ * @see #exportTo(Path)
+ * @since 1.17.0
+ */
+public class CsvExporter {
+
+    /**
+     * The default number of rows in each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The default maximum size of each output file in bytes.
+     */
+    public static final long DEFAULT_MAX_FILE_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The default file name prefix.
+     */
+    public static final String DEFAULT_FILE_PREFIX = "export"; //$NON-NLS-1$
+
+    static final Logger LOG = LoggerFactory.getLogger(CsvExporter.class);
+
+    private static final String FILE_NAME_FORMAT = "{0}-{1}{2}"; //$NON-NLS-1$
+
+    private static final String RECORD_SEPARATOR = "\r\n"; //$NON-NLS-1$
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+    private final Path destination;
+
+    private String filePrefix = DEFAULT_FILE_PREFIX;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private Compression compression = Compression.NONE;
+
+    private boolean header = true;
+
+    private ExecutorService executor = null;
+
+    /**
+     * Compression method of output files.
+     */
+    public enum Compression {
+
+        /**
+         * Not compressed.
+         */
+        NONE(".csv"), //$NON-NLS-1$
+
+        /**
+         * GZIP compressed.
+         * <p>
+         * Each batch is compressed as an individual GZIP member, and the output file is a concatenation of them.
+         * </p>
+         */
+        GZIP(".csv.gz"), //$NON-NLS-1$
+        ;
+
+        private final String fileSuffix;
+
+        Compression(String fileSuffix) {
+            this.fileSuffix = fileSuffix;
+        }
+
+        /**
+         * Returns the file name suffix.
+         * @return the file name suffix
+         */
+        public String getFileSuffix() {
+            return fileSuffix;
+        }
+    }
+
+    /**
+     * Creates a new instance.
+     * @param destination the destination directory
+     */
+    public CsvExporter(@Nonnull Path destination) {
+        Objects.requireNonNull(destination);
+        this.destination = destination;
+    }
+
+    /**
+     * Creates a new instance.
+     * @param destination the destination directory
+     * @return the created instance
+     */
+    public static CsvExporter exportTo(@Nonnull Path destination) {
+        Objects.requireNonNull(destination);
+        return new CsvExporter(destination);
+    }
+
+    /**
+     * Sets the output file name prefix.
+     * @param newValue the file name prefix
+     * @return this
+     */
+    public CsvExporter filePrefix(@Nonnull String newValue) {
+        Objects.requireNonNull(newValue);
+        this.filePrefix = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows in each batch, which is the unit of work in worker threads.
+     * @param newValue the number of rows
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public CsvExporter batchSize(int newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "batch size must be positive: {0}",
+                    newValue));
+        }
+        this.batchSize = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of each output file.
+     * <p>
+     * The output files are rolled over at the boundary of batches,
+     * so that each file may exceed the limit by at most one batch.
+     * </p>
+     * @param newValue the maximum file size in bytes
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public CsvExporter maxFileSize(long newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max file size must be positive: {0}",
+                    newValue));
+        }
+        this.maxFileSize = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     * <p>
+     * This also limits the number of batches in flight.
+     * If {@link #executor(ExecutorService) executor} is specified, this only limits the number of batches.
+     * </p>
+     * @param newValue the number of worker threads
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public CsvExporter parallelism(int newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "parallelism must be positive: {0}",
+                    newValue));
+        }
+        this.parallelism = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the compression method of output files.
+     * @param newValue the compression method
+     * @return this
+     */
+    public CsvExporter compression(@Nonnull Compression newValue) {
+        Objects.requireNonNull(newValue);
+        this.compression = newValue;
+        return this;
+    }
+
+    /**
+     * Sets whether or not each output file starts with the header record of column names.
+     * @param newValue {@code true} to write header records, otherwise {@code false}
+     * @return this
+     */
+    public CsvExporter header(boolean newValue) {
+        this.header = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the executor to format and compress batches.
+     * <p>
+     * The given executor will not be shut down by this object.
+     * If it is not specified, a thread pool will be created for each {@link #export(ResultSet) export}.
+     * </p>
+     * @param newValue the executor, or {@code null} to use a dedicated thread pool
+     * @return this
+     */
+    public CsvExporter executor(@Nullable ExecutorService newValue) {
+        this.executor = newValue;
+        return this;
+    }
+
+    /**
+     * Exports the rest rows of the given result set.
+     * <p>
+     * This does not close the given result set.
+     * </p>
+     * @param resultSet the source result set
+     * @return the written files, in order, or an empty list if there are no rows
+     * @throws IOException if I/O error was occurred while reading the result set or writing the files
+     * @throws ServerException if server error was occurred while reading the result set
+     * @throws InterruptedException if interrupted while exporting the result set
+     * @throws UnsupportedOperationException if the result set contains unsupported column types
+     */
+    public List<Path> export(@Nonnull ResultSet resultSet) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(resultSet);
+        var columns = resultSet.getMetadata().getColumns();
+        for (var column : columns) {
+            checkSupported(column);
+        }
+        Files.createDirectories(destination);
+        var headerRecord = header ? encode(List.of(headerRow(columns))) : null;
+
+        boolean shutdown = executor == null;
+        var workers = shutdown ? Executors.newFixedThreadPool(parallelism, new WorkerFactory()) : executor;
+        var output = new RollingOutput(headerRecord);
+        var inFlight = new ArrayDeque<Future<byte[]>>();
+        try {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            long rows = 0;
+            while (resultSet.nextRow()) {
+                var row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    if (!resultSet.nextColumn()) {
+                        throw new IllegalStateException(MessageFormat.format(
+                                "row #{0} is shorter than the metadata: {1}",
+                                rows,
+                                columns.size()));
+                    }
+                    row[i] = fetch(resultSet, columns.get(i).getAtomType());
+                }
+                batch.add(row);
+                rows++;
+                if (batch.size() >= batchSize) {
+                    var rest = batch;
+                    inFlight.addLast(workers.submit(() -> encode(rest)));
+                    batch = new ArrayList<>(batchSize);
+                    while (inFlight.size() > parallelism * 2) {
+                        output.write(await(inFlight.removeFirst()));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                var rest = batch;
+                inFlight.addLast(workers.submit(() -> encode(rest)));
+            }
+            while (!inFlight.isEmpty()) {
+                output.write(await(inFlight.removeFirst()));
+            }
+            LOG.trace("exported {} rows into {} files", rows, output.files.size()); //$NON-NLS-1$
+        } finally {
+            for (var future : inFlight) {
+                future.cancel(false);
+            }
+            if (shutdown) {
+                workers.shutdownNow();
+            }
+            output.close();
+        }
+        return output.files;
+    }
+
+    private static void checkSupported(SqlCommon.Column column) {
+        if (column.getDimension() == 0 && column.getTypeInfoCase() == SqlCommon.Column.TypeInfoCase.ATOM_TYPE) {
+            switch (column.getAtomType()) {
+            case BLOB:
+            case CLOB:
+                break;
+            default:
+                return;
+            }
+        }
+        throw new UnsupportedOperationException(MessageFormat.format(
+                "unsupported column type for CSV export: {0}",
+                column));
+    }
+
+    private static Object[] headerRow(List<? extends SqlCommon.Column> columns) {
+        var results = new Object[columns.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = columns.get(i).getName();
+        }
+        return results;
+    }
+
+    private static Object fetch(
+            RelationCursor cursor,
+            SqlCommon.AtomType type) throws IOException, ServerException, InterruptedException {
+        if (cursor.isNull()) {
+            return null;
+        }
+        switch (type) {
+        case BOOLEAN:
+            return cursor.fetchBooleanValue();
+        case INT4:
+            return cursor.fetchInt4Value();
+        case INT8:
+            return cursor.fetchInt8Value();
+        case FLOAT4:
+            return cursor.fetchFloat4Value();
+        case FLOAT8:
+            return cursor.fetchFloat8Value();
+        case DECIMAL:
+            return cursor.fetchDecimalValue();
+        case CHARACTER:
+            return cursor.fetchCharacterValue();
+        case OCTET:
+            return cursor.fetchOctetValue();
+        case BIT:
+            return cursor.fetchBitValue();
+        case DATE:
+            return cursor.fetchDateValue();
+        case TIME_OF_DAY:
+            return cursor.fetchTimeOfDayValue();
+        case TIME_POINT:
+            return cursor.fetchTimePointValue();
+        case TIME_OF_DAY_WITH_TIME_ZONE:
+            return cursor.fetchTimeOfDayWithTimeZoneValue();
+        case TIME_POINT_WITH_TIME_ZONE:
+            return cursor.fetchTimePointWithTimeZoneValue();
+        case DATETIME_INTERVAL:
+            return cursor.fetchDateTimeIntervalValue();
+        default:
+            throw new UnsupportedOperationException(MessageFormat.format(
+                    "unsupported column type for CSV export: {0}",
+                    type));
+        }
+    }
+
+    private byte[] encode(List<Object[]> rows) throws IOException {
+        var buffer = new ByteArrayOutputStream();
+        try (
+            OutputStream stream = compression == Compression.GZIP ? new GZIPOutputStream(buffer) : buffer;
+            var writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        ) {
+            var field = new StringBuilder();
+            for (var row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    if (row[i] == null) {
+                        continue;
+                    }
+                    field.setLength(0);
+                    format(field, row[i]);
+                    writeField(writer, field);
+                }
+                writer.write(RECORD_SEPARATOR);
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void format(StringBuilder buffer, @Nonnull Object value) {
+        if (value instanceof BigDecimal) {
+            buffer.append(((BigDecimal) value).toPlainString());
+        } else if (value instanceof byte[]) {
+            for (byte b : (byte[]) value) {
+                buffer.append(HEX_DIGITS[(b >> 4) & 0x0f]).append(HEX_DIGITS[b & 0x0f]);
+            }
+        } else if (value instanceof DateTimeInterval) {
+            // ISO-8601 duration format
+            var interval = (DateTimeInterval) value;
+            buffer.append('P')
+                    .append(interval.getYear()).append('Y')
+                    .append(interval.getMonth()).append('M')
+                    .append(interval.getDay()).append("DT") //$NON-NLS-1$
+                    .append(BigDecimal.valueOf(interval.getNanoseconds(), 9).stripTrailingZeros().toPlainString())
+                    .append('S');
+        } else if (value instanceof boolean[]) {
+            for (boolean b : (boolean[]) value) {
+                buffer.append(b ? '1' : '0');
+            }
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    private static void writeField(Writer writer, CharSequence field) throws IOException {
+        // empty values must be quoted, because unquoted empty fields represent NULL
+        boolean quote = field.length() == 0;
+        for (int i = 0, n = field.length(); i < n; i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            writer.append(field);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0, n = field.length(); i < n; i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private final class RollingOutput implements AutoCloseable {
+
+        final List<Path> files = new ArrayList<>();
+
+        private final byte[] headerRecord;
+
+        private OutputStream current;
+
+        private long written;
+
+        RollingOutput(@Nullable byte[] headerRecord) {
+            this.headerRecord = headerRecord;
+        }
+
+        void write(byte[] contents) throws IOException {
+            if (current != null && written >= maxFileSize) {
+                current.close();
+                current = null;
+            }
+            if (current == null) {
+                var file = destination.resolve(MessageFormat.format(
+                        FILE_NAME_FORMAT,
+                        filePrefix,
+                        String.valueOf(files.size()),
+                        compression.getFileSuffix()));
+                current = Files.newOutputStream(file);
+                files.add(file);
+                written = 0;
+                if (headerRecord != null) {
+                    current.write(headerRecord);
+                    written += headerRecord.length;
+                }
+            }
+            current.write(contents);
+            written += contents.length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            var thread = new Thread(r, "tsubakuro-csv-exporter-" + COUNTER.incrementAndGet()); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.tsubakuro.channel.common.connection.sql.ResultSetWire;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.RelationCursor;
+import com.tsurugidb.tsubakuro.sql.ResultSet;
+import com.tsurugidb.tsubakuro.sql.ResultSetMetadata;
+import com.tsurugidb.tsubakuro.sql.impl.ValueInputBackedRelationCursor;
+import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueInput;
+import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueOutput;
+
+/**
+ * A client side copy of the contents of {@link ResultSet}, which can be iterated many times.
+ * <p>
+ * This keeps the relation contents in the same encoding as {@link StreamBackedValueInput} reads.
+ * The contents are kept on the heap while they are smaller than the memory threshold,
+ * and are spilled into a temporary file otherwise.
+ * The spilled file is memory-mapped, and is removed when this object is {@link #close() closed}.
+ * </p>
+ * <p>
+ * Because all rows are copied when this object is created, the original result set can be closed immediately,
+ * even after the owner transaction was finished.
+ * </p>
+ *
+ * @since 1.17.0
+ */
+public final class MaterializedRelation implements AutoCloseable {
+
+    /**
+     * The default memory threshold in bytes.
+     */
+    public static final long DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+    static final Logger LOG = LoggerFactory.getLogger(MaterializedRelation.class);
+
+    private static final String TEMPORARY_FILE_PREFIX = "tsubakuro-relation-"; //$NON-NLS-1$
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".bin"; //$NON-NLS-1$
+
+    private final ResultSetMetadata metadata;
+
+    private final ByteBuffer[] contents;
+
+    private final long rowCount;
+
+    private final long size;
+
+    private final Path file;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private MaterializedRelation(
+            ResultSetMetadata metadata,
+            ByteBuffer[] contents,
+            long rowCount,
+            long size,
+            @Nullable Path file) {
+        this.metadata = metadata;
+        this.contents = contents;
+        this.rowCount = rowCount;
+        this.size = size;
+        this.file = file;
+    }
+
+    /**
+     * Copies the rest rows of the given result set, using the default memory threshold.
+     * <p>
+     * This does not close the given result set.
+     * </p>
+     * @param resultSet the source result set
+     * @return the materialized relation
+     * @throws IOException if I/O error was occurred while reading the result set or writing the temporary file
+     * @throws ServerException if server error was occurred while reading the result set
+     * @throws InterruptedException if interrupted while reading the result set
+     * @throws UnsupportedOperationException if the result set contains unsupported column types
+     * @see #DEFAULT_MEMORY_THRESHOLD
+     */
+    public static MaterializedRelation of(@Nonnull ResultSet resultSet)
+            throws IOException, ServerException, InterruptedException {
+        return of(resultSet, DEFAULT_MEMORY_THRESHOLD, null);
+    }
+
+    /**
+     * Copies the rest rows of the given result set.
+     * <p>
+     * This does not close the given result set.
+     * </p>
+     * @param resultSet the source result set
+     * @param memoryThreshold the maximum number of bytes to keep on the heap
+     * @param temporaryDirectory the directory to place the spilled file,
+     *      or {@code null} to use the default temporary directory
+     * @return the materialized relation
+     * @throws IOException if I/O error was occurred while reading the result set or writing the temporary file
+     * @throws ServerException if server error was occurred while reading the result set
+     * @throws InterruptedException if interrupted while reading the result set
+     * @throws UnsupportedOperationException if the result set contains unsupported column types
+     */
+    public static MaterializedRelation of(
+            @Nonnull ResultSet resultSet,
+            long memoryThreshold,
+            @Nullable Path temporaryDirectory) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(resultSet);
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "memory threshold must not be negative: {0}",
+                    memoryThreshold));
+        }
+        var metadata = resultSet.getMetadata();
+        var columns = metadata.getColumns();
+        var spill = new SpillOutputStream(memoryThreshold, temporaryDirectory);
+        boolean success = false;
+        try {
+            long rows = 0;
+            try (var output = new StreamBackedValueOutput(spill)) {
+                while (resultSet.nextRow()) {
+                    output.writeRowBegin(columns.size());
+                    for (var column : columns) {
+                        if (!resultSet.nextColumn()) {
+                            throw new IllegalStateException(MessageFormat.format(
+                                    "row #{0} is shorter than the metadata: {1}",
+                                    rows,
+                                    columns.size()));
+                        }
+                        copyValue(resultSet, column, column.getDimension(), output);
+                    }
+                    rows++;
+                }
+                output.writeEndOfContents();
+            }
+            var result = new MaterializedRelation(metadata, spill.toBuffers(), rows, spill.size, spill.path);
+            success = true;
+            return result;
+        } finally {
+            if (!success) {
+                spill.discard();
+            }
+        }
+    }
+
+    private static void copyValue(
+            RelationCursor cursor,
+            SqlCommon.Column column,
+            int dimension,
+            StreamBackedValueOutput output) throws IOException, ServerException, InterruptedException {
+        if (cursor.isNull()) {
+            output.writeNull();
+            return;
+        }
+        if (dimension > 0) {
+            int count = cursor.beginArrayValue();
+            output.writeArrayBegin(count);
+            for (int i = 0; i < count; i++) {
+                if (!cursor.nextColumn()) {
+                    throw new IllegalStateException("array value is shorter than its size");
+                }
+                copyValue(cursor, column, dimension - 1, output);
+            }
+            cursor.endArrayValue();
+            return;
+        }
+        switch (column.getTypeInfoCase()) {
+        case ATOM_TYPE:
+            copyAtom(cursor, column.getAtomType(), output);
+            return;
+        case ROW_TYPE: {
+            var elements = column.getRowType().getColumnsList();
+            int count = cursor.beginRowValue();
+            if (count != elements.size()) {
+                throw new IllegalStateException(MessageFormat.format(
+                        "inconsistent row value size: {0} (expected {1})",
+                        count,
+                        elements.size()));
+            }
+            output.writeRowBegin(count);
+            for (var element : elements) {
+                if (!cursor.nextColumn()) {
+                    throw new IllegalStateException("row value is shorter than its size");
+                }
+                copyValue(cursor, element, element.getDimension(), output);
+            }
+            cursor.endRowValue();
+            return;
+        }
+        default:
+            throw new UnsupportedOperationException(MessageFormat.format(
+                    "unsupported column type: {0}",
+                    column));
+        }
+    }
+
+    private static void copyAtom(
+            RelationCursor cursor,
+            SqlCommon.AtomType type,
+            StreamBackedValueOutput output) throws IOException, ServerException, InterruptedException {
+        switch (type) {
+        case BOOLEAN:
+            output.writeInt(cursor.fetchBooleanValue() ? 1 : 0);
+            break;
+        case INT4:
+            output.writeInt(cursor.fetchInt4Value());
+            break;
+        case INT8:
+            output.writeInt(cursor.fetchInt8Value());
+            break;
+        case FLOAT4:
+            output.writeFloat4(cursor.fetchFloat4Value());
+            break;
+        case FLOAT8:
+            output.writeFloat8(cursor.fetchFloat8Value());
+            break;
+        case DECIMAL:
+            output.writeDecimal(cursor.fetchDecimalValue());
+            break;
+        case CHARACTER:
+            output.writeCharacter(cursor.fetchCharacterValue());
+            break;
+        case OCTET:
+            output.writeOctet(cursor.fetchOctetValue());
+            break;
+        case BIT:
+            output.writeBit(cursor.fetchBitValue());
+            break;
+        case DATE:
+            output.writeDate(cursor.fetchDateValue());
+            break;
+        case TIME_OF_DAY:
+            output.writeTimeOfDay(cursor.fetchTimeOfDayValue());
+            break;
+        case TIME_POINT:
+            output.writeTimePoint(cursor.fetchTimePointValue());
+            break;
+        case TIME_OF_DAY_WITH_TIME_ZONE:
+            output.writeTimeOfDayWithTimeZone(cursor.fetchTimeOfDayWithTimeZoneValue());
+            break;
+        case TIME_POINT_WITH_TIME_ZONE:
+            output.writeTimePointWithTimeZone(cursor.fetchTimePointWithTimeZoneValue());
+            break;
+        case DATETIME_INTERVAL:
+            output.writeDateTimeInterval(cursor.fetchDateTimeIntervalValue());
+            break;
+        case BLOB:
+            output.writeBlob(cursor.fetchBlob());
+            break;
+        case CLOB:
+            output.writeClob(cursor.fetchClob());
+            break;
+        default:
+            throw new UnsupportedOperationException(MessageFormat.format(
+                    "unsupported column type: {0}",
+                    type));
+        }
+    }
+
+    /**
+     * Returns the metadata of the original result set.
+     * @return the metadata
+     */
+    public ResultSetMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Returns the number of rows in this relation.
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of bytes of the relation contents.
+     * @return the contents size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns whether or not the contents were spilled into a temporary file.
+     * @return {@code true} if the contents were spilled, otherwise {@code false}
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * Returns a new cursor over the relation contents.
+     * <p>
+     * The returned cursor starts from the first row, and independent of the other cursors.
+     * </p>
+     * @return the created cursor
+     * @throws IllegalStateException if this object was already closed
+     */
+    public RelationCursor newCursor() {
+        if (closed.get()) {
+            throw new IllegalStateException("materialized relation is already closed");
+        }
+        return new ValueInputBackedRelationCursor(new StreamBackedValueInput(new BufferSequenceInput(contents)));
+    }
+
+    /**
+     * Disposes the relation contents.
+     * <p>
+     * Cursors created before this operation may be still available until they are released.
+     * </p>
+     * @throws IOException if I/O error was occurred while removing the temporary file
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed.getAndSet(true)) {
+            return;
+        }
+        if (file != null) {
+            LOG.trace("deleting materialized relation: {}", file); //$NON-NLS-1$
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "MaterializedRelation(rows=%d, size=%d, file=%s)", //$NON-NLS-1$
+                rowCount,
+                size,
+                file);
+    }
+
+    private static final class SpillOutputStream extends OutputStream {
+
+        private final long threshold;
+
+        private final Path directory;
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+        private OutputStream output;
+
+        Path path;
+
+        long size;
+
+        SpillOutputStream(long threshold, @Nullable Path directory) {
+            this.threshold = threshold;
+            this.directory = directory;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            prepare(1).write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            prepare(len).write(b, off, len);
+            size += len;
+        }
+
+        private OutputStream prepare(int length) throws IOException {
+            if (output != null) {
+                return output;
+            }
+            if (size + length <= threshold) {
+                return memory;
+            }
+            if (directory == null) {
+                path = Files.createTempFile(TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+            } else {
+                path = Files.createTempFile(directory, TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+            }
+            LOG.debug("spilling materialized relation: {}", path); //$NON-NLS-1$
+            output = new BufferedOutputStream(Files.newOutputStream(path));
+            memory.writeTo(output);
+            memory = null;
+            return output;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (output != null) {
+                output.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (output != null) {
+                output.close();
+            }
+        }
+
+        ByteBuffer[] toBuffers() throws IOException {
+            if (path == null) {
+                return new ByteBuffer[] {
+                    ByteBuffer.wrap(memory.toByteArray()).asReadOnlyBuffer(),
+                };
+            }
+            var results = new ArrayList<ByteBuffer>();
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long position = 0;
+                long length = channel.size();
+                while (position < length) {
+                    long chunk = Math.min(length - position, Integer.MAX_VALUE);
+                    results.add(channel.map(FileChannel.MapMode.READ_ONLY, position, chunk));
+                    position += chunk;
+                }
+            }
+            return results.toArray(new ByteBuffer[results.size()]);
+        }
+
+        void discard() {
+            try {
+                close();
+            } catch (IOException e) {
+                LOG.debug("error occurred while closing spilled relation", e); //$NON-NLS-1$
+            }
+            if (path != null) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    LOG.warn("error occurred while removing spilled relation: {}", path, e); //$NON-NLS-1$
+                }
+            }
+        }
+    }
+
+    private static final class BufferSequenceInput extends ResultSetWire.ByteBufferBackedInput {
+
+        private final List<ByteBuffer> buffers;
+
+        private int index = 0;
+
+        BufferSequenceInput(ByteBuffer[] buffers) {
+            this.buffers = List.of(buffers);
+        }
+
+        @Override
+        protected boolean next() {
+            if (index >= buffers.size()) {
+                return false;
+            }
+            source = buffers.get(index++).duplicate();
+            return true;
+        }
+    }
+}
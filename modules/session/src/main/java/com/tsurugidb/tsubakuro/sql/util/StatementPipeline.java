@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Wire;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.ExecuteResult;
+import com.tsurugidb.tsubakuro.sql.ParameterBinder;
+import com.tsurugidb.tsubakuro.sql.PreparedStatement;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+/**
+ * Executes many independent statements in a transaction, with a bounded number of requests in flight.
+ * <p>
+ * Each {@code submit} sends the statement immediately, and it blocks only if the number of requests in flight
+ * reaches the limit, until the oldest one is finished.
+ * The results of the finished statements are accumulated, and the first error is kept and then
+ * re-thrown from the subsequent {@code submit}, {@link #flush()}, or {@link #await()}.
+ * Please {@link #await()} the pipeline before committing the transaction.
+ * </p>
+ * <p>
+ * The number of requests in flight is capped by the number of response slots of the underlying wire,
+ * which is shared among all requests in the session.
+ * </p>
+ * <pre>
+ * try (var pipeline = transaction.pipeline(32)) {
+ *     for (var entry : entries) {
+ *         pipeline.submit(statement, Parameters.of("k", entry.getKey()), Parameters.of("v", entry.getValue()));
+ *     }
+ *     var result = pipeline.await();
+ * }
+ * transaction.commit().await();
+ * </pre>
+ *
+ * @see Transaction#pipeline(int)
+ * @since 1.17.0
+ */
+@NotThreadSafe
+public class StatementPipeline implements AutoCloseable {
+
+    static final Logger LOG = LoggerFactory.getLogger(StatementPipeline.class);
+
+    private final Transaction transaction;
+
+    private final int maxInFlight;
+
+    private final ArrayDeque<FutureResponse<ExecuteResult>> inFlight;
+
+    private final AccumulatedExecuteResult result = new AccumulatedExecuteResult();
+
+    private Exception firstError;
+
+    private long submitted;
+
+    private long completed;
+
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     * @param transaction the transaction to execute statements
+     * @param maxInFlight the maximum number of requests in flight,
+     *      which is capped by the number of response slots
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+     */
+    public StatementPipeline(@Nonnull Transaction transaction, int maxInFlight) {
+        Objects.requireNonNull(transaction);
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max in-flight requests must be positive: {0}",
+                    maxInFlight));
+        }
+        this.transaction = transaction;
+        this.maxInFlight = Math.min(maxInFlight, Wire.MAXIMUM_CONCURRENT_REQUESTS);
+        this.inFlight = new ArrayDeque<>(this.maxInFlight);
+    }
+
+    /**
+     * Returns the maximum number of requests in flight.
+     * @return the maximum number of requests in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Returns the number of submitted statements.
+     * @return the number of submitted statements
+     */
+    public long getSubmittedCount() {
+        return submitted;
+    }
+
+    /**
+     * Returns the number of finished statements, including failed ones.
+     * @return the number of finished statements
+     */
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * Returns the first error occurred in the submitted statements.
+     * @return the first error, or {@code null} if there are no errors so far
+     */
+    public @Nullable Exception getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * Submits a SQL statement.
+     * @param source the SQL statement text
+     * @throws IOException if I/O error was occurred while sending request, or in the previous statements
+     * @throws ServerException if error was occurred in the previous statements
+     * @throws InterruptedException if interrupted while waiting for the previous statements
+     */
+    public void submit(@Nonnull String source) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(source);
+        prepareSubmit();
+        enqueue(transaction.executeStatement(source));
+    }
+
+    /**
+     * Submits a prepared statement.
+     * @param statement the prepared statement to execute
+     * @param parameters parameter list for place-holders in the prepared statement
+     * @throws IOException if I/O error was occurred while sending request, or in the previous statements
+     * @throws ServerException if error was occurred in the previous statements
+     * @throws InterruptedException if interrupted while waiting for the previous statements
+     */
+    public void submit(
+            @Nonnull PreparedStatement statement,
+            @Nonnull SqlRequest.Parameter... parameters) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(parameters);
+        submit(statement, Arrays.asList(parameters));
+    }
+
+    /**
+     * Submits a prepared statement.
+     * @param statement the prepared statement to execute
+     * @param parameters parameter list for place-holders in the prepared statement
+     * @throws IOException if I/O error was occurred while sending request, or in the previous statements
+     * @throws ServerException if error was occurred in the previous statements
+     * @throws InterruptedException if interrupted while waiting for the previous statements
+     */
+    public void submit(
+            @Nonnull PreparedStatement statement,
+            @Nonnull Collection<? extends SqlRequest.Parameter> parameters)
+                    throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(parameters);
+        prepareSubmit();
+        enqueue(transaction.executeStatement(statement, parameters));
+    }
+
+    /**
+     * Submits a prepared statement with the current parameters of the binder.
+     * @param statement the prepared statement to execute
+     * @param binder the binder which holds parameters for place-holders in the prepared statement
+     * @throws IOException if I/O error was occurred while sending request, or in the previous statements
+     * @throws ServerException if error was occurred in the previous statements
+     * @throws InterruptedException if interrupted while waiting for the previous statements
+     */
+    public void submit(
+            @Nonnull PreparedStatement statement,
+            @Nonnull ParameterBinder binder) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(statement);
+        Objects.requireNonNull(binder);
+        submit(statement, binder.toParameters());
+    }
+
+    /**
+     * Waits for all submitted statements are finished.
+     * @throws IOException if I/O error was occurred in the submitted statements
+     * @throws ServerException if error was occurred in the submitted statements
+     * @throws InterruptedException if interrupted while waiting for the statements
+     */
+    public void flush() throws IOException, ServerException, InterruptedException {
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.removeFirst());
+        }
+        rethrow();
+    }
+
+    /**
+     * Waits for all submitted statements are finished, and returns the accumulated result.
+     * @return the execution result, whose counters are the sum of the all finished statements
+     * @throws IOException if I/O error was occurred in the submitted statements
+     * @throws ServerException if error was occurred in the submitted statements
+     * @throws InterruptedException if interrupted while waiting for the statements
+     */
+    public ExecuteResult await() throws IOException, ServerException, InterruptedException {
+        flush();
+        return result;
+    }
+
+    /**
+     * Discards the statements in flight.
+     * <p>
+     * This does not wait for the statements to finish, and their results will be lost.
+     * Please {@link #await()} before closing to check the results.
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        while (!inFlight.isEmpty()) {
+            var future = inFlight.removeFirst();
+            try {
+                future.close();
+            } catch (IOException | ServerException | InterruptedException e) {
+                LOG.debug("error occurred while discarding statement", e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private void prepareSubmit() throws IOException, ServerException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("pipeline is already closed");
+        }
+        rethrow();
+        // reap the finished ones without blocking
+        while (!inFlight.isEmpty() && inFlight.peekFirst().isDone()) {
+            complete(inFlight.removeFirst());
+        }
+        while (inFlight.size() >= maxInFlight) {
+            complete(inFlight.removeFirst());
+        }
+        rethrow();
+    }
+
+    private void enqueue(FutureResponse<ExecuteResult> future) {
+        inFlight.addLast(future);
+        submitted++;
+    }
+
+    private void complete(FutureResponse<ExecuteResult> future) throws InterruptedException {
+        try {
+            result.add(future.await());
+        } catch (IOException | ServerException e) {
+            if (firstError == null) {
+                firstError = e;
+            } else {
+                firstError.addSuppressed(e);
+            }
+        } finally {
+            completed++;
+        }
+    }
+
+    private void rethrow() throws IOException, ServerException {
+        var error = firstError;
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof ServerException) {
+            throw (ServerException) error;
+        }
+    }
+}
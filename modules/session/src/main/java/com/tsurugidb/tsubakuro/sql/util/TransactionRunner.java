@@ -0,0 +1,525 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.SqlClient;
+import com.tsurugidb.tsubakuro.sql.SqlServiceCode;
+import com.tsurugidb.tsubakuro.sql.SqlServiceException;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+
+/**
+ * Runs transactions, and retries them if they were aborted by conflicts with other transactions.
+ * <p>
+ * Each {@link #run(Action) run} starts a new transaction, performs the given action, and then commits it.
+ * If it failed with {@link #isRetriable(ServerException) a retriable error},
+ * this waits for a while with jittered exponential backoff, and then retries it with a new transaction.
+ * Optionally, the transaction can be escalated from OCC to LTX with write preserves after the specified number of
+ * failures, so that the hot keys are not aborted over and over again.
+ * </p>
+ * <p>
+ * The same runner can be shared among threads, and its {@link #getStatistics() statistics} are accumulated
+ * over all runs.
+ * Please configure the runner before sharing it.
+ * </p>
+ * <pre>
+ * var runner = client.newTransactionRunner()
+ *         .maxAttempts(20)
+ *         .escalateToLong(3, "account");
+ * long balance = runner.run(transaction -&gt; {
+ *     ...
+ * });
+ * </pre>
+ *
+ * @see SqlClient#newTransactionRunner()
+ * @since 1.17.0
+ */
+@ThreadSafe
+public class TransactionRunner {
+
+    /**
+     * The default maximum number of attempts for each run.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+
+    /**
+     * The default backoff time before the first retry.
+     */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(10);
+
+    /**
+     * The default maximum backoff time.
+     */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(1);
+
+    static final Logger LOG = LoggerFactory.getLogger(TransactionRunner.class);
+
+    private static final Set<SqlServiceCode> RETRIABLE_CODES = EnumSet.of(
+            SqlServiceCode.CC_EXCEPTION,
+            SqlServiceCode.OCC_EXCEPTION,
+            SqlServiceCode.OCC_READ_EXCEPTION,
+            SqlServiceCode.OCC_WRITE_EXCEPTION,
+            SqlServiceCode.CONFLICT_ON_WRITE_PRESERVE_EXCEPTION,
+            SqlServiceCode.LTX_EXCEPTION,
+            SqlServiceCode.LTX_READ_EXCEPTION,
+            SqlServiceCode.LTX_WRITE_EXCEPTION,
+            SqlServiceCode.RTX_EXCEPTION,
+            SqlServiceCode.BLOCKED_BY_CONCURRENT_OPERATION_EXCEPTION);
+
+    /**
+     * An action in a transaction.
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Action<R> {
+
+        /**
+         * Performs the action in the transaction.
+         * <p>
+         * This may be invoked more than once if the transaction was retried,
+         * so that the action should not have any side effects outside of the transaction.
+         * The action must not commit nor rollback the transaction.
+         * </p>
+         * @param transaction the current transaction
+         * @return the result
+         * @throws IOException if I/O error was occurred while performing the action
+         * @throws ServerException if server error was occurred while performing the action
+         * @throws InterruptedException if interrupted while performing the action
+         */
+        R perform(@Nonnull Transaction transaction) throws IOException, ServerException, InterruptedException;
+    }
+
+    private final SqlClient client;
+
+    private volatile SqlRequest.TransactionOption option = SqlRequest.TransactionOption.newBuilder()
+            .setType(SqlRequest.TransactionType.SHORT)
+            .build();
+
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    private volatile Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+
+    private volatile Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+
+    private volatile int escalationThreshold = 0;
+
+    private volatile List<String> escalationWritePreserves = List.of();
+
+    private volatile Predicate<? super ServerException> retriable = TransactionRunner::isRetriable;
+
+    private final AtomicLong runCount = new AtomicLong();
+
+    private final AtomicLong attemptCount = new AtomicLong();
+
+    private final AtomicLong retryCount = new AtomicLong();
+
+    private final AtomicLong successCount = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private final AtomicLong escalationCount = new AtomicLong();
+
+    private final AtomicLong backoffNanos = new AtomicLong();
+
+    private final Map<SqlServiceCode, AtomicLong> retryCounts = new EnumMap<>(SqlServiceCode.class);
+
+    /**
+     * Creates a new instance.
+     * @param client the SQL client to start transactions
+     */
+    public TransactionRunner(@Nonnull SqlClient client) {
+        Objects.requireNonNull(client);
+        this.client = client;
+        for (var code : SqlServiceCode.values()) {
+            retryCounts.put(code, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns whether or not the error is caused by conflicts among transactions,
+     * that is, the transaction may succeed if it is retried.
+     * @param exception the error
+     * @return {@code true} if the error is retriable, otherwise {@code false}
+     */
+    public static boolean isRetriable(@Nonnull ServerException exception) {
+        Objects.requireNonNull(exception);
+        if (exception instanceof SqlServiceException) {
+            return RETRIABLE_CODES.contains(((SqlServiceException) exception).getDiagnosticCode());
+        }
+        return false;
+    }
+
+    /**
+     * Sets the transaction option.
+     * <p>
+     * This is {@link SqlRequest.TransactionType#SHORT OCC} by default.
+     * </p>
+     * @param newValue the transaction option
+     * @return this
+     */
+    public TransactionRunner option(@Nonnull SqlRequest.TransactionOption newValue) {
+        Objects.requireNonNull(newValue);
+        this.option = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of attempts for each run, including the first one.
+     * @param newValue the maximum number of attempts
+     * @return this
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public TransactionRunner maxAttempts(int newValue) {
+        if (newValue <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "max attempts must be positive: {0}",
+                    newValue));
+        }
+        this.maxAttempts = newValue;
+        return this;
+    }
+
+    /**
+     * Sets the backoff time before retrying transactions.
+     * <p>
+     * The backoff time is doubled for each retry up to the maximum, and then it is randomized into
+     * the range of {@code [t/2, t]} so that the conflicting transactions are not retried at the same time.
+     * </p>
+     * @param initial the backoff time before the first retry
+     * @param max the maximum backoff time
+     * @return this
+     * @throws IllegalArgumentException if the backoff time is negative, or {@code initial} is greater than {@code max}
+     */
+    public TransactionRunner backoff(@Nonnull Duration initial, @Nonnull Duration max) {
+        Objects.requireNonNull(initial);
+        Objects.requireNonNull(max);
+        if (initial.isNegative() || initial.compareTo(max) > 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "invalid backoff time: initial={0}, max={1}",
+                    initial,
+                    max));
+        }
+        this.initialBackoff = initial;
+        this.maxBackoff = max;
+        return this;
+    }
+
+    /**
+     * Sets the condition of retrying transactions.
+     * <p>
+     * This is {@link #isRetriable(ServerException)} by default.
+     * </p>
+     * @param newValue the condition
+     * @return this
+     */
+    public TransactionRunner retryIf(@Nonnull Predicate<? super ServerException> newValue) {
+        Objects.requireNonNull(newValue);
+        this.retriable = newValue;
+        return this;
+    }
+
+    /**
+     * Escalates OCC transactions to LTX after the specified number of failures.
+     * <p>
+     * The escalated transactions are started with the given write preserves, and the other options are
+     * inherited from {@link #option(SqlRequest.TransactionOption) the original one}.
+     * This does nothing if the original transaction is not OCC.
+     * </p>
+     * @param failures the number of failures before escalation, or {@code 0} to disable escalation
+     * @param writePreserves the table names to write in the escalated transactions
+     * @return this
+     * @throws IllegalArgumentException if the number of failures is negative
+     */
+    public TransactionRunner escalateToLong(int failures, @Nonnull Collection<String> writePreserves) {
+        Objects.requireNonNull(writePreserves);
+        if (failures < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "escalation threshold must not be negative: {0}",
+                    failures));
+        }
+        this.escalationWritePreserves = List.copyOf(writePreserves);
+        this.escalationThreshold = failures;
+        return this;
+    }
+
+    /**
+     * Escalates OCC transactions to LTX after the specified number of failures.
+     * @param failures the number of failures before escalation, or {@code 0} to disable escalation
+     * @param writePreserves the table names to write in the escalated transactions
+     * @return this
+     * @throws IllegalArgumentException if the number of failures is negative
+     * @see #escalateToLong(int, Collection)
+     */
+    public TransactionRunner escalateToLong(int failures, @Nonnull String... writePreserves) {
+        Objects.requireNonNull(writePreserves);
+        return escalateToLong(failures, List.of(writePreserves));
+    }
+
+    /**
+     * Performs the action in a new transaction and then commits it, with retrying on conflicts.
+     * @param <R> the result type
+     * @param action the action to perform in the transaction
+     * @return the result of the action in the committed transaction
+     * @throws IOException if I/O error was occurred while running the transaction
+     * @throws ServerException if the transaction was failed with non-retriable error,
+     *      or the retriable error was occurred in the last attempt
+     * @throws InterruptedException if interrupted while running the transaction
+     */
+    public <R> R run(@Nonnull Action<R> action) throws IOException, ServerException, InterruptedException {
+        Objects.requireNonNull(action);
+        runCount.incrementAndGet();
+        var currentOption = option;
+        int attempts = maxAttempts;
+        boolean success = false;
+        try {
+            for (int attempt = 1;; attempt++) {
+                attemptCount.incrementAndGet();
+                try {
+                    R result = attempt(currentOption, action);
+                    success = true;
+                    return result;
+                } catch (ServerException e) {
+                    if (attempt >= attempts || !retriable.test(e)) {
+                        throw e;
+                    }
+                    retryCount.incrementAndGet();
+                    if (e instanceof SqlServiceException) {
+                        retryCounts.get(((SqlServiceException) e).getDiagnosticCode()).incrementAndGet();
+                    }
+                    LOG.debug("retrying transaction: attempt={}, cause={}", attempt, e.getMessage()); //$NON-NLS-1$
+                }
+                if (shouldEscalate(currentOption, attempt)) {
+                    currentOption = escalate(currentOption);
+                    escalationCount.incrementAndGet();
+                    LOG.debug("escalating transaction to LTX: write_preserves={}", //$NON-NLS-1$
+                            escalationWritePreserves);
+                }
+                sleep(attempt);
+            }
+        } finally {
+            if (success) {
+                successCount.incrementAndGet();
+            } else {
+                failureCount.incrementAndGet();
+            }
+        }
+    }
+
+    private <R> R attempt(SqlRequest.TransactionOption currentOption, Action<R> action)
+            throws IOException, ServerException, InterruptedException {
+        // closing the transaction without commit will roll it back
+        try (var transaction = client.createTransaction(currentOption).await()) {
+            R result = action.perform(transaction);
+            transaction.commit().await();
+            return result;
+        }
+    }
+
+    private boolean shouldEscalate(SqlRequest.TransactionOption currentOption, int failures) {
+        int threshold = escalationThreshold;
+        if (threshold <= 0 || failures != threshold) {
+            return false;
+        }
+        var type = currentOption.getType();
+        return type == SqlRequest.TransactionType.SHORT
+                || type == SqlRequest.TransactionType.TRANSACTION_TYPE_UNSPECIFIED;
+    }
+
+    private SqlRequest.TransactionOption escalate(SqlRequest.TransactionOption currentOption) {
+        var builder = SqlRequest.TransactionOption.newBuilder(currentOption)
+                .setType(SqlRequest.TransactionType.LONG)
+                .clearWritePreserves();
+        for (var table : escalationWritePreserves) {
+            builder.addWritePreserves(SqlRequest.WritePreserve.newBuilder().setTableName(table));
+        }
+        return builder.build();
+    }
+
+    private void sleep(int failures) throws InterruptedException {
+        long nanos = backoffNanos(failures);
+        if (nanos > 0) {
+            backoffNanos.addAndGet(nanos);
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    long backoffNanos(int failures) {
+        long initial = initialBackoff.toNanos();
+        long max = maxBackoff.toNanos();
+        long delay = initial;
+        for (int i = 1; i < failures && delay < max; i++) {
+            delay = delay > max / 2 ? max : delay * 2;
+        }
+        delay = Math.min(delay, max);
+        if (delay <= 1) {
+            return delay;
+        }
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Returns the statistics of this runner.
+     * @return the statistics
+     */
+    public Statistics getStatistics() {
+        var retries = new EnumMap<SqlServiceCode, Long>(SqlServiceCode.class);
+        for (var entry : retryCounts.entrySet()) {
+            long count = entry.getValue().get();
+            if (count > 0) {
+                retries.put(entry.getKey(), count);
+            }
+        }
+        return new Statistics(
+                runCount.get(),
+                attemptCount.get(),
+                retryCount.get(),
+                successCount.get(),
+                failureCount.get(),
+                escalationCount.get(),
+                Duration.ofNanos(backoffNanos.get()),
+                retries);
+    }
+
+    /**
+     * Statistics of {@link TransactionRunner}.
+     */
+    public static final class Statistics {
+
+        private final long runs;
+
+        private final long attempts;
+
+        private final long retryTotal;
+
+        private final long successes;
+
+        private final long failures;
+
+        private final long escalations;
+
+        private final Duration backoffTime;
+
+        private final Map<SqlServiceCode, Long> retries;
+
+        Statistics(
+                long runs, long attempts, long retryTotal, long successes, long failures, long escalations,
+                Duration backoffTime, Map<SqlServiceCode, Long> retries) {
+            this.runs = runs;
+            this.attempts = attempts;
+            this.retryTotal = retryTotal;
+            this.successes = successes;
+            this.failures = failures;
+            this.escalations = escalations;
+            this.backoffTime = backoffTime;
+            this.retries = retries;
+        }
+
+        /**
+         * Returns the number of runs.
+         * @return the number of runs
+         */
+        public long getRunCount() {
+            return runs;
+        }
+
+        /**
+         * Returns the number of attempts, including retries.
+         * @return the number of attempts
+         */
+        public long getAttemptCount() {
+            return attempts;
+        }
+
+        /**
+         * Returns the number of retries.
+         * @return the number of retries
+         */
+        public long getRetryCount() {
+            return retryTotal;
+        }
+
+        /**
+         * Returns the number of retries for each cause.
+         * @return the number of retries for each diagnostic code, only includes the occurred ones
+         *      of {@link SqlServiceException}
+         */
+        public Map<SqlServiceCode, Long> getRetryCounts() {
+            return new EnumMap<>(retries);
+        }
+
+        /**
+         * Returns the number of committed runs.
+         * @return the number of committed runs
+         */
+        public long getSuccessCount() {
+            return successes;
+        }
+
+        /**
+         * Returns the number of runs which were finally failed.
+         * @return the number of failed runs
+         */
+        public long getFailureCount() {
+            return failures;
+        }
+
+        /**
+         * Returns the number of escalations from OCC to LTX.
+         * @return the number of escalations
+         */
+        public long getEscalationCount() {
+            return escalations;
+        }
+
+        /**
+         * Returns the total time spent for backoff.
+         * @return the total backoff time
+         */
+        public Duration getBackoffTime() {
+            return backoffTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Statistics(runs=%d, attempts=%d, retries=%d, successes=%d, failures=%d, escalations=%d, backoff=%s, causes=%s)", //$NON-NLS-1$
+                    runs, attempts, retryTotal, successes, failures, escalations, backoffTime, retries);
+        }
+    }
+}
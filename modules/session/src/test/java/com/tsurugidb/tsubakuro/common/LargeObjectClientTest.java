@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tsurugidb.tsubakuro.common.exception.BlobException;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class LargeObjectClientTest {
+
+    @TempDir
+    Path temporary;
+
+    private static final class Info implements LargeObjectInfo {
+
+        final Path path;
+
+        Info(Path path) {
+            this.path = path;
+        }
+    }
+
+    private static final class Reference implements LargeObjectReference {
+
+        final long objectId;
+
+        Reference(long objectId) {
+            this.objectId = objectId;
+        }
+
+        @Override
+        public long getObjectId() {
+            return objectId;
+        }
+    }
+
+    private static final LargeObjectClient.ContextId CONTEXT = new LargeObjectClient.ContextId() { };
+
+    /**
+     * A client which only supports individual transfer, and fails the object ID {@code 0}.
+     */
+    private static final class Individual implements LargeObjectClient {
+
+        final List<Object> trace = new ArrayList<>();
+
+        @Override
+        public FutureResponse<LargeObjectInfo> upload(Path source) {
+            trace.add(source);
+            return FutureResponse.returns(new Info(source));
+        }
+
+        @Override
+        public FutureResponse<Void> copyTo(ContextId contextId, LargeObjectReference ref, Path destination) throws IOException {
+            trace.add(ref.getObjectId());
+            if (ref.getObjectId() == 0) {
+                throw new IOException("testing");
+            }
+            Files.writeString(destination, String.valueOf(ref.getObjectId()));
+            return FutureResponse.returns(null);
+        }
+    }
+
+    @Test
+    void uploadAll() throws Exception {
+        var client = new Individual();
+        var sources = List.of(temporary.resolve("a"), temporary.resolve("b"), temporary.resolve("c"));
+        var results = client.uploadAll(sources);
+        assertEquals(sources, client.trace);
+        assertEquals(3, results.size());
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals(sources.get(i), ((Info) results.get(i)).path);
+        }
+    }
+
+    @Test
+    void copyAllTo() throws Exception {
+        var client = new Individual();
+        var destinations = List.of(temporary.resolve("a"), temporary.resolve("b"));
+        client.copyAllTo(CONTEXT, List.of(new Reference(1), new Reference(2)), destinations);
+        assertEquals(List.of(1L, 2L), client.trace);
+        assertEquals("1", Files.readString(destinations.get(0)));
+        assertEquals("2", Files.readString(destinations.get(1)));
+    }
+
+    @Test
+    void copyAllTo_failure() throws Exception {
+        var client = new Individual();
+        var destinations = List.of(temporary.resolve("a"), temporary.resolve("b"));
+        assertThrows(IOException.class, () -> client.copyAllTo(
+                CONTEXT, List.of(new Reference(1), new Reference(0)), destinations));
+        for (var destination : destinations) {
+            assertFalse(Files.exists(destination), destination.toString());
+        }
+    }
+
+    @Test
+    void copyAllTo_exists() throws Exception {
+        var client = new Individual();
+        var existing = Files.writeString(temporary.resolve("b"), "existing");
+        var destinations = List.of(temporary.resolve("a"), existing);
+        assertThrows(BlobException.class, () -> client.copyAllTo(
+                CONTEXT, List.of(new Reference(1), new Reference(2)), destinations));
+        assertTrue(client.trace.isEmpty());
+        assertEquals("existing", Files.readString(existing));
+    }
+
+    @Test
+    void copyAllTo_mismatch() {
+        var client = new Individual();
+        assertThrows(IllegalArgumentException.class, () -> client.copyAllTo(
+                CONTEXT, List.of(new Reference(1)), List.of()));
+    }
+}
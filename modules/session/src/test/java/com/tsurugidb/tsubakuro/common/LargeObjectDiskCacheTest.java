@@ -0,0 +1,249 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LargeObjectDiskCacheTest {
+
+    private static final String SPACE = "localhost:52345";
+
+    @TempDir
+    Path temporary;
+
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    private Path dirOf(String name) {
+        return temporary.resolve(name);
+    }
+
+    private static BlobRelayReference ref(long objectId) {
+        return new BlobRelayReference(1, objectId, 100 + objectId);
+    }
+
+    private LargeObjectDiskCache.Fetcher fetcher(byte[] data) {
+        return destination -> {
+            fetchCount.incrementAndGet();
+            assertFalse(Files.exists(destination));
+            Files.write(destination, data);
+        };
+    }
+
+    private static List<String> list(Path dir) throws IOException {
+        try (var stream = Files.walk(dir)) {
+            return stream.filter(Files::isRegularFile)
+                    .map(it -> dir.relativize(it).toString())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void fetch() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 100);
+        var data = new byte[] { 1, 2, 3 };
+        try (var entry = cache.fetch(SPACE, ref(1), fetcher(data))) {
+            assertArrayEquals(data, Files.readAllBytes(entry.getPath()));
+            assertEquals(3, entry.getSize());
+        }
+        try (var entry = cache.fetch(SPACE, ref(1), fetcher(new byte[0]))) {
+            assertArrayEquals(data, Files.readAllBytes(entry.getPath()));
+        }
+        assertEquals(1, fetchCount.get());
+        assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    void find() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 100);
+        assertFalse(cache.find(SPACE, ref(1)).isPresent());
+        cache.fetch(SPACE, ref(1), fetcher(new byte[] { 1 })).close();
+        try (var entry = cache.find(SPACE, ref(1)).orElseThrow()) {
+            assertTrue(Files.exists(entry.getPath()));
+        }
+        // different tag
+        assertFalse(cache.find(SPACE, new BlobRelayReference(1, 1, 0)).isPresent());
+    }
+
+    @Test
+    void evict_lru() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 20);
+        cache.fetch(SPACE, ref(1), fetcher(new byte[10])).close();
+        cache.fetch(SPACE, ref(2), fetcher(new byte[10])).close();
+        // touch 1, then 2 becomes the least recently used
+        cache.find(SPACE, ref(1)).orElseThrow().close();
+        cache.fetch(SPACE, ref(3), fetcher(new byte[10])).close();
+
+        assertTrue(cache.find(SPACE, ref(1)).isPresent());
+        assertFalse(cache.find(SPACE, ref(2)).isPresent());
+        assertTrue(cache.find(SPACE, ref(3)).isPresent());
+        assertEquals(20, cache.getSize());
+        assertEquals(2, list(cache.getDirectory()).size());
+    }
+
+    @Test
+    void evict_pinned() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 10);
+        try (var pinned = cache.fetch(SPACE, ref(1), fetcher(new byte[10]))) {
+            try (var other = cache.fetch(SPACE, ref(2), fetcher(new byte[10]))) {
+                // both are in use
+                assertTrue(Files.exists(pinned.getPath()));
+                assertTrue(Files.exists(other.getPath()));
+                assertEquals(20, cache.getSize());
+            }
+            assertTrue(Files.exists(pinned.getPath()));
+            assertEquals(10, cache.getSize());
+        }
+        assertTrue(cache.find(SPACE, ref(1)).isPresent());
+        assertFalse(cache.find(SPACE, ref(2)).isPresent());
+    }
+
+    @Test
+    void evict_oversized() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 10);
+        Path path;
+        try (var entry = cache.fetch(SPACE, ref(1), fetcher(new byte[100]))) {
+            path = entry.getPath();
+            assertEquals(100, Files.size(path));
+        }
+        assertFalse(Files.exists(path));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void fetch_failure() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 100);
+        assertThrows(IOException.class, () -> cache.fetch(SPACE, ref(1), destination -> {
+            Files.write(destination, new byte[5]);
+            throw new IOException("failed");
+        }));
+        // partial file is never published
+        assertFalse(cache.find(SPACE, ref(1)).isPresent());
+        assertEquals(List.of(), list(cache.getDirectory()));
+    }
+
+    @Test
+    void fetch_concurrent() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 100);
+        var data = new byte[] { 1, 2, 3 };
+        try (var entry = cache.fetch(SPACE, ref(1), destination -> {
+            Files.write(destination, data);
+            // the other fetch finishes first
+            cache.fetch(SPACE, ref(1), fetcher(data)).close();
+        })) {
+            assertArrayEquals(data, Files.readAllBytes(entry.getPath()));
+        }
+        assertEquals(3, cache.getSize());
+        assertEquals(1, list(cache.getDirectory()).size());
+    }
+
+    @Test
+    void restore() throws Exception {
+        var dir = dirOf("cache");
+        var data = new byte[] { 1, 2, 3 };
+        var cache = new LargeObjectDiskCache(dir, 100);
+        Path file;
+        try (var entry = cache.fetch(SPACE, ref(1), fetcher(data))) {
+            file = entry.getPath();
+        }
+        Files.write(file.resolveSibling(".incomplete.tmp"), new byte[1]);
+
+        var restored = new LargeObjectDiskCache(dir, 100);
+        assertEquals(3, restored.getSize());
+        try (var entry = restored.fetch(SPACE, ref(1), fetcher(new byte[0]))) {
+            assertArrayEquals(data, Files.readAllBytes(entry.getPath()));
+        }
+        assertEquals(1, fetchCount.get());
+        assertEquals(1, list(dir).size());
+    }
+
+    @Test
+    void restore_negative_ids() throws Exception {
+        // storage/object IDs are uint64 on the server, so they may be negative in Java
+        var dir = dirOf("cache");
+        var reference = new BlobRelayReference(-1, Long.MIN_VALUE, -100);
+        var data = new byte[] { 1, 2, 3 };
+        var cache = new LargeObjectDiskCache(dir, 100);
+        cache.fetch(SPACE, reference, fetcher(data)).close();
+
+        var restored = new LargeObjectDiskCache(dir, 100);
+        assertEquals(3, restored.getSize());
+        try (var entry = restored.fetch(SPACE, reference, fetcher(new byte[0]))) {
+            assertArrayEquals(data, Files.readAllBytes(entry.getPath()));
+        }
+        assertEquals(1, fetchCount.get());
+    }
+
+    @Test
+    void restore_evict() throws Exception {
+        var dir = dirOf("cache");
+        var cache = new LargeObjectDiskCache(dir, 100);
+        cache.fetch(SPACE, ref(1), fetcher(new byte[10])).close();
+        cache.fetch(SPACE, ref(2), fetcher(new byte[10])).close();
+
+        var restored = new LargeObjectDiskCache(dir, 15);
+        assertEquals(10, restored.getSize());
+        assertEquals(1, list(dir).size());
+    }
+
+    @Test
+    void namespace() throws Exception {
+        var cache = new LargeObjectDiskCache(dirOf("cache"), 100);
+        cache.fetch("a", ref(1), fetcher(new byte[] { 1 })).close();
+        try (var entry = cache.fetch("b", ref(1), fetcher(new byte[] { 2 }))) {
+            // the same reference of the other database is not shared
+            assertArrayEquals(new byte[] { 2 }, Files.readAllBytes(entry.getPath()));
+        }
+        assertEquals(2, fetchCount.get());
+        try (var entry = cache.find("a", ref(1)).orElseThrow()) {
+            assertArrayEquals(new byte[] { 1 }, Files.readAllBytes(entry.getPath()));
+        }
+        assertFalse(cache.find("c", ref(1)).isPresent());
+    }
+
+    @Test
+    void restore_namespace() throws Exception {
+        var dir = dirOf("cache");
+        var cache = new LargeObjectDiskCache(dir, 100);
+        cache.fetch("dns:///a:12345", ref(1), fetcher(new byte[] { 1 })).close();
+        // files of the other layout are never restored
+        Files.write(dir.resolve("1-1-101.blob"), new byte[] { 2 });
+
+        var restored = new LargeObjectDiskCache(dir, 100);
+        assertEquals(1, restored.getSize());
+        assertTrue(restored.find("dns:///a:12345", ref(1)).isPresent());
+        assertFalse(restored.find("dns:///b:12345", ref(1)).isPresent());
+    }
+
+    @Test
+    void invalid_capacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LargeObjectDiskCache(dirOf("cache"), 0));
+    }
+}
@@ -149,4 +149,17 @@ class SessionBuilderTest {
         });
         assertThrows(IllegalArgumentException.class, () -> builder.withBlobRelayEndpoint(":/:/:/invalid-uri:/:/:/"));
     }
+
+    @Test
+    void withBlobRelayParallelismInvalid() throws Exception {
+        var wire = new MockWire();
+        var builder = SessionBuilder.connect(new Connector() {
+            @Override
+            public FutureResponse<Wire> connect(ClientInformation clientInformation) throws IOException {
+                return FutureResponse.wrap(Owner.of(wire));
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> builder.withBlobRelayParallelism(0));
+        assertSame(builder, builder.withBlobRelayParallelism(8));
+    }
 }
\ No newline at end of file
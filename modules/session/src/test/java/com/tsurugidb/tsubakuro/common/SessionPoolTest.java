@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.channel.common.connection.ClientInformation;
+import com.tsurugidb.tsubakuro.channel.common.connection.Connector;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Wire;
+import com.tsurugidb.tsubakuro.common.impl.MockWire;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+import com.tsurugidb.tsubakuro.util.Owner;
+
+class SessionPoolTest {
+
+    private static final class AliveWire extends MockWire {
+
+        volatile boolean alive = true;
+
+        @Override
+        public boolean isAlive() {
+            return alive;
+        }
+    }
+
+    private final List<AliveWire> wires = new CopyOnWriteArrayList<>();
+
+    private final SessionBuilder sessionBuilder = SessionBuilder.connect(new Connector() {
+        @Override
+        public FutureResponse<Wire> connect(ClientInformation clientInformation) throws IOException {
+            var wire = new AliveWire();
+            wires.add(wire);
+            return FutureResponse.wrap(Owner.of(wire));
+        }
+    }).withKeepAlive(false);
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void prewarm() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder).withMinSize(2).build()) {
+            waitFor(() -> pool.getIdleCount() == 2);
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                assertSame(wires.get(1), lease.getSession().getWire());
+            }
+            assertEquals(2, wires.size());
+        }
+    }
+
+    @Test
+    void reuse() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder).withMaxSize(1).build()) {
+            Session first;
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                first = lease.getSession();
+            }
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                assertSame(first, lease.getSession());
+            }
+            assertEquals(1, wires.size());
+            assertEquals(1, pool.getSize());
+        }
+    }
+
+    @Test
+    void timeout() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder).withMaxSize(1).build()) {
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                assertThrows(TimeoutException.class, () -> pool.borrow(100, TimeUnit.MILLISECONDS));
+                assertEquals(0, pool.getWaitingCount());
+            }
+        }
+    }
+
+    @Test
+    void handoff() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        try (var pool = SessionPool.builder(sessionBuilder).withMaxSize(1).build()) {
+            var lease = pool.borrow(10, TimeUnit.SECONDS);
+            var session = lease.getSession();
+            var future = executor.submit(() -> pool.borrow(10, TimeUnit.SECONDS));
+            waitFor(() -> pool.getWaitingCount() == 1);
+
+            lease.close();
+            try (var other = future.get(10, TimeUnit.SECONDS)) {
+                assertSame(session, other.getSession());
+            }
+            assertThrows(IllegalStateException.class, () -> lease.getSession());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dead() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder).withMaxSize(1).build()) {
+            Session first;
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                first = lease.getSession();
+            }
+            wires.get(0).alive = false;
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                assertNotSame(first, lease.getSession());
+            }
+            assertEquals(2, wires.size());
+            assertEquals(1, pool.getSize());
+        }
+    }
+
+    @Test
+    void invalidate() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder).build()) {
+            try (var lease = pool.borrow(10, TimeUnit.SECONDS)) {
+                lease.invalidate();
+            }
+            assertEquals(0, pool.getSize());
+            assertEquals(0, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void idle_eviction() throws Exception {
+        try (var pool = SessionPool.builder(sessionBuilder)
+                .withMinSize(1)
+                .withIdleTimeout(0, TimeUnit.MILLISECONDS)
+                .withMaintenanceInterval(10, TimeUnit.MILLISECONDS)
+                .build()) {
+            var a = pool.borrow(10, TimeUnit.SECONDS);
+            var b = pool.borrow(10, TimeUnit.SECONDS);
+            var c = pool.borrow(10, TimeUnit.SECONDS);
+            a.close();
+            b.close();
+            c.close();
+            waitFor(() -> pool.getSize() == 1);
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void closed() throws Exception {
+        var pool = SessionPool.builder(sessionBuilder).build();
+        var lease = pool.borrow(10, TimeUnit.SECONDS);
+        pool.close();
+        assertThrows(IOException.class, () -> pool.borrow(10, TimeUnit.SECONDS));
+        lease.close();
+        assertEquals(0, pool.getSize());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> SessionPool.builder(sessionBuilder).withMaxSize(0));
+        assertThrows(IllegalArgumentException.class, () -> SessionPool.builder(sessionBuilder).withMinSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> SessionPool.builder(sessionBuilder)
+                .withMinSize(2)
+                .withMaxSize(1)
+                .build());
+    }
+}
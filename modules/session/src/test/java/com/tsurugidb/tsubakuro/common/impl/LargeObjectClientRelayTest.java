@@ -49,6 +49,7 @@ import com.tsurugidb.core.proto.CoreRequest;
 import com.tsurugidb.core.proto.CoreResponse;
 import com.tsurugidb.tsubakuro.common.Session;
 import com.tsurugidb.tsubakuro.common.LargeObjectClient;
+import com.tsurugidb.tsubakuro.common.LargeObjectDiskCache;
 import com.tsurugidb.tsubakuro.common.LargeObjectInfo;
 import com.tsurugidb.tsubakuro.common.LargeObjectReference;
 import com.tsurugidb.tsubakuro.exception.ResponseTimeoutException;
@@ -360,4 +361,51 @@ class LargeObjectClientRelayTest {
             assertFalse(server.hasRemaining());
         });
     }
-}
\ No newline at end of file
+
+    private void addGetResponses() {
+        server.addGetResponse(Streaming.GetStreamingResponse.newBuilder()
+                                .setChunk(com.google.protobuf.ByteString.copyFrom(data))
+                                .build());
+        server.addGetResponse(Streaming.GetStreamingResponse.newBuilder()
+                                .setMetadata(Streaming.GetStreamingResponse.Metadata.newBuilder()
+                                    .setBlobSize(data.length))
+                                .build());
+    }
+
+    @Test
+    void openInputStream_cached(@TempDir Path tempDir) throws Exception {
+        var cache = new LargeObjectDiskCache(tempDir.resolve("cache"), 1024);
+        try (var cached = new LargeObjectClientRelay("123", "localhost:" + server.getPort(), false, CHUNK_SIZE, 1, cache)) {
+            addGetResponses();
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                // the first one is downloaded, and the rest are served from the cache
+                for (int i = 0; i < 3; i++) {
+                    try (var input = cached.openInputStream(contextId, lobReference).await()) {
+                        assertArrayEquals(data, input.readAllBytes());
+                    }
+                    assertFalse(server.hasRemaining());
+                }
+            });
+            assertEquals(data.length, cache.getSize());
+        }
+    }
+
+    @Test
+    void getLargeObjectCache_cached(@TempDir Path tempDir) throws Exception {
+        var cache = new LargeObjectDiskCache(tempDir.resolve("cache"), 1024);
+        try (var cached = new LargeObjectClientRelay("123", "localhost:" + server.getPort(), false, CHUNK_SIZE, 1, cache)) {
+            addGetResponses();
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                try (var lob = cached.getLargeObjectCache(contextId, lobReference).await()) {
+                    var path = lob.find();
+                    assertTrue(path.isPresent());
+                    assertArrayEquals(data, Files.readAllBytes(path.get()));
+                }
+                Path file = tempDir.resolve("blob.data");
+                cached.copyTo(contextId, lobReference, file).await();
+                assertArrayEquals(data, Files.readAllBytes(file));
+                assertFalse(server.hasRemaining());
+            });
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
+
+class ParameterBinderTest {
+
+    private static ParameterBinder binder(String... names) {
+        var placeholders = new SqlRequest.Placeholder[names.length];
+        for (int i = 0; i < names.length; i++) {
+            placeholders[i] = Placeholders.of(names[i], SqlCommon.AtomType.INT8);
+        }
+        return ParameterBinder.of(placeholders);
+    }
+
+    @Test
+    void simple() {
+        var binder = binder("a", "b");
+        assertEquals(2, binder.size());
+        int a = binder.indexOf("a");
+        int b = binder.indexOf("b");
+        assertEquals("b", binder.getName(b));
+
+        binder.setLong(a, 100L).setString(b, "x");
+        assertEquals(List.of(Parameters.of("a", 100L), Parameters.of("b", "x")), binder.toParameters());
+    }
+
+    @Test
+    void types() {
+        var binder = binder("p");
+        var p = binder.indexOf("p");
+        var date = LocalDate.of(2024, 2, 29);
+        var time = LocalTime.of(12, 34, 56, 789);
+        var timestamp = LocalDateTime.of(date, time);
+        var offsetTime = OffsetTime.of(time, ZoneOffset.ofHours(9));
+        var offsetTimestamp = OffsetDateTime.of(timestamp, ZoneOffset.ofHours(-3));
+
+        assertEquals(Parameters.ofNull("p"), binder.setNull(p).toParameters().get(0));
+        assertEquals(Parameters.of("p", true), binder.setBoolean(p, true).toParameters().get(0));
+        assertEquals(Parameters.of("p", 1), binder.setInt(p, 1).toParameters().get(0));
+        assertEquals(Parameters.of("p", 2L), binder.setLong(p, 2L).toParameters().get(0));
+        assertEquals(Parameters.of("p", 1.5f), binder.setFloat(p, 1.5f).toParameters().get(0));
+        assertEquals(Parameters.of("p", 2.5d), binder.setDouble(p, 2.5d).toParameters().get(0));
+        assertEquals(Parameters.of("p", new BigDecimal("-1.25")),
+                binder.setDecimal(p, new BigDecimal("-1.25")).toParameters().get(0));
+        assertEquals(Parameters.of("p", new byte[] { 1, 2 }), binder.setBytes(p, new byte[] { 1, 2 }).toParameters().get(0));
+        assertEquals(Parameters.of("p", date), binder.setDate(p, date).toParameters().get(0));
+        assertEquals(Parameters.of("p", time), binder.setTime(p, time).toParameters().get(0));
+        assertEquals(Parameters.of("p", timestamp), binder.setTimestamp(p, timestamp).toParameters().get(0));
+        assertEquals(Parameters.of("p", offsetTime), binder.setTimeWithTimeZone(p, offsetTime).toParameters().get(0));
+        assertEquals(Parameters.of("p", offsetTimestamp),
+                binder.setTimestampWithTimeZone(p, offsetTimestamp).toParameters().get(0));
+        assertEquals(Parameters.of("p", new boolean[] { true, false }),
+                binder.set(p, Parameters.of("other", new boolean[] { true, false })).toParameters().get(0));
+    }
+
+    @Test
+    void decimal_long() {
+        var binder = binder("p");
+        long[] values = { 0, 1, -1, 127, 128, -128, -129, 32767, 32768, Long.MAX_VALUE, Long.MIN_VALUE };
+        for (long value : values) {
+            assertEquals(Parameters.of("p", BigDecimal.valueOf(value, 3)),
+                    binder.setDecimal(0, value, 3).toParameters().get(0),
+                    String.valueOf(value));
+            assertEquals(Parameters.of("p", BigDecimal.valueOf(value, 3)),
+                    binder.setDecimal(0, new DecimalBuffer().set(value, 3)).toParameters().get(0),
+                    String.valueOf(value));
+        }
+    }
+
+    @Test
+    void reuse_unchanged() {
+        var binder = binder("a", "b");
+        binder.setLong(0, 1L).setLong(1, 2L);
+        var first = binder.toParameters();
+        binder.setLong(1, 3L);
+        var second = binder.toParameters();
+        assertSame(first.get(0), second.get(0));
+        assertEquals(Parameters.of("b", 3L), second.get(1));
+        assertEquals(Parameters.of("b", 2L), first.get(1));
+    }
+
+    @Test
+    void batch() {
+        var binder = binder("a", "b");
+        binder.setLong(0, 1L).setLong(1, 10L).addBatch();
+        binder.setLong(1, 20L).addBatch();
+        binder.setLong(0, 2L).setNull(1).addBatch();
+
+        assertEquals(List.of(
+                List.of(Parameters.of("a", 1L), Parameters.of("b", 10L)),
+                List.of(Parameters.of("a", 1L), Parameters.of("b", 20L)),
+                List.of(Parameters.of("a", 2L), Parameters.ofNull("b"))),
+                binder.getBatch());
+
+        binder.clearBatch();
+        assertEquals(List.of(), binder.getBatch());
+    }
+
+    @Test
+    void unbound() {
+        var binder = binder("a", "b");
+        binder.setLong(0, 1L);
+        assertThrows(IllegalStateException.class, () -> binder.toParameters());
+        binder.setLong(1, 1L);
+        binder.clearParameters();
+        assertThrows(IllegalStateException.class, () -> binder.addBatch());
+    }
+
+    @Test
+    void invalid() {
+        var binder = binder("a");
+        assertThrows(IllegalArgumentException.class, () -> binder.indexOf("b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> binder.setLong(1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> binder("a", "a"));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.sql.Placeholders;
+import com.tsurugidb.tsubakuro.sql.PreparedStatement;
+import com.tsurugidb.tsubakuro.sql.SqlService;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class PreparedStatementCacheTest {
+
+    private final List<String> prepared = new ArrayList<>();
+
+    private final List<Long> disposed = new ArrayList<>();
+
+    private final SqlService service = new SqlService() {
+        @Override
+        public FutureResponse<PreparedStatement> send(SqlRequest.Prepare request) {
+            prepared.add(request.getSql());
+            var handle = SqlCommon.PreparedStatement.newBuilder().setHandle(prepared.size()).build();
+            return FutureResponse.returns(new PreparedStatementImpl(handle, this, null, request, null));
+        }
+
+        @Override
+        public FutureResponse<Void> send(SqlRequest.DisposePreparedStatement request) {
+            disposed.add(request.getPreparedStatementHandle().getHandle());
+            return FutureResponse.returns(null);
+        }
+    };
+
+    private static long handle(PreparedStatement statement) throws IOException {
+        return ((PreparedStatementImpl) statement).getHandle().getHandle();
+    }
+
+    @Test
+    void hit() throws Exception {
+        try (var client = new SqlClientImpl(service, 4)) {
+            var cache = client.getPreparedStatementCache().get();
+            try (var a = client.prepare("SELECT 1").await();
+                    var b = client.prepare("SELECT 1").await()) {
+                assertNotSame(a, b);
+                assertEquals(handle(a), handle(b));
+            }
+            try (var c = client.prepare("SELECT 1").await()) {
+                assertEquals(1, handle(c));
+            }
+            assertEquals(List.of("SELECT 1"), prepared);
+            assertEquals(2, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(2.0 / 3.0, cache.getHitRate());
+            assertEquals(List.of(), disposed);
+        }
+        assertEquals(List.of(1L), disposed);
+    }
+
+    @Test
+    void placeholders() throws Exception {
+        try (var client = new SqlClientImpl(service, 4)) {
+            client.prepare("SELECT :a", Placeholders.of("a", long.class)).await().close();
+            client.prepare("SELECT :a", Placeholders.of("a", int.class)).await().close();
+            client.prepare("SELECT :a", Placeholders.of("a", long.class)).await().close();
+            assertEquals(List.of("SELECT :a", "SELECT :a"), prepared);
+        }
+    }
+
+    @Test
+    void evict() throws Exception {
+        try (var client = new SqlClientImpl(service, 2)) {
+            var cache = client.getPreparedStatementCache().get();
+            client.prepare("SELECT 1").await().close();
+            client.prepare("SELECT 2").await().close();
+            // touch "SELECT 1"
+            client.prepare("SELECT 1").await().close();
+            client.prepare("SELECT 3").await().close();
+
+            assertEquals(2, cache.size());
+            assertEquals(1, cache.getEvictionCount());
+            assertEquals(List.of(2L), disposed);
+
+            client.prepare("SELECT 1").await().close();
+            assertEquals(List.of("SELECT 1", "SELECT 2", "SELECT 3"), prepared);
+        }
+    }
+
+    @Test
+    void evict_in_use() throws Exception {
+        try (var client = new SqlClientImpl(service, 1)) {
+            var inUse = client.prepare("SELECT 1").await();
+            client.prepare("SELECT 2").await().close();
+            assertEquals(List.of(), disposed);
+            assertEquals(1, handle(inUse));
+
+            inUse.close();
+            assertEquals(List.of(1L), disposed);
+            assertThrows(IOException.class, () -> handle(inUse));
+        }
+    }
+
+    @Test
+    void disabled() throws Exception {
+        try (var client = new SqlClientImpl(service)) {
+            assertTrue(client.getPreparedStatementCache().isEmpty());
+            client.prepare("SELECT 1").await().close();
+            client.prepare("SELECT 1").await().close();
+            assertEquals(List.of("SELECT 1", "SELECT 1"), prepared);
+            assertEquals(List.of(1L, 2L), disposed);
+        }
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new SqlClientImpl(service, 0));
+    }
+}
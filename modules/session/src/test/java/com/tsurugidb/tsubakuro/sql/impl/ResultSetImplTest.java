@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.sql.proto.SqlResponse;
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Response;
+import com.tsurugidb.tsubakuro.exception.CoreServiceCode;
+import com.tsurugidb.tsubakuro.exception.CoreServiceException;
+import com.tsurugidb.tsubakuro.sql.Types;
+import com.tsurugidb.tsubakuro.sql.impl.testing.Relation;
+import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueInput;
+
+class ResultSetImplTest {
+
+    /**
+     * A response of the query, which reports {@code OPERATION_CANCELED} once it was canceled.
+     */
+    static class QueryResponse implements Response, ResultSetImpl.ResponseTester {
+
+        volatile boolean ready = false;
+
+        int canceled = 0;
+
+        int tested = 0;
+
+        CoreServiceException error = null;
+
+        @Override
+        public boolean isMainResponseReady() {
+            return ready;
+        }
+
+        @Override
+        public ByteBuffer waitForMainResponse() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ByteBuffer waitForMainResponse(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancel() {
+            canceled++;
+        }
+
+        @Override
+        public void close() {
+            return;
+        }
+
+        @Override
+        public void test(Response response) throws CoreServiceException {
+            tested++;
+            if (error != null) {
+                throw error;
+            }
+            if (canceled > 0) {
+                throw new CoreServiceException(CoreServiceCode.OPERATION_CANCELED);
+            }
+        }
+
+        @Override
+        public void test(Response response, long timeout, TimeUnit unit) throws CoreServiceException {
+            test(response);
+        }
+    }
+
+    private static ResultSetImpl open(QueryResponse response, int rows) {
+        var values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[] { (long) i };
+        }
+        var cursor = new ValueInputBackedRelationCursor(
+                new StreamBackedValueInput(new ByteArrayInputStream(Relation.of(values).getBytes())));
+        var metadata = new ResultSetMetadataAdapter(SqlResponse.ResultSetMetadata.newBuilder()
+                .addColumns(Types.column("k", Types.of(long.class)))
+                .build());
+        return new ResultSetImpl(null, metadata, cursor, response, response, "rs", SqlRequest.Request.getDefaultInstance());
+    }
+
+    @Test
+    void close_partial_read_cancels() throws Exception {
+        var response = new QueryResponse();
+        try (var rs = open(response, 3)) {
+            assertTrue(rs.nextRow());
+            assertTrue(rs.nextColumn());
+            assertEquals(0, rs.fetchInt8Value());
+        }
+        // the rest of records are not drained, and OPERATION_CANCELED is not reported
+        assertEquals(1, response.canceled);
+        assertEquals(1, response.tested);
+    }
+
+    @Test
+    void close_fully_read_does_not_cancel() throws Exception {
+        var response = new QueryResponse();
+        try (var rs = open(response, 3)) {
+            while (rs.nextRow()) {
+                continue;
+            }
+        }
+        assertEquals(0, response.canceled);
+        assertEquals(1, response.tested);
+    }
+
+    @Test
+    void close_finished_request_does_not_cancel() throws Exception {
+        var response = new QueryResponse();
+        var rs = open(response, 3);
+        response.ready = true;
+        rs.close();
+        assertEquals(0, response.canceled);
+    }
+
+    @Test
+    void close_canceled_other_error() throws Exception {
+        var response = new QueryResponse();
+        var rs = open(response, 3);
+        assertTrue(rs.nextRow());
+        response.error = new CoreServiceException(CoreServiceCode.SYSTEM_ERROR);
+        // only OPERATION_CANCELED is tolerated
+        var e = assertThrows(CoreServiceException.class, rs::close);
+        assertEquals(CoreServiceCode.SYSTEM_ERROR, e.getDiagnosticCode());
+        assertEquals(1, response.canceled);
+    }
+
+    @Test
+    void request_close_cancels_once() throws Exception {
+        var response = new QueryResponse();
+        try (var rs = open(response, 3)) {
+            assertTrue(rs.nextRow());
+            rs.requestClose();
+            rs.requestClose();
+        }
+        assertEquals(1, response.canceled);
+    }
+}
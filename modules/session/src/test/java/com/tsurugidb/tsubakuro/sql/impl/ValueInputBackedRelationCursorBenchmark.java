@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.impl.testing.Relation;
+import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueInput;
+
+/**
+ * Compares the time to decode a wide table with and without column projection.
+ * <p>
+ * This is not a unit test, please run this manually:
+ * {@code java -cp ... com.tsurugidb.tsubakuro.sql.impl.ValueInputBackedRelationCursorBenchmark [rows] [iterations]}
+ * </p>
+ */
+public final class ValueInputBackedRelationCursorBenchmark {
+
+    private static final int COLUMNS = 20;
+
+    private static final int[] PROJECTION = { 4, 16 };
+
+    private static final int DEFAULT_ROWS = 100_000;
+
+    private static final int DEFAULT_ITERATIONS = 10;
+
+    private ValueInputBackedRelationCursorBenchmark() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Program entry.
+     * @param args {@code [0]} - the number of rows (optional), {@code [1]} - the number of iterations (optional)
+     * @throws Exception if error was occurred
+     */
+    public static void main(String... args) throws Exception {
+        if (args.length > 2) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "usage: java -cp ... {0} [rows] [iterations]",
+                    ValueInputBackedRelationCursorBenchmark.class.getName()));
+        }
+        int rows = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        int iterations = args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        byte[] bytes = build(rows).getBytes();
+
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            readAll(bytes);
+            readProjected(bytes);
+        }
+
+        long full = 0;
+        long projected = 0;
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            checksum += readAll(bytes);
+            long middle = System.nanoTime();
+            checksum += readProjected(bytes);
+            long end = System.nanoTime();
+            full += middle - start;
+            projected += end - middle;
+        }
+        System.out.println(MessageFormat.format(
+                "rows={0}, columns={1}, iterations={2} (checksum={3})",
+                rows, COLUMNS, iterations, String.valueOf(checksum)));
+        System.out.println(MessageFormat.format(
+                "full: {0} ms/iteration",
+                TimeUnit.NANOSECONDS.toMillis(full / iterations)));
+        System.out.println(MessageFormat.format(
+                "projected ({0} columns): {1} ms/iteration",
+                PROJECTION.length, TimeUnit.NANOSECONDS.toMillis(projected / iterations)));
+    }
+
+    private static Relation build(int rows) {
+        var values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            var row = new Object[COLUMNS];
+            for (int j = 0; j < COLUMNS; j++) {
+                switch (j % 4) {
+                case 0:
+                    row[j] = (long) i * COLUMNS + j;
+                    break;
+                case 1:
+                    row[j] = "column-" + j + "-" + i;
+                    break;
+                case 2:
+                    row[j] = BigDecimal.valueOf(i, 2);
+                    break;
+                default:
+                    row[j] = new byte[] { (byte) i, (byte) j };
+                    break;
+                }
+            }
+            values[i] = row;
+        }
+        return Relation.of(values);
+    }
+
+    private static ValueInputBackedRelationCursor open(byte[] bytes) {
+        return new ValueInputBackedRelationCursor(new StreamBackedValueInput(new ByteArrayInputStream(bytes)));
+    }
+
+    private static long readAll(byte[] bytes) throws IOException, ServerException, InterruptedException {
+        long sum = 0;
+        try (var cursor = open(bytes)) {
+            while (cursor.nextRow()) {
+                for (int j = 0; cursor.nextColumn(); j++) {
+                    switch (j % 4) {
+                    case 0:
+                        sum += cursor.fetchInt8Value();
+                        break;
+                    case 1:
+                        sum += cursor.fetchCharacterValue().length();
+                        break;
+                    case 2:
+                        sum += cursor.fetchDecimalValue().scale();
+                        break;
+                    default:
+                        sum += cursor.fetchOctetValue().length;
+                        break;
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long readProjected(byte[] bytes) throws IOException, ServerException, InterruptedException {
+        long sum = 0;
+        try (var cursor = open(bytes)) {
+            cursor.setProjection(PROJECTION);
+            while (cursor.nextRow()) {
+                while (cursor.nextColumn()) {
+                    sum += cursor.fetchInt8Value();
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.sql.impl.testing.Relation;
+import com.tsurugidb.tsubakuro.sql.io.DecimalBuffer;
+import com.tsurugidb.tsubakuro.sql.io.StreamBackedValueInput;
+
+class ValueInputBackedRelationCursorTest {
+
+    private static ValueInputBackedRelationCursor open(Relation relation) {
+        return new ValueInputBackedRelationCursor(
+                new StreamBackedValueInput(new ByteArrayInputStream(relation.getBytes())));
+    }
+
+    @Test
+    void projection() throws Exception {
+        var relation = Relation.of(new Object[][] {
+            { 1, "a", new BigDecimal("1.5"), new byte[] { 1, 2 }, LocalDate.of(2000, 1, 1), 10L },
+            { 2, "bb", new BigDecimal("2.5"), new byte[] { 3 }, LocalDate.of(2000, 1, 2), 20L },
+        });
+        try (var cursor = open(relation)) {
+            cursor.setProjection(1, 5);
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals("a", cursor.fetchCharacterValue());
+            assertTrue(cursor.nextColumn());
+            assertEquals(10L, cursor.fetchInt8Value());
+            assertFalse(cursor.nextColumn());
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals("bb", cursor.fetchCharacterValue());
+            assertTrue(cursor.nextColumn());
+            assertEquals(20L, cursor.fetchInt8Value());
+            assertFalse(cursor.nextColumn());
+
+            assertFalse(cursor.nextRow());
+        }
+    }
+
+    @Test
+    void decimal_buffer_overflow() throws Exception {
+        var relation = Relation.of(new Object[][] {
+            { BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), 10L },
+            { new BigDecimal("1.5"), 20L },
+        });
+        try (var cursor = open(relation)) {
+            var buffer = new DecimalBuffer();
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertThrows(ArithmeticException.class, () -> cursor.fetchDecimalValue(buffer));
+            // the overflowed column must not shift the following columns
+            assertTrue(cursor.nextColumn());
+            assertEquals(10L, cursor.fetchInt8Value());
+            assertFalse(cursor.nextColumn());
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals(new BigDecimal("1.5"), cursor.fetchDecimalValue(buffer).toBigDecimal());
+            assertTrue(cursor.nextColumn());
+            assertEquals(20L, cursor.fetchInt8Value());
+            assertFalse(cursor.nextColumn());
+
+            assertFalse(cursor.nextRow());
+        }
+    }
+
+    @Test
+    void projection_skip_trailing() throws Exception {
+        var relation = Relation.of(new Object[][] {
+            { 1, "a", new BigDecimal("1.5") },
+            { 2, "b", new BigDecimal("2.5") },
+        });
+        try (var cursor = open(relation)) {
+            cursor.setProjection(0);
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals(1, cursor.fetchInt4Value());
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals(2, cursor.fetchInt4Value());
+            assertFalse(cursor.nextColumn());
+
+            assertFalse(cursor.nextRow());
+        }
+    }
+
+    @Test
+    void projection_nested() throws Exception {
+        var relation = Relation.of(
+                Relation.row("x", Relation.row(1, 2, 3), "y"));
+        try (var cursor = open(relation)) {
+            cursor.setProjection(1);
+
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals(3, cursor.beginRowValue());
+            // elements in nested rows are not affected
+            assertTrue(cursor.nextColumn());
+            assertEquals(1, cursor.fetchInt4Value());
+            assertTrue(cursor.nextColumn());
+            assertEquals(2, cursor.fetchInt4Value());
+            assertTrue(cursor.nextColumn());
+            assertEquals(3, cursor.fetchInt4Value());
+            assertFalse(cursor.nextColumn());
+            cursor.endRowValue();
+            assertFalse(cursor.nextColumn());
+
+            assertFalse(cursor.nextRow());
+        }
+    }
+
+    @Test
+    void projection_reset() throws Exception {
+        var relation = Relation.of(new Object[][] {
+            { 1, "a" },
+            { 2, "b" },
+        });
+        try (var cursor = open(relation)) {
+            cursor.setProjection(1);
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals("a", cursor.fetchCharacterValue());
+
+            cursor.setProjection((int[]) null);
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals(2, cursor.fetchInt4Value());
+            assertTrue(cursor.nextColumn());
+            assertEquals("b", cursor.fetchCharacterValue());
+            assertFalse(cursor.nextColumn());
+        }
+    }
+
+    @Test
+    void projection_invalid() throws Exception {
+        try (var cursor = open(Relation.of(new Object[][] {}))) {
+            assertThrows(IllegalArgumentException.class, () -> cursor.setProjection(0, -1));
+        }
+    }
+
+    @Test
+    void projection_wide_table() throws Exception {
+        int columns = 20;
+        int rows = 10_000;
+        var values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            var row = new Object[columns];
+            for (int j = 0; j < columns; j++) {
+                switch (j % 4) {
+                case 0:
+                    row[j] = (long) i * columns + j;
+                    break;
+                case 1:
+                    row[j] = "column-" + j + "-" + i;
+                    break;
+                case 2:
+                    row[j] = BigDecimal.valueOf(i, 2);
+                    break;
+                default:
+                    row[j] = new byte[] { (byte) i, (byte) j };
+                    break;
+                }
+            }
+            values[i] = row;
+        }
+        var relation = Relation.of(values);
+
+        try (var cursor = open(relation)) {
+            cursor.setProjection(4, 16);
+            int row = 0;
+            while (cursor.nextRow()) {
+                // only the projected columns are visible, and the others are skipped without decoding
+                assertTrue(cursor.nextColumn());
+                assertEquals((long) row * columns + 4, cursor.fetchInt8Value());
+                assertTrue(cursor.nextColumn());
+                assertEquals((long) row * columns + 16, cursor.fetchInt8Value());
+                assertFalse(cursor.nextColumn());
+                row++;
+            }
+            assertEquals(rows, row);
+        }
+    }
+}
@@ -116,6 +116,36 @@ class StreamBackedValueInputTest {
                 StreamBackedValueOutput::writeDecimal, StreamBackedValueInput::readDecimal);
     }
 
+    @Test
+    void readDecimal_buffer() {
+        assertSerDe(BigDecimal.valueOf(Long.MAX_VALUE),
+                StreamBackedValueOutput::writeDecimal, input -> input.readDecimal(new DecimalBuffer()).toBigDecimal());
+        assertSerDe(new BigDecimal("3.14"),
+                StreamBackedValueOutput::writeDecimal, input -> input.readDecimal(new DecimalBuffer()).toBigDecimal());
+        assertSerDe(new BigDecimal("-1.4142"),
+                StreamBackedValueOutput::writeDecimal, input -> input.readDecimal(new DecimalBuffer()).toBigDecimal());
+    }
+
+    @Test
+    void readDecimal_buffer_overflow() {
+        byte[] bytes = serialize(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), true,
+                StreamBackedValueOutput::writeDecimal);
+        assertThrows(ArithmeticException.class,
+                () -> deserialize(bytes, true, input -> input.readDecimal(new DecimalBuffer())));
+    }
+
+    @Test
+    void decimalBuffer_rescale() {
+        var buffer = new DecimalBuffer().set(314, 2);
+        assertEquals(314, buffer.getUnscaledValue(2));
+        assertEquals(314_000, buffer.getUnscaledValue(5));
+        assertThrows(ArithmeticException.class, () -> buffer.getUnscaledValue(1));
+        assertThrows(ArithmeticException.class, () -> buffer.getUnscaledValue(30));
+
+        buffer.set(3_100, 3);
+        assertEquals(31, buffer.getUnscaledValue(1));
+    }
+
     @Test
     void readCharacter_embed() {
         assertSerDe(nCharacter(1), StreamBackedValueOutput::writeCharacter, StreamBackedValueInput::readCharacter);
@@ -208,6 +238,35 @@ class StreamBackedValueInputTest {
                 StreamBackedValueOutput::writeTimePoint, StreamBackedValueInput::readTimePoint);
     }
 
+    @Test
+    void readDateAsEpochDay() {
+        assertSerDe(LocalDate.of(2022, 5, 4),
+                StreamBackedValueOutput::writeDate, input -> LocalDate.ofEpochDay(input.readDateAsEpochDay()));
+        assertSerDe(LocalDate.of(1900, 1, 1),
+                StreamBackedValueOutput::writeDate, input -> LocalDate.ofEpochDay(input.readDateAsEpochDay()));
+    }
+
+    @Test
+    void readTimeOfDayAsNanoOfDay() {
+        assertSerDe(LocalTime.of(12, 34, 56, 123_456_789),
+                StreamBackedValueOutput::writeTimeOfDay, input -> LocalTime.ofNanoOfDay(input.readTimeOfDayAsNanoOfDay()));
+    }
+
+    @Test
+    void readTimePoint_buffer() {
+        assertSerDe(LocalDateTime.of(LocalDate.of(2022, 05, 04), LocalTime.of(12, 34, 56, 789_000_000)),
+                StreamBackedValueOutput::writeTimePoint, input -> input.readTimePoint(new TimePointBuffer()).toLocalDateTime());
+        assertSerDe(LocalDateTime.of(LocalDate.of(1900, 1, 1), LocalTime.ofNanoOfDay(123_456_789)),
+                StreamBackedValueOutput::writeTimePoint, input -> input.readTimePoint(new TimePointBuffer()).toLocalDateTime());
+    }
+
+    @Test
+    void readTimePointWithTimeZone_buffer() {
+        assertSerDe(OffsetDateTime.of(LocalDate.of(2022, 05, 04), LocalTime.of(12, 34, 56, 789_000_000), ZoneOffset.ofTotalSeconds(9 * 60 * 60)),
+                StreamBackedValueOutput::writeTimePointWithTimeZone,
+                input -> input.readTimePointWithTimeZone(new TimePointBuffer()).toOffsetDateTime());
+    }
+
     @Test
     void readTimeOfDayWithTimeZone() {
         assertSerDe(OffsetTime.of(LocalTime.of(0, 0, 0), ZoneOffset.ofTotalSeconds(9 * 60 * 60)),
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.sql.proto.SqlCommon;
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.CounterType;
+import com.tsurugidb.tsubakuro.sql.ExecuteResult;
+import com.tsurugidb.tsubakuro.sql.Parameters;
+import com.tsurugidb.tsubakuro.sql.PreparedStatement;
+import com.tsurugidb.tsubakuro.sql.SqlServiceCode;
+import com.tsurugidb.tsubakuro.sql.SqlServiceException;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+import com.tsurugidb.tsubakuro.sql.impl.PreparedStatementImpl;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class BatchExecutorTest {
+
+    private final PreparedStatement statement = new PreparedStatementImpl(
+            SqlCommon.PreparedStatement.newBuilder().setHandle(1).build(), null, null, null, null);
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    private final List<MockResponse> closed = new ArrayList<>();
+
+    private int inFlight = 0;
+
+    private int maxInFlight = 0;
+
+    private ServerException failure = null;
+
+    private int failAt = -1;
+
+    private final Transaction transaction = new Transaction() {
+        @Override
+        public FutureResponse<ExecuteResult> batch(
+                PreparedStatement s,
+                Collection<? extends Collection<? extends SqlRequest.Parameter>> parameterTable) {
+            int index = chunkSizes.size();
+            chunkSizes.add(parameterTable.size());
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+            return new MockResponse(index, parameterTable.size());
+        }
+    };
+
+    private final class MockResponse implements FutureResponse<ExecuteResult> {
+
+        private final int index;
+
+        private final long count;
+
+        private boolean done;
+
+        MockResponse(int index, long count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public ExecuteResult get() throws ServerException {
+            if (!done) {
+                done = true;
+                inFlight--;
+            }
+            if (index == failAt) {
+                throw failure;
+            }
+            return new ExecuteResult() {
+                @Override
+                public Map<CounterType, Long> getCounters() {
+                    return Map.of(CounterType.INSERTED_ROWS, count);
+                }
+            };
+        }
+
+        @Override
+        public ExecuteResult get(long timeout, TimeUnit unit) throws ServerException {
+            return get();
+        }
+
+        @Override
+        public void close() {
+            if (!done) {
+                done = true;
+                inFlight--;
+            }
+            closed.add(this);
+        }
+    }
+
+    private static Iterator<List<SqlRequest.Parameter>> parameters(int count) {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public List<SqlRequest.Parameter> next() {
+                return List.of(Parameters.of("k", 1_000_000L + next++), Parameters.of("v", "value"));
+            }
+        };
+    }
+
+    @Test
+    void simple() throws Exception {
+        var result = new BatchExecutor(transaction, statement).execute(parameters(10));
+        assertEquals(List.of(10), chunkSizes);
+        assertEquals(Map.of(CounterType.INSERTED_ROWS, 10L), result.getCounters());
+    }
+
+    @Test
+    void chunking() throws Exception {
+        long size = BatchExecutor.estimateSize(parameters(1).next());
+        var result = new BatchExecutor(transaction, statement)
+                .maxChunkSize(size * 100)
+                .maxInFlight(3)
+                .execute(parameters(1050));
+        assertEquals(11, chunkSizes.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(100, chunkSizes.get(i));
+        }
+        assertEquals(50, chunkSizes.get(10));
+        assertEquals(3, maxInFlight);
+        assertEquals(0, inFlight);
+        assertEquals(Map.of(CounterType.INSERTED_ROWS, 1050L), result.getCounters());
+    }
+
+    @Test
+    void oversized() throws Exception {
+        var result = new BatchExecutor(transaction, statement)
+                .maxChunkSize(1)
+                .execute(parameters(5));
+        assertEquals(List.of(1, 1, 1, 1, 1), chunkSizes);
+        assertEquals(Map.of(CounterType.INSERTED_ROWS, 5L), result.getCounters());
+    }
+
+    @Test
+    void empty() throws Exception {
+        var result = new BatchExecutor(transaction, statement).execute(List.of());
+        assertEquals(List.of(), chunkSizes);
+        assertEquals(Map.of(), result.getCounters());
+    }
+
+    @Test
+    void failure() throws Exception {
+        failure = new SqlServiceException(SqlServiceCode.UNIQUE_CONSTRAINT_VIOLATION_EXCEPTION);
+        failAt = 1;
+        var executor = new BatchExecutor(transaction, statement)
+                .maxChunkSize(1)
+                .maxInFlight(3);
+        var e = assertThrows(SqlServiceException.class, () -> executor.execute(parameters(10)));
+        assertEquals(failure, e);
+        // no more requests after the error
+        assertTrue(chunkSizes.size() < 10);
+        // the rest requests are discarded
+        assertEquals(0, inFlight);
+        assertTrue(closed.size() > 0);
+    }
+}
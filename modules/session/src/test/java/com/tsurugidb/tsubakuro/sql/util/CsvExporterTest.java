@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tsurugidb.sql.proto.SqlResponse;
+import com.tsurugidb.tsubakuro.sql.ResultSet;
+import com.tsurugidb.tsubakuro.sql.Types;
+import com.tsurugidb.tsubakuro.sql.impl.ResultSetMetadataAdapter;
+import com.tsurugidb.tsubakuro.sql.impl.testing.Relation;
+
+class CsvExporterTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private static ResultSet resultSet(int rows) {
+        var values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[] { (long) i, i % 5 == 0 ? "a,\"b\"" : "row-" + i, i % 3 == 0 ? null : BigDecimal.valueOf(i, 2) };
+        }
+        return Relation.of(values).getResultSet(new ResultSetMetadataAdapter(SqlResponse.ResultSetMetadata.newBuilder()
+                .addColumns(Types.column("k", Types.of(long.class)))
+                .addColumns(Types.column("v", Types.of(String.class)))
+                .addColumns(Types.column("d", Types.of(BigDecimal.class)))
+                .build()));
+    }
+
+    private static String expected(int rows) {
+        var buf = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            buf.append(i).append(',');
+            buf.append(i % 5 == 0 ? "\"a,\"\"b\"\"\"" : "row-" + i).append(',');
+            if (i % 3 != 0) {
+                buf.append(BigDecimal.valueOf(i, 2).toPlainString());
+            }
+            buf.append("\r\n");
+        }
+        return buf.toString();
+    }
+
+    private static String read(List<Path> files, boolean gzip) throws IOException {
+        var buf = new StringBuilder();
+        for (var file : files) {
+            try (InputStream input = gzip ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file)) {
+                var bytes = new ByteArrayOutputStream();
+                input.transferTo(bytes);
+                buf.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return buf.toString();
+    }
+
+    @Test
+    void simple() throws Exception {
+        try (var rs = resultSet(10)) {
+            var files = CsvExporter.exportTo(temporaryDirectory)
+                    .header(false)
+                    .export(rs);
+            assertEquals(1, files.size());
+            assertEquals(temporaryDirectory.resolve("export-0.csv"), files.get(0));
+            assertEquals(expected(10), read(files, false));
+        }
+    }
+
+    @Test
+    void header() throws Exception {
+        try (var rs = resultSet(3)) {
+            var files = CsvExporter.exportTo(temporaryDirectory)
+                    .export(rs);
+            assertEquals("k,v,d\r\n" + expected(3), read(files, false));
+        }
+    }
+
+    @Test
+    void rolling() throws Exception {
+        try (var rs = resultSet(1000)) {
+            var files = CsvExporter.exportTo(temporaryDirectory)
+                    .header(false)
+                    .batchSize(10)
+                    .maxFileSize(1000)
+                    .parallelism(4)
+                    .export(rs);
+            assertTrue(files.size() > 1);
+            for (var file : files) {
+                // may exceed the limit by at most one batch
+                assertTrue(Files.size(file) < 2000);
+            }
+            assertEquals(expected(1000), read(files, false));
+        }
+    }
+
+    @Test
+    void gzip() throws Exception {
+        try (var rs = resultSet(1000)) {
+            var files = CsvExporter.exportTo(temporaryDirectory)
+                    .filePrefix("out")
+                    .compression(CsvExporter.Compression.GZIP)
+                    .batchSize(7)
+                    .maxFileSize(4096)
+                    .parallelism(3)
+                    .export(rs);
+            assertTrue(files.size() > 1);
+            assertTrue(files.get(0).getFileName().toString().equals("out-0.csv.gz"));
+            var contents = read(files, true);
+            var expected = new StringBuilder();
+            int offset = 0;
+            var rows = expected(1000).split("\r\n");
+            // each file starts with the header
+            for (var file : files) {
+                var part = read(List.of(file), true);
+                assertTrue(part.startsWith("k,v,d\r\n"));
+                int lines = part.split("\r\n").length - 1;
+                expected.append("k,v,d\r\n");
+                for (int i = 0; i < lines; i++) {
+                    expected.append(rows[offset++]).append("\r\n");
+                }
+            }
+            assertEquals(1000, offset);
+            assertEquals(expected.toString(), contents);
+        }
+    }
+
+    @Test
+    void null_and_empty_string() throws Exception {
+        var values = new Object[][] {
+            { 1L, null, null },
+            { 2L, "", BigDecimal.ONE },
+        };
+        try (var rs = Relation.of(values).getResultSet(new ResultSetMetadataAdapter(SqlResponse.ResultSetMetadata.newBuilder()
+                .addColumns(Types.column("k", Types.of(long.class)))
+                .addColumns(Types.column("v", Types.of(String.class)))
+                .addColumns(Types.column("d", Types.of(BigDecimal.class)))
+                .build()))) {
+            var files = CsvExporter.exportTo(temporaryDirectory)
+                    .header(false)
+                    .export(rs);
+            // NULL is an empty field, and empty string is a quoted empty field
+            assertEquals("1,,\r\n2,\"\",1\r\n", read(files, false));
+        }
+    }
+
+    @Test
+    void empty() throws Exception {
+        try (var rs = resultSet(0)) {
+            var files = CsvExporter.exportTo(temporaryDirectory).export(rs);
+            assertEquals(0, files.size());
+        }
+    }
+
+    @Test
+    void invalid() {
+        var exporter = CsvExporter.exportTo(temporaryDirectory);
+        assertThrows(IllegalArgumentException.class, () -> exporter.batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> exporter.maxFileSize(0));
+        assertThrows(IllegalArgumentException.class, () -> exporter.parallelism(0));
+    }
+}
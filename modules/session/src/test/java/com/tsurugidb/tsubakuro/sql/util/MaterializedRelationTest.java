@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tsurugidb.sql.proto.SqlResponse;
+import com.tsurugidb.tsubakuro.sql.RelationCursor;
+import com.tsurugidb.tsubakuro.sql.ResultSet;
+import com.tsurugidb.tsubakuro.sql.Types;
+import com.tsurugidb.tsubakuro.sql.impl.ResultSetMetadataAdapter;
+import com.tsurugidb.tsubakuro.sql.impl.testing.Relation;
+
+class MaterializedRelationTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private static ResultSet resultSet(int rows) {
+        var values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[] { (long) i, "row-" + i, i % 3 == 0 ? null : BigDecimal.valueOf(i, 2) };
+        }
+        return Relation.of(values).getResultSet(new ResultSetMetadataAdapter(SqlResponse.ResultSetMetadata.newBuilder()
+                .addColumns(Types.column("k", Types.of(long.class)))
+                .addColumns(Types.column("v", Types.of(String.class)))
+                .addColumns(Types.column("d", Types.of(BigDecimal.class)))
+                .build()));
+    }
+
+    private static void check(RelationCursor cursor, int rows) throws Exception {
+        for (int i = 0; i < rows; i++) {
+            assertTrue(cursor.nextRow());
+            assertTrue(cursor.nextColumn());
+            assertEquals((long) i, cursor.fetchInt8Value());
+            assertTrue(cursor.nextColumn());
+            assertEquals("row-" + i, cursor.fetchCharacterValue());
+            assertTrue(cursor.nextColumn());
+            if (i % 3 == 0) {
+                assertTrue(cursor.isNull());
+            } else {
+                assertEquals(BigDecimal.valueOf(i, 2), cursor.fetchDecimalValue());
+            }
+            assertFalse(cursor.nextColumn());
+        }
+        assertFalse(cursor.nextRow());
+    }
+
+    @Test
+    void in_memory() throws Exception {
+        try (
+            var rs = resultSet(10);
+            var relation = MaterializedRelation.of(rs, MaterializedRelation.DEFAULT_MEMORY_THRESHOLD, temporaryDirectory);
+        ) {
+            assertFalse(relation.isSpilled());
+            assertEquals(10, relation.getRowCount());
+            assertEquals(3, relation.getMetadata().getColumns().size());
+            try (var cursor = relation.newCursor()) {
+                check(cursor, 10);
+            }
+            // replay
+            try (var cursor = relation.newCursor()) {
+                check(cursor, 10);
+            }
+        }
+    }
+
+    @Test
+    void spill() throws Exception {
+        try (var rs = resultSet(1000)) {
+            var relation = MaterializedRelation.of(rs, 64, temporaryDirectory);
+            try (relation) {
+                assertTrue(relation.isSpilled());
+                assertEquals(1000, relation.getRowCount());
+                assertEquals(1, Files.list(temporaryDirectory).count());
+                try (var cursor = relation.newCursor()) {
+                    check(cursor, 1000);
+                }
+                try (var cursor = relation.newCursor()) {
+                    check(cursor, 1000);
+                }
+            }
+            assertEquals(0, Files.list(temporaryDirectory).count());
+            assertThrows(IllegalStateException.class, () -> relation.newCursor());
+        }
+    }
+
+    @Test
+    void empty() throws Exception {
+        try (
+            var rs = resultSet(0);
+            var relation = MaterializedRelation.of(rs);
+        ) {
+            assertEquals(0, relation.getRowCount());
+            try (var cursor = relation.newCursor()) {
+                assertFalse(cursor.nextRow());
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.tsubakuro.channel.common.connection.wire.Wire;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.CounterType;
+import com.tsurugidb.tsubakuro.sql.ExecuteResult;
+import com.tsurugidb.tsubakuro.sql.SqlServiceCode;
+import com.tsurugidb.tsubakuro.sql.SqlServiceException;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class StatementPipelineTest {
+
+    private final List<String> sources = new ArrayList<>();
+
+    private final List<MockResponse> closed = new ArrayList<>();
+
+    private int inFlight = 0;
+
+    private int maxInFlight = 0;
+
+    private final Transaction transaction = new Transaction() {
+        @Override
+        public FutureResponse<ExecuteResult> executeStatement(String source) {
+            sources.add(source);
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+            return new MockResponse(source);
+        }
+    };
+
+    private final class MockResponse implements FutureResponse<ExecuteResult> {
+
+        private final String source;
+
+        private boolean done;
+
+        MockResponse(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public ExecuteResult get() throws ServerException {
+            finish();
+            if (source.startsWith("ERROR")) {
+                throw new SqlServiceException(SqlServiceCode.UNIQUE_CONSTRAINT_VIOLATION_EXCEPTION, source);
+            }
+            return new ExecuteResult() {
+                @Override
+                public Map<CounterType, Long> getCounters() {
+                    return Map.of(CounterType.INSERTED_ROWS, 1L);
+                }
+            };
+        }
+
+        @Override
+        public ExecuteResult get(long timeout, TimeUnit unit) throws ServerException {
+            return get();
+        }
+
+        @Override
+        public void close() {
+            if (!done) {
+                closed.add(this);
+            }
+            finish();
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                inFlight--;
+            }
+        }
+    }
+
+    @Test
+    void simple() throws Exception {
+        try (var pipeline = transaction.pipeline(4)) {
+            for (int i = 0; i < 100; i++) {
+                pipeline.submit("INSERT " + i);
+            }
+            var result = pipeline.await();
+            assertEquals(Map.of(CounterType.INSERTED_ROWS, 100L), result.getCounters());
+            assertEquals(100, pipeline.getSubmittedCount());
+            assertEquals(100, pipeline.getCompletedCount());
+            assertNull(pipeline.getFirstError());
+        }
+        assertEquals(100, sources.size());
+        assertEquals(4, maxInFlight);
+        assertEquals(0, inFlight);
+    }
+
+    @Test
+    void error() throws Exception {
+        try (var pipeline = transaction.pipeline(2)) {
+            pipeline.submit("INSERT 0");
+            pipeline.submit("ERROR 1");
+            pipeline.submit("ERROR 2");
+            // "ERROR 1" is finished while submitting "INSERT 3"
+            var e = assertThrows(SqlServiceException.class, () -> pipeline.submit("INSERT 3"));
+            assertTrue(e.getMessage().endsWith("ERROR 1"));
+            assertEquals(3, sources.size());
+
+            var f = assertThrows(SqlServiceException.class, () -> pipeline.flush());
+            assertSame(e, f);
+            assertSame(e, pipeline.getFirstError());
+            assertEquals(1, e.getSuppressed().length);
+        }
+        assertEquals(0, inFlight);
+    }
+
+    @Test
+    void close_discard() throws Exception {
+        try (var pipeline = transaction.pipeline(8)) {
+            pipeline.submit("INSERT 0");
+            pipeline.submit("INSERT 1");
+        }
+        assertEquals(2, closed.size());
+        assertEquals(0, inFlight);
+    }
+
+    @Test
+    void capped_by_slots() {
+        var pipeline = transaction.pipeline(Integer.MAX_VALUE);
+        assertEquals(Wire.MAXIMUM_CONCURRENT_REQUESTS, pipeline.getMaxInFlight());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> transaction.pipeline(0));
+    }
+}
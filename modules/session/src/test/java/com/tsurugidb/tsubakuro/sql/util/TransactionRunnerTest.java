@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.tsubakuro.sql.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.sql.proto.SqlRequest;
+import com.tsurugidb.tsubakuro.exception.ServerException;
+import com.tsurugidb.tsubakuro.sql.SqlClient;
+import com.tsurugidb.tsubakuro.sql.SqlServiceCode;
+import com.tsurugidb.tsubakuro.sql.SqlServiceException;
+import com.tsurugidb.tsubakuro.sql.Transaction;
+import com.tsurugidb.tsubakuro.sql.exception.OccWriteException;
+import com.tsurugidb.tsubakuro.util.FutureResponse;
+
+class TransactionRunnerTest {
+
+    private final List<SqlRequest.TransactionOption> options = new ArrayList<>();
+
+    private final ArrayDeque<ServerException> commitErrors = new ArrayDeque<>();
+
+    private int closed = 0;
+
+    private final SqlClient client = new SqlClient() {
+        @Override
+        public FutureResponse<Transaction> createTransaction(SqlRequest.TransactionOption option) {
+            options.add(option);
+            return FutureResponse.returns(new Transaction() {
+                @Override
+                public FutureResponse<Void> commit() {
+                    var error = commitErrors.poll();
+                    if (error != null) {
+                        return FutureResponse.raises(error);
+                    }
+                    return FutureResponse.returns(null);
+                }
+
+                @Override
+                public void close() {
+                    closed++;
+                }
+            });
+        }
+    };
+
+    private TransactionRunner runner() {
+        return client.newTransactionRunner().backoff(Duration.ZERO, Duration.ZERO);
+    }
+
+    private static SqlServiceException occ() {
+        return new OccWriteException(SqlServiceCode.OCC_WRITE_EXCEPTION);
+    }
+
+    @Test
+    void simple() throws Exception {
+        var runner = runner();
+        assertEquals("OK", runner.run(transaction -> "OK"));
+        assertEquals(1, options.size());
+        assertEquals(SqlRequest.TransactionType.SHORT, options.get(0).getType());
+        assertEquals(1, closed);
+
+        var stats = runner.getStatistics();
+        assertEquals(1, stats.getRunCount());
+        assertEquals(1, stats.getAttemptCount());
+        assertEquals(0, stats.getRetryCount());
+        assertEquals(1, stats.getSuccessCount());
+    }
+
+    @Test
+    void retry() throws Exception {
+        commitErrors.add(occ());
+        commitErrors.add(new SqlServiceException(SqlServiceCode.CC_EXCEPTION));
+        var runner = runner();
+        int[] performed = { 0 };
+        runner.run(transaction -> performed[0]++);
+        assertEquals(3, performed[0]);
+        assertEquals(3, closed);
+
+        var stats = runner.getStatistics();
+        assertEquals(3, stats.getAttemptCount());
+        assertEquals(2, stats.getRetryCount());
+        assertEquals(Map.of(SqlServiceCode.OCC_WRITE_EXCEPTION, 1L, SqlServiceCode.CC_EXCEPTION, 1L),
+                stats.getRetryCounts());
+        assertEquals(1, stats.getSuccessCount());
+        assertEquals(0, stats.getFailureCount());
+    }
+
+    @Test
+    void retry_in_action() throws Exception {
+        var runner = runner();
+        int[] performed = { 0 };
+        int result = runner.run(transaction -> {
+            if (performed[0]++ == 0) {
+                throw occ();
+            }
+            return 100;
+        });
+        assertEquals(100, result);
+        assertEquals(2, options.size());
+    }
+
+    @Test
+    void not_retriable() throws Exception {
+        var error = new SqlServiceException(SqlServiceCode.UNIQUE_CONSTRAINT_VIOLATION_EXCEPTION);
+        commitErrors.add(error);
+        var runner = runner();
+        var e = assertThrows(SqlServiceException.class, () -> runner.run(transaction -> null));
+        assertSame(error, e);
+        assertEquals(1, options.size());
+        assertEquals(1, runner.getStatistics().getFailureCount());
+    }
+
+    @Test
+    void exhausted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            commitErrors.add(occ());
+        }
+        var runner = runner().maxAttempts(3);
+        assertThrows(OccWriteException.class, () -> runner.run(transaction -> null));
+        assertEquals(3, options.size());
+
+        var stats = runner.getStatistics();
+        assertEquals(2, stats.getRetryCount());
+        assertEquals(1, stats.getFailureCount());
+    }
+
+    @Test
+    void escalate() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            commitErrors.add(occ());
+        }
+        var runner = runner().escalateToLong(2, "A", "B");
+        runner.run(transaction -> null);
+        assertEquals(4, options.size());
+        assertEquals(SqlRequest.TransactionType.SHORT, options.get(0).getType());
+        assertEquals(SqlRequest.TransactionType.SHORT, options.get(1).getType());
+        for (var option : options.subList(2, 4)) {
+            assertEquals(SqlRequest.TransactionType.LONG, option.getType());
+            assertEquals(List.of(
+                    SqlRequest.WritePreserve.newBuilder().setTableName("A").build(),
+                    SqlRequest.WritePreserve.newBuilder().setTableName("B").build()),
+                    option.getWritePreservesList());
+        }
+        assertEquals(1, runner.getStatistics().getEscalationCount());
+    }
+
+    @Test
+    void escalate_not_occ() throws Exception {
+        commitErrors.add(new SqlServiceException(SqlServiceCode.LTX_EXCEPTION));
+        var option = SqlRequest.TransactionOption.newBuilder()
+                .setType(SqlRequest.TransactionType.LONG)
+                .build();
+        var runner = runner().option(option).escalateToLong(1, "A");
+        runner.run(transaction -> null);
+        assertEquals(List.of(option, option), options);
+        assertEquals(0, runner.getStatistics().getEscalationCount());
+    }
+
+    @Test
+    void backoff() {
+        var runner = client.newTransactionRunner().backoff(Duration.ofNanos(100), Duration.ofNanos(1000));
+        for (int i = 0; i < 100; i++) {
+            long first = runner.backoffNanos(1);
+            assertTrue(50 <= first && first <= 100, String.valueOf(first));
+            long third = runner.backoffNanos(3);
+            assertTrue(200 <= third && third <= 400, String.valueOf(third));
+            long capped = runner.backoffNanos(30);
+            assertTrue(500 <= capped && capped <= 1000, String.valueOf(capped));
+        }
+    }
+
+    @Test
+    void retriable() {
+        assertTrue(TransactionRunner.isRetriable(occ()));
+        assertTrue(TransactionRunner.isRetriable(
+                new SqlServiceException(SqlServiceCode.CONFLICT_ON_WRITE_PRESERVE_EXCEPTION)));
+        assertFalse(TransactionRunner.isRetriable(new SqlServiceException(SqlServiceCode.SYNTAX_EXCEPTION)));
+    }
+
+    @Test
+    void invalid() {
+        var runner = runner();
+        assertThrows(IllegalArgumentException.class, () -> runner.maxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> runner.backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> runner.escalateToLong(-1));
+    }
+}
@@ -71,6 +71,11 @@ public class BasicResultSet implements ResultSet {
         return cursor.nextColumn();
     }
 
+    @Override
+    public void setProjection(int... columnIndices) {
+        cursor.setProjection(columnIndices);
+    }
+
     @Override
     public boolean isNull() {
         return cursor.isNull();
@@ -140,7 +140,8 @@ public final class StreamLink extends Link {
     private boolean doPull(long timeout, TimeUnit unit, boolean throwException) throws TimeoutException, IOException {
         LinkMessage message = null;
         try {
-            int millis = ((timeout == 0) ? 0 : ((unit.toMillis(timeout) > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) unit.toMillis(timeout)));
+            // sub-millisecond timeout must not be rounded down to 0, which means infinite
+            int millis = ((timeout == 0) ? 0 : (int) Math.min(Math.max(unit.toMillis(timeout), 1), Integer.MAX_VALUE));
             socket.setSoTimeout(millis);
         } catch (SocketException e) {
             if (throwException) {
@@ -56,7 +56,7 @@ public final class StreamConnectorImpl implements Connector {
     public FutureResponse<Wire> connect(@Nonnull ClientInformation clientInformation) throws IOException {
         LOG.trace("will connect to {}:{}", hostname, port); //$NON-NLS-1$
         var streamLink = new StreamLink(hostname, port);
-        var wireImpl = new WireImpl(streamLink);
+        var wireImpl = new WireImpl(streamLink, "tcp://" + hostname + ":" + port); //$NON-NLS-1$ //$NON-NLS-2$
         return new FutureStreamWireImpl(streamLink, wireImpl, clientInformation);
     }
 }
@@ -42,6 +42,7 @@ public class ResultSetWireImpl implements ResultSetWire {
     private ByteBufferBackedInputForStream byteBufferBackedInput;
     private boolean eor;
     private IOException exception;
+    private volatile boolean discarding;
 
     static final Logger LOG = LoggerFactory.getLogger(ResultSetWireImpl.class);
 
@@ -79,6 +80,7 @@ public class ResultSetWireImpl implements ResultSetWire {
         this.byteBufferBackedInput = null;
         this.eor = false;
         this.exception = null;
+        this.discarding = false;
     }
 
     /**
@@ -112,6 +114,9 @@ public class ResultSetWireImpl implements ResultSetWire {
      */
     @Override
     public void close() throws IOException {
+        // The rest of records are no longer read, so that they are discarded on arrival instead of buffering.
+        discarding = true;
+        queues.clear();
         // If the data in the ResultSet has not been received at the time the close is executed,
         // it is treated as if it had not been, so a short timeout value is used.
         long timeoutNanos = 1000000000L;
@@ -150,10 +155,15 @@ public class ResultSetWireImpl implements ResultSetWire {
 
     /**
      * Add payload to the list or queue.
+     * The payload is just dropped if this wire has been already closed.
      * @param writerId the writer ID
      * @param payload the payload data
      */
     public void add(int writerId, byte[] payload) {
+        if (discarding) {
+            lists.clear();
+            return;
+        }
         if (!lists.containsKey(writerId)) {
             lists.put(writerId, new ArrayList<byte[]>());
         }
@@ -174,6 +184,15 @@ public class ResultSetWireImpl implements ResultSetWire {
         exception = e;
     }
 
+    // for tests
+    int bufferedChunks() {
+        int size = queues.size();
+        for (var list : lists.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
     String linkLostMessage() {
         return streamLink.linkLostMessage();
     }
@@ -214,4 +214,30 @@ class ResultSetWireTest {
         sender.join();  // pass if join() returns
         assertEquals(COUNT, writeCount);
     }
+
+    @Test
+    void closeAfterPartialReadTest() throws Exception {
+        try {
+            server = new ServerWireImpl(PORT - 5, sessionId);
+            link = new StreamLink(HOST, PORT - 5);
+            client = new WireImpl(link);
+        } catch (Exception e) {
+            fail("cought Exception");
+        }
+
+        serverResultSetWire = server.createRSL(NAME);
+        link.pullMessage(link.messageNumber(), 0, null);
+        var sender = new Sender();
+        sender.start();
+        var clientResultSetWire = client.createResultSetWire();
+        clientResultSetWire.connect(NAME);
+        var recordStream = clientResultSetWire.getByteBufferBackedInput();
+        byte[] ba = new byte[1024];
+        assertEquals(1024, recordStream.read(ba));
+        clientResultSetWire.close();
+        sender.join();
+        assertEquals(COUNT, writeCount);
+        // the rest of records must be discarded instead of buffering
+        assertEquals(0, ((ResultSetWireImpl) clientResultSetWire).bufferedChunks());
+    }
 }